@@ -27,13 +27,10 @@ package net.runelite.cache;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 import net.runelite.cache.definitions.AreaDefinition;
 import net.runelite.cache.definitions.loaders.AreaLoader;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.ArchiveFiles;
-import net.runelite.cache.fs.FSFile;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
@@ -41,7 +38,7 @@ import net.runelite.cache.fs.Store;
 public class AreaManager
 {
 	private final Store store;
-	private final Map<Integer, AreaDefinition> areas = new HashMap<>();
+	private DefinitionCache<AreaDefinition> areas = DefinitionCache.empty();
 
 	public AreaManager(Store store)
 	{
@@ -49,6 +46,11 @@ public class AreaManager
 	}
 
 	public void load() throws IOException
+	{
+		load(DefinitionCache.Mode.EAGER);
+	}
+
+	public void load(DefinitionCache.Mode mode) throws IOException
 	{
 		Storage storage = store.getStorage();
 		Index index = store.getIndex(IndexType.CONFIGS);
@@ -57,12 +59,8 @@ public class AreaManager
 		byte[] archiveData = storage.loadArchive(archive);
 		ArchiveFiles files = archive.getFiles(archiveData);
 
-		for (FSFile file : files.getFiles())
-		{
-			AreaLoader loader = new AreaLoader();
-			AreaDefinition area = loader.load(file.getContents(), file.getFileId());
-			areas.put(area.id, area);
-		}
+		AreaLoader loader = new AreaLoader();
+		areas = DefinitionCache.load(files, (id, data) -> loader.load(data, id), mode);
 	}
 
 	public Collection<AreaDefinition> getAreas()
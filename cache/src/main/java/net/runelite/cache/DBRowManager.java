@@ -27,13 +27,10 @@ package net.runelite.cache;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 import net.runelite.cache.definitions.DBRowDefinition;
 import net.runelite.cache.definitions.loaders.DBRowLoader;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.ArchiveFiles;
-import net.runelite.cache.fs.FSFile;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
@@ -41,7 +38,7 @@ import net.runelite.cache.fs.Store;
 public class DBRowManager
 {
 	private final Store store;
-	private final Map<Integer, DBRowDefinition> rows = new HashMap<>();
+	private DefinitionCache<DBRowDefinition> rows = DefinitionCache.empty();
 
 	public DBRowManager(Store store)
 	{
@@ -49,6 +46,11 @@ public class DBRowManager
 	}
 
 	public void load() throws IOException
+	{
+		load(DefinitionCache.Mode.EAGER);
+	}
+
+	public void load(DefinitionCache.Mode mode) throws IOException
 	{
 		DBRowLoader loader = new DBRowLoader();
 
@@ -65,11 +67,7 @@ public class DBRowManager
 		byte[] archiveData = storage.loadArchive(archive);
 		ArchiveFiles files = archive.getFiles(archiveData);
 
-		for (FSFile f : files.getFiles())
-		{
-			DBRowDefinition row = loader.load(f.getFileId(), f.getContents());
-			rows.put(f.getFileId(), row);
-		}
+		rows = DefinitionCache.load(files, loader::load, mode);
 	}
 
 	public Collection<DBRowDefinition> getRows()
@@ -27,13 +27,10 @@ package net.runelite.cache;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 import net.runelite.cache.definitions.DBTableDefinition;
 import net.runelite.cache.definitions.loaders.DBTableLoader;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.ArchiveFiles;
-import net.runelite.cache.fs.FSFile;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
@@ -41,7 +38,7 @@ import net.runelite.cache.fs.Store;
 public class DBTableManager
 {
 	private final Store store;
-	private final Map<Integer, DBTableDefinition> tables = new HashMap<>();
+	private DefinitionCache<DBTableDefinition> tables = DefinitionCache.empty();
 
 	public DBTableManager(Store store)
 	{
@@ -49,6 +46,11 @@ public class DBTableManager
 	}
 
 	public void load() throws IOException
+	{
+		load(DefinitionCache.Mode.EAGER);
+	}
+
+	public void load(DefinitionCache.Mode mode) throws IOException
 	{
 		DBTableLoader loader = new DBTableLoader();
 
@@ -65,11 +67,7 @@ public class DBTableManager
 		byte[] archiveData = storage.loadArchive(archive);
 		ArchiveFiles files = archive.getFiles(archiveData);
 
-		for (FSFile f : files.getFiles())
-		{
-			DBTableDefinition table = loader.load(f.getFileId(), f.getContents());
-			tables.put(f.getFileId(), table);
-		}
+		tables = DefinitionCache.load(files, loader::load, mode);
 	}
 
 	public Collection<DBTableDefinition> getTables()
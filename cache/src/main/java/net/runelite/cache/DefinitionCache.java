@@ -0,0 +1,201 @@
+package net.runelite.cache;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+import net.runelite.cache.fs.ArchiveFiles;
+import net.runelite.cache.fs.FSFile;
+
+/**
+ * The definitions decoded from the files of an archive, keyed by file id.
+ * <p>
+ * Depending on the {@link Mode}, the files are decoded when the cache is created, either one after another
+ * or in parallel on the common fork join pool, or each file is decoded the first time its definition is
+ * looked up. Lazy caches keep the encoded file until it is decoded, and can be used from any thread.
+ *
+ * @param <T> the definition type
+ */
+public final class DefinitionCache<T>
+{
+	public enum Mode
+	{
+		/**
+		 * Decode every file when loading, on the loading thread
+		 */
+		EAGER,
+		/**
+		 * Decode every file when loading, in parallel
+		 */
+		PARALLEL,
+		/**
+		 * Decode each file on first access
+		 */
+		LAZY,
+	}
+
+	@FunctionalInterface
+	public interface Decoder<T>
+	{
+		T decode(int id, byte[] data);
+	}
+
+	private static final DefinitionCache<?> EMPTY = new DefinitionCache<>(new int[0], Collections.emptyMap(), null,
+		new AtomicReferenceArray<>(0), null);
+
+	private final int[] ids;
+	private final Map<Integer, Integer> positions;
+	private final Decoder<T> decoder;
+	private final AtomicReferenceArray<T> definitions;
+	// Encoded files of a lazy cache, cleared as they are decoded
+	private final AtomicReferenceArray<byte[]> contents;
+	private final AtomicInteger decoded = new AtomicInteger();
+
+	private DefinitionCache(int[] ids, Map<Integer, Integer> positions, Decoder<T> decoder,
+		AtomicReferenceArray<T> definitions, AtomicReferenceArray<byte[]> contents)
+	{
+		this.ids = ids;
+		this.positions = positions;
+		this.decoder = decoder;
+		this.definitions = definitions;
+		this.contents = contents;
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T> DefinitionCache<T> empty()
+	{
+		return (DefinitionCache<T>) EMPTY;
+	}
+
+	public static <T> DefinitionCache<T> load(ArchiveFiles files, Decoder<T> decoder, Mode mode)
+	{
+		int size = files.getFiles().size();
+		int[] ids = new int[size];
+		Map<Integer, Integer> positions = new HashMap<>(size * 4 / 3 + 1);
+		AtomicReferenceArray<byte[]> contents = new AtomicReferenceArray<>(size);
+		int i = 0;
+		for (FSFile file : files.getFiles())
+		{
+			ids[i] = file.getFileId();
+			positions.put(file.getFileId(), i);
+			contents.set(i, file.getContents());
+			++i;
+		}
+
+		DefinitionCache<T> cache = new DefinitionCache<>(ids, positions, decoder, new AtomicReferenceArray<>(size),
+			mode == Mode.LAZY ? contents : null);
+		switch (mode)
+		{
+			case EAGER:
+				for (int position = 0; position < size; ++position)
+				{
+					cache.decode(position, contents.get(position));
+				}
+				break;
+			case PARALLEL:
+				IntStream.range(0, size).parallel()
+					.forEach(position -> cache.decode(position, contents.get(position)));
+				break;
+		}
+		return cache;
+	}
+
+	/**
+	 * Gets a definition, decoding it if needed
+	 *
+	 * @param id the file id
+	 * @return the definition, or null if there is no file with the id
+	 */
+	public T get(int id)
+	{
+		Integer position = positions.get(id);
+		return position != null ? at(position) : null;
+	}
+
+	/**
+	 * Gets all definitions in file order, decoding the ones not yet decoded as they are visited
+	 */
+	public List<T> values()
+	{
+		return new AbstractList<T>()
+		{
+			@Override
+			public T get(int index)
+			{
+				if (index < 0 || index >= ids.length)
+				{
+					throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + ids.length);
+				}
+				return at(index);
+			}
+
+			@Override
+			public int size()
+			{
+				return ids.length;
+			}
+		};
+	}
+
+	/**
+	 * Decodes all definitions, and returns them keyed by file id
+	 */
+	public Map<Integer, T> asMap()
+	{
+		Map<Integer, T> map = new LinkedHashMap<>(ids.length * 4 / 3 + 1);
+		for (int i = 0; i < ids.length; ++i)
+		{
+			map.put(ids[i], at(i));
+		}
+		return Collections.unmodifiableMap(map);
+	}
+
+	public int size()
+	{
+		return ids.length;
+	}
+
+	/**
+	 * The number of definitions which have been decoded so far
+	 */
+	public int decodedCount()
+	{
+		return decoded.get();
+	}
+
+	private T at(int position)
+	{
+		T definition = definitions.get(position);
+		if (definition != null || contents == null)
+		{
+			return definition;
+		}
+
+		byte[] data = contents.get(position);
+		if (data == null)
+		{
+			// Decoded by another thread, which stores the definition before it clears the file
+			return definitions.get(position);
+		}
+
+		definition = decode(position, data);
+		contents.set(position, null);
+		return definition;
+	}
+
+	private T decode(int position, byte[] data)
+	{
+		T definition = decoder.decode(ids[position], data);
+		if (definitions.compareAndSet(position, null, definition))
+		{
+			decoded.incrementAndGet();
+			return definition;
+		}
+		return definitions.get(position);
+	}
+}
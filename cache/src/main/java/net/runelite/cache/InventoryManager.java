@@ -25,14 +25,11 @@
 package net.runelite.cache;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import net.runelite.cache.definitions.InventoryDefinition;
 import net.runelite.cache.definitions.loaders.InventoryLoader;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.ArchiveFiles;
-import net.runelite.cache.fs.FSFile;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
@@ -40,7 +37,7 @@ import net.runelite.cache.fs.Store;
 public class InventoryManager
 {
 	private final Store store;
-	private final List<InventoryDefinition> inventories = new ArrayList<>();
+	private DefinitionCache<InventoryDefinition> inventories = DefinitionCache.empty();
 
 	public InventoryManager(Store store)
 	{
@@ -48,6 +45,11 @@ public class InventoryManager
 	}
 
 	public void load() throws IOException
+	{
+		load(DefinitionCache.Mode.EAGER);
+	}
+
+	public void load(DefinitionCache.Mode mode) throws IOException
 	{
 		InventoryLoader loader = new InventoryLoader();
 
@@ -58,27 +60,16 @@ public class InventoryManager
 		byte[] archiveData = storage.loadArchive(archive);
 		ArchiveFiles files = archive.getFiles(archiveData);
 
-		for (FSFile file : files.getFiles())
-		{
-			InventoryDefinition inv = loader.load(file.getFileId(), file.getContents());
-			inventories.add(inv);
-		}
+		inventories = DefinitionCache.load(files, loader::load, mode);
 	}
 
 	public List<InventoryDefinition> getInventories()
 	{
-		return Collections.unmodifiableList(inventories);
+		return inventories.values();
 	}
 
 	public InventoryDefinition findInventory(int id)
 	{
-		for (InventoryDefinition def : inventories)
-		{
-			if (def.id == id)
-			{
-				return def;
-			}
-		}
-		return null;
+		return inventories.get(id);
 	}
 }
@@ -28,15 +28,12 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 import net.runelite.cache.definitions.ItemDefinition;
 import net.runelite.cache.definitions.exporters.ItemExporter;
 import net.runelite.cache.definitions.loaders.ItemLoader;
 import net.runelite.cache.definitions.providers.ItemProvider;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.ArchiveFiles;
-import net.runelite.cache.fs.FSFile;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
@@ -45,7 +42,7 @@ import net.runelite.cache.util.IDClass;
 public class ItemManager implements ItemProvider
 {
 	private final Store store;
-	private final Map<Integer, ItemDefinition> items = new HashMap<>();
+	private DefinitionCache<ItemDefinition> items = DefinitionCache.empty();
 
 	public ItemManager(Store store)
 	{
@@ -53,6 +50,11 @@ public class ItemManager implements ItemProvider
 	}
 
 	public void load() throws IOException
+	{
+		load(DefinitionCache.Mode.EAGER);
+	}
+
+	public void load(DefinitionCache.Mode mode) throws IOException
 	{
 		ItemLoader loader = new ItemLoader();
 
@@ -63,11 +65,7 @@ public class ItemManager implements ItemProvider
 		byte[] archiveData = storage.loadArchive(archive);
 		ArchiveFiles files = archive.getFiles(archiveData);
 
-		for (FSFile f : files.getFiles())
-		{
-			ItemDefinition def = loader.load(f.getFileId(), f.getContents());
-			items.put(f.getFileId(), def);
-		}
+		items = DefinitionCache.load(files, loader::load, mode);
 	}
 
 	public void link()
@@ -104,6 +102,11 @@ public class ItemManager implements ItemProvider
 		return items.get(itemId);
 	}
 
+	int decodedCount()
+	{
+		return items.decodedCount();
+	}
+
 	public void export(File out) throws IOException
 	{
 		out.mkdirs();
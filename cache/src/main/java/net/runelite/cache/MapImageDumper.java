@@ -26,15 +26,18 @@ package net.runelite.cache;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 import javax.imageio.ImageIO;
 import lombok.Getter;
 import lombok.Setter;
@@ -160,6 +163,7 @@ public class MapImageDumper
 		options.addOption(Option.builder().longOpt("cachedir").hasArg().required().build());
 		options.addOption(Option.builder().longOpt("xteapath").hasArg().required().build());
 		options.addOption(Option.builder().longOpt("outputdir").hasArg().required().build());
+		options.addOption(Option.builder().longOpt("tiles").hasArg().desc("write region tiles with this many zoom levels instead of one image per plane").build());
 
 		CommandLineParser parser = new DefaultParser();
 		CommandLine cmd;
@@ -177,6 +181,7 @@ public class MapImageDumper
 		final String cacheDirectory = cmd.getOptionValue("cachedir");
 		final String xteaJSONPath = cmd.getOptionValue("xteapath");
 		final String outputDirectory = cmd.getOptionValue("outputdir");
+		final String tileLevels = cmd.getOptionValue("tiles");
 
 		XteaKeyManager xteaKeyManager = new XteaKeyManager();
 		try (FileInputStream fin = new FileInputStream(xteaJSONPath))
@@ -197,6 +202,13 @@ public class MapImageDumper
 
 			for (int i = 0; i < Region.Z; ++i)
 			{
+				if (tileLevels != null)
+				{
+					dumper.writeTiles(i, outDir, Integer.parseInt(tileLevels));
+					log.info("Wrote tiles for plane {}", i);
+					continue;
+				}
+
 				BufferedImage image = dumper.drawMap(i);
 
 				File imageFile = new File(outDir, "img-" + i + ".png");
@@ -223,6 +235,15 @@ public class MapImageDumper
 		textureManager.load();
 		rsTextureProvider = new RSTextureProvider(textureManager, sprites);
 
+		// generated up front since the regions are drawn in parallel
+		synchronized (MapImageDumper.class)
+		{
+			if (TILE_SHAPE_2D == null)
+			{
+				generateTileShapes();
+			}
+		}
+
 		loadRegions();
 		areas.load();
 		sprites.load();
@@ -303,6 +324,121 @@ public class MapImageDumper
 		return image;
 	}
 
+	/**
+	 * Writes the plane as a pyramid of tiles, so the whole map never has to be in memory at once. Level 0 has
+	 * one tile per region, drawn with {@link #drawRegion(Region, int)}, named by the region coordinates. Each
+	 * further level halves the scale, with each tile made of the 2x2 tiles below it read back from disk.
+	 * Tiles are written to {@code <dir>/<z>/<level>/<x>_<y>.png} and are drawn in parallel.
+	 *
+	 * @param z      the plane
+	 * @param dir    the output directory
+	 * @param levels the number of zoom levels, at least 1
+	 */
+	public void writeTiles(int z, File dir, int levels) throws IOException
+	{
+		File planeDir = new File(dir, Integer.toString(z));
+
+		File levelDir = new File(planeDir, "0");
+		levelDir.mkdirs();
+		try
+		{
+			regionLoader.getRegions().parallelStream().forEach(region ->
+			{
+				BufferedImage image = drawRegion(region, z);
+				writeTile(image, new File(levelDir, region.getRegionX() + "_" + region.getRegionY() + ".png"));
+			});
+
+			int minX = regionLoader.getLowestX().getRegionX();
+			int minY = regionLoader.getLowestY().getRegionY();
+			int maxX = regionLoader.getHighestX().getRegionX();
+			int maxY = regionLoader.getHighestY().getRegionY();
+			for (int level = 1; level < levels; ++level)
+			{
+				File childDir = new File(planeDir, Integer.toString(level - 1));
+				File parentDir = new File(planeDir, Integer.toString(level));
+				parentDir.mkdirs();
+
+				minX >>= 1;
+				minY >>= 1;
+				maxX >>= 1;
+				maxY >>= 1;
+				int width = maxX - minX + 1;
+				int tiles = width * (maxY - minY + 1);
+				int baseX = minX, baseY = minY;
+				IntStream.range(0, tiles).parallel().forEach(i ->
+				{
+					int x = baseX + i % width;
+					int y = baseY + i / width;
+					BufferedImage image = downscaleTile(childDir, x, y);
+					if (image != null)
+					{
+						writeTile(image, new File(parentDir, x + "_" + y + ".png"));
+					}
+				});
+			}
+		}
+		catch (UncheckedIOException ex)
+		{
+			throw ex.getCause();
+		}
+	}
+
+	private BufferedImage downscaleTile(File childDir, int x, int y)
+	{
+		int size = Region.X * MAP_SCALE;
+		BufferedImage image = null;
+		Graphics2D graphics = null;
+		for (int dx = 0; dx < 2; ++dx)
+		{
+			for (int dy = 0; dy < 2; ++dy)
+			{
+				File file = new File(childDir, (x * 2 + dx) + "_" + (y * 2 + dy) + ".png");
+				if (!file.exists())
+				{
+					continue;
+				}
+
+				BufferedImage child;
+				try
+				{
+					child = ImageIO.read(file);
+				}
+				catch (IOException ex)
+				{
+					throw new UncheckedIOException(ex);
+				}
+
+				if (image == null)
+				{
+					image = new BufferedImage(size, size, transparency ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+					graphics = image.createGraphics();
+					graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+				}
+
+				// north is up, so the child with the greater y is drawn on top
+				graphics.drawImage(child, dx * size / 2, (1 - dy) * size / 2, size / 2, size / 2, null);
+			}
+		}
+
+		if (graphics != null)
+		{
+			graphics.dispose();
+		}
+		return image;
+	}
+
+	private static void writeTile(BufferedImage image, File file)
+	{
+		try
+		{
+			ImageIO.write(image, "png", file);
+		}
+		catch (IOException ex)
+		{
+			throw new UncheckedIOException(ex);
+		}
+	}
+
 	private void drawMap(BufferedImage image, int drawBaseX, int drawBaseY, int z, Region region)
 	{
 		if (!renderMap)
@@ -347,7 +483,10 @@ public class MapImageDumper
 
 	private void drawMap(BufferedImage image, int z)
 	{
-		for (Region region : regionLoader.getRegions())
+		// each region only draws within its own bounds, reading its neighbors for blending, so the
+		// regions can be drawn in parallel. Objects, which spill over into neighboring regions, are
+		// drawn afterwards in order.
+		regionLoader.getRegions().parallelStream().forEach(region ->
 		{
 			int baseX = region.getBaseX();
 			int baseY = region.getBaseY();
@@ -360,7 +499,7 @@ public class MapImageDumper
 			int drawBaseY = regionLoader.getHighestY().getBaseY() - baseY;
 
 			drawMap(image, drawBaseX, drawBaseY, z, region);
-		}
+		});
 	}
 
 	private void drawTile(BufferedImage to, int[][][] planes, Region region, int drawBaseX, int drawBaseY, int z, int x, int y)
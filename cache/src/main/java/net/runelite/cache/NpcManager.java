@@ -28,14 +28,11 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 import net.runelite.cache.definitions.NpcDefinition;
 import net.runelite.cache.definitions.exporters.NpcExporter;
 import net.runelite.cache.definitions.loaders.NpcLoader;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.ArchiveFiles;
-import net.runelite.cache.fs.FSFile;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
@@ -44,7 +41,7 @@ import net.runelite.cache.util.IDClass;
 public class NpcManager
 {
 	private final Store store;
-	private final Map<Integer, NpcDefinition> npcs = new HashMap<>();
+	private DefinitionCache<NpcDefinition> npcs = DefinitionCache.empty();
 
 	public NpcManager(Store store)
 	{
@@ -52,6 +49,11 @@ public class NpcManager
 	}
 
 	public void load() throws IOException
+	{
+		load(DefinitionCache.Mode.EAGER);
+	}
+
+	public void load(DefinitionCache.Mode mode) throws IOException
 	{
 		NpcLoader loader = new NpcLoader();
 
@@ -64,11 +66,7 @@ public class NpcManager
 		byte[] archiveData = storage.loadArchive(archive);
 		ArchiveFiles files = archive.getFiles(archiveData);
 
-		for (FSFile f : files.getFiles())
-		{
-			NpcDefinition npc = loader.load(f.getFileId(), f.getContents());
-			npcs.put(f.getFileId(), npc);
-		}
+		npcs = DefinitionCache.load(files, loader::load, mode);
 	}
 
 	public Collection<NpcDefinition> getNpcs()
@@ -81,6 +79,11 @@ public class NpcManager
 		return npcs.get(npcId);
 	}
 
+	int decodedCount()
+	{
+		return npcs.decodedCount();
+	}
+
 	public void dump(File out) throws IOException
 	{
 		out.mkdirs();
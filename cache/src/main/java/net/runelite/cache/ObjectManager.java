@@ -28,14 +28,11 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 import net.runelite.cache.definitions.ObjectDefinition;
 import net.runelite.cache.definitions.exporters.ObjectExporter;
 import net.runelite.cache.definitions.loaders.ObjectLoader;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.ArchiveFiles;
-import net.runelite.cache.fs.FSFile;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
@@ -44,7 +41,7 @@ import net.runelite.cache.util.IDClass;
 public class ObjectManager
 {
 	private final Store store;
-	private final Map<Integer, ObjectDefinition> objects = new HashMap<>();
+	private DefinitionCache<ObjectDefinition> objects = DefinitionCache.empty();
 
 	public ObjectManager(Store store)
 	{
@@ -52,6 +49,11 @@ public class ObjectManager
 	}
 
 	public void load() throws IOException
+	{
+		load(DefinitionCache.Mode.EAGER);
+	}
+
+	public void load(DefinitionCache.Mode mode) throws IOException
 	{
 		ObjectLoader loader = new ObjectLoader();
 
@@ -64,11 +66,7 @@ public class ObjectManager
 		byte[] archiveData = storage.loadArchive(archive);
 		ArchiveFiles files = archive.getFiles(archiveData);
 
-		for (FSFile f : files.getFiles())
-		{
-			ObjectDefinition def = loader.load(f.getFileId(), f.getContents());
-			objects.put(f.getFileId(), def);
-		}
+		objects = DefinitionCache.load(files, loader::load, mode);
 	}
 
 	public Collection<ObjectDefinition> getObjects()
@@ -81,6 +79,11 @@ public class ObjectManager
 		return objects.get(id);
 	}
 
+	int decodedCount()
+	{
+		return objects.decodedCount();
+	}
+
 	public void dump(File out) throws IOException
 	{
 		out.mkdirs();
@@ -26,14 +26,12 @@ package net.runelite.cache;
 
 import java.io.IOException;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import net.runelite.cache.definitions.StructDefinition;
 import net.runelite.cache.definitions.loaders.StructLoader;
 import net.runelite.cache.definitions.providers.StructProvider;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.ArchiveFiles;
-import net.runelite.cache.fs.FSFile;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
@@ -41,7 +39,7 @@ import net.runelite.cache.fs.Store;
 public class StructManager implements StructProvider
 {
 	private final Store store;
-	private final Map<Integer, StructDefinition> structs = new HashMap<>();
+	private DefinitionCache<StructDefinition> structs = DefinitionCache.empty();
 
 	public StructManager(Store store)
 	{
@@ -49,6 +47,11 @@ public class StructManager implements StructProvider
 	}
 
 	public void load() throws IOException
+	{
+		load(DefinitionCache.Mode.EAGER);
+	}
+
+	public void load(DefinitionCache.Mode mode) throws IOException
 	{
 		StructLoader loader = new StructLoader();
 
@@ -59,16 +62,12 @@ public class StructManager implements StructProvider
 		byte[] archiveData = storage.loadArchive(archive);
 		ArchiveFiles files = archive.getFiles(archiveData);
 
-		for (FSFile f : files.getFiles())
-		{
-			StructDefinition def = loader.load(f.getFileId(), f.getContents());
-			structs.put(f.getFileId(), def);
-		}
+		structs = DefinitionCache.load(files, loader::load, mode);
 	}
 
 	public Map<Integer, StructDefinition> getStructs()
 	{
-		return Collections.unmodifiableMap(structs);
+		return structs.asMap();
 	}
 
 	public StructDefinition getStruct(int structId)
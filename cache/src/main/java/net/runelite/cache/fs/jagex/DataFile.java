@@ -29,32 +29,101 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * The data file of a cache, made of 520 byte sectors which are chained together to hold archives.
+ * <p>
+ * Reads go through a read only memory mapping of the file without locking, so archives can be read by any
+ * number of threads at once. Writes stay on the locked {@link RandomAccessFile} path. Since writes only ever
+ * append sectors, the mapped part of the file does not change under readers; reads of sectors appended after
+ * the file was mapped use the locked path until the file has grown enough to be mapped again.
+ * <p>
+ * Each mapping is made through a channel of its own which is closed right after. File channels are closed when
+ * a thread using them is interrupted, so an interrupted reader must not close the file that all threads share.
+ */
 public class DataFile implements Closeable
 {
 	private static final Logger logger = LoggerFactory.getLogger(DataFile.class);
 
 	private static final int SECTOR_SIZE = 520;
+	/**
+	 * Minimum growth of the file before it is mapped again
+	 */
+	private static final long REMAP_THRESHOLD = 8 * 1024 * 1024;
+
+	private interface SectorSource
+	{
+		long length() throws IOException;
 
+		/**
+		 * Reads len bytes from the position into the buffer, and returns the number of bytes read
+		 */
+		int read(long position, byte[] buffer, int len) throws IOException;
+	}
+
+	private final File file;
 	private final RandomAccessFile dat;
+	private final SectorSource fileSource;
+	private volatile MappedByteBuffer mapped;
+	// Every mapping made since the file was last truncated, including ones replaced by a later mapping
+	private final List<MappedByteBuffer> mappings = new ArrayList<>();
+	// Length of the file as of the last mapping or write
+	private volatile long length;
 
 	public DataFile(File file) throws FileNotFoundException
 	{
+		this.file = file;
 		this.dat = new RandomAccessFile(file, "rw");
+		this.fileSource = new SectorSource()
+		{
+			@Override
+			public long length() throws IOException
+			{
+				return dat.length();
+			}
+
+			@Override
+			public int read(long position, byte[] buffer, int len) throws IOException
+			{
+				dat.seek(position);
+				return dat.read(buffer, 0, len);
+			}
+		};
 	}
 
 	@Override
-	public void close() throws IOException
+	public synchronized void close() throws IOException
 	{
+		mapped = null;
 		dat.close();
 	}
 
-	public void clear() throws IOException
+	/**
+	 * Truncates the file. This must not run concurrently with reads, since the mappings they use are unmapped.
+	 */
+	public synchronized void clear() throws IOException
 	{
+		// Windows does not truncate a file which is still mapped, and a mapping is otherwise only
+		// released once it has been garbage collected
+		mapped = null;
+		for (MappedByteBuffer mapping : mappings)
+		{
+			unmap(mapping);
+		}
+		mappings.clear();
+
 		dat.setLength(0L);
+		length = 0L;
 	}
 
 	/**
@@ -66,11 +135,117 @@ public class DataFile implements Closeable
 	 * @return
 	 * @throws IOException
 	 */
-	public synchronized byte[] read(int indexId, int archiveId, int sector, int size) throws IOException
+	public byte[] read(int indexId, int archiveId, int sector, int size) throws IOException
+	{
+		ByteBuffer map = map();
+		if (map != null)
+		{
+			// Each read has its own view, so the position is not shared between threads
+			ByteBuffer view = map.duplicate();
+			byte[] data = read(new SectorSource()
+			{
+				@Override
+				public long length()
+				{
+					return view.capacity();
+				}
+
+				@Override
+				public int read(long position, byte[] buffer, int len)
+				{
+					if (position >= view.capacity())
+					{
+						return -1;
+					}
+
+					len = (int) Math.min(len, view.capacity() - position);
+					view.position((int) position);
+					view.get(buffer, 0, len);
+					return len;
+				}
+			}, indexId, archiveId, sector, size, false);
+			if (data != null)
+			{
+				return data;
+			}
+		}
+
+		// The archive is corrupt, or in sectors written after the file was mapped
+		return readLocked(indexId, archiveId, sector, size);
+	}
+
+	private synchronized byte[] readLocked(int indexId, int archiveId, int sector, int size) throws IOException
+	{
+		return read(fileSource, indexId, archiveId, sector, size, true);
+	}
+
+	/**
+	 * Gets the mapping of the file, mapping it first if it is not mapped or has grown since it was mapped,
+	 * or null if the file can not be mapped.
+	 */
+	private ByteBuffer map() throws IOException
 	{
-		if (sector <= 0L || dat.length() / SECTOR_SIZE < (long) sector)
+		MappedByteBuffer map = mapped;
+		if (map != null && length - map.capacity() < REMAP_THRESHOLD)
 		{
-			logger.warn("bad read, dat length {}, requested sector {}", dat.length(), sector);
+			return map;
+		}
+
+		synchronized (this)
+		{
+			length = dat.length();
+			map = mapped;
+			if (map != null && length - map.capacity() < REMAP_THRESHOLD)
+			{
+				return map;
+			}
+
+			if (length == 0 || length > Integer.MAX_VALUE)
+			{
+				return null;
+			}
+
+			logger.debug("Mapping {} bytes of data file", length);
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+			{
+				map = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+			}
+			catch (ClosedByInterruptException ex)
+			{
+				// The thread was interrupted, so it reads through the locked path, which interrupts do not affect
+				logger.debug("Interrupted while mapping data file");
+				return null;
+			}
+			mapped = map;
+			mappings.add(map);
+			return map;
+		}
+	}
+
+	private static void unmap(MappedByteBuffer mapping)
+	{
+		try
+		{
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+			theUnsafe.setAccessible(true);
+			unsafeClass.getMethod("invokeCleaner", ByteBuffer.class).invoke(theUnsafe.get(null), mapping);
+		}
+		catch (ReflectiveOperationException ex)
+		{
+			logger.debug("Unable to unmap data file", ex);
+		}
+	}
+
+	private static byte[] read(SectorSource source, int indexId, int archiveId, int sector, int size, boolean warn) throws IOException
+	{
+		long length = source.length();
+		if (sector <= 0L || length / SECTOR_SIZE < (long) sector)
+		{
+			if (warn)
+			{
+				logger.warn("bad read, dat length {}, requested sector {}", length, sector);
+			}
 			return null;
 		}
 
@@ -83,11 +258,14 @@ public class DataFile implements Closeable
 		{
 			if (sector == 0)
 			{
-				logger.warn("Unexpected end of file");
+				if (warn)
+				{
+					logger.warn("Unexpected end of file");
+				}
 				return null;
 			}
 
-			dat.seek(SECTOR_SIZE * sector);
+			long position = (long) SECTOR_SIZE * sector;
 
 			int dataBlockSize = size - readBytesCount;
 			byte headerSize;
@@ -102,10 +280,13 @@ public class DataFile implements Closeable
 					dataBlockSize = SECTOR_SIZE - headerSize;
 				}
 
-				int i = dat.read(readBuffer, 0, headerSize + dataBlockSize);
+				int i = source.read(position, readBuffer, headerSize + dataBlockSize);
 				if (i != headerSize + dataBlockSize)
 				{
-					logger.warn("Short read when reading file data for {}/{}", indexId, archiveId);
+					if (warn)
+					{
+						logger.warn("Short read when reading file data for {}/{}", indexId, archiveId);
+					}
 					return null;
 				}
 
@@ -127,10 +308,13 @@ public class DataFile implements Closeable
 					dataBlockSize = SECTOR_SIZE - headerSize;
 				}
 
-				int i = dat.read(readBuffer, 0, headerSize + dataBlockSize);
+				int i = source.read(position, readBuffer, headerSize + dataBlockSize);
 				if (i != headerSize + dataBlockSize)
 				{
-					logger.warn("short read");
+					if (warn)
+					{
+						logger.warn("short read");
+					}
 					return null;
 				}
 
@@ -146,16 +330,22 @@ public class DataFile implements Closeable
 
 			if (archiveId != currentArchive || currentPart != part || indexId != currentIndex)
 			{
-				logger.warn("data mismatch {} != {}, {} != {}, {} != {}",
-					archiveId, currentArchive,
-					part, currentPart,
-					indexId, currentIndex);
+				if (warn)
+				{
+					logger.warn("data mismatch {} != {}, {} != {}, {} != {}",
+						archiveId, currentArchive,
+						part, currentPart,
+						indexId, currentIndex);
+				}
 				return null;
 			}
 
-			if (nextSector < 0 || dat.length() / SECTOR_SIZE < (long) nextSector)
+			if (nextSector < 0 || length / SECTOR_SIZE < (long) nextSector)
 			{
-				logger.warn("Invalid next sector");
+				if (warn)
+				{
+					logger.warn("Invalid next sector");
+				}
 				return null;
 			}
 
@@ -245,6 +435,8 @@ public class DataFile implements Closeable
 			sector = nextSector;
 		}
 
+		length = dat.length();
+
 		DataFileWriteResult res = new DataFileWriteResult();
 		res.sector = startSector;
 		res.compressedLength = compressedData.length;
@@ -60,7 +60,7 @@ public class IndexFile implements Closeable
 		idx.close();
 	}
 
-	public void clear() throws IOException
+	public synchronized void clear() throws IOException
 	{
 		idx.setLength(0L);
 	}
@@ -80,9 +80,14 @@ public class IndexFile implements Closeable
 		idx.write(buffer);
 	}
 
+	/**
+	 * Reads an entry through the file under the lock. The file's channel is not used for lock free positional
+	 * reads, since an interrupt of any reading thread would close the channel, and the file with it, for all
+	 * threads.
+	 */
 	public synchronized IndexEntry read(int id) throws IOException
 	{
-		idx.seek(id * INDEX_ENTRY_LEN);
+		idx.seek((long) id * INDEX_ENTRY_LEN);
 		int i = idx.read(buffer);
 		if (i != INDEX_ENTRY_LEN)
 		{
@@ -28,6 +28,7 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.IntStream;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.cache.IndexType;
 import net.runelite.cache.definitions.LocationsDefinition;
@@ -67,20 +68,41 @@ public class RegionLoader
 			return;
 		}
 
-		for (int i = 0; i < MAX_REGION; ++i)
+		// decrypting and decoding the regions is independent per region, so do it in parallel and
+		// then add them in id order
+		Region[] loaded = new Region[MAX_REGION];
+		IntStream.range(0, MAX_REGION).parallel().forEach(i ->
 		{
 			try
 			{
-				this.loadRegionFromArchive(i);
+				loaded[i] = decodeRegion(i);
 			}
 			catch (IOException ex)
 			{
 				log.debug("Can't decrypt region " + i, ex);
 			}
+		});
+
+		for (Region region : loaded)
+		{
+			if (region != null)
+			{
+				regions.put(region.getRegionID(), region);
+			}
 		}
 	}
 
 	public Region loadRegionFromArchive(int i) throws IOException
+	{
+		Region region = decodeRegion(i);
+		if (region != null)
+		{
+			regions.put(i, region);
+		}
+		return region;
+	}
+
+	private Region decodeRegion(int i) throws IOException
 	{
 		int x = i >> 8;
 		int y = i & 0xFF;
@@ -111,8 +133,6 @@ public class RegionLoader
 			region.loadLocations(locDef);
 		}
 
-		regions.put(i, region);
-
 		return region;
 	}
 
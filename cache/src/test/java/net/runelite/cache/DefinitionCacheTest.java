@@ -0,0 +1,75 @@
+package net.runelite.cache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.runelite.cache.fs.ArchiveFiles;
+import net.runelite.cache.fs.FSFile;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DefinitionCacheTest
+{
+	private static ArchiveFiles files(int count)
+	{
+		ArchiveFiles files = new ArchiveFiles();
+		for (int i = 0; i < count; ++i)
+		{
+			FSFile file = new FSFile(i * 2);
+			file.setContents(new byte[]{(byte) i});
+			files.addFile(file);
+		}
+		return files;
+	}
+
+	@Test
+	public void testLazy()
+	{
+		AtomicInteger decodes = new AtomicInteger();
+		DefinitionCache<String> cache = DefinitionCache.load(files(10), (id, data) ->
+		{
+			decodes.incrementAndGet();
+			return id + ":" + data[0];
+		}, DefinitionCache.Mode.LAZY);
+
+		Assert.assertEquals(10, cache.size());
+		Assert.assertEquals(0, cache.decodedCount());
+
+		Assert.assertEquals("6:3", cache.get(6));
+		Assert.assertEquals("6:3", cache.get(6));
+		Assert.assertNull(cache.get(7));
+		Assert.assertEquals(1, cache.decodedCount());
+		Assert.assertEquals(1, decodes.get());
+
+		List<String> values = cache.values();
+		Assert.assertEquals("0:0", values.get(0));
+		Assert.assertEquals("18:9", values.get(9));
+		Assert.assertEquals(3, cache.decodedCount());
+
+		Assert.assertEquals(10, cache.asMap().size());
+		Assert.assertEquals(10, cache.decodedCount());
+		Assert.assertEquals(10, decodes.get());
+	}
+
+	@Test
+	public void testEagerAndParallel()
+	{
+		DefinitionCache<String> eager = DefinitionCache.load(files(1000), (id, data) -> id + ":" + data[0],
+			DefinitionCache.Mode.EAGER);
+		DefinitionCache<String> parallel = DefinitionCache.load(files(1000), (id, data) -> id + ":" + data[0],
+			DefinitionCache.Mode.PARALLEL);
+
+		Assert.assertEquals(1000, eager.decodedCount());
+		Assert.assertEquals(1000, parallel.decodedCount());
+		Assert.assertEquals(eager.values(), parallel.values());
+		Assert.assertEquals(Arrays.asList("0:0", "2:1"), eager.values().subList(0, 2));
+	}
+
+	@Test
+	public void testEmpty()
+	{
+		DefinitionCache<String> cache = DefinitionCache.empty();
+		Assert.assertNull(cache.get(0));
+		Assert.assertTrue(cache.values().isEmpty());
+	}
+}
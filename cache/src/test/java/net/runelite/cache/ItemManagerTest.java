@@ -62,4 +62,15 @@ public class ItemManagerTest
 		logger.info("Dumped to {}, java {}", dumpDir, javaDir);
 	}
 
+	@Test
+	public void testLoadModes() throws IOException
+	{
+		try (Store store = new Store(StoreLocation.LOCATION))
+		{
+			store.load();
+
+			LoadModes.measure(logger, store, ItemManager::new, ItemManager::load, ItemManager::getItem,
+				ItemManager::decodedCount, 995);
+		}
+	}
 }
@@ -0,0 +1,59 @@
+package net.runelite.cache;
+
+import java.io.IOException;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import net.runelite.cache.fs.Store;
+import org.junit.Assert;
+import org.slf4j.Logger;
+
+/**
+ * Loads a definition manager in each {@link DefinitionCache.Mode} and logs the time from load to the first
+ * lookup and how many definitions were decoded to answer it.
+ */
+final class LoadModes
+{
+	interface Loader<M>
+	{
+		void load(M manager, DefinitionCache.Mode mode) throws IOException;
+	}
+
+	interface Lookup<M, T>
+	{
+		T get(M manager, int id);
+	}
+
+	private LoadModes()
+	{
+	}
+
+	static <M, T> void measure(Logger logger, Store store, Function<Store, M> create, Loader<M> loader,
+		Lookup<M, T> lookup, ToIntFunction<M> decodedCount, int id) throws IOException
+	{
+		T expected = null;
+		for (DefinitionCache.Mode mode : DefinitionCache.Mode.values())
+		{
+			M manager = create.apply(store);
+
+			long start = System.nanoTime();
+			loader.load(manager, mode);
+			T def = lookup.get(manager, id);
+			long elapsed = System.nanoTime() - start;
+
+			Assert.assertNotNull(mode.name(), def);
+			if (expected == null)
+			{
+				expected = def;
+			}
+			Assert.assertEquals(mode.name(), expected, def);
+
+			int decoded = decodedCount.applyAsInt(manager);
+			if (mode == DefinitionCache.Mode.LAZY)
+			{
+				Assert.assertEquals(1, decoded);
+			}
+
+			logger.info("{}: first lookup of {} after {} ms, {} decoded", mode, id, elapsed / 1_000_000, decoded);
+		}
+	}
+}
@@ -104,4 +104,29 @@ public class MapImageDumperTest
 			}
 		}
 	}
+
+	@Test
+	@Ignore
+	public void dumpTiles() throws IOException
+	{
+		File base = StoreLocation.LOCATION,
+			outDir = folder.newFolder();
+
+		try (Store store = new Store(base))
+		{
+			store.load();
+
+			XteaKeyManager keyManager = new XteaKeyManager();
+			keyManager.loadKeys(null);
+
+			MapImageDumper dumper = new MapImageDumper(store, keyManager);
+			dumper.load();
+
+			for (int i = 0; i < Region.Z; ++i)
+			{
+				dumper.writeTiles(i, outDir, 4);
+				logger.info("Wrote tiles for plane {} to {}", i, outDir);
+			}
+		}
+	}
 }
@@ -63,4 +63,15 @@ public class NpcManagerTest
 		logger.info("Dumped to {}, java {}", dumpDir, javaDir);
 	}
 
+	@Test
+	public void testLoadModes() throws IOException
+	{
+		try (Store store = new Store(StoreLocation.LOCATION))
+		{
+			store.load();
+
+			LoadModes.measure(logger, store, NpcManager::new, NpcManager::load, NpcManager::get,
+				NpcManager::decodedCount, 0);
+		}
+	}
 }
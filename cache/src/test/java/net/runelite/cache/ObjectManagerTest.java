@@ -26,7 +26,9 @@ package net.runelite.cache;
 
 import java.io.File;
 import java.io.IOException;
+import net.runelite.cache.definitions.ObjectDefinition;
 import net.runelite.cache.fs.Store;
+import org.junit.Assert;
 import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
@@ -63,4 +65,30 @@ public class ObjectManagerTest
 		logger.info("Dumped to {}, java {}", dumpDir, javaDir);
 	}
 
+	@Test
+	public void testLoadModes() throws IOException
+	{
+		try (Store store = new Store(StoreLocation.LOCATION))
+		{
+			store.load();
+
+			LoadModes.measure(logger, store, ObjectManager::new, ObjectManager::load, ObjectManager::getObject,
+				ObjectManager::decodedCount, 1276);
+
+			ObjectManager eager = new ObjectManager(store);
+			eager.load();
+
+			for (DefinitionCache.Mode mode : DefinitionCache.Mode.values())
+			{
+				ObjectManager manager = new ObjectManager(store);
+				manager.load(mode);
+
+				for (ObjectDefinition def : eager.getObjects())
+				{
+					Assert.assertEquals(mode.name(), def, manager.getObject(def.getId()));
+				}
+				Assert.assertEquals(mode.name(), eager.getObjects().size(), manager.getObjects().size());
+			}
+		}
+	}
 }
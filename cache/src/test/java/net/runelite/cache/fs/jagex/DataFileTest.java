@@ -167,4 +167,30 @@ public class DataFileTest
 		Assert.assertEquals("testtesttesttest1", str);
 		Assert.assertEquals(42, res2.revision);
 	}
+
+	@Test
+	public void testInterruptedReader() throws IOException
+	{
+		DataFile df = new DataFile(folder.newFile());
+
+		Container container = new Container(CompressionType.NONE, 0);
+		container.compress("test".getBytes(), null);
+		DataFileWriteResult res = df.write(42, 3, container.data);
+
+		// The first read maps the file, which an interrupt must not break for other readers
+		Thread.currentThread().interrupt();
+		try
+		{
+			byte[] data = df.read(42, 3, res.sector, res.compressedLength);
+			Assert.assertEquals("test", new String(Container.decompress(data, null).data));
+		}
+		finally
+		{
+			Assert.assertTrue(Thread.interrupted());
+		}
+
+		DataFileWriteResult res2 = df.write(42, 4, container.data);
+		byte[] data = df.read(42, 4, res2.sector, res2.compressedLength);
+		Assert.assertEquals("test", new String(Container.decompress(data, null).data));
+	}
 }
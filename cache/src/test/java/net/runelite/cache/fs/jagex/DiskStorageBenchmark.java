@@ -0,0 +1,123 @@
+package net.runelite.cache.fs.jagex;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import net.runelite.cache.StoreLocation;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Loads every archive of the test store from the {@link DiskStorage}, split over a number of threads, to
+ * measure how reads of the {@link DataFile} scale. Run with {@code main} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DiskStorageBenchmark
+{
+	@Param({"1", "2", "4", "8"})
+	public int threads;
+
+	private Store store;
+	private DiskStorage storage;
+	private int[] indexIds;
+	private int[] archiveIds;
+	private ExecutorService executor;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException
+	{
+		store = new Store(StoreLocation.LOCATION);
+		store.load();
+		storage = (DiskStorage) store.getStorage();
+
+		List<int[]> archives = new ArrayList<>();
+		for (Index index : store.getIndexes())
+		{
+			for (Archive archive : index.getArchives())
+			{
+				archives.add(new int[]{index.getId(), archive.getArchiveId()});
+			}
+		}
+
+		indexIds = new int[archives.size()];
+		archiveIds = new int[archives.size()];
+		for (int i = 0; i < archives.size(); ++i)
+		{
+			indexIds[i] = archives.get(i)[0];
+			archiveIds[i] = archives.get(i)[1];
+		}
+
+		executor = Executors.newFixedThreadPool(threads);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException
+	{
+		executor.shutdown();
+		store.close();
+	}
+
+	@Benchmark
+	public long loadAllArchives() throws InterruptedException, ExecutionException
+	{
+		List<Future<Long>> futures = new ArrayList<>(threads);
+		for (int t = 0; t < threads; ++t)
+		{
+			int first = t;
+			futures.add(executor.submit(() ->
+			{
+				long bytes = 0;
+				for (int i = first; i < indexIds.length; i += threads)
+				{
+					byte[] data = storage.load(indexIds[i], archiveIds[i]);
+					if (data != null)
+					{
+						bytes += data.length;
+					}
+				}
+				return bytes;
+			}));
+		}
+
+		long bytes = 0;
+		for (Future<Long> future : futures)
+		{
+			bytes += future.get();
+		}
+		return bytes;
+	}
+
+	public static void main(String[] args) throws RunnerException
+	{
+		new Runner(new OptionsBuilder()
+			.include(DiskStorageBenchmark.class.getSimpleName())
+			.build()).run();
+	}
+}
@@ -47,4 +47,27 @@ public class IndexFileTest
 		IndexEntry entry2 = index.read(7);
 		Assert.assertEquals(entry, entry2);
 	}
+
+	@Test
+	public void testInterruptedReader() throws IOException
+	{
+		IndexFile index = new IndexFile(5, folder.newFile());
+		IndexEntry entry = new IndexEntry(index, 7, 8, 9);
+		index.write(entry);
+
+		Thread.currentThread().interrupt();
+		try
+		{
+			Assert.assertEquals(entry, index.read(7));
+		}
+		finally
+		{
+			Assert.assertTrue(Thread.interrupted());
+		}
+
+		IndexEntry entry2 = new IndexEntry(index, 8, 10, 11);
+		index.write(entry2);
+		Assert.assertEquals(entry2, index.read(8));
+		Assert.assertEquals(9, index.getIndexCount());
+	}
 }
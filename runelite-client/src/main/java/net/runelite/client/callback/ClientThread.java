@@ -29,6 +29,7 @@ import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.ClientThreadMetrics;
 
 import javax.inject.Singleton;
 import java.util.Iterator;
@@ -71,6 +72,7 @@ public class ClientThread
 			return method.call();
 		}
 		final FutureTask<T> task = new FutureTask<>(method);
+		final long start = System.nanoTime();
 		invoke(task);
 		try {
 			return task.get(10000, TimeUnit.MILLISECONDS);
@@ -83,6 +85,8 @@ public class ClientThread
 				log.error("Exception during task execution: {}: {}", e.getClass().getSimpleName(), e.getMessage());
 			}
 			return null;
+		} finally {
+			ClientThreadMetrics.record(System.nanoTime() - start);
 		}
 	}
 
@@ -105,6 +109,7 @@ public class ClientThread
 			}
 		}
 		final FutureTask<T> task = new FutureTask<>(method);
+		final long start = System.nanoTime();
 		invoke(task);
 		try {
 			return Optional.ofNullable(task.get(10000, TimeUnit.MILLISECONDS));
@@ -117,6 +122,8 @@ public class ClientThread
 				log.error("Exception during task execution: {}: {}", e.getClass().getSimpleName(), e.getMessage());
 			}
 			return Optional.empty();
+		} finally {
+			ClientThreadMetrics.record(System.nanoTime() - start);
 		}
 	}
 
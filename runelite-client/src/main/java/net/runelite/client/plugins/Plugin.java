@@ -27,10 +27,13 @@ package net.runelite.client.plugins;
 import com.google.inject.Binder;
 import com.google.inject.Injector;
 import com.google.inject.Module;
+import java.util.function.Supplier;
 
 public abstract class Plugin implements Module
 {
 	protected Injector injector;
+	// Creates the injector on first use, for plugins whose injector creation was deferred at load
+	private volatile Supplier<Injector> injectorFactory;
 
 	@Override
 	public final int hashCode()
@@ -63,16 +66,40 @@ public abstract class Plugin implements Module
 
 	public final Injector getInjector()
 	{
+		if (injectorFactory != null)
+		{
+			createDeferredInjector();
+		}
 		return injector;
 	}
 
+	private synchronized void createDeferredInjector()
+	{
+		if (injectorFactory != null)
+		{
+			injector = injectorFactory.get();
+			injectorFactory = null;
+		}
+	}
+
+	void deferInjector(Supplier<Injector> injectorFactory)
+	{
+		this.injectorFactory = injectorFactory;
+	}
+
+	boolean isInjectorDeferred()
+	{
+		return injectorFactory != null;
+	}
+
 	public String getName()
 	{
 		return getClass().getAnnotation(PluginDescriptor.class).name();
 	}
 
-	public void setInjector(Injector injector)
+	public synchronized void setInjector(Injector injector)
 	{
 		this.injector = injector;
+		this.injectorFactory = null;
 	}
 }
@@ -0,0 +1,191 @@
+package net.runelite.client.plugins;
+
+import com.google.common.reflect.ClassPath;
+import com.google.common.reflect.ClassPath.ClassInfo;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Finds the plugin classes in the client, from the index written at build time by the plugin-index goal of the
+ * runelite-maven-plugin, or by scanning the class path when there is no index.
+ * <p>
+ * The index only names the plugin classes, so the other classes in the plugin packages are not loaded to find
+ * them. Each line has the class name, the descriptor name and the plugin dependencies, separated by tabs.
+ * <p>
+ * An index that is older than the compiled classes next to it, or that names a class which no longer exists,
+ * is ignored. IDE builds compile the classes without regenerating the index.
+ */
+@Slf4j
+public final class PluginIndex
+{
+	private static final String INDEX_RESOURCE = "plugins.idx";
+	private static final String INDEXED_PACKAGE = PluginIndex.class.getPackage().getName();
+
+	private PluginIndex()
+	{
+	}
+
+	/**
+	 * Loads the top level classes in the given packages which may be plugins. If useIndex is false, or the
+	 * index is missing or out of date, the packages are scanned.
+	 */
+	public static List<Class<?>> loadPluginClasses(ClassLoader classLoader, Collection<String> packages, boolean useIndex) throws IOException
+	{
+		List<String> index = useIndex ? read(classLoader) : null;
+		List<Class<?>> indexed = index != null ? loadIndexed(classLoader, packages, index) : null;
+		ClassPath classPath = null;
+		List<Class<?>> classes = new ArrayList<>();
+		if (indexed != null)
+		{
+			classes.addAll(indexed);
+		}
+		for (String packageName : packages)
+		{
+			if (indexed != null && isIndexed(packageName))
+			{
+				continue;
+			}
+
+			if (classPath == null)
+			{
+				classPath = ClassPath.from(classLoader);
+			}
+			for (ClassInfo classInfo : classPath.getTopLevelClassesRecursive(packageName))
+			{
+				classes.add(classInfo.load());
+			}
+		}
+		return classes;
+	}
+
+	/**
+	 * Loads the indexed classes in the given packages, or returns null if the index names a class which
+	 * cannot be loaded.
+	 */
+	private static List<Class<?>> loadIndexed(ClassLoader classLoader, Collection<String> packages, List<String> index)
+	{
+		List<Class<?>> classes = new ArrayList<>();
+		for (String packageName : packages)
+		{
+			if (!isIndexed(packageName))
+			{
+				continue;
+			}
+
+			String prefix = packageName + ".";
+			for (String className : index)
+			{
+				if (!className.startsWith(prefix))
+				{
+					continue;
+				}
+
+				try
+				{
+					classes.add(classLoader.loadClass(className));
+				}
+				catch (ClassNotFoundException | NoClassDefFoundError ex)
+				{
+					log.warn("Plugin index lists missing class {}, scanning the class path", className);
+					return null;
+				}
+			}
+		}
+		return classes;
+	}
+
+	/**
+	 * Reads the class names in the plugin index, or returns null if there is no index or it is out of date.
+	 */
+	static List<String> read(ClassLoader classLoader) throws IOException
+	{
+		String resource = INDEXED_PACKAGE.replace('.', '/') + "/" + INDEX_RESOURCE;
+		URL url = classLoader.getResource(resource);
+		if (url == null)
+		{
+			log.debug("No plugin index, scanning the class path");
+			return null;
+		}
+		if (isOutdated(url))
+		{
+			log.info("Plugin index is older than the compiled plugins, scanning the class path");
+			return null;
+		}
+
+		try (InputStream in = url.openStream())
+		{
+
+			List<String> classNames = new ArrayList<>();
+			BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+			for (String line; (line = reader.readLine()) != null; )
+			{
+				int tab = line.indexOf('\t');
+				if (!line.isEmpty())
+				{
+					classNames.add(tab == -1 ? line : line.substring(0, tab));
+				}
+			}
+			log.debug("Read {} plugins from the plugin index", classNames.size());
+			return classNames;
+		}
+	}
+
+	private static boolean isIndexed(String packageName)
+	{
+		return packageName.equals(INDEXED_PACKAGE) || packageName.startsWith(INDEXED_PACKAGE + ".");
+	}
+
+	/**
+	 * Checks an index in a class output directory against the classes compiled next to it. An index in a jar
+	 * is built together with its classes.
+	 */
+	private static boolean isOutdated(URL url)
+	{
+		if (!"file".equals(url.getProtocol()))
+		{
+			return false;
+		}
+
+		try
+		{
+			Path indexFile = Paths.get(url.toURI());
+			FileTime indexed = Files.getLastModifiedTime(indexFile);
+			try (Stream<Path> files = Files.walk(indexFile.getParent()))
+			{
+				return files.anyMatch(file -> file.toString().endsWith(".class") && isModifiedAfter(file, indexed));
+			}
+		}
+		catch (URISyntaxException | IOException | UncheckedIOException ex)
+		{
+			log.debug("Unable to check the plugin index against the compiled plugins", ex);
+			return true;
+		}
+	}
+
+	private static boolean isModifiedAfter(Path file, FileTime time)
+	{
+		try
+		{
+			return Files.getLastModifiedTime(file).compareTo(time) > 0;
+		}
+		catch (IOException ex)
+		{
+			throw new UncheckedIOException(ex);
+		}
+	}
+}
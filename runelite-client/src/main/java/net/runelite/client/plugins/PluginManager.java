@@ -32,6 +32,7 @@ import com.google.common.graph.Graphs;
 import com.google.common.graph.MutableGraph;
 import com.google.common.reflect.ClassPath;
 import com.google.common.reflect.ClassPath.ClassInfo;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Module;
 import com.google.inject.*;
 import lombok.Getter;
@@ -63,7 +64,15 @@ import java.lang.invoke.*;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
@@ -76,6 +85,11 @@ public class PluginManager
 	 */
 	private static final String PLUGIN_PACKAGE = "net.runelite.client.plugins";
 	private static final File SIDELOADED_PLUGINS = new File(RuneLite.RUNELITE_DIR, "sideloaded-plugins");
+	private static final int LOADER_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+	/**
+	 * How long the EDT is held per batch while starting plugins
+	 */
+	private static final long START_BATCH_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
 
 	private final boolean developerMode;
 	private final boolean safeMode;
@@ -86,6 +100,7 @@ public class PluginManager
 	private final List<Plugin> plugins = new CopyOnWriteArrayList<>();
 	@Getter
 	private final List<Plugin> activePlugins = new CopyOnWriteArrayList<>();
+	private final PluginStartupReport startupReport = new PluginStartupReport();
 
     public void addPlugin(Plugin plugin) {
         plugins.add(plugin);
@@ -148,6 +163,11 @@ public class PluginManager
 	{
 		try
 		{
+			if (plugin.isInjectorDeferred())
+			{
+				return providedConfig(plugin);
+			}
+
 			final Injector injector = plugin.getInjector();
 
 			for (Key<?> key : injector.getBindings().keySet())
@@ -173,14 +193,28 @@ public class PluginManager
 	public List<Config> getPluginConfigProxies(Collection<Plugin> plugins)
 	{
 		List<Injector> injectors = new ArrayList<>();
+		List<Config> list = new ArrayList<>();
 		if (plugins == null)
 		{
 			injectors.add(Microbot.getInjector());
 			plugins = getPlugins();
 		}
-		plugins.forEach(pl -> injectors.add(pl.getInjector()));
+		for (Plugin plugin : plugins)
+		{
+			if (plugin.isInjectorDeferred())
+			{
+				Config config = providedConfig(plugin);
+				if (config != null)
+				{
+					list.add(config);
+				}
+			}
+			else
+			{
+				injectors.add(plugin.getInjector());
+			}
+		}
 
-		List<Config> list = new ArrayList<>();
 		for (Injector injector : injectors)
 		{
 			for (Key<?> key : injector.getBindings().keySet())
@@ -197,6 +231,24 @@ public class PluginManager
 		return list;
 	}
 
+	/**
+	 * Gets the config of a plugin without an injector, from the return type of its config provider
+	 */
+	private Config providedConfig(Plugin plugin)
+	{
+		for (Class<?> clazz = plugin.getClass(); clazz != Plugin.class; clazz = clazz.getSuperclass())
+		{
+			for (Method method : clazz.getDeclaredMethods())
+			{
+				if (method.isAnnotationPresent(Provides.class) && Config.class.isAssignableFrom(method.getReturnType()))
+				{
+					return configManager.getConfig(method.getReturnType().asSubclass(Config.class));
+				}
+			}
+		}
+		return null;
+	}
+
 	public void loadDefaultPluginConfiguration(Collection<Plugin> plugins)
 	{
 		try
@@ -228,22 +280,21 @@ public class PluginManager
 			}
 			return pluginDescriptor.priority() ? 0 : 1;
 		}));
-		int loaded = 0;
-		for (Plugin plugin : scannedPlugins)
+		long startTime = System.nanoTime();
+		AtomicInteger next = new AtomicInteger();
+		while (next.get() < scannedPlugins.size())
 		{
 			try
 			{
+				// Start plugins in batches, so there are few EDT hops without holding the EDT for long
 				SwingUtilities.invokeAndWait(() ->
 				{
-					try
-					{
-						startPlugin(plugin);
-					}
-					catch (PluginInstantiationException ex)
+					long deadline = System.nanoTime() + START_BATCH_NANOS;
+					do
 					{
-						log.error("Unable to start plugin {}", plugin.getClass().getSimpleName(), ex);
-						plugins.remove(plugin);
+						startPluginTimed(scannedPlugins.get(next.getAndIncrement()));
 					}
+					while (next.get() < scannedPlugins.size() && System.nanoTime() - deadline < 0);
 				});
 			}
 			catch (InterruptedException | InvocationTargetException e)
@@ -251,24 +302,43 @@ public class PluginManager
 				throw new RuntimeException(e);
 			}
 
-			loaded++;
-			SplashScreen.stage(.80, 1, null, "Starting plugins", loaded, scannedPlugins.size(), false);
+			SplashScreen.stage(.80, 1, null, "Starting plugins", next.get(), scannedPlugins.size(), false);
 		}
+		startupReport.startFinished(System.nanoTime() - startTime);
+		startupReport.log();
 
 		for (Plugin plugin : plugins)
 		{
-			ReflectUtil.queueInjectorAnnotationCacheInvalidation(plugin.injector);
+			if (!plugin.isInjectorDeferred())
+			{
+				ReflectUtil.queueInjectorAnnotationCacheInvalidation(plugin.injector);
+			}
+		}
+	}
+
+	private void startPluginTimed(Plugin plugin)
+	{
+		long start = System.nanoTime();
+		try
+		{
+			if (startPlugin(plugin))
+			{
+				startupReport.started(plugin.getClass(), System.nanoTime() - start);
+			}
+		}
+		catch (PluginInstantiationException ex)
+		{
+			log.error("Unable to start plugin {}", plugin.getClass().getSimpleName(), ex);
+			plugins.remove(plugin);
 		}
 	}
 
 	public void loadCorePlugins() throws IOException, PluginInstantiationException
 	{
 		SplashScreen.stage(.59, null, "Loading plugins");
-		ClassPath classPath = ClassPath.from(getClass().getClassLoader());
-
-		List<Class<?>> plugins = classPath.getTopLevelClassesRecursive(PLUGIN_PACKAGE).stream()
-			.map(ClassInfo::load)
-			.collect(Collectors.toList());
+		// The index is not rebuilt by IDE builds, so developers always scan
+		List<Class<?>> plugins = PluginIndex.loadPluginClasses(getClass().getClassLoader(),
+			Collections.singletonList(PLUGIN_PACKAGE), !developerMode);
 
 		loadPlugins(plugins, (loaded, total) ->
 			SplashScreen.stage(.60, .70, null, "Loading plugins", loaded, total, false));
@@ -369,30 +439,72 @@ public class PluginManager
 			throw new PluginInstantiationException("Plugin dependency graph contains a cycle!");
 		}
 
-		List<Class<? extends Plugin>> sortedPlugins = topologicalSort(graph);
-
+		long startTime = System.nanoTime();
 		int loaded = 0;
 		List<Plugin> newPlugins = new ArrayList<>();
-		for (Class<? extends Plugin> pluginClazz : sortedPlugins)
+		ExecutorService executor = null;
+		try
 		{
-			Plugin plugin;
-			try
-			{
-				plugin = instantiate(this.plugins, (Class<Plugin>) pluginClazz);
-				newPlugins.add(plugin);
-				this.plugins.add(plugin);
-			}
-			catch (PluginInstantiationException ex)
+			for (List<Class<? extends Plugin>> level : topologicalLevels(graph))
 			{
-				log.error("Error instantiating plugin!", ex);
-			}
+				// Plugins in a level do not depend on each other, so they are instantiated in parallel. Their
+				// dependencies are in earlier levels, which are in the plugin list by now.
+				List<Future<Plugin>> futures = new ArrayList<>(level.size());
+				for (Class<? extends Plugin> pluginClazz : level)
+				{
+					Callable<Plugin> task = () -> instantiate(this.plugins, (Class<Plugin>) pluginClazz);
+					if (level.size() == 1)
+					{
+						FutureTask<Plugin> future = new FutureTask<>(task);
+						future.run();
+						futures.add(future);
+						continue;
+					}
+
+					if (executor == null)
+					{
+						executor = Executors.newFixedThreadPool(LOADER_THREADS, new ThreadFactoryBuilder()
+							.setNameFormat("plugin-loader-%d")
+							.setDaemon(true)
+							.build());
+					}
+					futures.add(executor.submit(task));
+				}
 
-			loaded++;
-			if (onPluginLoaded != null)
+				for (Future<Plugin> future : futures)
+				{
+					try
+					{
+						Plugin plugin = future.get();
+						newPlugins.add(plugin);
+						this.plugins.add(plugin);
+					}
+					catch (ExecutionException ex)
+					{
+						log.error("Error instantiating plugin!", ex.getCause());
+					}
+
+					loaded++;
+					if (onPluginLoaded != null)
+					{
+						onPluginLoaded.accept(loaded, graph.nodes().size());
+					}
+				}
+			}
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			throw new PluginInstantiationException(ex);
+		}
+		finally
+		{
+			if (executor != null)
 			{
-				onPluginLoaded.accept(loaded, sortedPlugins.size());
+				executor.shutdown();
 			}
 		}
+		startupReport.loadFinished(System.nanoTime() - startTime);
 
 		return newPlugins;
 	}
@@ -407,6 +519,16 @@ public class PluginManager
 			return false;
 		}
 
+		try
+		{
+			// Creates the injector of a plugin which was disabled when it was loaded
+			plugin.getInjector();
+		}
+		catch (RuntimeException ex)
+		{
+			throw new PluginInstantiationException(ex);
+		}
+
 		List<Plugin> conflicts = conflictsForPlugin(plugin);
 		for (Plugin conflict : conflicts)
 		{
@@ -535,6 +657,7 @@ public class PluginManager
 			deps.add(dependency.get());
 		}
 
+		long start = System.nanoTime();
 		Plugin plugin;
 		try
 		{
@@ -549,6 +672,34 @@ public class PluginManager
 			throw new PluginInstantiationException(ex);
 		}
 
+		// Most plugins are disabled, so their injector is only created once something needs it
+		if (configManager != null && !isPluginEnabled(plugin))
+		{
+			plugin.deferInjector(() ->
+			{
+				try
+				{
+					return createInjector(clazz, plugin, deps);
+				}
+				catch (PluginInstantiationException ex)
+				{
+					throw new IllegalStateException("Unable to create injector for " + clazz.getSimpleName(), ex);
+				}
+			});
+			startupReport.loaded(clazz, System.nanoTime() - start, true);
+			log.debug("Loaded plugin {}, deferring its injector", clazz.getSimpleName());
+			return plugin;
+		}
+
+		plugin.injector = createInjector(clazz, plugin, deps);
+		startupReport.loaded(clazz, System.nanoTime() - start, false);
+
+		log.debug("Loaded plugin {}", clazz.getSimpleName());
+		return plugin;
+	}
+
+	private static Injector createInjector(Class<Plugin> clazz, Plugin plugin, List<Plugin> deps) throws PluginInstantiationException
+	{
 		try
 		{
 			Injector parent = Microbot.getInjector();
@@ -573,7 +724,7 @@ public class PluginManager
 			else if (!deps.isEmpty())
 			{
 				// With only one dependency we can simply use its injector
-				parent = deps.get(0).injector;
+				parent = deps.get(0).getInjector();
 			}
 
 			// Create injector for the module
@@ -583,16 +734,12 @@ public class PluginManager
 				binder.bind(clazz).toInstance(plugin);
 				binder.install(plugin);
 			};
-			Injector pluginInjector = parent.createChildInjector(pluginModule);
-			plugin.injector = pluginInjector;
+			return parent.createChildInjector(pluginModule);
 		}
 		catch (CreationException ex)
 		{
 			throw new PluginInstantiationException(ex);
 		}
-
-		log.debug("Loaded plugin {}", clazz.getSimpleName());
-		return plugin;
 	}
 
 	public void add(Plugin plugin)
@@ -708,6 +855,37 @@ public class PluginManager
 		return l;
 	}
 
+	/**
+	 * Groups the nodes of an acyclic graph in levels, where each node is in the level after the last of its
+	 * predecessors. Nodes in the same level do not depend on each other.
+	 *
+	 * @param graph - A directed acyclic graph
+	 * @param <T>   - The type of the item contained in the nodes of the graph
+	 * @return - The levels, in order
+	 */
+	@VisibleForTesting
+	static <T> List<List<T>> topologicalLevels(Graph<T> graph)
+	{
+		Map<T, Integer> depth = new HashMap<>();
+		List<List<T>> levels = new ArrayList<>();
+		for (T node : topologicalSort(graph))
+		{
+			int level = 0;
+			for (T predecessor : graph.predecessors(node))
+			{
+				level = Math.max(level, depth.get(predecessor) + 1);
+			}
+			depth.put(node, level);
+
+			if (level == levels.size())
+			{
+				levels.add(new ArrayList<>());
+			}
+			levels.get(level).add(node);
+		}
+		return levels;
+	}
+
 	public List<Plugin> conflictsForPlugin(Plugin plugin)
 	{
 		Set<String> conflicts;
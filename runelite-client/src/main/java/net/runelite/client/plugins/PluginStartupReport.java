@@ -0,0 +1,89 @@
+package net.runelite.client.plugins;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Collects what loading and starting each plugin cost during startup, and logs it once the plugins are started.
+ */
+@Slf4j
+class PluginStartupReport
+{
+	private static final class Entry
+	{
+		private final String name;
+		private volatile long loadNanos;
+		private volatile long startNanos;
+		private volatile boolean deferred;
+
+		private Entry(String name)
+		{
+			this.name = name;
+		}
+	}
+
+	private final Map<Class<?>, Entry> entries = new ConcurrentHashMap<>();
+	private final AtomicLong loadWallNanos = new AtomicLong();
+	private final AtomicLong startWallNanos = new AtomicLong();
+
+	void loaded(Class<?> clazz, long nanos, boolean deferred)
+	{
+		Entry entry = entry(clazz);
+		entry.loadNanos = nanos;
+		entry.deferred = deferred;
+	}
+
+	void started(Class<?> clazz, long nanos)
+	{
+		entry(clazz).startNanos = nanos;
+	}
+
+	void loadFinished(long wallNanos)
+	{
+		loadWallNanos.addAndGet(wallNanos);
+	}
+
+	void startFinished(long wallNanos)
+	{
+		startWallNanos.addAndGet(wallNanos);
+	}
+
+	/**
+	 * Logs the report and starts a new one.
+	 */
+	void log()
+	{
+		List<Entry> report = new ArrayList<>(entries.values());
+		entries.clear();
+		report.sort(Comparator.comparingLong((Entry e) -> e.loadNanos + e.startNanos).reversed());
+
+		long deferred = report.stream().filter(e -> e.deferred).count();
+		log.info("Plugins loaded in {}ms ({} of {} with deferred injectors), started in {}ms",
+			millis(loadWallNanos.getAndSet(0)), deferred, report.size(), millis(startWallNanos.getAndSet(0)));
+
+		if (log.isDebugEnabled())
+		{
+			for (Entry e : report)
+			{
+				log.debug("{}: load {}ms{}, start {}ms", e.name, millis(e.loadNanos), e.deferred ? " (deferred)" : "",
+					millis(e.startNanos));
+			}
+		}
+	}
+
+	private Entry entry(Class<?> clazz)
+	{
+		return entries.computeIfAbsent(clazz, c -> new Entry(c.getSimpleName()));
+	}
+
+	private static long millis(long nanos)
+	{
+		return TimeUnit.NANOSECONDS.toMillis(nanos);
+	}
+}
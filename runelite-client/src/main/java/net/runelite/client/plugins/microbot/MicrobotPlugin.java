@@ -23,8 +23,13 @@ import net.runelite.client.plugins.PluginInstantiationException;
 import net.runelite.client.plugins.PluginManager;
 import net.runelite.client.plugins.microbot.qualityoflife.scripts.pouch.PouchOverlay;
 import net.runelite.client.plugins.microbot.qualityoflife.scripts.pouch.PouchScript;
+import net.runelite.client.plugins.microbot.util.ClientEventWaiter;
+import net.runelite.client.plugins.microbot.util.ClientSnapshot;
+import net.runelite.client.plugins.microbot.util.ClientThreadMetrics;
 import net.runelite.client.plugins.microbot.util.bank.Rs2Bank;
 import net.runelite.client.plugins.microbot.util.equipment.Rs2Equipment;
+import net.runelite.client.plugins.microbot.util.gameobject.SceneObjectIndex;
+import net.runelite.client.plugins.microbot.util.grounditem.GroundItemIndex;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2Gembag;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2Inventory;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2RunePouch;
@@ -48,6 +53,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.lang.reflect.InvocationTargetException;
 import java.time.Instant;
+import java.util.Comparator;
 
 @PluginDescriptor(
         name = PluginDescriptor.Default + "Microbot",
@@ -59,6 +65,9 @@ import java.time.Instant;
 )
 @Slf4j
 public class MicrobotPlugin extends Plugin {
+    // About once a minute
+    private static final int METRICS_LOG_INTERVAL_TICKS = 100;
+
     @Inject
     Notifier notifier;
     @Inject
@@ -114,6 +123,7 @@ public class MicrobotPlugin extends Plugin {
         Microbot.setClient(client);
         Microbot.setClientThread(clientThread);
         Microbot.setEventBus(eventBus);
+        ClientEventWaiter.register(eventBus);
         Microbot.setMouseManager(mouseManager);
         Microbot.setNotifier(notifier);
         Microbot.setWorldService(worldService);
@@ -145,6 +155,7 @@ public class MicrobotPlugin extends Plugin {
 
     protected void shutDown() {
         overlayManager.remove(microbotOverlay);
+        ClientEventWaiter.unregister(eventBus);
     }
 
 
@@ -169,14 +180,17 @@ public class MicrobotPlugin extends Plugin {
 
     @Subscribe
     public void onGameStateChanged(GameStateChanged gameStateChanged) {
+        // No ticks fire while logged out, hopping or loading, so the last tick's players and NPCs are dropped here
+        ClientSnapshot.invalidate();
+        SceneObjectIndex.onGameStateChanged(gameStateChanged);
+        GroundItemIndex.onGameStateChanged(gameStateChanged);
         if (gameStateChanged.getGameState() == GameState.LOGGED_IN) {
             Microbot.setLoginTime(Instant.now());
             Rs2RunePouch.fullUpdate();
+            Rs2Bank.loadBankItemsFromDisk();
         }
         if (gameStateChanged.getGameState() == GameState.HOPPING || gameStateChanged.getGameState() == GameState.LOGIN_SCREEN || gameStateChanged.getGameState() == GameState.CONNECTION_LOST) {
-            if (Rs2Bank.bankItems != null) {
-                Rs2Bank.bankItems.clear();
-            }
+            Rs2Bank.clearBankItemsInMemory();
             Microbot.loggedIn = false;
         }
     }
@@ -305,4 +319,85 @@ public class MicrobotPlugin extends Plugin {
             }
         }
     }
+
+    @Subscribe
+    public void onGameTick(GameTick event) {
+        ClientSnapshot.invalidate();
+        SceneObjectIndex.onGameTick(event);
+        GroundItemIndex.onGameTick(event);
+        if (client.getTickCount() % METRICS_LOG_INTERVAL_TICKS == 0) {
+            logMetrics();
+        }
+    }
+
+    /**
+     * Logs the CPU time and queue delay, and the client thread hops and wait time, of each script at debug level,
+     * the most expensive first.
+     */
+    private void logMetrics() {
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        ScriptRuntime.getStats().values().stream()
+                .sorted(Comparator.comparingLong(ScriptRuntime.Stats::getCpuTimeMillis).reversed())
+                .forEach(stats -> log.debug("Script runtime of {}", stats));
+        ClientThreadMetrics.getHops().values().stream()
+                .sorted(Comparator.comparingLong(ClientThreadMetrics.Hops::getTotalWaitMillis).reversed())
+                .forEach(hops -> log.debug("Client thread hops of {}", hops));
+    }
+
+    @Subscribe
+    public void onItemSpawned(ItemSpawned event) {
+        GroundItemIndex.onItemSpawned(event);
+    }
+
+    @Subscribe
+    public void onItemDespawned(ItemDespawned event) {
+        GroundItemIndex.onItemDespawned(event);
+    }
+
+    @Subscribe
+    public void onItemQuantityChanged(ItemQuantityChanged event) {
+        GroundItemIndex.onItemQuantityChanged(event);
+    }
+
+    @Subscribe
+    public void onGameObjectSpawned(GameObjectSpawned event) {
+        SceneObjectIndex.onGameObjectSpawned(event);
+    }
+
+    @Subscribe
+    public void onGameObjectDespawned(GameObjectDespawned event) {
+        SceneObjectIndex.onGameObjectDespawned(event);
+    }
+
+    @Subscribe
+    public void onWallObjectSpawned(WallObjectSpawned event) {
+        SceneObjectIndex.onWallObjectSpawned(event);
+    }
+
+    @Subscribe
+    public void onWallObjectDespawned(WallObjectDespawned event) {
+        SceneObjectIndex.onWallObjectDespawned(event);
+    }
+
+    @Subscribe
+    public void onGroundObjectSpawned(GroundObjectSpawned event) {
+        SceneObjectIndex.onGroundObjectSpawned(event);
+    }
+
+    @Subscribe
+    public void onGroundObjectDespawned(GroundObjectDespawned event) {
+        SceneObjectIndex.onGroundObjectDespawned(event);
+    }
+
+    @Subscribe
+    public void onDecorativeObjectSpawned(DecorativeObjectSpawned event) {
+        SceneObjectIndex.onDecorativeObjectSpawned(event);
+    }
+
+    @Subscribe
+    public void onDecorativeObjectDespawned(DecorativeObjectDespawned event) {
+        SceneObjectIndex.onDecorativeObjectDespawned(event);
+    }
 }
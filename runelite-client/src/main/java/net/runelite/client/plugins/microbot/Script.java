@@ -16,18 +16,23 @@ import net.runelite.client.plugins.microbot.util.walker.Rs2Walker;
 import net.runelite.client.plugins.microbot.util.widget.Rs2Widget;
 import java.time.Duration;
 import java.time.LocalTime;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 
 @Slf4j
 public abstract class Script extends Global implements IScript {
-    protected ScheduledExecutorService scheduledExecutorService = Executors.newScheduledThreadPool(10);
+    protected ScheduledExecutorService scheduledExecutorService = ScriptRuntime.executor(executorName(getClass()));
     protected ScheduledFuture<?> scheduledFuture;
     protected ScheduledFuture<?> mainScheduledFuture;
     public static boolean hasLeveledUp = false;
     public static boolean useStaminaPotsIfNeeded = true;
 
+    // Anonymous scripts have an empty simple name
+    private static String executorName(Class<?> scriptClass) {
+        String name = scriptClass.getSimpleName();
+        return name.isEmpty() ? scriptClass.getName() : name;
+    }
+
     public boolean isRunning() {
         return mainScheduledFuture != null && !mainScheduledFuture.isDone();
     }
@@ -0,0 +1,278 @@
+package net.runelite.client.plugins.microbot;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shared runtime for script loops and other background tasks of the microbot plugins.
+ * <p>
+ * Each script gets its own {@link ScheduledExecutorService} from {@link #executor(String)}, but the executors do not
+ * own threads. Delays are kept by one shared timer thread, and due tasks run on a shared worker pool whose threads
+ * are created on demand, up to {@link #MAX_WORKERS}, and stop after a minute without work. A script therefore holds
+ * no thread between loop iterations, but one that blocks within an iteration, e.g. in {@code sleep} or
+ * {@code sleepUntil}, keeps its worker until the iteration returns.
+ * <p>
+ * A periodic task never runs concurrently with itself, so one script cannot occupy more than one worker per loop.
+ * Workers are renamed after the script while they run its task, and the CPU time and queue delay of each task are
+ * recorded per script, see {@link #getStats()}. The MicrobotPlugin logs them about once a minute at debug level.
+ */
+@Slf4j
+public class ScriptRuntime {
+    static final int MAX_WORKERS = 128;
+    // Delay before retrying a task that found every worker busy
+    private static final long SATURATED_RETRY_MILLIS = 20;
+
+    private static final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, daemonThreads("microbot-script-timer"));
+    private static final ThreadPoolExecutor workers = new ThreadPoolExecutor(0, MAX_WORKERS, 60, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), daemonThreads("microbot-script-worker"));
+    private static final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private static final boolean cpuTimeSupported = threadMXBean.isCurrentThreadCpuTimeSupported();
+    private static final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    static {
+        timer.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Run counts, CPU time and queue delay of the tasks of one script.
+     */
+    public static class Stats {
+        @Getter
+        private final String name;
+        private final LongAdder runs = new LongAdder();
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAdder queueDelayNanos = new LongAdder();
+
+        private Stats(String name) {
+            this.name = name;
+        }
+
+        public long getRuns() {
+            return runs.sum();
+        }
+
+        public long getCpuTimeMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(cpuNanos.sum());
+        }
+
+        /** Total time tasks waited for a worker after they were due */
+        public long getQueueDelayMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(queueDelayNanos.sum());
+        }
+
+        @Override
+        public String toString() {
+            return name + ": " + getRuns() + " runs, " + getCpuTimeMillis() + " ms cpu, " + getQueueDelayMillis() + " ms queued";
+        }
+    }
+
+    /**
+     * Creates an executor whose tasks run on the shared runtime under the given name.
+     */
+    public static ScheduledExecutorService executor(String name) {
+        return new ScriptExecutor(name);
+    }
+
+    public static Map<String, Stats> getStats() {
+        return Collections.unmodifiableMap(stats);
+    }
+
+    /** Number of worker threads currently alive */
+    public static int getWorkerCount() {
+        return workers.getPoolSize();
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class ScriptExecutor extends AbstractExecutorService implements ScheduledExecutorService {
+        private final String name;
+        private final Stats scriptStats;
+        private final Set<ScriptTask<?>> tasks = ConcurrentHashMap.newKeySet();
+        private volatile boolean shutdown;
+
+        private ScriptExecutor(String name) {
+            this.name = name;
+            this.scriptStats = stats.computeIfAbsent(name, Stats::new);
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            return submitTask(new ScriptTask<>(this, Executors.callable(command, null), unit.toNanos(delay), 0));
+        }
+
+        @Override
+        public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+            return submitTask(new ScriptTask<>(this, callable, unit.toNanos(delay), 0));
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+            if (period <= 0) throw new IllegalArgumentException();
+            return submitTask(new ScriptTask<>(this, Executors.callable(command, null), unit.toNanos(initialDelay), unit.toNanos(period)));
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+            if (delay <= 0) throw new IllegalArgumentException();
+            return submitTask(new ScriptTask<>(this, Executors.callable(command, null), unit.toNanos(initialDelay), -unit.toNanos(delay)));
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            schedule(command, 0, TimeUnit.NANOSECONDS);
+        }
+
+        private <V> ScriptTask<V> submitTask(ScriptTask<V> task) {
+            if (shutdown) {
+                throw new RejectedExecutionException(name + " has been shut down");
+            }
+            tasks.add(task);
+            task.scheduleAfter(task.initialDelayNanos);
+            return task;
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+            // Like a ScheduledThreadPoolExecutor, periodic tasks stop and delayed tasks still run
+            for (ScriptTask<?> task : tasks) {
+                if (task.isPeriodic()) {
+                    task.cancel(false);
+                }
+            }
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            List<Runnable> pending = new ArrayList<>();
+            for (ScriptTask<?> task : tasks) {
+                if (task.cancel(true)) {
+                    pending.add(task);
+                }
+            }
+            return pending;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown && tasks.isEmpty();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            while (!isTerminated()) {
+                if (System.nanoTime() >= deadline) {
+                    return false;
+                }
+                Thread.sleep(10);
+            }
+            return true;
+        }
+    }
+
+    private static final class ScriptTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+        private final ScriptExecutor executor;
+        private final long initialDelayNanos;
+        // 0 for one-shot tasks, positive for a fixed rate and negative for a fixed delay, as in ScheduledThreadPoolExecutor
+        private final long period;
+        private volatile long dueNanos;
+        private volatile ScheduledFuture<?> timerFuture;
+
+        private ScriptTask(ScriptExecutor executor, Callable<V> callable, long initialDelayNanos, long period) {
+            super(callable);
+            this.executor = executor;
+            this.initialDelayNanos = initialDelayNanos;
+            this.period = period;
+        }
+
+        private void scheduleAfter(long delayNanos) {
+            dueNanos = System.nanoTime() + delayNanos;
+            timerFuture = timer.schedule(this::dispatch, delayNanos, TimeUnit.NANOSECONDS);
+        }
+
+        // Runs on the timer thread once the task is due
+        private void dispatch() {
+            if (isDone()) {
+                return;
+            }
+            try {
+                workers.execute(this);
+            } catch (RejectedExecutionException e) {
+                log.trace("All script workers are busy, delaying a task of {}", executor.name);
+                timerFuture = timer.schedule(this::dispatch, SATURATED_RETRY_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return period != 0;
+        }
+
+        @Override
+        public void run() {
+            Thread thread = Thread.currentThread();
+            String threadName = thread.getName();
+            thread.setName(executor.name);
+            long startNanos = System.nanoTime();
+            long startCpu = cpuTimeSupported ? threadMXBean.getCurrentThreadCpuTime() : 0;
+            executor.scriptStats.queueDelayNanos.add(Math.max(0, startNanos - dueNanos));
+            try {
+                if (!isPeriodic()) {
+                    super.run();
+                } else if (runAndReset()) {
+                    if (executor.shutdown) {
+                        cancel(false);
+                    } else {
+                        scheduleAfter(period > 0 ? Math.max(0, dueNanos + period - System.nanoTime()) : -period);
+                    }
+                }
+            } finally {
+                executor.scriptStats.runs.increment();
+                if (cpuTimeSupported) {
+                    executor.scriptStats.cpuNanos.add(threadMXBean.getCurrentThreadCpuTime() - startCpu);
+                }
+                thread.setName(threadName);
+            }
+        }
+
+        @Override
+        protected void done() {
+            ScheduledFuture<?> pending = timerFuture;
+            if (pending != null) {
+                pending.cancel(false);
+            }
+            executor.tasks.remove(this);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package net.runelite.client.plugins.microbot.pluginscheduler;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.swing.SwingUtilities;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Runs the scheduling logic of the {@link SchedulerPlugin} on a thread of its own, so checking schedules and
+ * starting or stopping plugins neither waits on nor holds up the Swing event dispatch thread.
+ * <p>
+ * All scheduling work, the periodic check, retries and the actions requested from the UI, goes through
+ * {@link #execute(Runnable)} and runs one task at a time, so the scheduler state is only changed on the engine
+ * thread. After each task the engine takes a {@link SchedulerSnapshot} and asks the UI to refresh
+ * from it, at most once every {@link #UI_REFRESH_MILLIS}.
+ */
+@Slf4j
+class SchedulerEngine {
+    static final long UI_REFRESH_MILLIS = 500;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "PluginScheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Supplier<SchedulerSnapshot> snapshotter;
+    private final Runnable uiRefresh;
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+    private volatile Thread engineThread;
+    private volatile long lastRefreshMillis;
+
+    @Getter
+    private volatile SchedulerSnapshot snapshot = SchedulerSnapshot.EMPTY;
+
+    SchedulerEngine(Supplier<SchedulerSnapshot> snapshotter, Runnable uiRefresh) {
+        this.snapshotter = snapshotter;
+        this.uiRefresh = uiRefresh;
+    }
+
+    /**
+     * Runs the check on the engine thread with a fixed delay between runs.
+     */
+    ScheduledFuture<?> start(Runnable check, long delayMillis) {
+        return executor.scheduleWithFixedDelay(() -> run(check), 0, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues scheduling work on the engine thread.
+     */
+    void execute(Runnable task) {
+        try {
+            executor.execute(() -> run(task));
+        } catch (RejectedExecutionException e) {
+            log.debug("Scheduler engine is shut down, dropping task");
+        }
+    }
+
+    /**
+     * Queues scheduling work on the engine thread to run after the delay.
+     */
+    void schedule(Runnable task, long delayMillis) {
+        try {
+            executor.schedule(() -> run(task), delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.debug("Scheduler engine is shut down, dropping task");
+        }
+    }
+
+    /**
+     * Queues scheduling work that has a result on the engine thread.
+     * The future completes with null if the engine is shut down before the work runs.
+     */
+    <T> CompletableFuture<T> submit(Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> run(() -> {
+                try {
+                    result.complete(task.get());
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                    throw e;
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            log.debug("Scheduler engine is shut down, dropping task");
+            result.complete(null);
+        }
+        return result;
+    }
+
+    boolean isEngineThread() {
+        return Thread.currentThread() == engineThread;
+    }
+
+    /**
+     * Publishes a new snapshot and refreshes the UI from it, after the work queued before has run.
+     */
+    void publish() {
+        if (isEngineThread()) {
+            takeSnapshot();
+        } else {
+            execute(() -> { });
+        }
+    }
+
+    /**
+     * Runs the work queued so far and stops the engine thread. Once this returns, the caller owns the
+     * scheduler state.
+     */
+    void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Scheduler engine did not finish its queued work in time");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run(Runnable task) {
+        engineThread = Thread.currentThread();
+        try {
+            task.run();
+        } catch (Exception e) {
+            log.error("Error in plugin scheduler: {}", e.getMessage(), e);
+        }
+        takeSnapshot();
+    }
+
+    private void takeSnapshot() {
+        try {
+            snapshot = snapshotter.get();
+        } catch (Exception e) {
+            log.error("Error taking scheduler snapshot: {}", e.getMessage(), e);
+            return;
+        }
+        requestRefresh();
+    }
+
+    // Coalesces refresh requests, so the UI is repainted at a bounded rate however often the engine publishes
+    private void requestRefresh() {
+        if (!refreshPending.compareAndSet(false, true)) {
+            return;
+        }
+        long delay = Math.max(0, lastRefreshMillis + UI_REFRESH_MILLIS - System.currentTimeMillis());
+        try {
+            executor.schedule(() -> SwingUtilities.invokeLater(() -> {
+                refreshPending.set(false);
+                lastRefreshMillis = System.currentTimeMillis();
+                uiRefresh.run();
+            }), delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            refreshPending.set(false);
+        }
+    }
+}
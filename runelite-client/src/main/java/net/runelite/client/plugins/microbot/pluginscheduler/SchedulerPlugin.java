@@ -21,7 +21,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -101,17 +102,17 @@ public class SchedulerPlugin extends Plugin {
 
     @Inject
     private ClientToolbar clientToolbar;
-    @Inject
-    private ScheduledExecutorService executorService;
-
     private NavigationButton navButton;
     private SchedulerPanel panel;
     private ScheduledFuture<?> updateTask;
+    // Runs the scheduling logic off the Swing event dispatch thread, while the plugin is started
+    private SchedulerEngine engine;
     private SchedulerWindow schedulerWindow;
+    // Like the state, only written on the scheduler engine thread and volatile for the UI reading it
     @Getter
-    private PluginScheduleEntry currentPlugin;
+    private volatile PluginScheduleEntry currentPlugin;
     @Getter
-    private PluginScheduleEntry lastPlugin;
+    private volatile PluginScheduleEntry lastPlugin;
     private void setCurrentPlugin(PluginScheduleEntry plugin) {
         // Update last plugin when setting new one
         if (this.currentPlugin != null && plugin != this.currentPlugin) {
@@ -121,20 +122,29 @@ public class SchedulerPlugin extends Plugin {
     }
 
     /**
-     * Returns the list of scheduled plugins
+     * Returns the list of scheduled plugins.
+     * Read by the scheduler engine while the UI edits it, hence a copy-on-write list.
      * @return List of PluginScheduleEntry objects
      */
     @Getter
-    private List<PluginScheduleEntry> scheduledPlugins = new ArrayList<>();
+    private volatile List<PluginScheduleEntry> scheduledPlugins = new CopyOnWriteArrayList<>();
 
     // private final Map<String, PluginScheduleEntry> nextPluginCache = new
     // HashMap<>();
 
     private int initCheckCount = 0;
+    // Set while a check waits for the game state from the client thread, so engine ticks do not queue another
+    private boolean initCheckPending;
     private static final int MAX_INIT_CHECKS = 10;
+    // Delay between the checks whether a started plugin runs
+    private static final long START_CHECK_MILLIS = 100;
 
+    /**
+     * State of the scheduler. Only written on the scheduler engine thread, actions from the UI and events
+     * are queued on the engine, and volatile for the UI reading it.
+     */
     @Getter
-    private SchedulerState currentState = SchedulerState.UNINITIALIZED;
+    private volatile SchedulerState currentState = SchedulerState.UNINITIALIZED;
     private GameState lastGameState = GameState.UNKNOWN;
 
     // Activity and state tracking
@@ -176,95 +186,90 @@ public class SchedulerPlugin extends Plugin {
         // Check initialization status before fully enabling scheduler
         //checkInitialization();
 
-        // Run the main loop
-        updateTask = executorService.scheduleWithFixedDelay(() -> {
-            SwingUtilities.invokeLater(() -> {
-                // Only run scheduling logic if fully initialized
-                if (currentState.isSchedulerActive()) {
-                    checkSchedule();
-                } else if (currentState == SchedulerState.INITIALIZING
-                        || currentState == SchedulerState.UNINITIALIZED) {
-                    // Retry initialization check if not already checking
-                    checkInitialization();
-                }
-                updatePanels();
-            });
-        }, 0, 1, TimeUnit.SECONDS);
+        // Run the main loop on the scheduler engine, which publishes a snapshot for the panels after each check
+        engine = new SchedulerEngine(this::createSnapshot, this::refreshPanels);
+        updateTask = engine.start(() -> {
+            // Only run scheduling logic if fully initialized
+            if (currentState.isSchedulerActive()) {
+                checkSchedule();
+            } else if (currentState == SchedulerState.INITIALIZING
+                    || currentState == SchedulerState.UNINITIALIZED) {
+                // Retry initialization check if not already checking
+                checkInitialization();
+            }
+        }, TimeUnit.SECONDS.toMillis(1));
     }
 
     /**
      * Checks if all required plugins are loaded and initialized.
-     * This runs until initialization is complete or max check count is reached.
+     * This runs on each engine tick until initialization is complete or max check count is reached.
      */
     private void checkInitialization() {
-        if (!currentState.isInitializing()) {
+        if (!currentState.isInitializing() || initCheckPending) {
             return;
         }
         if (Microbot.getClientThread() == null || Microbot.getClient() == null) {
             return;
         }
-        setState(SchedulerState.INITIALIZING);       
-        // Schedule repeated checks until initialized or max checks reached
-        
+        setState(SchedulerState.INITIALIZING);
+        initCheckPending = true;
+
+        // Only the game state is read on the client thread, the scheduler state is changed on the engine
         Microbot.getClientThread().invokeLater(() -> {
-            // Check if client is at login screen
-            List<Plugin> conditionProviders = new ArrayList<>();
-            if (Microbot.getPluginManager() == null || Microbot.getClient() == null) {
-                return;
+            GameState gameState = Microbot.getClient() != null ? Microbot.getClient().getGameState() : null;
+            runOnScheduler(() -> completeInitializationCheck(gameState));
+        });
+    }
 
-            } else {
-                // Find all plugins implementing ConditionProvider
-                conditionProviders = Microbot.getPluginManager().getPlugins().stream()
-                        .filter(plugin -> plugin instanceof SchedulablePlugin)
-                        .collect(Collectors.toList());
-                List<Plugin> enabledList = conditionProviders.stream()
-                        .filter(plugin -> Microbot.getPluginManager().isPluginEnabled(plugin))
-                        .collect(Collectors.toList());
-            }
-
-            boolean isAtLoginScreen = Microbot.getClient().getGameState() == GameState.LOGIN_SCREEN;
-            boolean isLoggedIn = Microbot.getClient().getGameState() == GameState.LOGGED_IN;
-            boolean isAtLoginAuth = Microbot.getClient().getGameState() == GameState.LOGIN_SCREEN_AUTHENTICATOR;
-            // If any conditions met, mark as initialized
-            if (isAtLoginScreen || isLoggedIn || isAtLoginAuth) {
-                log.info("Scheduler initialization complete - {} stopping condition providers loaded",
-                        conditionProviders.size());
-
-                loadScheduledPlugin();
-                for (Plugin plugin : conditionProviders) {
-                    try {
-                        Microbot.getClientThread().runOnSeperateThread(() -> {
-                            Microbot.stopPlugin(plugin);
-                            return false;
-                        });
-                    } catch (Exception e) {
-                    }
+    private void completeInitializationCheck(GameState gameState) {
+        initCheckPending = false;
+        if (!currentState.isInitializing() || Microbot.getPluginManager() == null || gameState == null) {
+            return;
+        }
+
+        // Find all plugins implementing ConditionProvider
+        List<Plugin> conditionProviders = Microbot.getPluginManager().getPlugins().stream()
+                .filter(plugin -> plugin instanceof SchedulablePlugin)
+                .collect(Collectors.toList());
+
+        boolean isAtLoginScreen = gameState == GameState.LOGIN_SCREEN;
+        boolean isLoggedIn = gameState == GameState.LOGGED_IN;
+        boolean isAtLoginAuth = gameState == GameState.LOGIN_SCREEN_AUTHENTICATOR;
+        // If any conditions met, mark as initialized
+        if (isAtLoginScreen || isLoggedIn || isAtLoginAuth) {
+            log.info("Scheduler initialization complete - {} stopping condition providers loaded",
+                    conditionProviders.size());
+
+            loadScheduledPlugin();
+            for (Plugin plugin : conditionProviders) {
+                try {
+                    Microbot.getClientThread().runOnSeperateThread(() -> {
+                        Microbot.stopPlugin(plugin);
+                        return false;
+                    });
+                } catch (Exception e) {
                 }
-                setState(SchedulerState.READY);
-
-                // Initial cleanup of one-time plugins after loading
-                cleanupCompletedOneTimePlugins();
-            }
-            // If max checks reached, mark as initialized but log warning
-            else if (++initCheckCount >= MAX_INIT_CHECKS) {
-                log.warn("Scheduler initialization timed out");
-                loadScheduledPlugin();
-
-                setState(SchedulerState.ERROR);
-            }
-            // Otherwise, schedule another check
-            else {
-                log.info("Waiting for initialization: loginScreen={}, providers={}/{}, checks={}/{}",
-                        isAtLoginScreen,
-                        conditionProviders.stream().count(),
-                        conditionProviders.size(),
-                        initCheckCount,
-                        MAX_INIT_CHECKS);
-                setState(SchedulerState.INITIALIZING);
-                checkInitialization();
             }
-        });
+            setState(SchedulerState.READY);
+
+            // Initial cleanup of one-time plugins after loading
+            cleanupCompletedOneTimePlugins();
+        }
+        // If max checks reached, mark as initialized but log warning
+        else if (++initCheckCount >= MAX_INIT_CHECKS) {
+            log.warn("Scheduler initialization timed out");
+            loadScheduledPlugin();
 
+            setState(SchedulerState.ERROR);
+        }
+        // Otherwise the next engine tick checks again
+        else {
+            log.info("Waiting for initialization: gameState={}, providers={}, checks={}/{}",
+                    gameState,
+                    conditionProviders.size(),
+                    initCheckCount,
+                    MAX_INIT_CHECKS);
+        }
     }
 
     public void openSchedulerWindow() {
@@ -284,18 +289,25 @@ public class SchedulerPlugin extends Plugin {
     protected void shutDown() {
         saveScheduledPlugins();
         clientToolbar.removeNavigation(navButton);
-        forceStopCurrentPluginScheduleEntry(true);
-        interruptBreak();
-        for (PluginScheduleEntry entry : scheduledPlugins) {
-            entry.close();
+        if (updateTask != null) {
+            updateTask.cancel(false);
+            updateTask = null;
         }
         if (this.loginMonitor != null && this.loginMonitor.isAlive()) {
             this.loginMonitor.interrupt();
             this.loginMonitor = null;
         }
-        if (updateTask != null) {
-            updateTask.cancel(false);
-            updateTask = null;
+        // Stop the current plugin as the last work of the engine, then this thread owns the state
+        runOnScheduler(() -> {
+            forceStopCurrentPlugin(true);
+            interruptBreak();
+        });
+        if (engine != null) {
+            engine.shutdown();
+            engine = null;
+        }
+        for (PluginScheduleEntry entry : scheduledPlugins) {
+            entry.close();
         }
 
         if (schedulerWindow != null) {
@@ -311,25 +323,20 @@ public class SchedulerPlugin extends Plugin {
      */
     public void startScheduler() {
         Microbot.log("Starting scheduler request...", Level.INFO);
-        Microbot.getClientThread().runOnClientThreadOptional(() -> {
+        runOnScheduler(() -> {
             // If already active, nothing to do
             if (currentState.isSchedulerActive()) {
                 log.info("Scheduler already active");
-                return true;
+                return;
             }
             // If initialized, start immediately
             if (SchedulerState.READY == currentState || currentState == SchedulerState.HOLD) {
                 setState(SchedulerState.SCHEDULING);
                 log.info("Plugin Scheduler started");
                 // Check schedule immediately when started
-                SwingUtilities.invokeLater(() -> {
-                    checkSchedule();
-                });
-                return true;
+                checkSchedule();
             }
-            return true;
         });
-        return;
     }
 
     /**
@@ -339,14 +346,14 @@ public class SchedulerPlugin extends Plugin {
         if (loginMonitor != null && loginMonitor.isAlive()) {
             loginMonitor.interrupt();
         }
-        Microbot.getClientThread().runOnClientThreadOptional(() -> {
+        runOnScheduler(() -> {
             if (!currentState.isSchedulerActive()) {
-                return false; // Already stopped
+                return; // Already stopped
             }
             setState(SchedulerState.HOLD);
             log.info("Stopping scheduler...");
             if (currentPlugin != null) {
-                forceStopCurrentPluginScheduleEntry(true);
+                forceStopCurrentPlugin(true);
             }
             // Restore the original logout setting if it was stored
             if (savedBreakHandlerLogoutSetting != null) {
@@ -374,7 +381,6 @@ public class SchedulerPlugin extends Plugin {
             }
 
             log.info("Scheduler stopped - status: {}", currentState);
-            return false;
         });
     }
 
@@ -547,7 +553,7 @@ public class SchedulerPlugin extends Plugin {
             Thread.currentThread().interrupt();
         }
         if (BreakHandlerScript.isBreakActive()) {
-            SwingUtilities.invokeLater(() -> {
+            runOnScheduler(() -> {
                 log.info("Break was not interrupted successfully");
                 interruptBreak();
             });
@@ -826,67 +832,62 @@ public class SchedulerPlugin extends Plugin {
         return plugins.get(plugins.size() - 1);
     }
 
-    public void startPluginScheduleEntry(PluginScheduleEntry scheduledPlugin) {
-        
-        Microbot.getClientThread().runOnClientThreadOptional(() -> {
-
-            if (scheduledPlugin == null)
-                return false;
-            // Ensure BreakHandler is enabled when we start a plugin
-            if (!isBreakHandlerEnabled() && config.enableBreakHandlerForSchedule()) {
-                log.info("Start enabling BreakHandler plugin");
-                if (enableBreakHandler()) {
-                    log.info("Automatically enabled BreakHandler plugin");
-                }
+    private void startPluginScheduleEntry(PluginScheduleEntry scheduledPlugin) {
+        if (scheduledPlugin == null) {
+            return;
+        }
+        // Ensure BreakHandler is enabled when we start a plugin
+        if (!isBreakHandlerEnabled() && config.enableBreakHandlerForSchedule()) {
+            log.info("Start enabling BreakHandler plugin");
+            if (enableBreakHandler()) {
+                log.info("Automatically enabled BreakHandler plugin");
             }
+        }
 
-            // Ensure Antiban is enabled when we start a plugin -> should be allways
-            // enabled?
-            if (!isAntibanEnabled()) {
-                log.info("Start enabling Antiban plugin");
-                if (enableAntiban()) {
-                    log.info("Automatically enabled Antiban plugin");
-                }
+        // Ensure Antiban is enabled when we start a plugin -> should be allways
+        // enabled?
+        if (!isAntibanEnabled()) {
+            log.info("Start enabling Antiban plugin");
+            if (enableAntiban()) {
+                log.info("Automatically enabled Antiban plugin");
             }
-            
-            // Ensure break handler is unlocked before starting a plugin
-            unlockBreakHandler();
+        }
+        
+        // Ensure break handler is unlocked before starting a plugin
+        unlockBreakHandler();
 
-            // If we're on a break, interrupt it
-            if (isOnBreak()) {
-                interruptBreak();
-            }
-            SchedulerState stateBeforeScheduling = currentState;
-            setCurrentPlugin(scheduledPlugin);
-            
+        // If we're on a break, interrupt it
+        if (isOnBreak()) {
+            interruptBreak();
+        }
+        SchedulerState stateBeforeScheduling = currentState;
+        setCurrentPlugin(scheduledPlugin);
+        
 
-            // Check for stop conditions if enforcement is enabled -> ensure we have stop
-            // condition so the plugin doesn't run forever (only manual stop possible
-            // otherwise)
-            if (    config.enforceTimeBasedStopCondition() 
-                    && scheduledPlugin.isNeedsStopCondition()
-                    && scheduledPlugin.getStopConditionManager().getUserTimeConditions().isEmpty() 
-                    && SchedulerState.SCHEDULING == currentState) {
-                // If the user chooses to add stop conditions, we wait for them to be added
-                // and then continue the scheduling process
-                // If the user chooses not to add stop conditions, we proceed with the plugin
-                // start
-                // If the user cancels, we reset the state and do not start the plugin
-                // Show confirmation dialog on EDT to prevent blocking
-                // Start the dialog in a separate thread to avoid blocking the EDT
-                setState(SchedulerState.WAITING_FOR_STOP_CONDITION);
-                startAddStopConditionDialog(scheduledPlugin, stateBeforeScheduling);
-                log.info("No stop conditions set for plugin: " + scheduledPlugin.getCleanName());
-                return false;
-            } else {
-                if (currentState != SchedulerState.STARTING_PLUGIN){
-                    setState(SchedulerState.STARTING_PLUGIN);
-                    // Stop conditions exist or enforcement disabled - proceed normally
-                    continueStartingPluginScheduleEntry(scheduledPlugin);
-                }
-                return true;
+        // Check for stop conditions if enforcement is enabled -> ensure we have stop
+        // condition so the plugin doesn't run forever (only manual stop possible
+        // otherwise)
+        if (    config.enforceTimeBasedStopCondition() 
+                && scheduledPlugin.isNeedsStopCondition()
+                && scheduledPlugin.getStopConditionManager().getUserTimeConditions().isEmpty() 
+                && SchedulerState.SCHEDULING == currentState) {
+            // If the user chooses to add stop conditions, we wait for them to be added
+            // and then continue the scheduling process
+            // If the user chooses not to add stop conditions, we proceed with the plugin
+            // start
+            // If the user cancels, we reset the state and do not start the plugin
+            // Show confirmation dialog on EDT to prevent blocking
+            // Start the dialog in a separate thread to avoid blocking the EDT
+            setState(SchedulerState.WAITING_FOR_STOP_CONDITION);
+            startAddStopConditionDialog(scheduledPlugin, stateBeforeScheduling);
+            log.info("No stop conditions set for plugin: " + scheduledPlugin.getCleanName());
+        } else {
+            if (currentState != SchedulerState.STARTING_PLUGIN){
+                setState(SchedulerState.STARTING_PLUGIN);
+                // Stop conditions exist or enforcement disabled - proceed normally
+                continueStartingPluginScheduleEntry(scheduledPlugin);
             }
-        });
+        }
     }
 
     private void startAddStopConditionDialog(PluginScheduleEntry scheduledPlugin,
@@ -959,7 +960,7 @@ public class SchedulerPlugin extends Plugin {
                         conditionTimeoutSeconds = 60; // Default if config value is invalid
                     }
 
-                    final Timer conditionTimer = new Timer(conditionTimeoutSeconds * 1000, evt -> {
+                    final Timer conditionTimer = new Timer(conditionTimeoutSeconds * 1000, evt -> runOnScheduler(() -> {
                         // Check if any time conditions have been added
                         if (scheduledPlugin.getStopConditionManager().getConditions().isEmpty()) {
                             log.info("No conditions added within timeout period. Returning to previous state.");                            
@@ -981,22 +982,26 @@ public class SchedulerPlugin extends Plugin {
                             setState(SchedulerState.STARTING_PLUGIN);
                             continueStartingPluginScheduleEntry(scheduledPlugin);
                         }
-                    });
+                    }));
                     conditionTimer.setRepeats(false);
                     conditionTimer.start();
                 }
             } else if (result == JOptionPane.NO_OPTION) {
-                setState(SchedulerState.STARTING_PLUGIN);
-                // User confirms to run without stop conditions
-                continueStartingPluginScheduleEntry(scheduledPlugin);
-                scheduledPlugin.setNeedsStopCondition(false);
-                log.info("User confirmed to run plugin without stop conditions: {}", scheduledPlugin.getCleanName());
+                runOnScheduler(() -> {
+                    setState(SchedulerState.STARTING_PLUGIN);
+                    // User confirms to run without stop conditions
+                    continueStartingPluginScheduleEntry(scheduledPlugin);
+                    scheduledPlugin.setNeedsStopCondition(false);
+                    log.info("User confirmed to run plugin without stop conditions: {}", scheduledPlugin.getCleanName());
+                });
             } else {
                 // User canceled or dialog timed out - abort starting
                 log.info("Plugin start canceled by user or timed out: {}", scheduledPlugin.getCleanName());
-                scheduledPlugin.setNeedsStopCondition(false);
-                setCurrentPlugin(null);                
-                setState(stateBeforeScheduling);
+                runOnScheduler(() -> {
+                    scheduledPlugin.setNeedsStopCondition(false);
+                    setCurrentPlugin(null);
+                    setState(stateBeforeScheduling);
+                });
             }
             return null;
         });
@@ -1006,21 +1011,25 @@ public class SchedulerPlugin extends Plugin {
      * Resets any pending plugin start operation
      */
     public void resetPendingStart() {
-        if (currentState == SchedulerState.STARTING_PLUGIN || currentState == SchedulerState.WAITING_FOR_LOGIN || 
-                currentState == SchedulerState.WAITING_FOR_STOP_CONDITION) {
-            setCurrentPlugin(null);
-            
-            setState(SchedulerState.SCHEDULING);
-        }
+        runOnScheduler(() -> {
+            if (currentState == SchedulerState.STARTING_PLUGIN || currentState == SchedulerState.WAITING_FOR_LOGIN || 
+                    currentState == SchedulerState.WAITING_FOR_STOP_CONDITION) {
+                setCurrentPlugin(null);
+                
+                setState(SchedulerState.SCHEDULING);
+            }
+        });
     }
     public void continuePendingStart(PluginScheduleEntry scheduledPlugin) {
-        if (currentState == SchedulerState.WAITING_FOR_STOP_CONDITION ) {            
-            if (currentPlugin != null && !currentPlugin.isRunning()  && currentPlugin.equals(scheduledPlugin)) {
-                setState(SchedulerState.STARTING_PLUGIN);   
-                log.info("Continuing pending start for plugin: " + scheduledPlugin.getCleanName());
-                this.continueStartingPluginScheduleEntry(scheduledPlugin);                
+        runOnScheduler(() -> {
+            if (currentState == SchedulerState.WAITING_FOR_STOP_CONDITION ) {            
+                if (currentPlugin != null && !currentPlugin.isRunning()  && currentPlugin.equals(scheduledPlugin)) {
+                    setState(SchedulerState.STARTING_PLUGIN);   
+                    log.info("Continuing pending start for plugin: " + scheduledPlugin.getCleanName());
+                    this.continueStartingPluginScheduleEntry(scheduledPlugin);                
+                }
             }
-        }
+        });
     }
     /**
      * Continues the plugin starting process after stop condition checks
@@ -1031,34 +1040,35 @@ public class SchedulerPlugin extends Plugin {
             setState(SchedulerState.SCHEDULING);                
             return;
         }
-        Microbot.getClientThread().runOnClientThreadOptional(() -> {
-            if (scheduledPlugin.isRunning()) {
-                log.info("\n\tPlugin started successfully: " + scheduledPlugin.getCleanName());    
-                setState(SchedulerState.RUNNING_PLUGIN);
-                return true;
-            }
-            if (!Microbot.isLoggedIn()) {
-                log.info("Login required before running plugin: " + scheduledPlugin.getCleanName());
-                startLoginMonitoringThread();
-                return false;
-            }
-            if (!scheduledPlugin.start(false)) {
-                log.error("Failed to start plugin: " + scheduledPlugin.getCleanName());
-                setCurrentPlugin(null);                
-                setState(SchedulerState.SCHEDULING);
-                return false;
-            }
-          
-            Microbot.getClientThread().invokeLater( ()->{
-               continueStartingPluginScheduleEntry(scheduledPlugin);
-            });
-            return false;
-            
-            
-        });
+        if (scheduledPlugin.isRunning()) {
+            log.info("\n\tPlugin started successfully: " + scheduledPlugin.getCleanName());    
+            setState(SchedulerState.RUNNING_PLUGIN);
+            return;
+        }
+        if (!Microbot.isLoggedIn()) {
+            log.info("Login required before running plugin: " + scheduledPlugin.getCleanName());
+            startLoginMonitoringThread();
+            return;
+        }
+        if (!scheduledPlugin.start(false)) {
+            log.error("Failed to start plugin: " + scheduledPlugin.getCleanName());
+            setCurrentPlugin(null);                
+            setState(SchedulerState.SCHEDULING);
+            return;
+        }
+
+        // The plugin is started asynchronously, check again until it runs
+        SchedulerEngine schedulerEngine = engine;
+        if (schedulerEngine != null) {
+            schedulerEngine.schedule(() -> continueStartingPluginScheduleEntry(scheduledPlugin), START_CHECK_MILLIS);
+        }
     }
 
     public void forceStopCurrentPluginScheduleEntry(boolean successful) {
+        runOnScheduler(() -> forceStopCurrentPlugin(successful));
+    }
+
+    private void forceStopCurrentPlugin(boolean successful) {
         if (currentPlugin != null && currentPlugin.isRunning()) {
             log.info("Force Stopping current plugin: " + currentPlugin.getCleanName());
             if (currentState == SchedulerState.RUNNING_PLUGIN) {
@@ -1072,8 +1082,8 @@ public class SchedulerPlugin extends Plugin {
                     log.info("Plugin stopped successfully: " + currentPlugin.getCleanName());
 
                 } else {
-                    SwingUtilities.invokeLater(() -> {
-                        forceStopCurrentPluginScheduleEntry(successful);
+                    runOnScheduler(() -> {
+                        forceStopCurrentPlugin(successful);
                     });
                     log.info("Failed to hard stop plugin: " + currentPlugin.getCleanName());
                 }
@@ -1083,9 +1093,18 @@ public class SchedulerPlugin extends Plugin {
     }
 
     /**
-     * Update all UI panels with the current state
+     * Update all UI panels with the current state.
+     * The panels are refreshed on the event dispatch thread once the scheduler engine has published a new snapshot.
      */
     void updatePanels() {
+        if (engine != null) {
+            engine.publish();
+        } else {
+            SwingUtilities.invokeLater(this::refreshPanels);
+        }
+    }
+
+    private void refreshPanels() {
         if (panel != null) {
             panel.refresh();
         }
@@ -1095,6 +1114,29 @@ public class SchedulerPlugin extends Plugin {
         }
     }
 
+    /**
+     * Latest state of the scheduler as published by the scheduler engine, for the UI to render from.
+     */
+    public SchedulerSnapshot getSnapshot() {
+        return engine != null ? engine.getSnapshot() : createSnapshot();
+    }
+
+    private SchedulerSnapshot createSnapshot() {
+        return SchedulerSnapshot.of(currentState, currentPlugin, getNextScheduledPlugin(), scheduledPlugins);
+    }
+
+    /**
+     * Queues scheduling work on the scheduler engine, or runs it directly when the plugin is not started.
+     */
+    private void runOnScheduler(Runnable task) {
+        SchedulerEngine schedulerEngine = engine;
+        if (schedulerEngine != null) {
+            schedulerEngine.execute(task);
+        } else {
+            task.run();
+        }
+    }
+
     public void addScheduledPlugin(PluginScheduleEntry plugin) {        
         scheduledPlugins.add(plugin);
         // Register the stop completion callback
@@ -1232,10 +1274,10 @@ public class SchedulerPlugin extends Plugin {
             }
             
             // Replace current plugins
-            scheduledPlugins = loadedPlugins;
+            scheduledPlugins = new CopyOnWriteArrayList<>(loadedPlugins);
             
             // Update UI
-            SwingUtilities.invokeLater(this::updatePanels);
+            updatePanels();
             return true;
         } catch (Exception e) {
             log.error("Error loading scheduled plugins from file", e);
@@ -1336,7 +1378,7 @@ public class SchedulerPlugin extends Plugin {
             log.debug("Loading scheduled plugins from config: {}\n\n", json);
 
             if (json != null && !json.isEmpty()) {
-                scheduledPlugins = PluginScheduleEntry.fromJson(json,  this.VERSION);
+                scheduledPlugins = new CopyOnWriteArrayList<>(PluginScheduleEntry.fromJson(json,  this.VERSION));
 
                 // Apply stop settings from config to all loaded plugins
                 for (PluginScheduleEntry plugin : scheduledPlugins) {
@@ -1384,11 +1426,11 @@ public class SchedulerPlugin extends Plugin {
                 }
 
                 // Force UI update after loading plugins
-                SwingUtilities.invokeLater(this::updatePanels);
+                updatePanels();
             }
         } catch (Exception e) {
             log.error("Error loading scheduled plugins", e);
-            scheduledPlugins = new ArrayList<>();
+            scheduledPlugins = new CopyOnWriteArrayList<>();
         }
     }
 
@@ -1949,19 +1991,17 @@ public class SchedulerPlugin extends Plugin {
                         login();
                     }
                     if (Microbot.isLoggedIn()) {
-                        // Successfully logged in, now increment the run count                        
-                        if (currentPlugin != null) {
-                            log.info("Login successful, finalizing plugin start: {}", currentPlugin.getName());
-                            setState(SchedulerState.STARTING_PLUGIN);
-                            Microbot.getClientThread().invokeLater(() -> {
+                        // Successfully logged in, now increment the run count
+                        runOnScheduler(() -> {
+                            if (currentPlugin != null) {
+                                log.info("Login successful, finalizing plugin start: {}", currentPlugin.getName());
+                                setState(SchedulerState.STARTING_PLUGIN);
                                 continueStartingPluginScheduleEntry(currentPlugin);
-                                // setState(SchedulerState.RUNNING_PLUGIN);
-                            });    
-                            return;
-                        }else{
-                            log.info("Login successful, but no plugin to start back to scheduling");
-                            setState(SchedulerState.SCHEDULING);
-                        }                       
+                            } else {
+                                log.info("Login successful, but no plugin to start back to scheduling");
+                                setState(SchedulerState.SCHEDULING);
+                            }
+                        });
                         return;
                     }
                     if (Microbot.getClient().getGameState() != GameState.LOGGED_IN &&
@@ -1974,7 +2014,7 @@ public class SchedulerPlugin extends Plugin {
                 // If we get here, login failed too many times
                 log.error("Failed to login after {} attempts",
                         MAX_LOGIN_ATTEMPTS);
-                SwingUtilities.invokeLater(() -> {
+                runOnScheduler(() -> {
                     // Clean up and set proper state
                     if (currentPlugin != null && currentPlugin.isRunning()) {
                         currentPlugin.stop(false, StopReason.SCHEDULED_STOP, "Plugin stopped due to scheduled time conditions");
@@ -1983,7 +2023,7 @@ public class SchedulerPlugin extends Plugin {
                         if (currentPlugin != null) {
                             currentPlugin.setEnabled(false);
                         }
-                        currentPlugin = null;
+                        setCurrentPlugin(null);
                         
                         setState(SchedulerState.SCHEDULING);
                     }
@@ -2057,12 +2097,14 @@ public class SchedulerPlugin extends Plugin {
                     SchedulerUIUtils.showNonMemberWorldDialog(currentPlugin, config, (switchToFreeWorlds) -> {
                         if (!switchToFreeWorlds) {
                             // User chose not to switch to free worlds or dialog timed out
-                            if (currentPlugin != null) {
-                                currentPlugin.setEnabled(false);
-                                currentPlugin = null;
-                                setState(SchedulerState.SCHEDULING);
-                                log.info("Login to member world canceled, stopping current plugin");
-                            }
+                            runOnScheduler(() -> {
+                                if (currentPlugin != null) {
+                                    currentPlugin.setEnabled(false);
+                                    setCurrentPlugin(null);
+                                    setState(SchedulerState.SCHEDULING);
+                                    log.info("Login to member world canceled, stopping current plugin");
+                                }
+                            });
                         }
                     });
                 }
@@ -2098,10 +2140,14 @@ public class SchedulerPlugin extends Plugin {
             return true;
         }).orElse(false);        
         if (!successfulLogin) {
-            currentPlugin.setEnabled(false);
-            currentPlugin = null;
-            setState(SchedulerState.SCHEDULING);
-            log.error("Failed to login, stopping plugin: {}", currentPlugin.getName());
+            runOnScheduler(() -> {
+                if (currentPlugin != null) {
+                    log.error("Failed to login, stopping plugin: {}", currentPlugin.getName());
+                    currentPlugin.setEnabled(false);
+                    setCurrentPlugin(null);
+                }
+                setState(SchedulerState.SCHEDULING);
+            });
             //stopScheduler();
         }
     }
@@ -2191,7 +2237,7 @@ public class SchedulerPlugin extends Plugin {
             return true;
         });
         if (isAutoLoginEnabled()) {
-            SwingUtilities.invokeLater(() -> {
+            runOnScheduler(() -> {
                 disableAutoLogin();
             });
             return false;
@@ -2265,7 +2311,7 @@ public class SchedulerPlugin extends Plugin {
         });
 
         if (isBreakHandlerEnabled()) {
-            SwingUtilities.invokeLater(() -> {
+            runOnScheduler(() -> {
                 disableBreakHandler();
             });
 
@@ -2330,7 +2376,7 @@ public class SchedulerPlugin extends Plugin {
         });
 
         if (isAntibanEnabled()) {
-            SwingUtilities.invokeLater(() -> {
+            runOnScheduler(() -> {
                 disableAntiban();
             });
             log.error("Failed to disable AntibanPlugin");
@@ -2443,7 +2489,7 @@ public class SchedulerPlugin extends Plugin {
             }
 
             currentState = newState;
-            SwingUtilities.invokeLater(this::updatePanels);
+            updatePanels();
         }
     }
 
@@ -2470,6 +2516,10 @@ public class SchedulerPlugin extends Plugin {
 
     @Subscribe
     public void onPluginScheduleEntryFinishedEvent(PluginScheduleEntryFinishedEvent event) {
+        runOnScheduler(() -> handlePluginFinished(event));
+    }
+
+    private void handlePluginFinished(PluginScheduleEntryFinishedEvent event) {
         if (currentPlugin != null && event.getPlugin() == currentPlugin.getPlugin()) {
             log.info("Plugin '{}' self-reported as finished: {} (Success: {})",
                     currentPlugin.getCleanName(),
@@ -2588,6 +2638,11 @@ public class SchedulerPlugin extends Plugin {
 
     @Subscribe
     public void onPluginChanged(PluginChanged event) {
+        // Posted on the thread that started or stopped the plugin, often the event dispatch thread
+        runOnScheduler(() -> handlePluginChanged(event));
+    }
+
+    private void handlePluginChanged(PluginChanged event) {
         if (currentPlugin != null && event.getPlugin() == currentPlugin.getPlugin()) {
             // The plugin changed state - check if it's no longer running
             boolean isRunningNow = currentPlugin.isRunning();
@@ -2657,7 +2712,7 @@ public class SchedulerPlugin extends Plugin {
                 log.info("Plugin '{}' started or restarted outside scheduler control", event.getPlugin().getName());
             }
 
-            SwingUtilities.invokeLater(this::updatePanels);
+            updatePanels();
         }
     }
     void checkIfStopFinished(){
@@ -2667,7 +2722,7 @@ public class SchedulerPlugin extends Plugin {
         // Check if the plugin is still stopping
         if (currentPlugin.isStopping()) {
             log.info("Plugin '{}' is still stopping, waiting for it to finish", currentPlugin.getCleanName());
-            SwingUtilities.invokeLater(() -> {
+            runOnScheduler(() -> {
                 // Check if the plugin is still stopping
                 checkIfStopFinished();
             });
@@ -3002,11 +3057,20 @@ public class SchedulerPlugin extends Plugin {
      * 1. The scheduler is in a safe state (SCHEDULING or SHORT_BREAK)
      * 2. The requested plugin is in the scheduledPlugins list
      * 3. There's enough time until the next scheduled plugin
+     * The checks and the start run on the scheduler engine.
      *
      * @param pluginEntry The plugin to start
-     * @return true if the plugin was started successfully, false otherwise with a reason message
+     * @return completes with an empty string if the plugin was started, otherwise with a reason message
      */
-    public String manualStartPlugin(PluginScheduleEntry pluginEntry) {
+    public CompletableFuture<String> manualStartPlugin(PluginScheduleEntry pluginEntry) {
+        SchedulerEngine schedulerEngine = engine;
+        if (schedulerEngine == null) {
+            return CompletableFuture.completedFuture(startPluginManually(pluginEntry));
+        }
+        return schedulerEngine.submit(() -> startPluginManually(pluginEntry));
+    }
+
+    private String startPluginManually(PluginScheduleEntry pluginEntry) {
         // Check if plugin is null
         if (pluginEntry == null) {
             return "Invalid plugin selected";
@@ -0,0 +1,95 @@
+package net.runelite.client.plugins.microbot.pluginscheduler;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.Value;
+import net.runelite.client.plugins.microbot.pluginscheduler.model.PluginScheduleEntry;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable view of the scheduler, published by the {@link SchedulerEngine} after each scheduling check.
+ * <p>
+ * The UI renders from the latest snapshot instead of evaluating schedules and conditions itself on the
+ * event dispatch thread. Values that need condition evaluation, like the next plugin and its descriptions,
+ * are computed when the snapshot is taken. Plugin entries are copied into {@link Entry} values, so the UI never
+ * reads a {@link PluginScheduleEntry} while the engine changes it.
+ */
+@Value
+public class SchedulerSnapshot {
+    static final SchedulerSnapshot EMPTY = new SchedulerSnapshot(SchedulerState.UNINITIALIZED, null, null, "--:--", "None", List.of());
+
+    SchedulerState state;
+    Entry currentPlugin;
+    /** The next plugin that is due to run, or null */
+    Entry nextPlugin;
+    String nextRunDisplay;
+    String nextScheduleDescription;
+    List<Entry> scheduledPlugins;
+
+    /**
+     * Copy of the run state of a {@link PluginScheduleEntry} when the snapshot was taken.
+     */
+    @Value
+    public static class Entry {
+        // Only compared by identity, to find the row of the entry
+        @Getter(AccessLevel.NONE)
+        @EqualsAndHashCode.Exclude
+        @ToString.Exclude
+        PluginScheduleEntry source;
+        String name;
+        boolean running;
+        ZonedDateTime lastRunStartTime;
+        ZonedDateTime lastRunEndTime;
+        Duration lastRunDuration;
+        PluginScheduleEntry.StopReason lastStopReasonType;
+
+        static Entry of(PluginScheduleEntry entry) {
+            if (entry == null) {
+                return null;
+            }
+            return new Entry(entry, entry.getCleanName(), entry.isRunning(), entry.getLastRunStartTime(),
+                    entry.getLastRunEndTime(), entry.getLastRunDuration(), entry.getLastStopReasonType());
+        }
+
+        /**
+         * Whether this is a copy of the given entry.
+         */
+        public boolean isOf(PluginScheduleEntry entry) {
+            return source == entry;
+        }
+    }
+
+    static SchedulerSnapshot of(SchedulerState state, PluginScheduleEntry currentPlugin, PluginScheduleEntry nextPlugin,
+                                List<PluginScheduleEntry> scheduledPlugins) {
+        List<Entry> scheduled = scheduledPlugins.stream().map(Entry::of).collect(Collectors.toUnmodifiableList());
+        if (nextPlugin == null) {
+            return new SchedulerSnapshot(state, Entry.of(currentPlugin), null, "--:--", "None", scheduled);
+        }
+
+        StringBuilder scheduleDesc = new StringBuilder(nextPlugin.getIntervalDisplay());
+        if (nextPlugin.hasAnyOneTimeStartConditions()) {
+            if (nextPlugin.hasTriggeredOneTimeStartConditions() && !nextPlugin.canStartTriggerAgain()) {
+                scheduleDesc.append(" (Completed)");
+            } else {
+                scheduleDesc.append(" (One-time)");
+            }
+        }
+        if (nextPlugin.hasAnyStartConditions()) {
+            int total = nextPlugin.getStartConditionManager().getConditions().size();
+            long satisfied = nextPlugin.getStartConditionManager().getConditions().stream()
+                    .filter(condition -> condition.isSatisfied())
+                    .count();
+            if (total > 1) {
+                scheduleDesc.append(String.format(" [%d/%d conditions met]", satisfied, total));
+            }
+        }
+        return new SchedulerSnapshot(state, Entry.of(currentPlugin), Entry.of(nextPlugin), nextPlugin.getNextRunDisplay(),
+                scheduleDesc.toString(), scheduled);
+    }
+}
@@ -3,6 +3,7 @@ package net.runelite.client.plugins.microbot.pluginscheduler.condition;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Optional;
+import java.util.Set;
 
 import net.runelite.api.events.AnimationChanged;
 import net.runelite.api.events.ChatMessage;
@@ -102,6 +103,18 @@ public interface Condition {
         reset(true);
     }
 
+    /**
+     * Returns the game event types this condition's state depends on.
+     * The {@link ConditionManager} only forwards these events to the condition, and only re-evaluates
+     * the condition after one of them fired. By default these are the events whose handler the
+     * condition's class overrides.
+     * 
+     * @return the event classes, e.g. {@code GameTick.class}
+     */
+    default Set<Class<?>> getEventDependencies() {
+        return ConditionEvents.handledBy(getClass());
+    }
+
     default void onGameStateChanged(GameStateChanged gameStateChanged) {
         // This event handler is called whenever the game state changes
         // Useful for conditions that depend on the game state (e.g., logged in, logged out)
@@ -0,0 +1,67 @@
+package net.runelite.client.plugins.microbot.pluginscheduler.condition;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import net.runelite.api.events.AnimationChanged;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.GroundObjectDespawned;
+import net.runelite.api.events.GroundObjectSpawned;
+import net.runelite.api.events.HitsplatApplied;
+import net.runelite.api.events.InteractingChanged;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.events.ItemDespawned;
+import net.runelite.api.events.ItemSpawned;
+import net.runelite.api.events.MenuOptionClicked;
+import net.runelite.api.events.NpcChanged;
+import net.runelite.api.events.NpcDespawned;
+import net.runelite.api.events.NpcSpawned;
+import net.runelite.api.events.StatChanged;
+import net.runelite.api.events.VarbitChanged;
+
+/**
+ * The game events a {@link Condition} can handle, and the default event dependencies of a condition class.
+ */
+final class ConditionEvents {
+
+    /**
+     * Every event type with a handler on the {@link Condition} interface.
+     */
+    static final List<Class<?>> ALL = List.of(
+        GameStateChanged.class, StatChanged.class, ItemContainerChanged.class, GameTick.class,
+        NpcChanged.class, NpcSpawned.class, NpcDespawned.class,
+        GroundObjectSpawned.class, GroundObjectDespawned.class, ItemSpawned.class, ItemDespawned.class,
+        MenuOptionClicked.class, ChatMessage.class, HitsplatApplied.class,
+        VarbitChanged.class, InteractingChanged.class, AnimationChanged.class);
+
+    private static final ClassValue<Set<Class<?>>> HANDLED = new ClassValue<>() {
+        @Override
+        protected Set<Class<?>> computeValue(Class<?> type) {
+            Set<Class<?>> handled = new HashSet<>();
+            for (Class<?> eventType : ALL) {
+                try {
+                    if (type.getMethod("on" + eventType.getSimpleName(), eventType).getDeclaringClass() != Condition.class) {
+                        handled.add(eventType);
+                    }
+                } catch (NoSuchMethodException e) {
+                    // Not reachable, every event in ALL has a handler on the interface
+                }
+            }
+            return Collections.unmodifiableSet(handled);
+        }
+    };
+
+    private ConditionEvents() {
+    }
+
+    /**
+     * The events whose handler the condition class overrides.
+     */
+    static Set<Class<?>> handledBy(Class<? extends Condition> type) {
+        return HANDLED.get(type);
+    }
+}
@@ -5,12 +5,17 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.Executors;
+import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 
 import lombok.Getter;
@@ -35,6 +40,7 @@ import net.runelite.api.events.VarbitChanged;
 import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.ScriptRuntime;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.AndCondition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.LogicalCondition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.NotCondition;
@@ -61,7 +67,9 @@ import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.TimeC
  * <ul>
  *   <li>Complex logical condition hierarchies with AND/OR operations</li>
  *   <li>Time-based condition scheduling and monitoring</li>
- *   <li>Event-based condition updates via RuneLite event bus integration</li>
+ *   <li>Event-based condition updates via RuneLite event bus integration, dispatched only to the
+ *       conditions that declare the event as a {@link Condition#getEventDependencies() dependency}</li>
+ *   <li>Cached evaluation that is only repeated after a dependency fired or a time condition's trigger time passed</li>
  *   <li>Watchdog system for periodic condition structure updates</li>
  *   <li>Progress tracking toward condition satisfaction</li>
  *   <li>Single-trigger time conditions for one-time events</li>
@@ -80,14 +88,10 @@ public class ConditionManager implements AutoCloseable {
     
     /**
      * Shared thread pool for condition watchdog tasks across all ConditionManager instances.
-     * Uses daemon threads to prevent blocking application shutdown.
+     * Runs on the shared script runtime, whose threads are daemons and do not block application shutdown.
      */
     private transient static final ScheduledExecutorService SHARED_WATCHDOG_EXECUTOR = 
-        Executors.newScheduledThreadPool(2, r -> {
-            Thread t = new Thread(r, "ConditionWatchdog");
-            t.setDaemon(true);
-            return t;
-        });
+        ScriptRuntime.executor("ConditionWatchdog");
     
     /**
      * Keeps track of all scheduled futures created by this manager's watchdog system.
@@ -117,7 +121,7 @@ public class ConditionManager implements AutoCloseable {
     /**
      * Tracks whether this manager has registered its event listeners with the event bus.
      */
-    private boolean eventsRegistered = false;
+    private volatile boolean eventsRegistered = false;
     
     /**
      * Indicates whether condition watchdog tasks are currently active.
@@ -140,12 +144,24 @@ public class ConditionManager implements AutoCloseable {
      */
     private Supplier<LogicalCondition> currentWatchdogSupplier = null;
 
+    /**
+     * Conditions interested in each event type, rebuilt when the condition structure changes.
+     */
+    private volatile DispatchIndex dispatchIndex;
+
+    private final CachedEvaluation userEvaluation = new CachedEvaluation();
+    private final CachedEvaluation pluginEvaluation = new CachedEvaluation();
+
     /**
      * Creates a new condition manager with default settings.
      * Initializes the user logical condition as an AND condition (all conditions must be met).
      */
     public ConditionManager() {
-        this.eventBus = Microbot.getEventBus();
+        this(Microbot.getEventBus());
+    }
+
+    ConditionManager(EventBus eventBus) {
+        this.eventBus = eventBus;
         userLogicalCondition = new AndCondition();
     }
 
@@ -332,17 +348,219 @@ public class ConditionManager implements AutoCloseable {
     }
     public boolean arePluginConditionsMet() {
         if (pluginCondition != null && !pluginCondition.getConditions().isEmpty()) {          
-            return pluginCondition.isSatisfied();            
+            return pluginEvaluation.isSatisfied(pluginCondition, true);
         }
         return true;
     }
    
     public boolean areUserConditionsMet() {
         if (userLogicalCondition != null && !userLogicalCondition.getConditions().isEmpty()) {          
-            return userLogicalCondition.isSatisfied();            
+            return userEvaluation.isSatisfied(userLogicalCondition, false);
         }
         return true;
     }
+
+    /**
+     * Marks the cached evaluations as stale, so the next check evaluates the conditions again.
+     * Needed after changing a condition's state other than through events or the reset methods of this manager.
+     */
+    public void invalidateEvaluations() {
+        userEvaluation.invalidate();
+        pluginEvaluation.invalidate();
+    }
+
+    /**
+     * Leaf conditions of one condition tree, as far as they matter for caching its evaluation.
+     */
+    private static final class TreeLeaves {
+        private final List<Condition> timeConditions = new ArrayList<>();
+        // False if a leaf neither has event dependencies nor is a time condition, so changes to it cannot be seen
+        private boolean eventDriven = true;
+
+        /**
+         * When an evaluation of the tree taken now stops being valid without any event, in epoch millis.
+         * Long.MAX_VALUE if only events can change it, -1 if it must not be cached.
+         */
+        private long getExpiry(ZonedDateTime now) {
+            if (!eventDriven) {
+                return -1;
+            }
+            long expiry = Long.MAX_VALUE;
+            for (Condition condition : timeConditions) {
+                // The end of a satisfied time window is not known ahead, only the next start
+                if (condition.isSatisfied()) {
+                    return -1;
+                }
+                Optional<ZonedDateTime> triggerTime = condition.getCurrentTriggerTime();
+                if (!triggerTime.isPresent() || !triggerTime.get().isAfter(now)) {
+                    return -1;
+                }
+                expiry = Math.min(expiry, triggerTime.get().toInstant().toEpochMilli());
+            }
+            return expiry;
+        }
+    }
+
+    /**
+     * Leaf conditions by the event types they depend on, so events skip the logical structure and
+     * the conditions that do not use them.
+     */
+    private static final class DispatchIndex {
+        private final LogicalCondition pluginRoot;
+        private final LogicalCondition userRoot;
+        private final int structureVersion;
+        private final Map<Class<?>, EventHandlers> handlers = new HashMap<>();
+        private final TreeLeaves pluginLeaves = new TreeLeaves();
+        private final TreeLeaves userLeaves = new TreeLeaves();
+
+        private DispatchIndex(LogicalCondition pluginRoot, LogicalCondition userRoot, int structureVersion) {
+            this.pluginRoot = pluginRoot;
+            this.userRoot = userRoot;
+            this.structureVersion = structureVersion;
+            Map<Condition, Boolean> indexed = new IdentityHashMap<>();
+            if (pluginRoot != null) {
+                addLeaves(pluginRoot, pluginLeaves, true, indexed);
+            }
+            if (userRoot != null) {
+                addLeaves(userRoot, userLeaves, false, indexed);
+            }
+        }
+
+        private void addLeaves(Condition condition, TreeLeaves leaves, boolean plugin, Map<Condition, Boolean> indexed) {
+            if (condition instanceof LogicalCondition) {
+                for (Condition child : ((LogicalCondition) condition).getConditions()) {
+                    addLeaves(child, leaves, plugin, indexed);
+                }
+                return;
+            }
+            if (condition instanceof NotCondition) {
+                addLeaves(((NotCondition) condition).getCondition(), leaves, plugin, indexed);
+                return;
+            }
+            if (condition instanceof TimeCondition) {
+                leaves.timeConditions.add(condition);
+            }
+            Set<Class<?>> dependencies = condition.getEventDependencies();
+            if (dependencies.isEmpty() && !(condition instanceof TimeCondition)) {
+                leaves.eventDriven = false;
+            }
+            // A condition in both trees still handles each event once
+            boolean firstSeen = indexed.put(condition, Boolean.TRUE) == null;
+            for (Class<?> eventType : dependencies) {
+                EventHandlers eventHandlers = handlers.computeIfAbsent(eventType, type -> new EventHandlers());
+                if (firstSeen) {
+                    eventHandlers.conditions.add(condition);
+                }
+                if (plugin) {
+                    eventHandlers.pluginTree = true;
+                } else {
+                    eventHandlers.userTree = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * The leaf conditions that handle one event type, and the trees they belong to.
+     */
+    private static final class EventHandlers {
+        private final List<Condition> conditions = new ArrayList<>();
+        private boolean pluginTree;
+        private boolean userTree;
+    }
+
+    /**
+     * Result of the last evaluation of a condition tree, valid until a dependency of the tree changes.
+     * Each tree has its own change count, so an event that only the other tree depends on keeps it valid.
+     */
+    private final class CachedEvaluation {
+        // Bumped by every event the tree depends on, reset and expired trigger time
+        private final AtomicLong changeCount = new AtomicLong();
+        private DispatchIndex index;
+        private long changes;
+        private boolean satisfied;
+        private ConditionTimerWheel.Timeout expiry;
+
+        private void invalidate() {
+            changeCount.incrementAndGet();
+        }
+
+        private synchronized void cancelExpiry() {
+            if (expiry != null) {
+                expiry.cancel();
+                expiry = null;
+            }
+            index = null;
+        }
+
+        private synchronized boolean isSatisfied(LogicalCondition root, boolean plugin) {
+            ConditionTimerWheel.SHARED.advance(System.currentTimeMillis());
+            DispatchIndex current = getDispatchIndex();
+            // Taken before evaluating, so a change made while evaluating is not missed
+            long changesBefore = changeCount.get();
+            if (index == current && changes == changesBefore) {
+                return satisfied;
+            }
+
+            boolean result = root.isSatisfied();
+            if (expiry != null) {
+                expiry.cancel();
+                expiry = null;
+            }
+            // Without events, changes to the conditions cannot be seen
+            long expiryMillis = eventsRegistered
+                    ? (plugin ? current.pluginLeaves : current.userLeaves).getExpiry(ZonedDateTime.now(ZoneId.systemDefault()))
+                    : -1;
+            if (expiryMillis < 0) {
+                index = null;
+                return result;
+            }
+            if (expiryMillis != Long.MAX_VALUE) {
+                expiry = ConditionTimerWheel.SHARED.schedule(expiryMillis, this::invalidate);
+            }
+            index = current;
+            changes = changesBefore;
+            satisfied = result;
+            return result;
+        }
+    }
+
+    private DispatchIndex getDispatchIndex() {
+        DispatchIndex index = dispatchIndex;
+        int structureVersion = LogicalCondition.getStructureVersion();
+        if (index == null
+                || index.structureVersion != structureVersion
+                || index.pluginRoot != pluginCondition
+                || index.userRoot != userLogicalCondition) {
+            index = new DispatchIndex(pluginCondition, userLogicalCondition, structureVersion);
+            dispatchIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Forwards an event to the conditions that depend on it.
+     */
+    private <T> void dispatch(T event, BiConsumer<Condition, T> handler) {
+        EventHandlers interested = getDispatchIndex().handlers.get(event.getClass());
+        if (interested == null) {
+            return;
+        }
+        for (Condition condition : interested.conditions) {
+            try {
+                handler.accept(condition, event);
+            } catch (Exception e) {
+                log.error("Error in condition {} during {} event: {}", 
+                    condition.getDescription(), event.getClass().getSimpleName(), e.getMessage(), e);
+            }
+        }
+        if (interested.pluginTree) {
+            pluginEvaluation.invalidate();
+        }
+        if (interested.userTree) {
+            userEvaluation.invalidate();
+        }
+    }
    /**
      * Returns a list of conditions that were defined by the user (not plugin-defined).
      * This method only retrieves conditions from the user logical condition structure,
@@ -508,6 +726,7 @@ public class ConditionManager implements AutoCloseable {
     public void resetUserConditions() {
         if (userLogicalCondition != null) {
             userLogicalCondition.reset();
+            userEvaluation.invalidate();
         }
     }
     
@@ -519,12 +738,14 @@ public class ConditionManager implements AutoCloseable {
     public void resetUserConditions(boolean randomize) {
         if (userLogicalCondition != null) {
             userLogicalCondition.reset(randomize);
+            userEvaluation.invalidate();
         }
     
     }
     public void hardResetUserConditions() {
         if (userLogicalCondition != null) {
             userLogicalCondition.hardReset();
+            userEvaluation.invalidate();
         }
     }
     
@@ -534,6 +755,7 @@ public class ConditionManager implements AutoCloseable {
     public void resetPluginConditions() {
         if (pluginCondition != null) {
             pluginCondition.reset();
+            pluginEvaluation.invalidate();
         }
     }
     
@@ -545,6 +767,7 @@ public class ConditionManager implements AutoCloseable {
     public void resetPluginConditions(boolean randomize) {
         if (pluginCondition != null) {
             pluginCondition.reset(randomize);
+            pluginEvaluation.invalidate();
         }
     }
 
@@ -1330,216 +1553,88 @@ public class ConditionManager implements AutoCloseable {
         }
     }
     @Subscribe(priority = -1)
-    public void onGameStateChanged(GameStateChanged gameStateChanged){
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onGameStateChanged(gameStateChanged);
-            } catch (Exception e) {
-                log.error("Error in condition {} during GameStateChanged event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }        
+    public void onGameStateChanged(GameStateChanged gameStateChanged) {
+        dispatch(gameStateChanged, Condition::onGameStateChanged);
     }
 
     @Subscribe(priority = -1)
     public void onStatChanged(StatChanged event) {
-             
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onStatChanged(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during StatChanged event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }        
+        dispatch(event, Condition::onStatChanged);
     }
-   
-    
+
     @Subscribe(priority = -1)
     public void onItemContainerChanged(ItemContainerChanged event) {
-         // Propagate event to all conditions
-         for (Condition condition : getConditions( )) {
-            try {
-                condition.onItemContainerChanged(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during ItemContainerChanged event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }       
+        dispatch(event, Condition::onItemContainerChanged);
     }
+
     @Subscribe(priority = -1)
     public void onGameTick(GameTick gameTick) {
-        // Propagate event to all conditions        
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onGameTick(gameTick);
-            } catch (Exception e) {
-                log.error("Error in condition {} during GameTick event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }      
+        dispatch(gameTick, Condition::onGameTick);
     }
 
     @Subscribe(priority = -1)
     public void onGroundObjectSpawned(GroundObjectSpawned event) {
-        // Propagate event to all conditions
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onGroundObjectSpawned(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during GroundItemSpawned event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }
-        if (pluginCondition != null) {
-            try {
-                pluginCondition.onGroundObjectSpawned(event);
-            } catch (Exception e) {
-                log.error("Error in plugin condition during GroundItemSpawned event: {}", 
-                    e.getMessage(), e);
-            }
-        }
+        dispatch(event, Condition::onGroundObjectSpawned);
     }
 
     @Subscribe(priority = -1)
     public void onGroundObjectDespawned(GroundObjectDespawned event) {
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onGroundObjectDespawned(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during GroundItemDespawned event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }       
+        dispatch(event, Condition::onGroundObjectDespawned);
     }
 
     @Subscribe(priority = -1)
     public void onMenuOptionClicked(MenuOptionClicked event) {
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onMenuOptionClicked(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during MenuOptionClicked event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }        
+        dispatch(event, Condition::onMenuOptionClicked);
     }
 
     @Subscribe(priority = -1)
     public void onChatMessage(ChatMessage event) {
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onChatMessage(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during ChatMessage event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }        
+        dispatch(event, Condition::onChatMessage);
     }
 
     @Subscribe(priority = -1)
     public void onHitsplatApplied(HitsplatApplied event) {
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onHitsplatApplied(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during HitsplatApplied event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }
-       
+        dispatch(event, Condition::onHitsplatApplied);
     }
+
     @Subscribe(priority = -1)
-	public void onVarbitChanged(VarbitChanged event)
-	{
-		for (Condition condition :getConditions( )) {
-            try {
-                condition.onVarbitChanged(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during VarbitChanged event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }        
-	}
+    public void onVarbitChanged(VarbitChanged event) {
+        dispatch(event, Condition::onVarbitChanged);
+    }
+
     @Subscribe(priority = -1)
-    void onNpcChanged(NpcChanged event){
-        for (Condition condition :getConditions( )) {
-            try {
-                condition.onNpcChanged(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during NpcChanged event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }        
+    void onNpcChanged(NpcChanged event) {
+        dispatch(event, Condition::onNpcChanged);
     }
+
     @Subscribe(priority = -1)
-    void onNpcSpawned(NpcSpawned npcSpawned){
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onNpcSpawned(npcSpawned);
-            } catch (Exception e) {
-                log.error("Error in condition {} during NpcSpawned event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }        
-        
+    void onNpcSpawned(NpcSpawned npcSpawned) {
+        dispatch(npcSpawned, Condition::onNpcSpawned);
     }
+
     @Subscribe(priority = -1)
-    void onNpcDespawned(NpcDespawned npcDespawned){
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onNpcDespawned(npcDespawned);
-            } catch (Exception e) {
-                log.error("Error in condition {} during NpcDespawned event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }        
+    void onNpcDespawned(NpcDespawned npcDespawned) {
+        dispatch(npcDespawned, Condition::onNpcDespawned);
     }
+
     @Subscribe(priority = -1)
-    void onInteractingChanged(InteractingChanged event){
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onInteractingChanged(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during InteractingChanged event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }       
+    void onInteractingChanged(InteractingChanged event) {
+        dispatch(event, Condition::onInteractingChanged);
     }
+
     @Subscribe(priority = -1)
-    void onItemSpawned(ItemSpawned event){        
-        List<Condition> allConditions = getConditions();            
-        // Proceed with normal processing
-        for (Condition condition : allConditions) {            
-            try {                
-                condition.onItemSpawned(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during ItemSpawned event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }       
+    void onItemSpawned(ItemSpawned event) {
+        dispatch(event, Condition::onItemSpawned);
     }
+
     @Subscribe(priority = -1)
-    void onItemDespawned(ItemDespawned event){
-        for (Condition condition :getConditions( )) {
-            try {
-                condition.onItemDespawned(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during ItemDespawned event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }       
+    void onItemDespawned(ItemDespawned event) {
+        dispatch(event, Condition::onItemDespawned);
     }
+
     @Subscribe(priority = -1)
     void onAnimationChanged(AnimationChanged event) {
-        for (Condition condition :getConditions( )) {
-            try {
-                condition.onAnimationChanged(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during AnimationChanged event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }       
+        dispatch(event, Condition::onAnimationChanged);
     }
 
     /**
@@ -1901,6 +1996,10 @@ public class ConditionManager implements AutoCloseable {
         
         // Cancel all scheduled watchdog tasks
         cancelAllWatchdogs();
+
+        // The shared timer wheel would keep this manager reachable until the pending expiries fire
+        userEvaluation.cancelExpiry();
+        pluginEvaluation.cancelExpiry();
         
         log.debug("ConditionManager resources cleaned up");
     }
@@ -0,0 +1,97 @@
+package net.runelite.client.plugins.microbot.pluginscheduler.condition;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed timer wheel shared by all condition managers, used to expire cached evaluations at the next trigger
+ * time of their time conditions.
+ * <p>
+ * Deadlines are hashed into {@link #SLOTS} slots of {@link #TICK_MILLIS} each, so scheduling and cancelling are
+ * constant time however many schedules are waiting. The wheel has no thread of its own: it is advanced by
+ * {@link #advance(long)} whenever a manager is asked for its state, and then fires the timeouts that are due.
+ */
+final class ConditionTimerWheel {
+    static final long TICK_MILLIS = 100;
+    static final int SLOTS = 1024;
+
+    static final ConditionTimerWheel SHARED = new ConditionTimerWheel(System.currentTimeMillis());
+
+    private final List<Timeout>[] slots;
+    // Last tick whose slot has been processed
+    private long tick;
+
+    /**
+     * A scheduled task, which can be cancelled until it has fired.
+     */
+    final class Timeout {
+        private final long deadlineTick;
+        private final Runnable task;
+
+        private Timeout(long deadlineTick, Runnable task) {
+            this.deadlineTick = deadlineTick;
+            this.task = task;
+        }
+
+        void cancel() {
+            synchronized (ConditionTimerWheel.this) {
+                slots[slot(deadlineTick)].remove(this);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    ConditionTimerWheel(long nowMillis) {
+        slots = new List[SLOTS];
+        for (int i = 0; i < SLOTS; i++) {
+            slots[i] = new ArrayList<>(2);
+        }
+        tick = nowMillis / TICK_MILLIS;
+    }
+
+    /**
+     * Schedules the task to run on the first advance at or after the deadline.
+     */
+    synchronized Timeout schedule(long deadlineMillis, Runnable task) {
+        // Rounded up, so the task never fires before its deadline
+        long deadlineTick = Math.max(tick + 1, (deadlineMillis + TICK_MILLIS - 1) / TICK_MILLIS);
+        Timeout timeout = new Timeout(deadlineTick, task);
+        slots[slot(deadlineTick)].add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Runs the tasks whose deadline has passed.
+     */
+    void advance(long nowMillis) {
+        List<Timeout> expired = null;
+        synchronized (this) {
+            long nowTick = nowMillis / TICK_MILLIS;
+            // After a full turn every slot has been visited, later ticks would visit the same slots again
+            long lastTick = Math.min(nowTick, tick + SLOTS);
+            for (long t = tick + 1; t <= lastTick; t++) {
+                List<Timeout> slot = slots[slot(t)];
+                for (int i = slot.size() - 1; i >= 0; i--) {
+                    Timeout timeout = slot.get(i);
+                    if (timeout.deadlineTick <= nowTick) {
+                        if (expired == null) {
+                            expired = new ArrayList<>();
+                        }
+                        expired.add(timeout);
+                        slot.remove(i);
+                    }
+                }
+            }
+            tick = Math.max(tick, nowTick);
+        }
+        if (expired != null) {
+            for (Timeout timeout : expired) {
+                timeout.task.run();
+            }
+        }
+    }
+
+    private static int slot(long tick) {
+        return (int) (tick % SLOTS);
+    }
+}
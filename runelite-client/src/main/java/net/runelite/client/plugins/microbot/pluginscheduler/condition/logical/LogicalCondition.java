@@ -1,7 +1,13 @@
 package net.runelite.client.plugins.microbot.pluginscheduler.condition.logical;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -31,7 +37,101 @@ public abstract class LogicalCondition implements Condition {
         }
     }
     @Getter
-    protected List<Condition> conditions = new ArrayList<>();
+    protected List<Condition> conditions = new ConditionList();
+
+    /**
+     * Bumped whenever a condition is added to or removed from any logical condition, so the
+     * ConditionManager knows when to rebuild its event dispatch index.
+     */
+    private static final AtomicInteger structureVersion = new AtomicInteger();
+
+    public static int getStructureVersion() {
+        return structureVersion.get();
+    }
+
+    /**
+     * Child list that records structural changes made through any of its mutators,
+     * including iterators and sub lists, which go through the methods below.
+     */
+    private static final class ConditionList extends ArrayList<Condition> {
+        @Override
+        public boolean add(Condition condition) {
+            structureVersion.incrementAndGet();
+            return super.add(condition);
+        }
+
+        @Override
+        public void add(int index, Condition condition) {
+            structureVersion.incrementAndGet();
+            super.add(index, condition);
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends Condition> added) {
+            structureVersion.incrementAndGet();
+            return super.addAll(added);
+        }
+
+        @Override
+        public boolean addAll(int index, Collection<? extends Condition> added) {
+            structureVersion.incrementAndGet();
+            return super.addAll(index, added);
+        }
+
+        @Override
+        public Condition set(int index, Condition condition) {
+            structureVersion.incrementAndGet();
+            return super.set(index, condition);
+        }
+
+        @Override
+        public Condition remove(int index) {
+            structureVersion.incrementAndGet();
+            return super.remove(index);
+        }
+
+        @Override
+        public boolean remove(Object condition) {
+            structureVersion.incrementAndGet();
+            return super.remove(condition);
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> removed) {
+            structureVersion.incrementAndGet();
+            return super.removeAll(removed);
+        }
+
+        @Override
+        public boolean retainAll(Collection<?> retained) {
+            structureVersion.incrementAndGet();
+            return super.retainAll(retained);
+        }
+
+        @Override
+        public boolean removeIf(Predicate<? super Condition> filter) {
+            structureVersion.incrementAndGet();
+            return super.removeIf(filter);
+        }
+
+        @Override
+        public void replaceAll(UnaryOperator<Condition> operator) {
+            structureVersion.incrementAndGet();
+            super.replaceAll(operator);
+        }
+
+        @Override
+        protected void removeRange(int fromIndex, int toIndex) {
+            structureVersion.incrementAndGet();
+            super.removeRange(fromIndex, toIndex);
+        }
+
+        @Override
+        public void clear() {
+            structureVersion.incrementAndGet();
+            super.clear();
+        }
+    }
     
     public LogicalCondition addCondition(Condition condition) {
         //check if the condition is already in the list, with .equals()
@@ -49,6 +149,18 @@ public abstract class LogicalCondition implements Condition {
     public ConditionType getType() {
         return ConditionType.LOGICAL;
     }
+    /**
+     * A logical condition depends on the events of all its child conditions.
+     */
+    @Override
+    public Set<Class<?>> getEventDependencies() {
+        Set<Class<?>> dependencies = new HashSet<>();
+        for (Condition condition : conditions) {
+            dependencies.addAll(condition.getEventDependencies());
+        }
+        return dependencies;
+    }
+
      /**
      * Helper method to propagate any event to all child conditions.
      * This centralizes the propagation logic to avoid code duplication.
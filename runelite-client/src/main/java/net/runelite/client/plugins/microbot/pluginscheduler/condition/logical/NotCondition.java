@@ -15,6 +15,7 @@ import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.TimeW
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Logical NOT operator - inverts a condition.
@@ -50,6 +51,11 @@ public class NotCondition implements Condition {
         return ConditionType.LOGICAL;
     }
     
+    @Override
+    public Set<Class<?>> getEventDependencies() {
+        return condition.getEventDependencies();
+    }
+
     @Override
     public void onStatChanged(StatChanged event) {
         condition.onStatChanged(event);
@@ -14,7 +14,9 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Abstract base class for all time-based conditions.
@@ -73,6 +75,15 @@ public abstract class TimeCondition implements Condition {
     public void onGameTick(GameTick gameTick) {
         // Default implementation does nothing
     }
+
+    /**
+     * Time conditions change with the clock rather than with game events.
+     * The ConditionManager re-evaluates them at their {@link #getCurrentTriggerTime() trigger time} instead.
+     */
+    @Override
+    public Set<Class<?>> getEventDependencies() {
+        return Collections.emptySet();
+    }
     
     @Override
     public void reset() {        
@@ -1098,17 +1098,20 @@ public class ScheduleFormPanel extends JPanel {
                 plugin.forceStopCurrentPluginScheduleEntry(false);
             }
         } else {
-            // Start the plugin using the new manualStartPlugin method
-            String result = plugin.manualStartPlugin(selectedPlugin);
-            if (!result.isEmpty()) {
-                // Show error message if starting failed
-                JOptionPane.showMessageDialog(
-                    SwingUtilities.getWindowAncestor(this),
-                    result,
-                    "Cannot Start Plugin",
-                    JOptionPane.WARNING_MESSAGE
-                );
-            }
+            // Start the plugin using the new manualStartPlugin method, which runs on the scheduler engine
+            plugin.manualStartPlugin(selectedPlugin).thenAccept(result -> SwingUtilities.invokeLater(() -> {
+                if (result != null && !result.isEmpty()) {
+                    // Show error message if starting failed
+                    JOptionPane.showMessageDialog(
+                        SwingUtilities.getWindowAncestor(this),
+                        result,
+                        "Cannot Start Plugin",
+                        JOptionPane.WARNING_MESSAGE
+                    );
+                }
+                updateControlButton();
+                updateStatistics();
+            }));
         }
         
         // Update control button and statistics
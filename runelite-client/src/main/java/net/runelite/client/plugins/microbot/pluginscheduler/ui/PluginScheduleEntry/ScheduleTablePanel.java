@@ -2,6 +2,7 @@ package net.runelite.client.plugins.microbot.pluginscheduler.ui.PluginScheduleEn
 
 import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.pluginscheduler.SchedulerPlugin;
+import net.runelite.client.plugins.microbot.pluginscheduler.SchedulerSnapshot;
 
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.Condition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionType;
@@ -1039,8 +1040,8 @@ public class ScheduleTablePanel extends JPanel implements ScheduleTableModel {
             return false;
         }
         
-        PluginScheduleEntry nextPlugin = schedulerPlugin.getNextScheduledPlugin();
-        return nextPlugin != null && nextPlugin.equals(scheduledPlugin);
+        SchedulerSnapshot.Entry nextPlugin = schedulerPlugin.getSnapshot().getNextPlugin();
+        return nextPlugin != null && nextPlugin.isOf(scheduledPlugin);
     }   
     private void detectChangesInPluginlist(){
         List<PluginScheduleEntry> sortedPlugins = schedulerPlugin.sortPluginScheduleEntries();
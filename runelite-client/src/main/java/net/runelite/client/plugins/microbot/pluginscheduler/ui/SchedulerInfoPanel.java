@@ -2,6 +2,7 @@ package net.runelite.client.plugins.microbot.pluginscheduler.ui;
 
 import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.pluginscheduler.SchedulerPlugin;
+import net.runelite.client.plugins.microbot.pluginscheduler.SchedulerSnapshot;
 import net.runelite.client.plugins.microbot.pluginscheduler.SchedulerState;
 import net.runelite.client.plugins.microbot.pluginscheduler.model.PluginScheduleEntry;
 import net.runelite.client.plugins.microbot.util.antiban.enums.Activity;
@@ -545,31 +546,19 @@ public class SchedulerInfoPanel extends JPanel {
      */
     private void updateNextPluginInfo() {
 
-        PluginScheduleEntry nextPlugin = plugin.getNextScheduledPlugin();
+        SchedulerSnapshot snapshot = plugin.getSnapshot();
+        SchedulerSnapshot.Entry nextPlugin = snapshot.getNextPlugin();
         
         if (nextPlugin != null) {
             // Set visibility
             updatePanelVisibility(nextPluginPanel, true);
             
             // Update name
-            nextPluginNameLabel.setText(nextPlugin.getCleanName());
+            nextPluginNameLabel.setText(nextPlugin.getName());
             
-            // Set the next run time display (already handles various condition types)
-            nextPluginTimeLabel.setText(nextPlugin.getNextRunDisplay());
-            
-            // Create an enhanced schedule description
-            StringBuilder scheduleDesc = new StringBuilder(nextPlugin.getIntervalDisplay());
-            
-            // Add information about one-time schedules
-            if (nextPlugin.hasAnyOneTimeStartConditions()) {
-                if (nextPlugin.hasTriggeredOneTimeStartConditions() && !nextPlugin.canStartTriggerAgain()) {
-                    scheduleDesc.append(" (Completed)");
-                } else {
-                    scheduleDesc.append(" (One-time)");
-                }
-            }
-            
-            nextPluginScheduleLabel.setText(scheduleDesc.toString());
+            // Next run time and schedule description, computed with the snapshot
+            nextPluginTimeLabel.setText(snapshot.getNextRunDisplay());
+            nextPluginScheduleLabel.setText(snapshot.getNextScheduleDescription());
         } else {
             // Reset all fields
             nextPluginNameLabel.setText("None");
@@ -1,6 +1,7 @@
 package net.runelite.client.plugins.microbot.pluginscheduler.ui;
 import net.runelite.client.plugins.microbot.pluginscheduler.SchedulerPlugin;
 import net.runelite.client.plugins.microbot.pluginscheduler.SchedulerState;
+import net.runelite.client.plugins.microbot.pluginscheduler.SchedulerSnapshot;
 import net.runelite.client.plugins.microbot.pluginscheduler.model.PluginScheduleEntry;
 import net.runelite.client.ui.ColorScheme;
 import net.runelite.client.ui.FontManager;
@@ -271,12 +272,14 @@ public class SchedulerPanel extends PluginPanel {
     }
 
     public void refresh() {
-        updatePluginInfo();
-        updateNextPluginInfo();
-        updateButtonStates();
+        // Render from the snapshot the scheduler engine published, so no schedule is evaluated on the EDT
+        SchedulerSnapshot snapshot = plugin.getSnapshot();
+        updatePluginInfo(snapshot);
+        updateNextPluginInfo(snapshot);
+        updateButtonStates(snapshot.getState());
         
         // Update scheduler status
-        SchedulerState state = plugin.getCurrentState();
+        SchedulerState state = snapshot.getState();
         schedulerStatusLabel.setText(state.getDisplayName());
         schedulerStatusLabel.setForeground(state.getColor());
         schedulerStatusLabel.setToolTipText(state.getDescription());
@@ -285,11 +288,8 @@ public class SchedulerPanel extends PluginPanel {
     /**
      * Updates button states based on plugin initialization status
      */
-    private void updateButtonStates() {
-        
-        
-        SchedulerState state = plugin.getCurrentState();
-        boolean active = plugin.getCurrentState().isSchedulerActive();
+    private void updateButtonStates(SchedulerState state) {
+        boolean active = state.isSchedulerActive();
         configButton.setEnabled(state != SchedulerState.UNINITIALIZED || state != SchedulerState.ERROR || state != SchedulerState.INITIALIZING);
         
         // Only enable run button if we're in READY or HOLD state
@@ -314,13 +314,13 @@ public class SchedulerPanel extends PluginPanel {
         }
     }
 
-    void updatePluginInfo() {
-        PluginScheduleEntry currentPlugin = plugin.getCurrentPlugin();
+    void updatePluginInfo(SchedulerSnapshot snapshot) {
+        SchedulerSnapshot.Entry currentPlugin = snapshot.getCurrentPlugin();
 
         if (currentPlugin != null) {
             // Get start time for runtime calculation
             ZonedDateTime startTimeZdt = currentPlugin.getLastRunStartTime();
-            String pluginName = currentPlugin.getCleanName();
+            String pluginName = currentPlugin.getName();
             
             // Add the stop reason indicator to the plugin name if available
             if (currentPlugin.getLastStopReasonType() != null && 
@@ -365,13 +365,13 @@ public class SchedulerPanel extends PluginPanel {
     /**
      * Updates information about the previously run plugin
      */
-    private void updatePreviousPluginInfo(PluginScheduleEntry plugin) {
+    private void updatePreviousPluginInfo(SchedulerSnapshot.Entry plugin) {
         if (plugin == null) return;
         
         // Only show previous plugin info if the plugin has been run at least once
         if (plugin.getLastRunEndTime() != null && plugin.getLastRunDuration() != null) {
             // Set name
-            prevPluginNameLabel.setText(plugin.getCleanName());
+            prevPluginNameLabel.setText(plugin.getName());
             
             // Set duration
             long durationMillis = plugin.getLastRunDuration().toMillis();
@@ -433,42 +433,16 @@ public class SchedulerPanel extends PluginPanel {
         return "";
     }
     
-    void updateNextPluginInfo() {
-        PluginScheduleEntry nextPlugin = plugin.getNextScheduledPlugin();
+    void updateNextPluginInfo(SchedulerSnapshot snapshot) {
+        SchedulerSnapshot.Entry nextPlugin = snapshot.getNextPlugin();
 
         if (nextPlugin != null) {
             // Set the plugin name
-            nextPluginNameLabel.setText(nextPlugin.getCleanName());
-            
-            // Set the next run time display (already handles various condition types)
-            nextPluginTimeLabel.setText(nextPlugin.getNextRunDisplay());
-
-            // Create an enhanced schedule description
-            StringBuilder scheduleDesc = new StringBuilder(nextPlugin.getIntervalDisplay());
-            
-            // Add information about one-time schedules
-            if (nextPlugin.hasAnyOneTimeStartConditions()) {
-                if (nextPlugin.hasTriggeredOneTimeStartConditions() && !nextPlugin.canStartTriggerAgain()) {
-                    scheduleDesc.append(" (Completed)");
-                } else {
-                    scheduleDesc.append(" (One-time)");
-                }
-            }
-            
-            // Add condition status information if available
-            if (nextPlugin.hasAnyStartConditions()) {
-                int total = nextPlugin.getStartConditionManager().getConditions().size();
-                long satisfied = nextPlugin.getStartConditionManager().getConditions().stream()
-                        .filter(condition -> condition.isSatisfied())
-                        .count();
-                
-                if (total > 1) {
-                    scheduleDesc.append(String.format(" [%d/%d conditions met]", satisfied, total));
-                }
-            }
+            nextPluginNameLabel.setText(nextPlugin.getName());
             
-            // Set the updated schedule description
-            nextPluginScheduleLabel.setText(scheduleDesc.toString());
+            // Next run time and schedule description, computed with the snapshot
+            nextPluginTimeLabel.setText(snapshot.getNextRunDisplay());
+            nextPluginScheduleLabel.setText(snapshot.getNextScheduleDescription());
         } else {
             // No next plugin scheduled
             nextPluginNameLabel.setText("None");
@@ -2,6 +2,7 @@ package net.runelite.client.plugins.microbot.shortestpath;
 
 import lombok.Getter;
 import lombok.Setter;
+import net.runelite.client.plugins.microbot.shortestpath.pathfinder.PathSearch;
 import net.runelite.client.plugins.microbot.shortestpath.pathfinder.Pathfinder;
 import net.runelite.client.ui.overlay.OverlayPanel;
 import net.runelite.client.ui.overlay.OverlayPosition;
@@ -38,7 +39,7 @@ public class DebugOverlayPanel extends OverlayPanel {
 
     @Override
     public Dimension render(Graphics2D graphics) {
-        Pathfinder pathfinder = plugin.getPathfinder();
+        PathSearch pathfinder = plugin.getPathfinder();
         Pathfinder.PathfinderStats stats;
         if (pathfinder == null || (stats = pathfinder.getStats()) == null) {
             return null;
@@ -60,6 +61,12 @@ public class DebugOverlayPanel extends OverlayPanel {
 
         components.add(separator);
 
+        String algorithm = stats.isRepaired() ? "Path repair" : String.valueOf(stats.getAlgorithm());
+        components.add(makeLine("Algorithm:", algorithm));
+
+        String expanded = Integer.toString(stats.getNodesExpanded());
+        components.add(makeLine("Expanded:", expanded));
+
         String nodes = Integer.toString(stats.getNodesChecked());
         components.add(makeLine("Nodes:", nodes));
 
@@ -75,6 +82,15 @@ public class DebugOverlayPanel extends OverlayPanel {
         String time = String.format("%.2fms", milliTime);
         components.add(makeLine("Time:", time));
 
+        components.add(separator);
+
+        PathCache pathCache = ShortestPathPlugin.getPathCache();
+        String cacheHits = pathCache.getHits() + " / " + (pathCache.getHits() + pathCache.getMisses());
+        components.add(makeLine("Cache hits:", cacheHits));
+
+        String cacheSize = Integer.toString(pathCache.size());
+        components.add(makeLine("Cached paths:", cacheSize));
+
         return super.render(graphics);
     }
 
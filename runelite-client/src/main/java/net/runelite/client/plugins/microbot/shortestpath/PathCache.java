@@ -0,0 +1,254 @@
+package net.runelite.client.plugins.microbot.shortestpath;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.coords.WorldPoint;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Least recently used cache of complete paths.
+ * <p>
+ * Paths are keyed by the start tile, the target tiles and a fingerprint of the usable transports,
+ * so a path is only reused while the same transports, teleports and restrictions apply.
+ * When {@link net.runelite.client.plugins.microbot.shortestpath.pathfinder.PathfinderConfig#refresh()}
+ * changes the usable transport set, the fingerprint changes and older entries stop matching.
+ */
+@Slf4j
+public class PathCache {
+    private static final int MAGIC = 0x50415448; // "PATH"
+    private static final int VERSION = 1;
+    private static final int DEFAULT_MAX_ENTRIES = 512;
+
+    private final int maxEntries;
+    private final Map<Key, int[]> paths;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public PathCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public PathCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.paths = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, int[]> eldest) {
+                return size() > PathCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @return the cached path, or null if there is no path for this start, targets and transport fingerprint
+     */
+    public List<WorldPoint> get(WorldPoint start, Set<WorldPoint> targets, long fingerprint) {
+        Key key = new Key(WorldPointUtil.packWorldPoint(start), packTargets(targets), fingerprint);
+        int[] path;
+        synchronized (paths) {
+            path = paths.get(key);
+        }
+
+        if (path == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        hits.incrementAndGet();
+        List<WorldPoint> unpacked = new ArrayList<>(path.length);
+        for (int packedPoint : path) {
+            unpacked.add(WorldPointUtil.unpackWorldPoint(packedPoint));
+        }
+        return unpacked;
+    }
+
+    public void put(WorldPoint start, Set<WorldPoint> targets, long fingerprint, List<WorldPoint> path) {
+        int[] packedPath = new int[path.size()];
+        for (int i = 0; i < packedPath.length; i++) {
+            packedPath[i] = WorldPointUtil.packWorldPoint(path.get(i));
+        }
+
+        Key key = new Key(WorldPointUtil.packWorldPoint(start), packTargets(targets), fingerprint);
+        synchronized (paths) {
+            paths.put(key, packedPath);
+        }
+    }
+
+    public void clear() {
+        synchronized (paths) {
+            paths.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (paths) {
+            return paths.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Writes the cache to disk. The data fingerprint identifies the collision map and transport
+     * resources the paths were computed from, so a stale file is ignored after an update.
+     */
+    public void save(File file, long dataFingerprint) {
+        List<Map.Entry<Key, int[]>> entries;
+        synchronized (paths) {
+            entries = new ArrayList<>(paths.entrySet());
+        }
+
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            log.warn("Unable to create path cache directory {}", parent);
+            return;
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(dataFingerprint);
+            out.writeInt(entries.size());
+            for (Map.Entry<Key, int[]> entry : entries) {
+                Key key = entry.getKey();
+                out.writeInt(key.start);
+                out.writeLong(key.fingerprint);
+                out.writeInt(key.targets.length);
+                for (int target : key.targets) {
+                    out.writeInt(target);
+                }
+                int[] path = entry.getValue();
+                out.writeInt(path.length);
+                for (int point : path) {
+                    out.writeInt(point);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Unable to save path cache to {}", file, e);
+        }
+    }
+
+    /**
+     * Loads paths previously written by {@link #save(File, long)}, keeping the current entries.
+     * Files written for different collision or transport data are skipped.
+     */
+    public void load(File file, long dataFingerprint) {
+        if (!file.exists()) {
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != dataFingerprint) {
+                log.debug("Ignoring outdated path cache {}", file);
+                return;
+            }
+
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                int start = in.readInt();
+                long fingerprint = in.readLong();
+                int[] targets = new int[in.readInt()];
+                for (int j = 0; j < targets.length; j++) {
+                    targets[j] = in.readInt();
+                }
+                int[] path = new int[in.readInt()];
+                for (int j = 0; j < path.length; j++) {
+                    path[j] = in.readInt();
+                }
+                synchronized (paths) {
+                    paths.putIfAbsent(new Key(start, targets, fingerprint), path);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Unable to load path cache from {}", file, e);
+        }
+    }
+
+    private static int[] packTargets(Set<WorldPoint> targets) {
+        int[] packed = new int[targets.size()];
+        int i = 0;
+        for (WorldPoint target : targets) {
+            packed[i++] = WorldPointUtil.packWorldPoint(target);
+        }
+        Arrays.sort(packed);
+        return packed;
+    }
+
+    /**
+     * Order independent hash of a set of transports, stable across sessions.
+     */
+    public static long fingerprint(Iterable<Transport> transports) {
+        long hash = 0;
+        for (Transport transport : transports) {
+            hash += mix(fingerprint(transport));
+        }
+        return hash;
+    }
+
+    private static long fingerprint(Transport transport) {
+        long hash = WorldPointUtil.packWorldPoint(transport.getOrigin());
+        hash = hash * 31 + WorldPointUtil.packWorldPoint(transport.getDestination());
+        hash = hash * 31 + (transport.getType() == null ? -1 : transport.getType().ordinal());
+        hash = hash * 31 + transport.getObjectId();
+        hash = hash * 31 + transport.getDuration();
+        hash = hash * 31 + (transport.getDisplayInfo() == null ? 0 : transport.getDisplayInfo().hashCode());
+        return hash;
+    }
+
+    // Finalizer from SplitMix64, spreads the bits so the order independent sum does not collide easily
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Key {
+        private final int start;
+        private final int[] targets;
+        private final long fingerprint;
+        private final int hash;
+
+        private Key(int start, int[] targets, long fingerprint) {
+            this.start = start;
+            this.targets = targets;
+            this.fingerprint = fingerprint;
+            this.hash = 31 * (31 * start + Arrays.hashCode(targets)) + Long.hashCode(fingerprint);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return start == other.start && fingerprint == other.fingerprint && Arrays.equals(targets, other.targets);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -353,6 +353,46 @@ public interface ShortestPathConfig extends Config {
         return 5;
     }
 
+    @ConfigItem(
+            keyName = "pathfinderAlgorithm",
+            name = "Search algorithm",
+            description = "The search used to find the path<br>" +
+                    "Breadth-first: explores every tile in order of distance from the start<br>" +
+                    "A*: explores tiles closest to the target first, using teleports and transports as shortcuts in the estimate<br>" +
+                    "Hierarchical A*: plans a route over map regions first, then only searches tiles along that route",
+            position = 28,
+            section = sectionSettings
+    )
+    default PathfinderAlgorithm pathfinderAlgorithm()
+    {
+        return PathfinderAlgorithm.BREADTH_FIRST;
+    }
+
+    @ConfigItem(
+            keyName = "persistPathCache",
+            name = "Persist path cache",
+            description = "Whether paths found by scripts should be saved to disk and reused in later sessions",
+            position = 29,
+            section = sectionSettings
+    )
+    default boolean persistPathCache()
+    {
+        return false;
+    }
+
+    @ConfigItem(
+            keyName = "repairPath",
+            name = "Repair path",
+            description = "Whether a path should be repaired locally when the player strays from it, " +
+                    "by finding the way back to the path nearby instead of recalculating the whole path",
+            position = 30,
+            section = sectionSettings
+    )
+    default boolean repairPath()
+    {
+        return true;
+    }
+
     @ConfigSection(
             name = "Display",
             description = "Options for displaying the path on the world map, minimap and scene tiles",
@@ -34,6 +34,7 @@ import net.runelite.api.events.MenuOpened;
 import net.runelite.api.widgets.ComponentID;
 import net.runelite.api.widgets.Widget;
 import net.runelite.api.worldmap.WorldMap;
+import net.runelite.client.RuneLite;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
@@ -46,6 +47,7 @@ import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.shortestpath.pathfinder.CollisionMap;
+import net.runelite.client.plugins.microbot.shortestpath.pathfinder.PathSearch;
 import net.runelite.client.plugins.microbot.shortestpath.pathfinder.Pathfinder;
 import net.runelite.client.plugins.microbot.shortestpath.pathfinder.PathfinderConfig;
 import net.runelite.client.plugins.microbot.shortestpath.pathfinder.SplitFlagMap;
@@ -66,6 +68,7 @@ import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.awt.geom.Ellipse2D;
 import java.awt.image.BufferedImage;
+import java.io.File;
 import java.util.List;
 import java.util.*;
 import java.util.concurrent.ExecutorService;
@@ -156,6 +159,10 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
     @Getter
     @Setter
     public static ExecutorService pathfindingExecutor = Executors.newSingleThreadExecutor();
+    /** Runs the second path variant (e.g. without teleports) next to the pathfinding executor */
+    @Getter
+    @Setter
+    public static ExecutorService variantPathfindingExecutor;
     @Getter
     @Setter
     public static Future<?> pathfinderFuture;
@@ -163,9 +170,13 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
     public static final Object pathfinderMutex = new Object();
     @Getter
     @Setter
-    public static Pathfinder pathfinder;
+    public static PathSearch pathfinder;
     @Getter
     public static PathfinderConfig pathfinderConfig;
+    /** Paths found by scripts through {@link Rs2Walker}, reused while the usable transports stay the same */
+    @Getter
+    private static final PathCache pathCache = new PathCache();
+    private static final File PATH_CACHE_FILE = new File(RuneLite.RUNELITE_DIR, "shortestpath" + File.separator + "path-cache.bin");
     @Getter
     @Setter
     public static boolean startPointSet = false;
@@ -184,6 +195,9 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
         Map<WorldPoint, Set<Transport>> transports = Transport.loadAllFromResources();
         List<Restriction> restrictions = Restriction.loadAllFromResources();
         pathfinderConfig = new PathfinderConfig(map, transports, restrictions, client, config);
+        if (config.persistPathCache()) {
+            pathCache.load(PATH_CACHE_FILE, pathfinderConfig.getDataFingerprint());
+        }
 
         panel = injector.getInstance(ShortestPathPanel.class);
         final BufferedImage icon = ImageUtil.loadImageResource(ShortestPathPlugin.class, "panel_icon.png");
@@ -226,6 +240,11 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
 
         shortestPathScript.shutdown();
 
+        if (config.persistPathCache()) {
+            pathCache.save(PATH_CACHE_FILE, pathfinderConfig.getDataFingerprint());
+        }
+        pathCache.clear();
+
         exit();
         keyManager.unregisterKeyListener(this);
     }
@@ -237,6 +256,10 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
             pathfindingExecutor.shutdownNow();
             pathfindingExecutor = null;
         }
+        if (variantPathfindingExecutor != null) {
+            variantPathfindingExecutor.shutdownNow();
+            variantPathfindingExecutor = null;
+        }
     }
 
     public void restartPathfinding(WorldPoint start, Set<WorldPoint> ends, boolean canReviveFiltered) {
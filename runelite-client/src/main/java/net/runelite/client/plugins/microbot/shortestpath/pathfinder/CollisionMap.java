@@ -1,13 +1,9 @@
 package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
 
-import net.runelite.api.TileObject;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.client.plugins.microbot.shortestpath.Transport;
 import net.runelite.client.plugins.microbot.shortestpath.TransportType;
 import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
-import net.runelite.client.plugins.microbot.util.coords.Rs2WorldPoint;
-import net.runelite.client.plugins.microbot.util.gameobject.Rs2GameObject;
-import net.runelite.client.plugins.microbot.util.player.Rs2Player;
 
 import java.util.*;
 
@@ -25,12 +21,12 @@ public class CollisionMap {
         this.collisionData = collisionData;
     }
 
-    private boolean get(int x, int y, int z, int flag) {
-        return collisionData.get(x, y, z, flag);
+    private int flags(int x, int y, int z) {
+        return collisionData.getTileFlags(x, y, z);
     }
 
     public boolean n(int x, int y, int z) {
-        return get(x, y, z, 0);
+        return (flags(x, y, z) & SplitFlagMap.FLAG_NORTH) != 0;
     }
 
     public boolean s(int x, int y, int z) {
@@ -38,31 +34,91 @@ public class CollisionMap {
     }
 
     public boolean e(int x, int y, int z) {
-        return get(x, y, z, 1);
+        return (flags(x, y, z) & SplitFlagMap.FLAG_EAST) != 0;
     }
 
     public boolean w(int x, int y, int z) {
         return e(x - 1, y, z);
     }
 
-    private boolean ne(int x, int y, int z) {
-        return n(x, y, z) && e(x, y + 1, z) && e(x, y, z) && n(x + 1, y, z);
+    public boolean isBlocked(int x, int y, int z) {
+        return !n(x, y, z) && !s(x, y, z) && !e(x, y, z) && !w(x, y, z);
     }
 
-    private boolean nw(int x, int y, int z) {
-        return n(x, y, z) && w(x, y + 1, z) && w(x, y, z) && n(x - 1, y, z);
-    }
+    /**
+     * Returns the directions that can be walked from a tile, with bit i set if
+     * {@code OrdinalDirection.values()[i]} is traversable.
+     * Reads each surrounding tile once instead of once per flag and direction.
+     */
+    public int getTraversableDirections(int x, int y, int z) {
+        final int here = flags(x, y, z);
+        final int south = flags(x, y - 1, z);
+        final int west = flags(x - 1, y, z);
+
+        final boolean n = (here & SplitFlagMap.FLAG_NORTH) != 0;
+        final boolean e = (here & SplitFlagMap.FLAG_EAST) != 0;
+        final boolean s = (south & SplitFlagMap.FLAG_NORTH) != 0;
+        final boolean w = (west & SplitFlagMap.FLAG_EAST) != 0;
+
+        if (!n && !e && !s && !w) {
+            // Leaving a blocked tile only requires the adjacent tiles to be open
+            final boolean westBlocked = isBlocked(x - 1, y, z);
+            final boolean eastBlocked = isBlocked(x + 1, y, z);
+            final boolean southBlocked = isBlocked(x, y - 1, z);
+            final boolean northBlocked = isBlocked(x, y + 1, z);
+            return direction(OrdinalDirection.WEST, !westBlocked)
+                    | direction(OrdinalDirection.EAST, !eastBlocked)
+                    | direction(OrdinalDirection.SOUTH, !southBlocked)
+                    | direction(OrdinalDirection.NORTH, !northBlocked)
+                    | direction(OrdinalDirection.SOUTH_WEST, !isBlocked(x - 1, y - 1, z) && !westBlocked && !southBlocked)
+                    | direction(OrdinalDirection.SOUTH_EAST, !isBlocked(x + 1, y - 1, z) && !eastBlocked && !southBlocked)
+                    | direction(OrdinalDirection.NORTH_WEST, !isBlocked(x - 1, y + 1, z) && !westBlocked && !northBlocked)
+                    | direction(OrdinalDirection.NORTH_EAST, !isBlocked(x + 1, y + 1, z) && !eastBlocked && !northBlocked);
+        }
+
+        final int north = flags(x, y + 1, z);
+        final int east = flags(x + 1, y, z);
+        final int northWest = flags(x - 1, y + 1, z);
+        final int southWest = flags(x - 1, y - 1, z);
+        final int southEast = flags(x + 1, y - 1, z);
 
-    private boolean se(int x, int y, int z) {
-        return s(x, y, z) && e(x, y - 1, z) && e(x, y, z) && s(x + 1, y, z);
+        // A diagonal step needs both cardinal steps from this tile and both cardinal steps into the diagonal tile
+        final boolean ne = n && e && (north & SplitFlagMap.FLAG_EAST) != 0 && (east & SplitFlagMap.FLAG_NORTH) != 0;
+        final boolean nw = n && w && (northWest & SplitFlagMap.FLAG_EAST) != 0 && (west & SplitFlagMap.FLAG_NORTH) != 0;
+        final boolean se = s && e && (south & SplitFlagMap.FLAG_EAST) != 0 && (southEast & SplitFlagMap.FLAG_NORTH) != 0;
+        final boolean sw = s && w && (southWest & SplitFlagMap.FLAG_EAST) != 0 && (southWest & SplitFlagMap.FLAG_NORTH) != 0;
+
+        return direction(OrdinalDirection.WEST, w)
+                | direction(OrdinalDirection.EAST, e)
+                | direction(OrdinalDirection.SOUTH, s)
+                | direction(OrdinalDirection.NORTH, n)
+                | direction(OrdinalDirection.SOUTH_WEST, sw)
+                | direction(OrdinalDirection.SOUTH_EAST, se)
+                | direction(OrdinalDirection.NORTH_WEST, nw)
+                | direction(OrdinalDirection.NORTH_EAST, ne);
     }
 
-    private boolean sw(int x, int y, int z) {
-        return s(x, y, z) && w(x, y - 1, z) && w(x, y, z) && s(x - 1, y, z);
+    /** Whether the collision data allows a single step between two adjacent tiles on the same plane */
+    public boolean canStep(int packedFrom, int packedTo) {
+        final int x = WorldPointUtil.unpackWorldX(packedFrom);
+        final int y = WorldPointUtil.unpackWorldY(packedFrom);
+        final int z = WorldPointUtil.unpackWorldPlane(packedFrom);
+        final int dx = WorldPointUtil.unpackWorldX(packedTo) - x;
+        final int dy = WorldPointUtil.unpackWorldY(packedTo) - y;
+        if (z != WorldPointUtil.unpackWorldPlane(packedTo)) {
+            return false;
+        }
+
+        for (int i = 0; i < ORDINAL_VALUES.length; i++) {
+            if (ORDINAL_VALUES[i].x == dx && ORDINAL_VALUES[i].y == dy) {
+                return (getTraversableDirections(x, y, z) & (1 << i)) != 0;
+            }
+        }
+        return false;
     }
 
-    public boolean isBlocked(int x, int y, int z) {
-        return !n(x, y, z) && !s(x, y, z) && !e(x, y, z) && !w(x, y, z);
+    private static int direction(OrdinalDirection direction, boolean traversable) {
+        return traversable ? 1 << direction.ordinal() : 0;
     }
 
     private static int packedPointFromOrdinal(int startPacked, OrdinalDirection direction) {
@@ -72,9 +128,11 @@ public class CollisionMap {
         return WorldPointUtil.packWorldPoint(x + direction.x, y + direction.y, plane);
     }
 
-    // This is only safe if pathfinding is single-threaded
-    private final List<Node> neighbors = new ArrayList<>(16);
-    private final boolean[] traversable = new boolean[8];
+    // Scratch state for neighbor expansion; PathfinderConfig hands out one CollisionMap per thread
+    private int[] neighborPositions = new int[16];
+    private int[] neighborCosts = new int[16];
+    private boolean[] neighborTransports = new boolean[16];
+    private int neighborCount;
 
     public static final List<WorldPoint> ignoreCollision = Arrays.asList(
             new WorldPoint(3142, 3457, 0),
@@ -97,105 +155,106 @@ public class CollisionMap {
             new WorldPoint(3672, 3862, 0)
     );
 
-    public List<Node> getNeighbors(Node node, VisitedTiles visited, PathfinderConfig config, Set<WorldPoint> targets) {
-        final int x = WorldPointUtil.unpackWorldX(node.packedPosition);
-        final int y = WorldPointUtil.unpackWorldY(node.packedPosition);
-        final int z = WorldPointUtil.unpackWorldPlane(node.packedPosition);
+    /**
+     * Finds the unvisited tiles reachable in one step or one transport from a tile.
+     * The neighbors are kept in scratch arrays until the next call instead of being allocated, read them with
+     * {@link #getNeighborPosition}, {@link #getNeighborCost} and {@link #isTransportNeighbor}.
+     *
+     * @param packedPosition the tile to expand
+     * @param cost the cost to reach the tile
+     * @param targetsPacked the packed targets of the search, sorted
+     * @return the number of neighbors found
+     */
+    public int getNeighbors(int packedPosition, int cost, NodeStore visited, PathfinderConfig config, int[] targetsPacked) {
+        final int x = WorldPointUtil.unpackWorldX(packedPosition);
+        final int y = WorldPointUtil.unpackWorldY(packedPosition);
+        final int z = WorldPointUtil.unpackWorldPlane(packedPosition);
 
-        neighbors.clear();
+        neighborCount = 0;
 
         @SuppressWarnings("unchecked") // Casting EMPTY_LIST to List<Transport> is safe here
-        Set<Transport> transports = config.getTransportsPacked().getOrDefault(node.packedPosition, (Set<Transport>)Collections.EMPTY_SET);
+        Set<Transport> transports = config.getTransportsPacked().getOrDefault(packedPosition, (Set<Transport>)Collections.EMPTY_SET);
 
         // Transports are pre-filtered by PathfinderConfig.refreshTransports
         // Thus any transports in the list are guaranteed to be valid per the user's settings
         for (Transport transport : transports) {
             //START microbot variables
-            if (visited.get(transport.getDestination())) continue;
+            if (visited.isVisited(transport.getDestination())) continue;
             if (config.isIgnoreTeleportAndItems() && TransportType.isTeleport(transport.getType())) continue;
+            // Travel wait time is converted to distance as if the player is walking 1 tile/tick.
             if (TransportType.isTeleport(transport.getType())) {
-                neighbors.add(new TransportNode(transport.getDestination(), node, config.getDistanceBeforeUsingTeleport() + transport.getDuration()));
+                addNeighbor(WorldPointUtil.packWorldPoint(transport.getDestination()), cost + config.getDistanceBeforeUsingTeleport() + transport.getDuration(), true);
             } else {
-                neighbors.add(new TransportNode(transport.getDestination(), node, transport.getDuration()));
+                addNeighbor(WorldPointUtil.packWorldPoint(transport.getDestination()), cost + transport.getDuration(), true);
             }
             //END microbot variables
         }
 
-        if (isBlocked(x, y, z)) {
-            boolean westBlocked = isBlocked(x - 1, y, z);
-            boolean eastBlocked = isBlocked(x + 1, y, z);
-            boolean southBlocked = isBlocked(x, y - 1, z);
-            boolean northBlocked = isBlocked(x, y + 1, z);
-            boolean southWestBlocked = isBlocked(x - 1, y - 1, z);
-            boolean southEastBlocked = isBlocked(x + 1, y - 1, z);
-            boolean northWestBlocked = isBlocked(x - 1, y + 1, z);
-            boolean northEastBlocked = isBlocked(x + 1, y + 1, z);
-            traversable[0] = !westBlocked;
-            traversable[1] = !eastBlocked;
-            traversable[2] = !southBlocked;
-            traversable[3] = !northBlocked;
-            traversable[4] = !southWestBlocked && !westBlocked && !southBlocked;
-            traversable[5] = !southEastBlocked && !eastBlocked && !southBlocked;
-            traversable[6] = !northWestBlocked && !westBlocked && !northBlocked;
-            traversable[7] = !northEastBlocked && !eastBlocked && !northBlocked;
-        } else {
-            traversable[0] = w(x, y, z);
-            traversable[1] = e(x, y, z);
-            traversable[2] = s(x, y, z);
-            traversable[3] = n(x, y, z);
-            traversable[4] = sw(x, y, z);
-            traversable[5] = se(x, y, z);
-            traversable[6] = nw(x, y, z);
-            traversable[7] = ne(x, y, z);
-        }
+        final int traversable = getTraversableDirections(x, y, z);
+        final TileOverrides overrides = config.getTileOverrides();
+        final boolean ignoringCollision = overrides.isIgnoringCollision(packedPosition);
 
-        for (int i = 0; i < traversable.length; i++) {
+        for (int i = 0; i < ORDINAL_VALUES.length; i++) {
             OrdinalDirection d = ORDINAL_VALUES[i];
-            int neighborPacked = packedPointFromOrdinal(node.packedPosition, d);
-            if (visited.get(neighborPacked)) continue;
+            int neighborPacked = packedPointFromOrdinal(packedPosition, d);
+            if (visited.isVisited(neighborPacked)) continue;
             if (config.getRestrictedPointsPacked().contains(neighborPacked)) continue;
             if (config.getCustomRestrictions().contains(neighborPacked)) continue;
 
-            if (ignoreCollision.contains(new WorldPoint(x, y, z))) {
-                neighbors.add(new Node(neighborPacked, node));
+            // Every step, including diagonals, is one tile of distance
+            if (ignoringCollision) {
+                addNeighbor(neighborPacked, cost + 1, false);
                 continue;
             }
 
-            /**
-             * This piece of code is designed to allow web walker to be used in toa puzzle room
-             * it will dodge specific tiles in the sequence room
-             */
-            if (Rs2Player.getWorldLocation().getRegionID() == 14162) { //toa puzzle room
-                final int lx = WorldPointUtil.unpackWorldX(neighborPacked);
-                final int ly = WorldPointUtil.unpackWorldY(neighborPacked);
-                final int lz = WorldPointUtil.unpackWorldPlane(neighborPacked);
-                if (targets.stream().noneMatch(tgts -> Objects.equals(tgts, new WorldPoint(lx, ly, lz)))) {
-                    WorldPoint globalWorldPoint = Rs2WorldPoint.convertInstancedWorldPoint(new WorldPoint(lx, ly, lz));
-                    if (globalWorldPoint != null) {
-                        TileObject go = Rs2GameObject.getGroundObject(globalWorldPoint);
-                        if (go != null && go.getId() == 45340) {
-                            continue;
-                        }
-                    }
-                }
+            // Tiles blocked by a dynamic rule can still be walked onto when they are the destination
+            if (overrides.isBlocked(neighborPacked) && Arrays.binarySearch(targetsPacked, neighborPacked) < 0) {
+                continue;
             }
 
-            if (traversable[i]) {
-                neighbors.add(new Node(neighborPacked, node));
+            if ((traversable & (1 << i)) != 0) {
+                addNeighbor(neighborPacked, cost + 1, false);
             } else if (Math.abs(d.x + d.y) == 1 && isBlocked(x + d.x, y + d.y, z)) {
                 // The transport starts from a blocked adjacent tile, e.g. fairy ring
                 // Only checks non-teleport transports (includes portals and levers, but not items and spells)
                 @SuppressWarnings("unchecked") // Casting EMPTY_LIST to List<Transport> is safe here
                 Set<Transport> neighborTransports = config.getTransportsPacked().getOrDefault(neighborPacked, (Set<Transport>)Collections.EMPTY_SET);
                 for (Transport transport : neighborTransports) {
-                    if (transport.getOrigin() == null || visited.get(transport.getOrigin())) {
+                    if (transport.getOrigin() == null || visited.isVisited(transport.getOrigin())) {
                         continue;
                     }
-                    neighbors.add(new Node(transport.getOrigin(), node));
+                    final int origin = WorldPointUtil.packWorldPoint(transport.getOrigin());
+                    // The distance is Integer.MAX_VALUE for an origin on another plane, so keep the cost from overflowing
+                    addNeighbor(origin, (int) Math.min(Integer.MAX_VALUE, (long) cost + WorldPointUtil.distanceBetween(packedPosition, origin)), false);
                 }
             }
         }
 
-        return neighbors;
+        return neighborCount;
+    }
+
+    public int getNeighborPosition(int index) {
+        return neighborPositions[index];
+    }
+
+    public int getNeighborCost(int index) {
+        return neighborCosts[index];
+    }
+
+    /** Whether the neighbor is the destination of a transport rather than a tile walked to */
+    public boolean isTransportNeighbor(int index) {
+        return neighborTransports[index];
+    }
+
+    private void addNeighbor(int packedPosition, int cost, boolean transport) {
+        if (neighborCount == neighborPositions.length) {
+            neighborPositions = Arrays.copyOf(neighborPositions, neighborCount * 2);
+            neighborCosts = Arrays.copyOf(neighborCosts, neighborCount * 2);
+            neighborTransports = Arrays.copyOf(neighborTransports, neighborCount * 2);
+        }
+        neighborPositions[neighborCount] = packedPosition;
+        neighborCosts[neighborCount] = cost;
+        neighborTransports[neighborCount] = transport;
+        neighborCount++;
     }
 }
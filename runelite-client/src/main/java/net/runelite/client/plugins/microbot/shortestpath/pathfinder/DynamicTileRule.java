@@ -0,0 +1,13 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+/**
+ * Changes which tiles the pathfinder may use based on the current game state,
+ * e.g. tiles that are only dangerous while an object is present.
+ * <p>
+ * Rules are applied on the client thread by {@link PathfinderConfig#refresh()} and their result is kept
+ * as a {@link TileOverrides} snapshot, so the search itself never reads client state.
+ */
+@FunctionalInterface
+public interface DynamicTileRule {
+    void apply(TileOverrides overrides);
+}
@@ -0,0 +1,257 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+import static net.runelite.api.Constants.REGION_SIZE;
+
+/**
+ * Search state of every tile the pathfinder has reached: the tile it was reached from and the cost to reach it.
+ * <p>
+ * A tile is closed once its cost is final. The breadth-first search closes tiles when they are first reached with
+ * {@link #visit}, while A* reaches them with {@link #reach}, which keeps the cheapest route found so far, and only
+ * closes them with {@link #close} when they are expanded.
+ * <p>
+ * Tiles are stored in primitive arrays with one block per region plane, indexed by the tile's position in the region.
+ * Blocks are handed out when the search first enters a region plane and are kept for the next search after
+ * {@link #clear()}, so reaching a tile does not allocate. Searches take a store from a small shared pool with
+ * {@link #acquire()} and give it back with {@link #release}, so threads that rarely search do not keep one.
+ */
+public class NodeStore {
+    /** Parent of the start tile. Not a valid position since it lies outside the collision map. */
+    public static final int NO_PARENT = -1;
+
+    private static final int MAX_PLANES = 4;
+    private static final int TILES_PER_PLANE = REGION_SIZE * REGION_SIZE;
+    private static final int UNVISITED = -1;
+    // Blocks kept between searches; a long search may use more, but only this many stay allocated
+    private static final int POOLED_BLOCKS = 64;
+    // Stores kept between searches, enough for the pathfinding and the variant threads to search at the same time
+    private static final int POOLED_STORES = 2;
+    private static final Deque<NodeStore> POOL = new ArrayDeque<>(POOLED_STORES);
+
+    private final SplitFlagMap.RegionExtent regionExtents;
+    private final int widthInclusive;
+    private final int heightInclusive;
+
+    // Block of each region plane, indexed by regionIndex * MAX_PLANES + plane, or -1 if the search has not entered it
+    private final int[] blocks;
+    // Region plane of each block in use, to reset blocks on clear
+    private int[] blockRegionPlanes = new int[64];
+    private int blockCount;
+    private final List<int[]> parents = new ArrayList<>(64);
+    private final List<int[]> costs = new ArrayList<>(64);
+    // One bit per tile of the block, set once the tile is closed
+    private final List<long[]> closed = new ArrayList<>(64);
+
+    public NodeStore() {
+        regionExtents = SplitFlagMap.getRegionExtents();
+        widthInclusive = regionExtents.getWidth() + 1;
+        heightInclusive = regionExtents.getHeight() + 1;
+        blocks = new int[widthInclusive * heightInclusive * MAX_PLANES];
+        Arrays.fill(blocks, -1);
+    }
+
+    /** Takes a cleared store from the pool, or creates one if every pooled store is in use */
+    public static NodeStore acquire() {
+        NodeStore store;
+        synchronized (POOL) {
+            store = POOL.poll();
+        }
+        return store != null ? store : new NodeStore();
+    }
+
+    /** Clears a store and returns it to the pool, or drops it if the pool is full */
+    public static void release(NodeStore store) {
+        store.clear();
+        synchronized (POOL) {
+            if (POOL.size() < POOLED_STORES) {
+                POOL.push(store);
+            }
+        }
+    }
+
+    /**
+     * Returns whether the tile is closed, i.e. its cost is final and it does not need to be reached again.
+     * Tiles outside the extents of the collision map are reported as visited to avoid exploring them.
+     */
+    public boolean isVisited(int packedPoint) {
+        final int regionPlane = regionPlane(packedPoint);
+        if (regionPlane < 0) {
+            return true;
+        }
+
+        final int block = blocks[regionPlane];
+        return block >= 0 && isClosed(closed.get(block), tileIndex(packedPoint));
+    }
+
+    public boolean isVisited(WorldPoint point) {
+        return isVisited(WorldPointUtil.packWorldPoint(point));
+    }
+
+    /**
+     * Marks a tile as reached from a parent at the given cost and closes it.
+     *
+     * @return true if the tile had not been reached before and is inside the extents of the collision map
+     */
+    public boolean visit(int packedPoint, int parent, int cost) {
+        final int regionPlane = regionPlane(packedPoint);
+        if (regionPlane < 0) {
+            return false;
+        }
+
+        final int block = block(regionPlane);
+        final int tile = tileIndex(packedPoint);
+        final int[] blockCosts = costs.get(block);
+        if (blockCosts[tile] != UNVISITED) {
+            return false;
+        }
+        blockCosts[tile] = cost;
+        parents.get(block)[tile] = parent;
+        setClosed(closed.get(block), tile);
+        return true;
+    }
+
+    /**
+     * Records a route to a tile from a parent at the given cost without closing it,
+     * replacing the previous route if the new one is cheaper.
+     *
+     * @return true if the tile is open, inside the extents of the collision map,
+     * and was not reached before or only at a higher cost
+     */
+    public boolean reach(int packedPoint, int parent, int cost) {
+        final int regionPlane = regionPlane(packedPoint);
+        if (regionPlane < 0) {
+            return false;
+        }
+
+        final int block = block(regionPlane);
+        final int tile = tileIndex(packedPoint);
+        final int[] blockCosts = costs.get(block);
+        if (isClosed(closed.get(block), tile) || (blockCosts[tile] != UNVISITED && blockCosts[tile] <= cost)) {
+            return false;
+        }
+        blockCosts[tile] = cost;
+        parents.get(block)[tile] = parent;
+        return true;
+    }
+
+    /**
+     * Closes a tile when it is expanded, so its cost and parent no longer change.
+     * Tiles outside the extents of the collision map can only be the start, which is expanded once.
+     *
+     * @return false if the tile was already closed
+     */
+    public boolean close(int packedPoint) {
+        final int regionPlane = regionPlane(packedPoint);
+        if (regionPlane < 0) {
+            return true;
+        }
+
+        final int block = block(regionPlane);
+        final int tile = tileIndex(packedPoint);
+        final long[] blockClosed = closed.get(block);
+        if (isClosed(blockClosed, tile)) {
+            return false;
+        }
+        setClosed(blockClosed, tile);
+        return true;
+    }
+
+    /**
+     * Cost to reach a visited tile.
+     * The only tile the search can expand outside the collision map is the start, e.g. inside an instance, which costs 0.
+     */
+    public int getCost(int packedPoint) {
+        final int regionPlane = regionPlane(packedPoint);
+        return regionPlane < 0 ? 0 : costs.get(blocks[regionPlane])[tileIndex(packedPoint)];
+    }
+
+    /** Tile a visited tile was reached from, or {@link #NO_PARENT} for the start */
+    public int getParent(int packedPoint) {
+        final int regionPlane = regionPlane(packedPoint);
+        return regionPlane < 0 ? NO_PARENT : parents.get(blocks[regionPlane])[tileIndex(packedPoint)];
+    }
+
+    /** Rebuilds the path from the start to a visited tile by following the parents */
+    public List<WorldPoint> getPath(int packedPoint) {
+        int length = 0;
+        for (int point = packedPoint; point != NO_PARENT; point = getParent(point)) {
+            length++;
+        }
+
+        final WorldPoint[] path = new WorldPoint[length];
+        for (int point = packedPoint; point != NO_PARENT; point = getParent(point)) {
+            path[--length] = WorldPointUtil.unpackWorldPoint(point);
+        }
+        return new ArrayList<>(Arrays.asList(path));
+    }
+
+    public void clear() {
+        for (int i = 0; i < blockCount; i++) {
+            blocks[blockRegionPlanes[i]] = -1;
+            if (i < POOLED_BLOCKS) {
+                Arrays.fill(costs.get(i), UNVISITED);
+                Arrays.fill(closed.get(i), 0L);
+            }
+        }
+        while (costs.size() > POOLED_BLOCKS) {
+            costs.remove(costs.size() - 1);
+            parents.remove(parents.size() - 1);
+            closed.remove(closed.size() - 1);
+        }
+        blockCount = 0;
+    }
+
+    private int block(int regionPlane) {
+        final int block = blocks[regionPlane];
+        return block >= 0 ? block : allocateBlock(regionPlane);
+    }
+
+    private static boolean isClosed(long[] blockClosed, int tile) {
+        return (blockClosed[tile >>> 6] & (1L << tile)) != 0;
+    }
+
+    private static void setClosed(long[] blockClosed, int tile) {
+        blockClosed[tile >>> 6] |= 1L << tile;
+    }
+
+    private int allocateBlock(int regionPlane) {
+        final int block = blockCount++;
+        if (block == costs.size()) {
+            final int[] blockCosts = new int[TILES_PER_PLANE];
+            Arrays.fill(blockCosts, UNVISITED);
+            costs.add(blockCosts);
+            parents.add(new int[TILES_PER_PLANE]);
+            closed.add(new long[TILES_PER_PLANE / Long.SIZE]);
+        }
+        if (block == blockRegionPlanes.length) {
+            blockRegionPlanes = Arrays.copyOf(blockRegionPlanes, block * 2);
+        }
+        blockRegionPlanes[block] = regionPlane;
+        blocks[regionPlane] = block;
+        return block;
+    }
+
+    // Index into blocks, or -1 if the tile is outside the extents of the collision map
+    private int regionPlane(int packedPoint) {
+        final int regionX = WorldPointUtil.unpackWorldX(packedPoint) / REGION_SIZE - regionExtents.getMinX();
+        final int regionY = WorldPointUtil.unpackWorldY(packedPoint) / REGION_SIZE - regionExtents.getMinY();
+        final int plane = WorldPointUtil.unpackWorldPlane(packedPoint);
+        if (regionX < 0 || regionX >= widthInclusive || regionY < 0 || regionY >= heightInclusive) {
+            return -1;
+        }
+        return (regionX + regionY * widthInclusive) * MAX_PLANES + plane;
+    }
+
+    private static int tileIndex(int packedPoint) {
+        return (WorldPointUtil.unpackWorldY(packedPoint) % REGION_SIZE) * REGION_SIZE
+                + WorldPointUtil.unpackWorldX(packedPoint) % REGION_SIZE;
+    }
+}
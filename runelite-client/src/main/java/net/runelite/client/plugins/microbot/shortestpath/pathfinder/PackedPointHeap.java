@@ -0,0 +1,81 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary min-heap of packed points ordered by a non-negative int priority, e.g. a cost or an estimated cost.
+ * Each entry is a single long with the priority in the high half and the point in the low half,
+ * so adding a point does not allocate and comparing two entries is one long comparison.
+ */
+class PackedPointHeap {
+    private long[] entries;
+    private int size;
+
+    PackedPointHeap(int initialCapacity) {
+        entries = new long[Math.max(initialCapacity, 2)];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void add(int packedPoint, int priority) {
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+        }
+
+        final long entry = ((long) priority << 32) | (packedPoint & 0xFFFFFFFFL);
+        int index = size++;
+        while (index > 0) {
+            final int parent = (index - 1) >>> 1;
+            if (entries[parent] <= entry) {
+                break;
+            }
+            entries[index] = entries[parent];
+            index = parent;
+        }
+        entries[index] = entry;
+    }
+
+    /** Priority of the point at the head of the heap */
+    int peekPriority() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return (int) (entries[0] >>> 32);
+    }
+
+    /** Removes and returns the point with the lowest priority */
+    int poll() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+
+        final int packedPoint = (int) entries[0];
+        final long last = entries[--size];
+        int index = 0;
+        final int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && entries[child + 1] < entries[child]) {
+                child++;
+            }
+            if (last <= entries[child]) {
+                break;
+            }
+            entries[index] = entries[child];
+            index = child;
+        }
+        entries[index] = last;
+        return packedPoint;
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
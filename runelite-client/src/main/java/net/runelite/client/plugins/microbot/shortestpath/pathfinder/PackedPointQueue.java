@@ -0,0 +1,60 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import java.util.NoSuchElementException;
+
+/**
+ * First in, first out queue of packed points backed by a growable ring buffer.
+ */
+class PackedPointQueue {
+    private int[] elements;
+    private int head;
+    private int size;
+
+    PackedPointQueue(int initialCapacity) {
+        // Power of two capacity so indices wrap with a mask
+        elements = new int[Integer.highestOneBit(Math.max(initialCapacity, 2) - 1) << 1];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void add(int packedPoint) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[(head + size++) & (elements.length - 1)] = packedPoint;
+    }
+
+    int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return elements[head];
+    }
+
+    int poll() {
+        final int packedPoint = peek();
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return packedPoint;
+    }
+
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private void grow() {
+        final int[] grown = new int[elements.length * 2];
+        final int headLength = elements.length - head;
+        System.arraycopy(elements, head, grown, 0, headLength);
+        System.arraycopy(elements, 0, grown, headLength, head);
+        elements = grown;
+        head = 0;
+    }
+}
@@ -0,0 +1,43 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A path search the walker and the overlays follow: run on the pathfinding executor and polled for its path.
+ * Implemented by a single {@link Pathfinder} and by {@link VariantPathfinder}, which runs several of them.
+ */
+public interface PathSearch extends Runnable {
+    WorldPoint getStart();
+
+    Set<WorldPoint> getTargets();
+
+    boolean isDone();
+
+    /**
+     * Stops the search without keeping a result.
+     */
+    void cancel();
+
+    /**
+     * Sets a hard deadline for the search, after which it is done and keeps its best path so far.
+     */
+    void setDeadline(long deadlineMillis);
+
+    /**
+     * Returns the best path found so far, or the final path once the search is done.
+     */
+    List<WorldPoint> getPath();
+
+    /**
+     * Returns the cost of the path to the target it ends at, or -1 if no target was reached.
+     */
+    int getPathCost();
+
+    /**
+     * Returns the statistics of the finished search, or null while it is running.
+     */
+    Pathfinder.PathfinderStats getStats();
+}
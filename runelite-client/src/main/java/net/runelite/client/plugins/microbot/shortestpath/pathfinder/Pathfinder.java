@@ -2,34 +2,82 @@ package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
 
 import lombok.Getter;
 import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.PathfinderAlgorithm;
+import net.runelite.client.plugins.microbot.shortestpath.PrimitiveIntHashMap;
+import net.runelite.client.plugins.microbot.shortestpath.Transport;
+import net.runelite.client.plugins.microbot.shortestpath.TransportType;
 import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
 
 import java.util.*;
 
-public class Pathfinder implements Runnable {
+public class Pathfinder implements PathSearch {
+    // Bounds of the local search when repairing a path, kept small so a repair costs a few milliseconds
+    private static final int REPAIR_RADIUS = 24;
+    private static final int REPAIR_MAX_NODES = 8192;
+
     private PathfinderStats stats;
     private volatile boolean done = false;
     private volatile boolean cancelled = false;
+    // Absolute time after which the search stops and keeps its best path so far
+    private volatile long deadlineMillis = Long.MAX_VALUE;
 
     @Getter
     private final WorldPoint start;
     @Getter
     private final Set<WorldPoint> targets;
+    // Sorted packed targets for allocation-free lookups in the hotpath
+    private final int[] targetsPacked;
+    /**
+     * Distance searches only: the indices into targetsPacked of the targets within reach of each tile,
+     * so an expanded tile is checked against all targets with one lookup. Null for a path search.
+     */
+    private final PrimitiveIntHashMap<int[]> targetsInReach;
+    // Cost to reach each of targetsPacked, or -1 while it has not been reached
+    private final int[] targetCosts;
+    private int targetsReached;
+    // Number of reached targets after which a distance search stops
+    private final int targetLimit;
+    // The search stops at the first tile that costs more than this to reach
+    private volatile int maxCost = Integer.MAX_VALUE;
 
     private final PathfinderConfig config;
-    private final CollisionMap map;
+    private final PathfinderAlgorithm algorithm;
+    // Scratch state of the thread that runs the search, and the search state taken from the NodeStore pool
+    private CollisionMap map;
+    private NodeStore visited;
     private final boolean targetInWilderness;
+    // Path to repair instead of searching from scratch, null for a full search
+    private final List<WorldPoint> previousPath;
 
+    // Tiles and transports are queued as packed points, their costs and parents are kept in the NodeStore
     // Capacities should be enough to store all nodes without requiring the queue to grow
     // They were found by checking the max queue size
-    private final Deque<Node> boundary = new ArrayDeque<>(4096);
-    private final Queue<Node> pending = new PriorityQueue<>(256);
-    private final VisitedTiles visited;
+    private final PackedPointQueue boundary = new PackedPointQueue(4096);
+    // Transport destinations ordered by cost
+    private final PackedPointHeap pending = new PackedPointHeap(256);
+    // Only used in A* mode, where both tiles and transports are ordered by their estimated total cost
+    private final PackedPointHeap open;
+    /**
+     * Lower bound on the cost to reach a target through any usable transport or teleport.
+     * Caps the straight-line estimate so the A* heuristic stays admissible when a teleport beats walking.
+     */
+    private int transportHeuristic = Integer.MAX_VALUE;
+    /**
+     * Regions the hierarchical search is limited to, by region graph index.
+     * Null when every region may be searched.
+     */
+    private boolean[] corridor;
+    private RegionGraph regionGraph;
 
     @SuppressWarnings("unchecked") // Casting EMPTY_LIST is safe here
-    private List<WorldPoint> path = (List<WorldPoint>)Collections.EMPTY_LIST;
-    private boolean pathNeedsUpdate = false;
-    private Node bestLastNode;
+    private volatile List<WorldPoint> path = (List<WorldPoint>)Collections.EMPTY_LIST;
+    // Set by getPath so the search thread publishes its best path so far, since only it may read the NodeStore
+    private volatile boolean pathRequested = false;
+    // Cost of the path to the target it ends at, or -1 while no target has been reached
+    private volatile int pathCost = -1;
+    private int bestLastPosition = NodeStore.NO_PARENT;
+    private int publishedPosition = NodeStore.NO_PARENT;
+    private boolean reachedTarget;
     /**
      * Teleportation transports are updated when this changes.
      * Can be either:
@@ -40,25 +88,87 @@ public class Pathfinder implements Runnable {
     private int wildernessLevel;
 
     public Pathfinder(PathfinderConfig config, WorldPoint start, WorldPoint target) {
-        stats = new PathfinderStats();
-        this.config = config;
-        this.map = config.getMap();
-        this.start = start;
-        this.targets = Set.of(target);
-        visited = new VisitedTiles(map);
-        targetInWilderness = PathfinderConfig.isInWilderness(target);
-        wildernessLevel = 31;
+        this(config, start, Set.of(target), null);
     }
 
     public Pathfinder(PathfinderConfig config, WorldPoint start, Set<WorldPoint> targets) {
+        this(config, start, targets, null);
+    }
+
+    /**
+     * Creates a search that first tries to repair a previous path to the same targets,
+     * re-planning only around the start and reusing the rest of the previous path.
+     * Falls back to a full search when the previous path cannot be rejoined nearby.
+     */
+    public Pathfinder(PathfinderConfig config, WorldPoint start, Set<WorldPoint> targets, List<WorldPoint> previousPath) {
+        this(config, start, targets, previousPath, -1, 1);
+    }
+
+    /**
+     * Creates a search that does not stop at the nearest target but continues until {@code limit} targets are
+     * reached, or until the calculation cutoff passes without reaching a new one, so a single search gives the
+     * distance to all targets, see {@link #getDistances()}. A target counts as reached from every tile within
+     * {@code reachDistance} tiles of it on its plane, so a target that cannot be stood on, e.g. a bank booth,
+     * is reached from the tiles next to it. The path is still the path to the nearest target.
+     * <p>
+     * Always searches breadth-first, since the A* estimate only bounds the distance to the nearest target.
+     */
+    public static Pathfinder forDistances(PathfinderConfig config, WorldPoint start, Set<WorldPoint> targets, int reachDistance, int limit) {
+        return new Pathfinder(config, start, targets, null, Math.max(reachDistance, 0), limit);
+    }
+
+    private Pathfinder(PathfinderConfig config, WorldPoint start, Set<WorldPoint> targets, List<WorldPoint> previousPath, int reachDistance, int targetLimit) {
         stats = new PathfinderStats();
         this.config = config;
-        this.map = config.getMap();
         this.start = start;
         this.targets = targets;
-        visited = new VisitedTiles(map);
+        this.targetsPacked = packTargets(targets);
+        this.targetsInReach = reachDistance >= 0 ? indexReach(targetsPacked, reachDistance) : null;
+        this.targetCosts = newTargetCosts(targetsPacked);
+        this.targetLimit = targetLimit;
+        this.algorithm = targetsInReach != null ? PathfinderAlgorithm.BREADTH_FIRST : config.getAlgorithm();
+        this.open = algorithm == PathfinderAlgorithm.BREADTH_FIRST ? null : new PackedPointHeap(4096);
         targetInWilderness = PathfinderConfig.isInWilderness(targets);
         wildernessLevel = 31;
+        this.previousPath = previousPath;
+    }
+
+    private static int[] packTargets(Set<WorldPoint> targets) {
+        int[] packed = new int[targets.size()];
+        int i = 0;
+        for (WorldPoint target : targets) {
+            packed[i++] = WorldPointUtil.packWorldPoint(target);
+        }
+        Arrays.sort(packed);
+        return packed;
+    }
+
+    private static PrimitiveIntHashMap<int[]> indexReach(int[] targetsPacked, int reachDistance) {
+        int side = 2 * reachDistance + 1;
+        PrimitiveIntHashMap<int[]> inReach = new PrimitiveIntHashMap<>(Math.max(targetsPacked.length * side * side, 8));
+        for (int i = 0; i < targetsPacked.length; i++) {
+            final int target = targetsPacked[i];
+            for (int dx = -reachDistance; dx <= reachDistance; dx++) {
+                for (int dy = -reachDistance; dy <= reachDistance; dy++) {
+                    final int tile = WorldPointUtil.dxdy(target, dx, dy);
+                    final int[] previous = inReach.get(tile);
+                    final int[] indices = previous == null ? new int[1] : Arrays.copyOf(previous, previous.length + 1);
+                    indices[indices.length - 1] = i;
+                    inReach.put(tile, indices);
+                }
+            }
+        }
+        return inReach;
+    }
+
+    private static int[] newTargetCosts(int[] targetsPacked) {
+        int[] costs = new int[targetsPacked.length];
+        Arrays.fill(costs, -1);
+        return costs;
+    }
+
+    private boolean isTarget(int packedPosition) {
+        return Arrays.binarySearch(targetsPacked, packedPosition) >= 0;
     }
 
     public boolean isDone() {
@@ -69,6 +179,45 @@ public class Pathfinder implements Runnable {
         cancelled = true;
     }
 
+    /**
+     * Sets a hard deadline for the search, used when several searches share a time budget.
+     * Unlike {@link #cancel()}, a search that hits the deadline is done and keeps its best path.
+     */
+    public void setDeadline(long deadlineMillis) {
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    /**
+     * Limits the search to tiles that cost at most {@code maxCost} to reach, so a search for targets that turn
+     * out to be unreachable gives up early instead of running into the calculation cutoff.
+     */
+    public void setMaxCost(int maxCost) {
+        this.maxCost = maxCost;
+    }
+
+    /**
+     * Returns the cost to reach each target the search reached, in tiles walked plus the travel time of transports.
+     * Only the nearest target is included unless the search was created with {@link #forDistances}.
+     * Complete once the search is done.
+     */
+    public Map<WorldPoint, Integer> getDistances() {
+        Map<WorldPoint, Integer> distances = new HashMap<>(targetsReached * 2);
+        for (int i = 0; i < targetsPacked.length; i++) {
+            if (targetCosts[i] >= 0) {
+                distances.put(WorldPointUtil.unpackWorldPoint(targetsPacked[i]), targetCosts[i]);
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * Returns the cost of the path to the target it ends at, in tiles walked plus the travel time of transports,
+     * or -1 if the search has not reached a target, e.g. because it was cancelled or ran into its cutoff.
+     */
+    public int getPathCost() {
+        return pathCost;
+    }
+
     public PathfinderStats getStats() {
         if (stats.started && stats.ended) {
             return stats;
@@ -78,57 +227,337 @@ public class Pathfinder implements Runnable {
         return null;
     }
 
+    /**
+     * Returns the best path found so far. While the search is running, the path is published by the search
+     * thread on request and can lag one expanded tile behind; once the search is done it is the final path.
+     */
     public List<WorldPoint> getPath() {
-        Node lastNode = bestLastNode; // For thread safety, read bestLastNode once
-        if (lastNode == null) {
-            return path;
-        }
+        pathRequested = true;
+        return path;
+    }
 
-        if (pathNeedsUpdate) {
-            path = lastNode.getPath();
-            pathNeedsUpdate = false;
+    // Rebuilds the path from the NodeStore, only called on the search thread
+    private void publishPath() {
+        pathRequested = false;
+        if (bestLastPosition != NodeStore.NO_PARENT && bestLastPosition != publishedPosition) {
+            path = visited.getPath(bestLastPosition);
+            publishedPosition = bestLastPosition;
         }
-
-        return path;
     }
 
-    private void addNeighbors(Node node) {
-        List<Node> nodes = map.getNeighbors(node, visited, config, targets);
-        for (Node neighbor : nodes) {
-            if (config.avoidWilderness(node.packedPosition, neighbor.packedPosition, targetInWilderness)) {
+    private void addNeighbors(int packedPosition) {
+        final int count = map.getNeighbors(packedPosition, visited.getCost(packedPosition), visited, config, targetsPacked);
+        for (int i = 0; i < count; i++) {
+            final int neighbor = map.getNeighborPosition(i);
+            if (config.avoidWilderness(packedPosition, neighbor, targetInWilderness)) {
+                continue;
+            }
+            if (corridor != null && !inCorridor(neighbor)) {
                 continue;
             }
 
-            visited.set(neighbor.packedPosition);
-            if (neighbor instanceof TransportNode) {
-                pending.add(neighbor);
+            final int cost = map.getNeighborCost(i);
+            if (open != null ? !visited.reach(neighbor, packedPosition, cost) : !visited.visit(neighbor, packedPosition, cost)) {
+                continue; // Already reached at no higher cost, e.g. by an earlier neighbor of the same tile
+            }
+            final boolean transport = map.isTransportNeighbor(i);
+            if (open != null) {
+                // A tile reached again at a lower cost is queued again, the earlier entry is skipped when polled
+                open.add(neighbor, estimate(neighbor, cost));
+                if (transport) {
+                    ++stats.transportsChecked;
+                } else {
+                    ++stats.nodesChecked;
+                }
+            } else if (transport) {
+                pending.add(neighbor, cost);
                 ++stats.transportsChecked;
             } else {
-                boundary.addLast(neighbor);
+                boundary.add(neighbor);
                 ++stats.nodesChecked;
             }
         }
     }
 
+    /**
+     * Admissible estimate of the remaining cost from a tile: the walking distance to the nearest target,
+     * or the cheapest transport or teleport exit if that could be shorter.
+     */
+    private int heuristic(int packedPosition) {
+        int best = transportHeuristic;
+        for (int target : targetsPacked) {
+            best = Math.min(best, WorldPointUtil.distanceBetween(packedPosition, target));
+        }
+        return best;
+    }
+
+    private int estimate(int packedPosition, int cost) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) cost + heuristic(packedPosition));
+    }
+
+    /**
+     * Recomputes the transport cap after the usable teleports change during the search.
+     * Queued estimates that used a higher cap could overestimate, so the open set is re-queued with the new one.
+     */
+    private void refreshTransportHeuristic() {
+        final int previous = transportHeuristic;
+        computeTransportHeuristic();
+        if (transportHeuristic >= previous) {
+            return;
+        }
+
+        final int[] queued = new int[open.size()];
+        for (int i = 0; i < queued.length; i++) {
+            queued[i] = open.poll();
+        }
+        for (int node : queued) {
+            if (!visited.isVisited(node)) {
+                open.add(node, estimate(node, visited.getCost(node)));
+            }
+        }
+    }
+
+    private void computeTransportHeuristic() {
+        int best = Integer.MAX_VALUE;
+        for (Set<Transport> transports : config.getTransports().values()) {
+            for (Transport transport : transports) {
+                best = Math.min(best, costToTargetThrough(transport));
+            }
+        }
+        if (!config.isIgnoreTeleportAndItems()) {
+            for (Transport teleport : config.getUsableTeleports()) {
+                best = Math.min(best, costToTargetThrough(teleport));
+            }
+        }
+        transportHeuristic = best;
+    }
+
+    // Matches the transport costs assigned in CollisionMap.getNeighbors
+    private int costToTargetThrough(Transport transport) {
+        if (transport.getDestination() == null) {
+            return Integer.MAX_VALUE;
+        }
+
+        int destination = WorldPointUtil.packWorldPoint(transport.getDestination());
+        int remaining = Integer.MAX_VALUE;
+        for (int target : targetsPacked) {
+            remaining = Math.min(remaining, WorldPointUtil.distanceBetween(destination, target));
+        }
+        if (remaining == Integer.MAX_VALUE) {
+            return Integer.MAX_VALUE;
+        }
+
+        int travelTime = TransportType.isTeleport(transport.getType())
+                ? config.getDistanceBeforeUsingTeleport() + transport.getDuration()
+                : transport.getDuration();
+        return travelTime + remaining;
+    }
+
+    private boolean inCorridor(int packedPosition) {
+        int regionIndex = regionGraph.regionIndex(packedPosition);
+        return regionIndex >= 0 && corridor[regionIndex];
+    }
+
+    private int nextNode() {
+        if (open != null) {
+            return open.poll();
+        }
+
+        if (!pending.isEmpty() && (boundary.isEmpty() || pending.peekPriority() < visited.getCost(boundary.peek()))) {
+            return pending.poll();
+        }
+        return boundary.poll();
+    }
+
+    private boolean hasNextNode() {
+        if (open != null) {
+            return !open.isEmpty();
+        }
+        return !boundary.isEmpty() || !pending.isEmpty();
+    }
+
     @Override
     public void run() {
-        stats.start();
-        boundary.addFirst(new Node(start, null));
+        stats.start(algorithm);
+        map = config.getMap();
+        visited = NodeStore.acquire();
+        try {
+            if (previousPath != null && !previousPath.isEmpty() && repair()) {
+                stats.repaired = true;
+            } else {
+                plan();
+                publishPath();
+            }
+
+            done = !cancelled;
+        } finally {
+            boundary.clear();
+            NodeStore.release(visited);
+            visited = null;
+            pending.clear();
+            if (open != null) {
+                open.clear();
+            }
+        }
+
+        stats.end(); // Include cleanup in stats to get the total cost of pathfinding
+    }
+
+    private void plan() {
+        if (open != null) {
+            computeTransportHeuristic();
+        }
+
+        if (algorithm == PathfinderAlgorithm.HIERARCHICAL) {
+            regionGraph = config.getRegionGraph();
+            corridor = regionGraph.findCorridor(config, WorldPointUtil.packWorldPoint(start), targetsPacked);
+            search();
+            if (corridor != null && !cancelled && !reachedTarget && System.currentTimeMillis() <= deadlineMillis) {
+                // The region route can miss tile level detours, so retry without the corridor
+                corridor = null;
+                publishPath();
+                visited.clear();
+                open.clear();
+                publishedPosition = NodeStore.NO_PARENT;
+                search();
+            }
+        } else {
+            search();
+        }
+    }
+
+    /**
+     * Searches the tiles around the start for the cheapest way back onto the previous path and splices
+     * the two together. A rejoin point is scored by the cost to reach it plus the number of steps left
+     * on the previous path after it, so a detour that skips ahead is preferred over walking back.
+     *
+     * @return whether the previous path was rejoined
+     */
+    private boolean repair() {
+        if (!isTarget(WorldPointUtil.packWorldPoint(previousPath.get(previousPath.size() - 1)))) {
+            return false;
+        }
+
+        // Later occurrences overwrite earlier ones, so rejoining a path that loops skips the loop
+        Map<Integer, Integer> pathIndices = new HashMap<>(previousPath.size() * 2);
+        for (int i = 0; i < previousPath.size(); i++) {
+            pathIndices.put(WorldPointUtil.packWorldPoint(previousPath.get(i)), i);
+        }
+
+        // The transport queue is idle during a repair, so it orders the tiles by cost instead
+        final int startPacked = WorldPointUtil.packWorldPoint(start);
+        visited.visit(startPacked, NodeStore.NO_PARENT, 0);
+        pending.add(startPacked, 0);
+
+        int rejoinPosition = NodeStore.NO_PARENT;
+        int rejoinIndex = -1;
+        long bestCost = Long.MAX_VALUE;
+        int budget = REPAIR_MAX_NODES;
+        while (!cancelled && !pending.isEmpty() && budget-- > 0) {
+            final int nodeCost = pending.peekPriority();
+            if (nodeCost >= bestCost) {
+                break; // Every remaining rejoin point costs at least as much
+            }
+            final int node = pending.poll();
+            ++stats.nodesExpanded;
+
+            Integer index = pathIndices.get(node);
+            if (index != null) {
+                long cost = (long) nodeCost + (previousPath.size() - 1 - index);
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    rejoinPosition = node;
+                    rejoinIndex = index;
+                }
+            }
+
+            final int count = map.getNeighbors(node, nodeCost, visited, config, targetsPacked);
+            for (int i = 0; i < count; i++) {
+                final int neighbor = map.getNeighborPosition(i);
+                if (WorldPointUtil.distanceBetween(startPacked, neighbor) > REPAIR_RADIUS
+                        || config.avoidWilderness(node, neighbor, targetInWilderness)) {
+                    continue;
+                }
+                final int cost = map.getNeighborCost(i);
+                if (visited.visit(neighbor, node, cost)) {
+                    pending.add(neighbor, cost);
+                    ++stats.nodesChecked;
+                }
+            }
+        }
+
+        List<WorldPoint> repaired = rejoinIndex < 0 || cancelled || !canFollowPreviousPath(rejoinIndex)
+                ? null : visited.getPath(rejoinPosition);
+        visited.clear();
+        pending.clear();
+        if (repaired == null) {
+            return false;
+        }
+
+        repaired.addAll(previousPath.subList(rejoinIndex + 1, previousPath.size()));
+        path = repaired;
+        pathCost = (int) bestCost;
+        return true;
+    }
+
+    /**
+     * Checks that the previous path can still be followed from an index on with the current collision data,
+     * tile rules, restrictions and usable transports, e.g. that no door on it has been closed since.
+     */
+    private boolean canFollowPreviousPath(int fromIndex) {
+        final TileOverrides overrides = config.getTileOverrides();
+        int from = WorldPointUtil.packWorldPoint(previousPath.get(fromIndex));
+        for (int i = fromIndex + 1; i < previousPath.size(); i++) {
+            final int to = WorldPointUtil.packWorldPoint(previousPath.get(i));
+            if (!canStep(from, to, overrides)) {
+                return false;
+            }
+            from = to;
+        }
+        return true;
+    }
+
+    // Mirrors the steps CollisionMap.getNeighbors allows
+    private boolean canStep(int from, int to, TileOverrides overrides) {
+        @SuppressWarnings("unchecked") // Casting EMPTY_SET to Set<Transport> is safe here
+        Set<Transport> transports = config.getTransportsPacked().getOrDefault(from, (Set<Transport>) Collections.EMPTY_SET);
+        for (Transport transport : transports) {
+            if (transport.getDestination() != null && WorldPointUtil.packWorldPoint(transport.getDestination()) == to) {
+                return !config.isIgnoreTeleportAndItems() || !TransportType.isTeleport(transport.getType());
+            }
+        }
+
+        if (config.getRestrictedPointsPacked().contains(to) || (overrides.isBlocked(to) && !isTarget(to))) {
+            return false;
+        }
+        if (WorldPointUtil.distanceBetween(from, to) == 1) {
+            return overrides.isIgnoringCollision(from) || map.canStep(from, to);
+        }
+        // A walk to the origin of a transport that starts next to a blocked tile
+        return config.getTransportsPacked().get(to) != null;
+    }
+
+    private void search() {
+        final int startPacked = WorldPointUtil.packWorldPoint(start);
+        if (open != null) {
+            visited.reach(startPacked, NodeStore.NO_PARENT, 0);
+            open.add(startPacked, estimate(startPacked, 0));
+        } else {
+            visited.visit(startPacked, NodeStore.NO_PARENT, 0);
+            boundary.add(startPacked);
+        }
 
         int bestDistance = Integer.MAX_VALUE;
         long bestHeuristic = Integer.MAX_VALUE;
         long cutoffDurationMillis = config.getCalculationCutoffMillis();
         long cutoffTimeMillis = System.currentTimeMillis() + cutoffDurationMillis;
 
-        while (!cancelled && (!boundary.isEmpty() || !pending.isEmpty())) {
-            Node node = boundary.peekFirst();
-            Node p = pending.peek();
-            
-            if (p != null && (node == null || p.cost < node.cost)) {
-                node = pending.poll();
-            } else {
-                node = boundary.removeFirst();
+        while (!cancelled && hasNextNode()) {
+            int node = nextNode();
+            if (open != null && !visited.close(node)) {
+                continue; // Stale entry of a tile already expanded at a lower cost
             }
+            ++stats.nodesExpanded;
 
             if (wildernessLevel > 0) {
                 // We don't need to remove teleports when going from 20 to 21 or higher,
@@ -139,62 +568,104 @@ public class Pathfinder implements Runnable {
 
                 // These are overlapping boundaries, so if the node isn't in level 30, it's in 0-29
                 // likewise, if the node isn't in level 20, it's in 0-19
-                if (wildernessLevel > 29 && !config.isInLevel29Wilderness(node.packedPosition)) {
+                if (wildernessLevel > 29 && !config.isInLevel29Wilderness(node)) {
                     wildernessLevel = 29;
                     update = true;
                 }
-                if (wildernessLevel > 19 && !config.isInLevel19Wilderness(node.packedPosition)) {
+                if (wildernessLevel > 19 && !config.isInLevel19Wilderness(node)) {
                     wildernessLevel = 19;
                     update = true;
                 }
-                if (wildernessLevel > 0 && !config.isInWilderness(node.packedPosition)) {
+                if (wildernessLevel > 0 && !config.isInWilderness(node)) {
                     wildernessLevel = 0;
                     update = true;
                 }
                 if (update) {
-                    config.refreshTeleports(node.packedPosition, wildernessLevel);
+                    config.refreshTeleports(node, wildernessLevel);
+                    if (open != null) {
+                        refreshTransportHeuristic();
+                    }
                 }
             }
 
-            if (targets.contains(WorldPointUtil.unpackWorldPoint(node.packedPosition))) {
-                bestLastNode = node;
-                pathNeedsUpdate = true;
+            if (visited.getCost(node) > maxCost) {
+                continue; // Neither this tile nor any tile reached through it is within the cost bound
+            }
+
+            if (targetsInReach != null) {
+                final int[] inReach = targetsInReach.get(node);
+                if (inReach != null) {
+                    if (reachTargets(node, inReach)) {
+                        break;
+                    }
+                    // Give the search the full cutoff to reach the next target
+                    cutoffTimeMillis = System.currentTimeMillis() + cutoffDurationMillis;
+                }
+            } else if (isTarget(node)) {
+                reachTarget(node, Arrays.binarySearch(targetsPacked, node));
                 break;
             }
 
-            for (WorldPoint target : targets) {
-                int distance = WorldPointUtil.distanceBetween(node.packedPosition, WorldPointUtil.packWorldPoint(target));
-                long heuristic = distance + (long) WorldPointUtil.distanceBetween(node.packedPosition, WorldPointUtil.packWorldPoint(target), 2);
+            // Once a target is reached, the path to it is kept
+            for (int i = 0; i < targetsPacked.length && !reachedTarget; i++) {
+                final int target = targetsPacked[i];
+                int distance = WorldPointUtil.distanceBetween(node, target);
+                long heuristic = distance + (long) WorldPointUtil.distanceBetween(node, target, 2);
 
                 if (heuristic < bestHeuristic || (heuristic <= bestHeuristic && distance < bestDistance)) {
 
-                    bestLastNode = node;
-                    pathNeedsUpdate = true;
+                    bestLastPosition = node;
                     bestDistance = distance;
                     bestHeuristic = heuristic;
                     cutoffTimeMillis = System.currentTimeMillis() + cutoffDurationMillis;
                 }
             }
 
-            if (System.currentTimeMillis() > cutoffTimeMillis) {
+            if (pathRequested) {
+                publishPath();
+            }
+
+            long now = System.currentTimeMillis();
+            if (now > cutoffTimeMillis || now > deadlineMillis) {
                 break;
             }
-            
+
             addNeighbors(node);
         }
+    }
 
-        done = !cancelled;
-
-        boundary.clear();
-        visited.clear();
-        pending.clear();
+    /**
+     * Records the cost to the targets within reach of a tile that had not been reached yet.
+     *
+     * @return whether enough targets are reached to end the search
+     */
+    private boolean reachTargets(int node, int[] inReach) {
+        for (int index : inReach) {
+            if (targetCosts[index] < 0) {
+                reachTarget(node, index);
+            }
+        }
+        return targetsReached >= targetLimit || targetsReached == targetsPacked.length;
+    }
 
-        stats.end(); // Include cleanup in stats to get the total cost of pathfinding
+    private void reachTarget(int node, int index) {
+        targetCosts[index] = visited.getCost(node);
+        ++targetsReached;
+        if (!reachedTarget) {
+            bestLastPosition = node;
+            reachedTarget = true;
+            pathCost = targetCosts[index];
+        }
     }
 
     public static class PathfinderStats {
         @Getter
-        private int nodesChecked = 0, transportsChecked = 0;
+        private int nodesChecked = 0, transportsChecked = 0, nodesExpanded = 0;
+        @Getter
+        private PathfinderAlgorithm algorithm;
+        // Whether the path was repaired from a previous path rather than searched in full
+        @Getter
+        private boolean repaired;
         private long startNanos, endNanos;
         private volatile boolean started = false, ended = false;
 
@@ -206,10 +677,13 @@ public class Pathfinder implements Runnable {
             return endNanos - startNanos;
         }
 
-        private void start() {
+        private void start(PathfinderAlgorithm algorithm) {
             started = true;
+            this.algorithm = algorithm;
             nodesChecked = 0;
             transportsChecked = 0;
+            nodesExpanded = 0;
+            repaired = false;
             startNanos = System.nanoTime();
         }
 
@@ -19,6 +19,7 @@ import net.runelite.client.plugins.microbot.util.walker.Rs2Walker;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -44,9 +45,12 @@ public class PathfinderConfig {
 
     private final SplitFlagMap mapData;
     private final ThreadLocal<CollisionMap> map;
+    // Built on first use by the hierarchical search, shared by copies
+    private volatile RegionGraph regionGraph;
     /** All transports by origin {@link WorldPoint}. The null key is used for transports centered on the player. */
 	@Getter
     private final Map<WorldPoint, Set<Transport>> allTransports;
+    @Getter
     @Setter
     private Set<Transport> usableTeleports;
     private final List<WorldPoint> filteredTargets = new ArrayList<>(4);
@@ -65,6 +69,8 @@ public class PathfinderConfig {
     private long calculationCutoffMillis;
     @Getter
     private boolean avoidWilderness;
+    @Getter
+    private PathfinderAlgorithm algorithm = PathfinderAlgorithm.BREADTH_FIRST;
     private boolean useAgilityShortcuts,
             useGrappleShortcuts,
             useBoats,
@@ -109,6 +115,14 @@ public class PathfinderConfig {
     // Used to include bank items when searching for item requirements
     private boolean useBankItems = false;
 
+    private final List<DynamicTileRule> tileRules;
+    @Getter
+    private TileOverrides tileOverrides = TileOverrides.EMPTY;
+
+    // Hash of everything refresh() computes that decides which transports and tiles the search may use
+    private long transportFingerprint;
+    private long dataFingerprint;
+
     public PathfinderConfig(SplitFlagMap mapData, Map<WorldPoint, Set<Transport>> transports,
                             List<Restriction> restrictions,
                             Client client, ShortestPathConfig config) {
@@ -125,12 +139,97 @@ public class PathfinderConfig {
         this.customRestrictions = new ArrayList<>();
         this.restrictedPointsPacked = new HashSet<>();
         //END microbot variables
+        this.tileRules = new CopyOnWriteArrayList<>(List.<DynamicTileRule>of(
+                overrides -> CollisionMap.ignoreCollision.forEach(overrides::ignoreCollision),
+                new ToaPuzzleRoomTileRule()));
+    }
+
+    /**
+     * Creates an independent copy of an already refreshed config.
+     * The collision data and the full transport list are shared, everything the search mutates is copied,
+     * so the copy can be searched on another thread while the original is in use.
+     */
+    private PathfinderConfig(PathfinderConfig other) {
+        this.mapData = other.mapData;
+        this.map = ThreadLocal.withInitial(() -> new CollisionMap(this.mapData));
+        this.regionGraph = other.regionGraph;
+        this.allTransports = other.allTransports;
+        this.usableTeleports = new HashSet<>(other.usableTeleports);
+        this.transports = new ConcurrentHashMap<>(other.transports.size());
+        this.transportsPacked = new PrimitiveIntHashMap<>(Math.max(other.transports.size(), 8));
+        for (Map.Entry<WorldPoint, Set<Transport>> entry : other.transports.entrySet()) {
+            // Sets are copied because refreshTeleports appends to them during the search
+            Set<Transport> usableTransports = new HashSet<>(entry.getValue());
+            transports.put(entry.getKey(), usableTransports);
+            transportsPacked.put(WorldPointUtil.packWorldPoint(entry.getKey()), usableTransports);
+        }
+        this.client = other.client;
+        this.config = other.config;
+
+        this.calculationCutoffMillis = other.calculationCutoffMillis;
+        this.avoidWilderness = other.avoidWilderness;
+        this.algorithm = other.algorithm;
+        this.useAgilityShortcuts = other.useAgilityShortcuts;
+        this.useGrappleShortcuts = other.useGrappleShortcuts;
+        this.useBoats = other.useBoats;
+        this.useCanoes = other.useCanoes;
+        this.useCharterShips = other.useCharterShips;
+        this.useShips = other.useShips;
+        this.useFairyRings = other.useFairyRings;
+        this.useGnomeGliders = other.useGnomeGliders;
+        this.useMinecarts = other.useMinecarts;
+        this.useQuetzals = other.useQuetzals;
+        this.useSpiritTrees = other.useSpiritTrees;
+        this.useTeleportationLevers = other.useTeleportationLevers;
+        this.useTeleportationMinigames = other.useTeleportationMinigames;
+        this.useTeleportationPortals = other.useTeleportationPortals;
+        this.useTeleportationSpells = other.useTeleportationSpells;
+        this.useMagicCarpets = other.useMagicCarpets;
+        this.useWildernessObelisks = other.useWildernessObelisks;
+        this.useTeleportationItems = other.useTeleportationItems;
+        System.arraycopy(other.boostedLevels, 0, this.boostedLevels, 0, boostedLevels.length);
+        this.questStates = new HashMap<>(other.questStates);
+        this.varbitValues = new HashMap<>(other.varbitValues);
+        this.varplayerValues = new HashMap<>(other.varplayerValues);
+        this.ignoreTeleportAndItems = other.ignoreTeleportAndItems;
+        this.useBankItems = other.useBankItems;
+        this.transportFingerprint = other.transportFingerprint;
+        this.dataFingerprint = other.dataFingerprint;
+
+        //START microbot variables
+        this.distanceBeforeUsingTeleport = other.distanceBeforeUsingTeleport;
+        this.resourceRestrictions = other.resourceRestrictions;
+        this.customRestrictions = other.customRestrictions;
+        this.restrictedPointsPacked = new HashSet<>(other.restrictedPointsPacked);
+        this.useNpcs = other.useNpcs;
+        //END microbot variables
+        this.tileRules = other.tileRules;
+        this.tileOverrides = other.tileOverrides;
+    }
+
+    /** Copies this config so a variant of the search can run concurrently with its own transport state */
+    public PathfinderConfig copy() {
+        return new PathfinderConfig(this);
     }
 
     public CollisionMap getMap() {
         return map.get();
     }
 
+    public RegionGraph getRegionGraph() {
+        RegionGraph graph = regionGraph;
+        if (graph == null) {
+            synchronized (this) {
+                graph = regionGraph;
+                if (graph == null) {
+                    graph = RegionGraph.fromResources(mapData);
+                    regionGraph = graph;
+                }
+            }
+        }
+        return graph;
+    }
+
     public void refresh() {
         calculationCutoffMillis = config.calculationCutoff() * Constants.GAME_TICK_LENGTH;
         avoidWilderness = config.avoidWilderness();
@@ -153,11 +252,14 @@ public class PathfinderConfig {
         useWildernessObelisks = config.useWildernessObelisks();
         useMagicCarpets = config.useMagicCarpets();
         distanceBeforeUsingTeleport = config.distanceBeforeUsingTeleport();
+        algorithm = config.pathfinderAlgorithm();
 
         //START microbot variables
         useNpcs = config.useNpcs();
         //END microbot variables
 
+        refreshTileRules();
+
         if (GameState.LOGGED_IN.equals(client.getGameState())) {
             for (int i = 0; i < Skill.values().length; i++) {
                 boostedLevels[i] = client.getBoostedSkillLevel(Skill.values()[i]);
@@ -166,6 +268,7 @@ public class PathfinderConfig {
             refreshTransports();
             //START microbot variables
             refreshRestrictionData();
+            transportFingerprint = computeTransportFingerprint();
             
             // Do not switch back to inventory tab if we are inside of the telekinetic room in Mage Training Arena
             if (Rs2Player.getWorldLocation().getRegionID() != 13463) {
@@ -175,6 +278,61 @@ public class PathfinderConfig {
         }
     }
 
+    /**
+     * Adds a rule that is applied before every search, see {@link DynamicTileRule}.
+     * Takes effect on the next {@link #refresh()}.
+     */
+    public void addTileRule(DynamicTileRule rule) {
+        tileRules.add(rule);
+    }
+
+    public void removeTileRule(DynamicTileRule rule) {
+        tileRules.remove(rule);
+    }
+
+    private void refreshTileRules() {
+        TileOverrides overrides = new TileOverrides();
+        for (DynamicTileRule rule : tileRules) {
+            rule.apply(overrides);
+        }
+        tileOverrides = overrides.seal();
+    }
+
+    private long computeTransportFingerprint() {
+        long fingerprint = PathCache.mix(PathCache.fingerprint(usableTeleports));
+        for (Set<Transport> usableTransports : transports.values()) {
+            fingerprint += PathCache.fingerprint(usableTransports);
+        }
+        for (int restrictedPoint : restrictedPointsPacked) {
+            fingerprint += PathCache.mix(~restrictedPoint);
+        }
+        fingerprint = fingerprint * 31 + (avoidWilderness ? 1 : 0);
+        fingerprint = fingerprint * 31 + distanceBeforeUsingTeleport;
+        fingerprint = fingerprint * 31 + algorithm.ordinal();
+        fingerprint = fingerprint * 31 + tileOverrides.fingerprint();
+        return fingerprint;
+    }
+
+    /**
+     * Identifies the usable transport set from the last {@link #refresh()}.
+     * Paths found with equal fingerprints from the same start to the same targets are equal.
+     */
+    public long getPathCacheFingerprint() {
+        return ignoreTeleportAndItems ? ~transportFingerprint : transportFingerprint;
+    }
+
+    /** Identifies the static collision and transport data, used to discard persisted paths after an update */
+    public long getDataFingerprint() {
+        if (dataFingerprint == 0) {
+            long fingerprint = Arrays.hashCode(mapData.getRegionMapPlaneCounts());
+            for (Set<Transport> transports : allTransports.values()) {
+                fingerprint += PathCache.fingerprint(transports);
+            }
+            dataFingerprint = fingerprint;
+        }
+        return dataFingerprint;
+    }
+
     /** Specialized method for only updating player-held item and spell transports */
     public void refreshTeleports(int packedLocation, int wildernessLevel) {
         Set<Transport> usableWildyTeleports = new HashSet<>(usableTeleports.size());
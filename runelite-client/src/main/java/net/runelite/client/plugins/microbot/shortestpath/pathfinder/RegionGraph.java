@@ -0,0 +1,551 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.plugins.microbot.shortestpath.ShortestPathPlugin;
+import net.runelite.client.plugins.microbot.shortestpath.Transport;
+import net.runelite.client.plugins.microbot.shortestpath.TransportType;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static net.runelite.api.Constants.REGION_SIZE;
+
+/**
+ * Region level abstraction of the collision map.
+ * <p>
+ * Every (region, plane) with collision data is a node. Two nodes are connected when a tile on their shared
+ * border can be walked across. The graph also stores hop distances from a few landmark nodes, which give an
+ * ALT lower bound for routing over the graph. Both only depend on the static collision data, so they are
+ * built by the {@code region-graph} goal of the RuneLite maven plugin and shipped as {@code region-graph.bin}
+ * next to the collision map, together with the {@link SplitFlagMap#hash() hash} of the map they were built for.
+ * Transports are usable or not depending on the player, so they are added per search in {@link #findCorridor}.
+ */
+@Slf4j
+public class RegionGraph {
+    private static final int MAGIC = 0x52474248; // "RGBH"
+    private static final int VERSION = 2;
+    private static final String RESOURCE_NAME = "region-graph.bin";
+    private static final int LANDMARK_COUNT = 8;
+    private static final int PLANES = 4;
+    private static final short UNREACHABLE = Short.MAX_VALUE;
+    // Lumbridge, a central starting point for picking landmarks
+    private static final int FIRST_LANDMARK_REGION_X = 50;
+    private static final int FIRST_LANDMARK_REGION_Y = 50;
+
+    static final int NORTH = 1;
+    static final int EAST = 2;
+    static final int SOUTH = 4;
+    static final int WEST = 8;
+
+    @Getter
+    private final SplitFlagMap.RegionExtent regionExtents;
+    // Hash of the collision map the graph was built for
+    private final long mapHash;
+    private final int widthInclusive;
+    private final int heightInclusive;
+    // Walkable directions per node, indexed by regionIndex * PLANES + plane
+    private final byte[] edges;
+    private final int[] landmarks;
+    // Hop distance from each landmark to each node
+    private final short[][] landmarkHops;
+
+    private RegionGraph(SplitFlagMap.RegionExtent regionExtents, long mapHash, byte[] edges, int[] landmarks,
+                        short[][] landmarkHops) {
+        this.regionExtents = regionExtents;
+        this.mapHash = mapHash;
+        this.widthInclusive = regionExtents.getWidth() + 1;
+        this.heightInclusive = regionExtents.getHeight() + 1;
+        this.edges = edges;
+        this.landmarks = landmarks;
+        this.landmarkHops = landmarkHops;
+    }
+
+    public int getNodeCount() {
+        return edges.length;
+    }
+
+    public int getLandmarkCount() {
+        return landmarks.length;
+    }
+
+    int node(int packedPoint) {
+        final int regionX = WorldPointUtil.unpackWorldX(packedPoint) / REGION_SIZE;
+        final int regionY = WorldPointUtil.unpackWorldY(packedPoint) / REGION_SIZE;
+        if (regionX < regionExtents.getMinX() || regionX > regionExtents.getMaxX()
+                || regionY < regionExtents.getMinY() || regionY > regionExtents.getMaxY()) {
+            return -1;
+        }
+        return regionIndex(regionX, regionY) * PLANES + WorldPointUtil.unpackWorldPlane(packedPoint);
+    }
+
+    int regionIndexOfNode(int node) {
+        return node / PLANES;
+    }
+
+    int regionIndex(int packedPoint) {
+        final int node = node(packedPoint);
+        return node < 0 ? -1 : regionIndexOfNode(node);
+    }
+
+    int regionCount() {
+        return widthInclusive * heightInclusive;
+    }
+
+    private int regionIndex(int regionX, int regionY) {
+        return (regionX - regionExtents.getMinX()) + (regionY - regionExtents.getMinY()) * widthInclusive;
+    }
+
+    private int neighbor(int node, int direction) {
+        final int regionIndex = node / PLANES;
+        final int plane = node % PLANES;
+        final int x = regionIndex % widthInclusive;
+        final int y = regionIndex / widthInclusive;
+        switch (direction) {
+            case NORTH:
+                return y + 1 < heightInclusive ? (regionIndex + widthInclusive) * PLANES + plane : -1;
+            case EAST:
+                return x + 1 < widthInclusive ? (regionIndex + 1) * PLANES + plane : -1;
+            case SOUTH:
+                return y > 0 ? (regionIndex - widthInclusive) * PLANES + plane : -1;
+            case WEST:
+                return x > 0 ? (regionIndex - 1) * PLANES + plane : -1;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * ALT lower bound on the number of region borders between two nodes when walking.
+     * Returns {@link Integer#MAX_VALUE} if the nodes are not connected without transports.
+     */
+    int hopLowerBound(int from, int to) {
+        int best = 0;
+        for (short[] hops : landmarkHops) {
+            final int a = hops[from];
+            final int b = hops[to];
+            if (a == UNREACHABLE || b == UNREACHABLE) {
+                if (a != b) {
+                    return Integer.MAX_VALUE;
+                }
+                continue;
+            }
+            best = Math.max(best, Math.abs(a - b));
+        }
+        return best;
+    }
+
+    /**
+     * Plans a route over the region graph and returns the regions the tile search should be limited to:
+     * the regions on the route and the regions around them.
+     *
+     * @return a flag per region index, or null if no route was found
+     */
+    boolean[] findCorridor(PathfinderConfig config, int start, int[] targets) {
+        final int startNode = node(start);
+        if (startNode < 0) {
+            return null;
+        }
+
+        final boolean[] targetNodes = new boolean[edges.length];
+        final List<Integer> targetNodeList = new ArrayList<>(targets.length);
+        for (int target : targets) {
+            int targetNode = node(target);
+            if (targetNode >= 0) {
+                targetNodes[targetNode] = true;
+                targetNodeList.add(targetNode);
+            }
+        }
+        if (targetNodeList.isEmpty()) {
+            return null;
+        }
+
+        // Group the usable transports by their origin node for this search
+        final List<Transport>[] transportsByNode = groupTransports(config.getTransports().values());
+        final List<Transport> teleports = config.isIgnoreTeleportAndItems()
+                ? List.of()
+                : new ArrayList<>(config.getUsableTeleports());
+
+        final int transportCap = transportCap(config, transportsByNode, teleports, targetNodeList);
+        final int[] cost = new int[edges.length];
+        final int[] previous = new int[edges.length];
+        Arrays.fill(cost, Integer.MAX_VALUE);
+        Arrays.fill(previous, -1);
+
+        // Nodes are queued by their estimate in a primitive heap, so the queue does not box them
+        final PackedPointHeap open = new PackedPointHeap(256);
+        cost[startNode] = 0;
+        open.add(startNode, estimate(startNode, 0, targetNodeList, transportCap));
+
+        int reached = -1;
+        while (!open.isEmpty()) {
+            final int queuedEstimate = open.peekPriority();
+            final int node = open.poll();
+            final int nodeCost = cost[node];
+            if (queuedEstimate > estimate(node, nodeCost, targetNodeList, transportCap)) {
+                continue; // Stale entry
+            }
+            if (targetNodes[node]) {
+                reached = node;
+                break;
+            }
+
+            // A full region per border; only the first border of a walk can be closer, which the corridor's
+            // margin of one region around the route absorbs
+            final int mask = edges[node];
+            for (int direction = NORTH; direction <= WEST; direction <<= 1) {
+                if ((mask & direction) != 0) {
+                    relax(open, cost, previous, node, neighbor(node, direction), nodeCost + REGION_SIZE, targetNodeList, transportCap);
+                }
+            }
+
+            final List<Transport> transports = transportsByNode[node];
+            if (transports != null) {
+                for (Transport transport : transports) {
+                    relax(open, cost, previous, node, node(WorldPointUtil.packWorldPoint(transport.getDestination())),
+                            nodeCost + travelTime(config, transport), targetNodeList, transportCap);
+                }
+            }
+
+            if (node == startNode) {
+                for (Transport teleport : teleports) {
+                    relax(open, cost, previous, node, node(WorldPointUtil.packWorldPoint(teleport.getDestination())),
+                            nodeCost + travelTime(config, teleport), targetNodeList, transportCap);
+                }
+            }
+        }
+
+        if (reached < 0) {
+            return null;
+        }
+
+        final boolean[] corridor = new boolean[regionCount()];
+        for (int node = reached; node >= 0; node = previous[node]) {
+            final int regionIndex = regionIndexOfNode(node);
+            final int x = regionIndex % widthInclusive;
+            final int y = regionIndex / widthInclusive;
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    if (x + dx >= 0 && x + dx < widthInclusive && y + dy >= 0 && y + dy < heightInclusive) {
+                        corridor[regionIndex + dx + dy * widthInclusive] = true;
+                    }
+                }
+            }
+        }
+        return corridor;
+    }
+
+    private void relax(PackedPointHeap open, int[] cost, int[] previous, int from, int to, int newCost,
+                       List<Integer> targetNodes, int transportCap) {
+        if (to < 0 || to >= cost.length || newCost >= cost[to]) {
+            return;
+        }
+        cost[to] = newCost;
+        previous[to] = from;
+        open.add(to, estimate(to, newCost, targetNodes, transportCap));
+    }
+
+    private int estimate(int node, int nodeCost, List<Integer> targetNodes, int transportCap) {
+        int remaining = transportCap;
+        for (int targetNode : targetNodes) {
+            int hops = hopLowerBound(node, targetNode);
+            if (hops != Integer.MAX_VALUE) {
+                remaining = Math.min(remaining, walkLowerBound(hops));
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, (long) nodeCost + remaining);
+    }
+
+    // Lower bound on the remaining cost of any route that ends with a transport or teleport
+    private int transportCap(PathfinderConfig config, List<Transport>[] transportsByNode, List<Transport> teleports,
+                             List<Integer> targetNodes) {
+        int best = Integer.MAX_VALUE;
+        for (List<Transport> transports : transportsByNode) {
+            if (transports == null) {
+                continue;
+            }
+            for (Transport transport : transports) {
+                best = Math.min(best, costToTargetsThrough(config, transport, targetNodes));
+            }
+        }
+        for (Transport teleport : teleports) {
+            best = Math.min(best, costToTargetsThrough(config, teleport, targetNodes));
+        }
+        return best;
+    }
+
+    private int costToTargetsThrough(PathfinderConfig config, Transport transport, List<Integer> targetNodes) {
+        final int destination = node(WorldPointUtil.packWorldPoint(transport.getDestination()));
+        if (destination < 0) {
+            return Integer.MAX_VALUE;
+        }
+        int best = Integer.MAX_VALUE;
+        for (int targetNode : targetNodes) {
+            int hops = hopLowerBound(destination, targetNode);
+            if (hops != Integer.MAX_VALUE) {
+                best = Math.min(best, travelTime(config, transport) + walkLowerBound(hops));
+            }
+        }
+        return best;
+    }
+
+    // Matches the transport costs assigned in CollisionMap.getNeighbors
+    private static int travelTime(PathfinderConfig config, Transport transport) {
+        return TransportType.isTeleport(transport.getType())
+                ? config.getDistanceBeforeUsingTeleport() + transport.getDuration()
+                : transport.getDuration();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Transport>[] groupTransports(Collection<Set<Transport>> usableTransports) {
+        final List<Transport>[] transportsByNode = new List[edges.length];
+        for (Set<Transport> transports : usableTransports) {
+            for (Transport transport : transports) {
+                if (transport.getOrigin() == null || transport.getDestination() == null) {
+                    continue;
+                }
+                final int origin = node(WorldPointUtil.packWorldPoint(transport.getOrigin()));
+                if (origin < 0) {
+                    continue;
+                }
+                if (transportsByNode[origin] == null) {
+                    transportsByNode[origin] = new ArrayList<>(4);
+                }
+                transportsByNode[origin].add(transport);
+            }
+        }
+        return transportsByNode;
+    }
+
+    /**
+     * Lower bound in tiles on walking across a number of region borders. The first border can be one step away,
+     * only the regions in between have to be crossed in full.
+     */
+    private static int walkLowerBound(int hops) {
+        return Math.max(0, hops - 1) * REGION_SIZE;
+    }
+
+    /**
+     * Builds the graph from the collision data. Two nodes are connected if any pair of border tiles
+     * can be crossed, including stepping off a fully blocked tile as {@link CollisionMap} allows.
+     */
+    public static RegionGraph build(SplitFlagMap map) {
+        final SplitFlagMap.RegionExtent extents = SplitFlagMap.getRegionExtents();
+        final CollisionMap collisionMap = new CollisionMap(map);
+        final byte[] planeCounts = map.getRegionMapPlaneCounts();
+        final int widthInclusive = extents.getWidth() + 1;
+        final int heightInclusive = extents.getHeight() + 1;
+        final byte[] edges = new byte[widthInclusive * heightInclusive * PLANES];
+
+        for (int regionIndex = 0; regionIndex < planeCounts.length; regionIndex++) {
+            final int regionX = extents.getMinX() + regionIndex % widthInclusive;
+            final int regionY = extents.getMinY() + regionIndex / widthInclusive;
+            final int baseX = regionX * REGION_SIZE;
+            final int baseY = regionY * REGION_SIZE;
+
+            for (int plane = 0; plane < planeCounts[regionIndex]; plane++) {
+                final int node = regionIndex * PLANES + plane;
+
+                // Eastern border, crossed between x = baseX + REGION_SIZE - 1 and the next region
+                final int eastIndex = regionIndex + 1;
+                if (regionIndex % widthInclusive + 1 < widthInclusive && plane < planeCounts[eastIndex]) {
+                    final int x = baseX + REGION_SIZE - 1;
+                    for (int y = baseY; y < baseY + REGION_SIZE; y++) {
+                        if (crossable(collisionMap, x, y, x + 1, y, plane, collisionMap.e(x, y, plane))) {
+                            edges[node] |= EAST;
+                            edges[eastIndex * PLANES + plane] |= WEST;
+                            break;
+                        }
+                    }
+                }
+
+                // Northern border, crossed between y = baseY + REGION_SIZE - 1 and the next region
+                final int northIndex = regionIndex + widthInclusive;
+                if (regionIndex / widthInclusive + 1 < heightInclusive && plane < planeCounts[northIndex]) {
+                    final int y = baseY + REGION_SIZE - 1;
+                    for (int x = baseX; x < baseX + REGION_SIZE; x++) {
+                        if (crossable(collisionMap, x, y, x, y + 1, plane, collisionMap.n(x, y, plane))) {
+                            edges[node] |= NORTH;
+                            edges[northIndex * PLANES + plane] |= SOUTH;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+        final RegionGraph graph = new RegionGraph(extents, map.hash(), edges, new int[0], new short[0][]);
+        return graph.withLandmarks(LANDMARK_COUNT);
+    }
+
+    private static boolean crossable(CollisionMap map, int x, int y, int nextX, int nextY, int plane, boolean passable) {
+        if (passable) {
+            return true;
+        }
+        final boolean blocked = map.isBlocked(x, y, plane);
+        final boolean nextBlocked = map.isBlocked(nextX, nextY, plane);
+        return blocked != nextBlocked;
+    }
+
+    /**
+     * Picks landmarks by farthest point selection: each new landmark is the connected node
+     * farthest from all landmarks chosen so far, which spreads them around the edges of the map.
+     */
+    private RegionGraph withLandmarks(int count) {
+        final int[] chosen = new int[count];
+        final short[][] hops = new short[count][];
+        final int[] minHops = new int[edges.length];
+        Arrays.fill(minHops, Integer.MAX_VALUE);
+
+        int next = -1;
+        final int firstRegionX = Math.min(Math.max(FIRST_LANDMARK_REGION_X, regionExtents.getMinX()), regionExtents.getMaxX());
+        final int firstRegionY = Math.min(Math.max(FIRST_LANDMARK_REGION_Y, regionExtents.getMinY()), regionExtents.getMaxY());
+        final int firstNode = regionIndex(firstRegionX, firstRegionY) * PLANES;
+        if (edges[firstNode] != 0) {
+            next = firstNode;
+        } else {
+            for (int node = 0; node < edges.length && next < 0; node++) {
+                if (edges[node] != 0) {
+                    next = node;
+                }
+            }
+        }
+
+        int found = 0;
+        while (found < count && next >= 0) {
+            chosen[found] = next;
+            hops[found] = breadthFirstHops(next);
+
+            int farthest = -1;
+            int farthestHops = 0;
+            for (int node = 0; node < edges.length; node++) {
+                if (hops[found][node] != UNREACHABLE) {
+                    minHops[node] = Math.min(minHops[node], hops[found][node]);
+                    if (minHops[node] > farthestHops) {
+                        farthestHops = minHops[node];
+                        farthest = node;
+                    }
+                }
+            }
+            found++;
+            next = farthest;
+        }
+
+        return new RegionGraph(regionExtents, mapHash, edges, Arrays.copyOf(chosen, found), Arrays.copyOf(hops, found));
+    }
+
+    private short[] breadthFirstHops(int source) {
+        final short[] hops = new short[edges.length];
+        Arrays.fill(hops, UNREACHABLE);
+        final int[] queue = new int[edges.length];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        hops[source] = 0;
+        while (head < tail) {
+            final int node = queue[head++];
+            // A full region per border; only the first border of a walk can be closer, which the corridor's
+            // margin of one region around the route absorbs
+            final int mask = edges[node];
+            for (int direction = NORTH; direction <= WEST; direction <<= 1) {
+                if ((mask & direction) == 0) {
+                    continue;
+                }
+                final int neighbor = neighbor(node, direction);
+                if (neighbor >= 0 && hops[neighbor] == UNREACHABLE) {
+                    hops[neighbor] = (short) (hops[node] + 1);
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+        return hops;
+    }
+
+    public void write(OutputStream outputStream) throws IOException {
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(outputStream)));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(regionExtents.getMinX());
+        out.writeInt(regionExtents.getMinY());
+        out.writeInt(regionExtents.getMaxX());
+        out.writeInt(regionExtents.getMaxY());
+        out.writeLong(mapHash);
+        out.writeInt(edges.length);
+        out.write(edges);
+        out.writeInt(landmarks.length);
+        for (int i = 0; i < landmarks.length; i++) {
+            out.writeInt(landmarks[i]);
+            for (short hop : landmarkHops[i]) {
+                out.writeShort(hop);
+            }
+        }
+        out.flush();
+        out.close();
+    }
+
+    /**
+     * @return the graph, or null if the data is from another version or was built for other collision data
+     */
+    public static RegionGraph read(InputStream inputStream, SplitFlagMap map) throws IOException {
+        final SplitFlagMap.RegionExtent expectedExtents = SplitFlagMap.getRegionExtents();
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(inputStream)));
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            return null;
+        }
+        final SplitFlagMap.RegionExtent extents = new SplitFlagMap.RegionExtent(in.readInt(), in.readInt(), in.readInt(), in.readInt());
+        if (extents.getMinX() != expectedExtents.getMinX() || extents.getMinY() != expectedExtents.getMinY()
+                || extents.getMaxX() != expectedExtents.getMaxX() || extents.getMaxY() != expectedExtents.getMaxY()) {
+            return null;
+        }
+        final long mapHash = in.readLong();
+        if (mapHash != map.hash()) {
+            return null;
+        }
+
+        final byte[] edges = new byte[in.readInt()];
+        in.readFully(edges);
+        final int landmarkCount = in.readInt();
+        final int[] landmarks = new int[landmarkCount];
+        final short[][] landmarkHops = new short[landmarkCount][edges.length];
+        for (int i = 0; i < landmarkCount; i++) {
+            landmarks[i] = in.readInt();
+            for (int node = 0; node < edges.length; node++) {
+                landmarkHops[i][node] = in.readShort();
+            }
+        }
+        return new RegionGraph(extents, mapHash, edges, landmarks, landmarkHops);
+    }
+
+    /**
+     * Loads the prebuilt graph shipped next to the collision map,
+     * or builds it from the collision data if the resource is missing or outdated.
+     */
+    public static RegionGraph fromResources(SplitFlagMap map) {
+        try (InputStream in = ShortestPathPlugin.class.getResourceAsStream(RESOURCE_NAME)) {
+            if (in != null) {
+                RegionGraph graph = read(in, map);
+                if (graph != null) {
+                    return graph;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Unable to read {}, building the region graph instead", RESOURCE_NAME, e);
+        }
+
+        log.debug("{} is missing or outdated, building the region graph", RESOURCE_NAME);
+        return build(map);
+    }
+}
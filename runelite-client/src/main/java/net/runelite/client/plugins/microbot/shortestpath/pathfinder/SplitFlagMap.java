@@ -15,58 +15,123 @@ import java.util.zip.ZipInputStream;
 import static net.runelite.api.Constants.REGION_SIZE;
 
 public class SplitFlagMap {
+    public static final int FLAG_NORTH = 1;
+    public static final int FLAG_EAST = 2;
+    private static final int FLAG_COUNT = 2;
+    private static final int MAX_PLANES = 4;
+    private static final int REGION_SHIFT = 6; // log2(REGION_SIZE)
+    private static final int WORDS_PER_PLANE = REGION_SIZE * REGION_SIZE * FLAG_COUNT / Long.SIZE;
+    private static final long HASH_SEED = 0xcbf29ce484222325L;
+    private static final long HASH_MULTIPLIER = 0x100000001b3L;
+
     @Getter
     private static RegionExtent regionExtents;
 
     @Getter
     private final byte[] regionMapPlaneCounts;
     // Size is automatically chosen based on the max extents of the collision data
-    private final FlagMap[] regionMaps;
     private final int widthInclusive;
+    private final int heightInclusive;
+    private final int minX;
+    private final int minY;
+    /**
+     * Collision flags of every region plane in one array, in the same bit order as {@link FlagMap}.
+     * The first plane is all zeros and stands in for planes without collision data.
+     */
+    private final long[] flags;
+    // Word offset into flags for each region plane, indexed by regionIndex * MAX_PLANES + plane
+    private final int[] planeOffsets;
 
     public SplitFlagMap(Map<Integer, byte[]> compressedRegions) {
         widthInclusive = regionExtents.getWidth() + 1;
-        final int heightInclusive = regionExtents.getHeight() + 1;
-        regionMaps = new FlagMap[widthInclusive * heightInclusive];
-        regionMapPlaneCounts = new byte[regionMaps.length];
+        heightInclusive = regionExtents.getHeight() + 1;
+        minX = regionExtents.getMinX();
+        minY = regionExtents.getMinY();
+        regionMapPlaneCounts = new byte[widthInclusive * heightInclusive];
+        planeOffsets = new int[regionMapPlaneCounts.length * MAX_PLANES];
 
+        int totalPlanes = 1;
         for (Map.Entry<Integer, byte[]> entry : compressedRegions.entrySet()) {
-            final int pos = entry.getKey();
-            final int x = unpackX(pos);
-            final int y = unpackY(pos);
-            final int index = getIndex(x, y);
-            FlagMap flagMap = new FlagMap(x * REGION_SIZE, y * REGION_SIZE, entry.getValue());
-            regionMaps[index] = flagMap;
-            regionMapPlaneCounts[index] = flagMap.getPlaneCount();
+            final byte planeCount = planeCount(entry.getValue());
+            regionMapPlaneCounts[getIndex(unpackX(entry.getKey()), unpackY(entry.getKey()))] = planeCount;
+            totalPlanes += planeCount;
+        }
+
+        flags = new long[totalPlanes * WORDS_PER_PLANE];
+        int offset = WORDS_PER_PLANE;
+        for (Map.Entry<Integer, byte[]> entry : compressedRegions.entrySet()) {
+            final int index = getIndex(unpackX(entry.getKey()), unpackY(entry.getKey()));
+            final byte[] bytes = entry.getValue();
+            final int planeCount = regionMapPlaneCounts[index];
+            final int length = Math.min(bytes.length, planeCount * WORDS_PER_PLANE * Long.BYTES);
+            // Little-endian, like BitSet.valueOf(byte[])
+            for (int i = 0; i < length; i++) {
+                flags[offset + (i >>> 3)] |= (bytes[i] & 0xFFL) << ((i & 7) << 3);
+            }
+            for (int plane = 0; plane < planeCount; plane++) {
+                planeOffsets[index * MAX_PLANES + plane] = offset + plane * WORDS_PER_PLANE;
+            }
+            offset += planeCount * WORDS_PER_PLANE;
+        }
+    }
+
+    // Matches the plane count FlagMap derives from BitSet.valueOf, which ignores trailing zero bytes
+    private static byte planeCount(byte[] bytes) {
+        int length = bytes.length;
+        while (length > 0 && bytes[length - 1] == 0) {
+            length--;
         }
+        final int bits = ((length + Long.BYTES - 1) / Long.BYTES) * Long.SIZE;
+        final int scale = REGION_SIZE * REGION_SIZE * FLAG_COUNT;
+        return (byte) ((bits + scale - 1) / scale);
     }
 
     public boolean get(int x, int y, int z, int flag) {
-        final int index = getIndex(x / REGION_SIZE, y / REGION_SIZE);
-        if (index < 0 || index >= regionMaps.length || regionMaps[index] == null) {
-            return false;
+        return (getTileFlags(x, y, z) & (1 << flag)) != 0;
+    }
+
+    /**
+     * Returns both collision flags of a tile, {@link #FLAG_NORTH} and {@link #FLAG_EAST}, with a single array read.
+     * Tiles outside the collision data have no flags set.
+     */
+    public int getTileFlags(int x, int y, int z) {
+        final int regionX = (x >> REGION_SHIFT) - minX;
+        final int regionY = (y >> REGION_SHIFT) - minY;
+        if ((regionX | regionY | z | (widthInclusive - 1 - regionX) | (heightInclusive - 1 - regionY) | (MAX_PLANES - 1 - z)) < 0) {
+            return 0;
         }
 
-   /*     try {
-            if (Rs2Player.getWorldLocation().getRegionID() == 14162) { //toa puzzle room
-                WorldPoint globalWorldPoint = Rs2WorldPoint.convertInstancedWorldPoint(new WorldPoint(x, y, z));
-                if (globalWorldPoint == null) {
-                    Microbot.log("Something went wrong.");
-                } else {
-                    TileObject go = Rs2GameObject.findGroundObjectByLocation(globalWorldPoint);
-                    if (go != null && go.getId() == 45340) {
-                        //System.out.println("found a tile " + globalWorldPoint);
-                        return false;
-                    }
+        final int offset = planeOffsets[(regionX + regionY * widthInclusive) * MAX_PLANES + z];
+        final int bit = (((y & (REGION_SIZE - 1)) << REGION_SHIFT) | (x & (REGION_SIZE - 1))) * FLAG_COUNT;
+        return (int) (flags[offset + bit / Long.SIZE] >>> bit) & (FLAG_NORTH | FLAG_EAST);
+    }
+
+    /**
+     * Hash of the collision data, in region order so it does not depend on the order the regions were loaded in.
+     * Data derived from the map, like {@link RegionGraph}, stores it to tell when it was built for another map.
+     */
+    public long hash() {
+        long hash = HASH_SEED;
+        hash = mix(hash, minX);
+        hash = mix(hash, minY);
+        hash = mix(hash, widthInclusive);
+        hash = mix(hash, heightInclusive);
+        for (int index = 0; index < regionMapPlaneCounts.length; index++) {
+            final int planeCount = regionMapPlaneCounts[index];
+            hash = mix(hash, planeCount);
+            for (int plane = 0; plane < planeCount; plane++) {
+                final int offset = planeOffsets[index * MAX_PLANES + plane];
+                for (int word = 0; word < WORDS_PER_PLANE; word++) {
+                    hash = mix(hash, flags[offset + word]);
                 }
             }
-        } catch(Exception ex) {
-            Microbot.log("oops something went wrong");
-        }*/
-
-
+        }
+        return hash;
+    }
 
-        return regionMaps[index].get(x, y, z, flag);
+    private static long mix(long hash, long value) {
+        hash = (hash ^ value) * HASH_MULTIPLIER;
+        return hash ^ (hash >>> 32);
     }
 
     private int getIndex(int regionX, int regionY) {
@@ -0,0 +1,79 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+
+import java.util.Arrays;
+
+/**
+ * Snapshot of the tiles changed by {@link DynamicTileRule}s, stored as sorted packed points.
+ * Filled by the rules during {@link PathfinderConfig#refresh()} and read-only once sealed.
+ */
+public class TileOverrides {
+    public static final TileOverrides EMPTY = new TileOverrides().seal();
+
+    private int[] blocked = new int[8];
+    private int blockedSize;
+    private int[] ignoredCollision = new int[8];
+    private int ignoredCollisionSize;
+    private boolean sealed;
+
+    /** Prevents the search from stepping onto the tile, unless it is one of the targets */
+    public void block(WorldPoint point) {
+        block(WorldPointUtil.packWorldPoint(point));
+    }
+
+    public void block(int packedPoint) {
+        checkNotSealed();
+        if (blockedSize == blocked.length) {
+            blocked = Arrays.copyOf(blocked, blockedSize * 2);
+        }
+        blocked[blockedSize++] = packedPoint;
+    }
+
+    /** Allows the search to step from the tile in every direction, regardless of collision data */
+    public void ignoreCollision(WorldPoint point) {
+        ignoreCollision(WorldPointUtil.packWorldPoint(point));
+    }
+
+    public void ignoreCollision(int packedPoint) {
+        checkNotSealed();
+        if (ignoredCollisionSize == ignoredCollision.length) {
+            ignoredCollision = Arrays.copyOf(ignoredCollision, ignoredCollisionSize * 2);
+        }
+        ignoredCollision[ignoredCollisionSize++] = packedPoint;
+    }
+
+    public boolean isBlocked(int packedPoint) {
+        return blockedSize > 0 && Arrays.binarySearch(blocked, 0, blockedSize, packedPoint) >= 0;
+    }
+
+    public boolean isIgnoringCollision(int packedPoint) {
+        return ignoredCollisionSize > 0 && Arrays.binarySearch(ignoredCollision, 0, ignoredCollisionSize, packedPoint) >= 0;
+    }
+
+    TileOverrides seal() {
+        Arrays.sort(blocked, 0, blockedSize);
+        Arrays.sort(ignoredCollision, 0, ignoredCollisionSize);
+        sealed = true;
+        return this;
+    }
+
+    /** Hash of the overridden tiles, so cached paths are not reused after the rules change */
+    long fingerprint() {
+        long fingerprint = 0;
+        for (int i = 0; i < blockedSize; i++) {
+            fingerprint = fingerprint * 31 + blocked[i];
+        }
+        for (int i = 0; i < ignoredCollisionSize; i++) {
+            fingerprint = fingerprint * 31 + ~ignoredCollision[i];
+        }
+        return fingerprint;
+    }
+
+    private void checkNotSealed() {
+        if (sealed) {
+            throw new IllegalStateException("Tile overrides can only be changed while the rules are applied");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import net.runelite.api.GameState;
+import net.runelite.api.GroundObject;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.gameval.ObjectID;
+import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.gameobject.Rs2GameObject;
+import net.runelite.client.plugins.microbot.util.player.Rs2Player;
+
+/**
+ * Lets the walker be used in the Tombs of Amascut puzzle room by avoiding the pressure plates of the sequence puzzle.
+ */
+public class ToaPuzzleRoomTileRule implements DynamicTileRule {
+    private static final int PUZZLE_ROOM_REGION = 14162;
+
+    @Override
+    public void apply(TileOverrides overrides) {
+        if (Microbot.getClient().getGameState() != GameState.LOGGED_IN
+                || Rs2Player.getWorldLocation().getRegionID() != PUZZLE_ROOM_REGION) {
+            return;
+        }
+
+        for (GroundObject plate : Rs2GameObject.getGroundObjects(o -> o.getId() == ObjectID.TOA_SCABARAS_SIMONSAYS_TILE_UP)) {
+            // The search runs on template coordinates, the same as Rs2Player.getWorldLocation() inside the instance
+            WorldPoint tile = WorldPoint.fromLocalInstance(Microbot.getClient(), plate.getLocalLocation());
+            if (tile != null) {
+                overrides.block(tile);
+            }
+        }
+    }
+}
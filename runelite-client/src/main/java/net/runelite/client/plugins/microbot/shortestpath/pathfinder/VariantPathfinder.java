@@ -0,0 +1,130 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Searches the path with and without teleports at the same time and keeps the cheaper one.
+ * <p>
+ * Runs like a single {@link Pathfinder} and wraps one per variant: it is submitted to the pathfinding executor,
+ * searches the variant with teleports itself while the variant without teleports runs on a second executor, and is
+ * done once the winner is picked. Only variants that finished and reached a target are compared, by path cost rather
+ * than path length.
+ */
+@Slf4j
+public class VariantPathfinder implements PathSearch {
+    private final Pathfinder withTeleports;
+    private final Pathfinder withoutTeleports;
+    private final ExecutorService variantExecutor;
+    private volatile Pathfinder winner;
+    private volatile boolean cancelled;
+
+    /**
+     * @param config the refreshed config, each variant searches with its own copy
+     * @param variantExecutor runs the variant without teleports next to the calling search
+     * @param deadlineMillis absolute time both variants stop at, keeping their best path so far
+     */
+    public VariantPathfinder(PathfinderConfig config, WorldPoint start, Set<WorldPoint> targets,
+                             ExecutorService variantExecutor, long deadlineMillis) {
+        PathfinderConfig withoutTeleportsConfig = config.copy();
+        withoutTeleportsConfig.setIgnoreTeleportAndItems(true);
+        this.withTeleports = new Pathfinder(config.copy(), start, targets);
+        this.withoutTeleports = new Pathfinder(withoutTeleportsConfig, start, targets);
+        this.variantExecutor = variantExecutor;
+        withTeleports.setDeadline(deadlineMillis);
+        withoutTeleports.setDeadline(deadlineMillis);
+    }
+
+    @Override
+    public void run() {
+        Future<?> future = variantExecutor.submit(withoutTeleports);
+        withTeleports.run();
+        try {
+            // The deadline is enforced by the variant itself, so this only waits for it to finish
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+        } catch (ExecutionException e) {
+            log.warn("Path variant search failed", e);
+        }
+
+        if (!cancelled) {
+            winner = pickWinner();
+        }
+    }
+
+    // Ties go to the path without teleports, which does not spend items or runes
+    private Pathfinder pickWinner() {
+        boolean withReached = reachedTarget(withTeleports);
+        boolean withoutReached = reachedTarget(withoutTeleports);
+        if (withReached && withoutReached) {
+            return withTeleports.getPathCost() < withoutTeleports.getPathCost() ? withTeleports : withoutTeleports;
+        }
+        if (withReached) {
+            return withTeleports;
+        }
+        if (withoutReached || withoutTeleports.isDone()) {
+            return withoutTeleports;
+        }
+        return withTeleports;
+    }
+
+    private static boolean reachedTarget(Pathfinder pathfinder) {
+        return pathfinder.isDone() && pathfinder.getPathCost() >= 0;
+    }
+
+    @Override
+    public WorldPoint getStart() {
+        return withTeleports.getStart();
+    }
+
+    @Override
+    public Set<WorldPoint> getTargets() {
+        return withTeleports.getTargets();
+    }
+
+    @Override
+    public boolean isDone() {
+        return winner != null;
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        withTeleports.cancel();
+        withoutTeleports.cancel();
+    }
+
+    @Override
+    public void setDeadline(long deadlineMillis) {
+        withTeleports.setDeadline(deadlineMillis);
+        withoutTeleports.setDeadline(deadlineMillis);
+    }
+
+    @Override
+    public List<WorldPoint> getPath() {
+        Pathfinder pathfinder = winner;
+        return pathfinder != null ? pathfinder.getPath() : withTeleports.getPath();
+    }
+
+    @Override
+    public int getPathCost() {
+        Pathfinder pathfinder = winner;
+        return pathfinder != null ? pathfinder.getPathCost() : -1;
+    }
+
+    @Override
+    public PathfinderStats getStats() {
+        Pathfinder pathfinder = winner;
+        return pathfinder != null ? pathfinder.getStats() : null;
+    }
+}
@@ -1,22 +1,13 @@
 package net.runelite.client.plugins.microbot.sideloading;
 
-import com.google.common.annotations.VisibleForTesting;
-import com.google.common.graph.Graph;
-import com.google.common.graph.GraphBuilder;
-import com.google.common.graph.Graphs;
-import com.google.common.graph.MutableGraph;
 import com.google.common.reflect.ClassPath;
-import com.google.inject.Binder;
-import com.google.inject.CreationException;
-import com.google.inject.Injector;
-import com.google.inject.Module;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.client.RuneLite;
 import net.runelite.client.plugins.*;
-import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.ui.SplashScreen;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.File;
 import java.io.IOException;
@@ -29,10 +20,12 @@ import java.util.stream.Collectors;
 public class MicrobotPluginManager {
 
     private final PluginManager pluginManager;
+    private final boolean developerMode;
 
     @Inject
-    MicrobotPluginManager(PluginManager pluginManager) {
+    MicrobotPluginManager(PluginManager pluginManager, @Named("developerMode") boolean developerMode) {
         this.pluginManager = pluginManager;
+        this.developerMode = developerMode;
     }
 
     public static File[] createSideloadingFolder() {
@@ -83,171 +76,21 @@ public class MicrobotPluginManager {
     }
 
     /**
-     * Topologically sort a graph. Uses Kahn's algorithm.
-     *
-     * @param graph - A directed graph
-     * @param <T>   - The type of the item contained in the nodes of the graph
-     * @return - A topologically sorted list corresponding to graph.
-     * <p>
-     * Multiple invocations with the same arguments may return lists that are not equal.
+     * Loads the plugins through the {@link PluginManager}, which instantiates independent plugins in parallel and
+     * defers the injectors of disabled plugins.
      */
-    @VisibleForTesting
-    static <T> List<T> topologicalSort(Graph<T> graph) {
-        MutableGraph<T> graphCopy = Graphs.copyOf(graph);
-        List<T> l = new ArrayList<>();
-        Set<T> s = graphCopy.nodes().stream()
-                .filter(node -> graphCopy.inDegree(node) == 0)
-                .collect(Collectors.toSet());
-        while (!s.isEmpty()) {
-            Iterator<T> it = s.iterator();
-            T n = it.next();
-            it.remove();
-
-            l.add(n);
-
-            for (T m : new HashSet<>(graphCopy.successors(n))) {
-                graphCopy.removeEdge(n, m);
-                if (graphCopy.inDegree(m) == 0) {
-                    s.add(m);
-                }
-            }
-        }
-        if (!graphCopy.edges().isEmpty()) {
-            throw new RuntimeException("Graph has at least one cycle");
-        }
-        return l;
-    }
-
     public List<Plugin> loadPlugins(List<Class<?>> plugins, BiConsumer<Integer, Integer> onPluginLoaded) throws PluginInstantiationException {
-        MutableGraph<Class<? extends Plugin>> graph = GraphBuilder
-                .directed()
-                .build();
-
-        for (Class<?> clazz : plugins) {
-            PluginDescriptor pluginDescriptor = clazz.getAnnotation(PluginDescriptor.class);
-
-            if (pluginDescriptor == null) {
-                if (clazz.getSuperclass() == Plugin.class) {
-                    log.error("Class {} is a plugin, but has no plugin descriptor", clazz);
-                }
-                continue;
-            }
-
-            if (clazz.getSuperclass() != Plugin.class) {
-                log.error("Class {} has plugin descriptor, but is not a plugin", clazz);
-                continue;
-            }
-
-            graph.addNode((Class<Plugin>) clazz);
-        }
-
-        // Build plugin graph
-        for (Class<? extends Plugin> pluginClazz : graph.nodes()) {
-            PluginDependency[] pluginDependencies = pluginClazz.getAnnotationsByType(PluginDependency.class);
-
-            for (PluginDependency pluginDependency : pluginDependencies) {
-                if (graph.nodes().contains(pluginDependency.value())) {
-                    graph.putEdge(pluginDependency.value(), pluginClazz);
-                }
-            }
-        }
-
-        if (Graphs.hasCycle(graph)) {
-            throw new PluginInstantiationException("Plugin dependency graph contains a cycle!");
-        }
-
-        List<Class<? extends Plugin>> sortedPlugins = topologicalSort(graph);
-
-        int loaded = 0;
-        List<Plugin> newPlugins = new ArrayList<>();
-        for (Class<? extends Plugin> pluginClazz : sortedPlugins) {
-            Plugin plugin;
-            try {
-                plugin = instantiate(pluginManager.getPlugins(), (Class<Plugin>) pluginClazz);
-                log.info("Microbot pluginManager loaded " + plugin.getName());
-                newPlugins.add(plugin);
-                pluginManager.addPlugin(plugin);
-            } catch (PluginInstantiationException ex) {
-                log.error("Error instantiating plugin!", ex);
-            }
-
-            loaded++;
-            if (onPluginLoaded != null) {
-                onPluginLoaded.accept(loaded, sortedPlugins.size());
-            }
+        List<Plugin> newPlugins = pluginManager.loadPlugins(plugins, onPluginLoaded);
+        for (Plugin plugin : newPlugins) {
+            log.info("Microbot pluginManager loaded " + plugin.getName());
         }
-
         return newPlugins;
     }
 
-    private Plugin instantiate(Collection<Plugin> scannedPlugins, Class<Plugin> clazz) throws PluginInstantiationException {
-        PluginDependency[] pluginDependencies = clazz.getAnnotationsByType(PluginDependency.class);
-        List<Plugin> deps = new ArrayList<>();
-        for (PluginDependency pluginDependency : pluginDependencies) {
-            Optional<Plugin> dependency = scannedPlugins.stream().filter(p -> p.getClass() == pluginDependency.value()).findFirst();
-            if (!dependency.isPresent()) {
-                throw new PluginInstantiationException("Unmet dependency for " + clazz.getSimpleName() + ": " + pluginDependency.value().getSimpleName());
-            }
-            deps.add(dependency.get());
-        }
-
-        Plugin plugin;
-        try {
-            plugin = clazz.getDeclaredConstructor().newInstance();
-        } catch (ThreadDeath e) {
-            throw e;
-        } catch (Throwable ex) {
-            throw new PluginInstantiationException(ex);
-        }
-
-        try {
-            Injector parent = Microbot.getInjector();
-
-            if (deps.size() > 1) {
-                List<Module> modules = new ArrayList<>(deps.size());
-                for (Plugin p : deps) {
-                    // Create a module for each dependency
-                    Module module = (Binder binder) ->
-                    {
-                        binder.bind((Class<Plugin>) p.getClass()).toInstance(p);
-                        binder.install(p);
-                    };
-                    modules.add(module);
-                }
-
-                // Create a parent injector containing all of the dependencies
-                parent = parent.createChildInjector(modules);
-            } else if (!deps.isEmpty()) {
-                // With only one dependency we can simply use its injector
-                parent = deps.get(0).getInjector();
-            }
-
-            // Create injector for the module
-            Module pluginModule = (Binder binder) ->
-            {
-                // Since the plugin itself is a module, it won't bind itself, so we'll bind it here
-                binder.bind(clazz).toInstance(plugin);
-                binder.install(plugin);
-            };
-            Injector pluginInjector = parent.createChildInjector(pluginModule);
-            plugin.setInjector(pluginInjector);
-        } catch (CreationException ex) {
-            throw new PluginInstantiationException(ex);
-        }
-
-        log.debug("Loaded plugin {}", clazz.getSimpleName());
-        return plugin;
-    }
-
     public void loadCorePlugins(List<String> packages) throws IOException, PluginInstantiationException
     {
         SplashScreen.stage(.59, null, "Loading plugins");
-        ClassPath classPath = ClassPath.from(getClass().getClassLoader());
-
-        List<Class<?>> plugins = packages.stream()
-                .flatMap(packageName -> classPath.getTopLevelClassesRecursive(packageName).stream())
-                .map(ClassPath.ClassInfo::load)
-                .collect(Collectors.toList());
+        List<Class<?>> plugins = PluginIndex.loadPluginClasses(getClass().getClassLoader(), packages, !developerMode);
 
         loadPlugins(plugins, (loaded, total) ->
                 SplashScreen.stage(.60, .70, null, "Loading plugins", loaded, total, false));
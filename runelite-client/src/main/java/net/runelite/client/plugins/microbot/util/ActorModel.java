@@ -36,12 +36,22 @@ public class ActorModel implements Actor
 	@Override
 	public int getCombatLevel()
 	{
+		ClientSnapshot.ActorSnapshot snapshot = ClientSnapshot.find(actor);
+		if (snapshot != null)
+		{
+			return snapshot.getCombatLevel();
+		}
 		return Microbot.getClientThread().runOnClientThreadOptional(actor::getCombatLevel).orElse(0);
 	}
 
 	@Override
 	public @Nullable String getName()
 	{
+		ClientSnapshot.ActorSnapshot snapshot = ClientSnapshot.find(actor);
+		if (snapshot != null)
+		{
+			return snapshot.getName();
+		}
 		return Microbot.getClientThread().runOnClientThreadOptional(actor::getName).orElse(null);
 	}
 
@@ -54,6 +64,11 @@ public class ActorModel implements Actor
 	@Override
 	public Actor getInteracting()
 	{
+		ClientSnapshot.ActorSnapshot snapshot = ClientSnapshot.find(actor);
+		if (snapshot != null)
+		{
+			return snapshot.getInteracting();
+		}
 		return Microbot.getClientThread().runOnClientThreadOptional(actor::getInteracting).orElse(null);
 	}
 
@@ -0,0 +1,150 @@
+package net.runelite.client.plugins.microbot.util;
+
+import net.runelite.api.events.AnimationChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.plugins.microbot.Microbot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Parks script threads until the client fires a game event, so a wait reacts as soon as the state it checks
+ * can have changed instead of on the next poll.
+ * <p>
+ * Each event has a counter that is bumped after all other subscribers have handled the event, so a woken
+ * thread sees the state the event caused, e.g. the inventory after an {@link ItemContainerChanged}.
+ * Several events fired while a thread is re-checking its condition wake it only once.
+ */
+public class ClientEventWaiter {
+    public enum Event {
+        GAME_TICK,
+        ITEM_CONTAINER_CHANGED,
+        VARBIT_CHANGED,
+        ANIMATION_CHANGED
+    }
+
+    // Lower than any plugin, so waiting threads are woken after the event has been handled
+    private static final float SIGNAL_PRIORITY = -1000;
+    private static final Event[] ALL_EVENTS = Event.values();
+
+    private static final Object lock = new Object();
+    private static final long[] counts = new long[ALL_EVENTS.length];
+    private static final List<EventBus.Subscriber> subscribers = new ArrayList<>();
+
+    /**
+     * Subscribes to the events on the event bus. Called by the MicrobotPlugin on start up.
+     */
+    public static synchronized void register(EventBus eventBus) {
+        unregister(eventBus);
+        subscribers.add(eventBus.register(GameTick.class, e -> signal(Event.GAME_TICK), SIGNAL_PRIORITY));
+        subscribers.add(eventBus.register(ItemContainerChanged.class, e -> signal(Event.ITEM_CONTAINER_CHANGED), SIGNAL_PRIORITY));
+        subscribers.add(eventBus.register(VarbitChanged.class, e -> signal(Event.VARBIT_CHANGED), SIGNAL_PRIORITY));
+        subscribers.add(eventBus.register(AnimationChanged.class, e -> signal(Event.ANIMATION_CHANGED), SIGNAL_PRIORITY));
+    }
+
+    public static synchronized void unregister(EventBus eventBus) {
+        for (EventBus.Subscriber subscriber : subscribers) {
+            eventBus.unregister(subscriber);
+        }
+        subscribers.clear();
+    }
+
+    /**
+     * Wakes the threads waiting for the event.
+     */
+    public static void signal(Event event) {
+        synchronized (lock) {
+            counts[event.ordinal()]++;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Parks the thread until one of the events fires or the timeout passes.
+     * Waits for any event when none are given.
+     *
+     * @return true if one of the events fired, false on timeout or interrupt
+     */
+    public static boolean awaitEvent(long timeoutMillis, Event... events) {
+        Event[] awaited = events.length == 0 ? ALL_EVENTS : events;
+        return awaitSince(mark(awaited), timeoutMillis, awaited);
+    }
+
+    /**
+     * Parks the thread until the next game tick or the timeout passes.
+     *
+     * @return true if a game tick passed
+     */
+    public static boolean awaitTick(long timeoutMillis) {
+        return awaitEvent(timeoutMillis, Event.GAME_TICK);
+    }
+
+    /**
+     * Checks the condition now and again each time one of the events fires, until it holds or the timeout passes.
+     * Re-checks on any event when none are given.
+     *
+     * @return true if the condition held before the timeout
+     */
+    public static boolean awaitUntil(BooleanSupplier condition, long timeoutMillis, Event... events) {
+        if (Microbot.getClient().isClientThread()) return false;
+        Event[] awaited = events.length == 0 ? ALL_EVENTS : events;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (true) {
+            // Taken before the check, so an event fired while checking is not missed
+            long mark = mark(awaited);
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0 || (!awaitSince(mark, remaining, awaited) && Thread.currentThread().isInterrupted())) {
+                return condition.getAsBoolean();
+            }
+        }
+    }
+
+    /**
+     * Sum of the counters of the events, to wait for a change from with {@link #awaitSince}.
+     */
+    static long mark(Event[] events) {
+        synchronized (lock) {
+            return sum(events);
+        }
+    }
+
+    /**
+     * Parks the thread until one of the events has fired since the mark was taken, or the timeout passes.
+     *
+     * @return true if one of the events fired, false on timeout or interrupt
+     */
+    static boolean awaitSince(long mark, long timeoutMillis, Event[] events) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (lock) {
+            try {
+                while (sum(events) == mark) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    private static long sum(Event[] events) {
+        long sum = 0;
+        for (Event event : events) {
+            sum += counts[event.ordinal()];
+        }
+        return sum;
+    }
+}
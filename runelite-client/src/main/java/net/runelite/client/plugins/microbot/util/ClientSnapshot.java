@@ -0,0 +1,297 @@
+package net.runelite.client.plugins.microbot.util;
+
+import lombok.Getter;
+import lombok.Value;
+import net.runelite.api.*;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.widgets.Widget;
+import net.runelite.client.plugins.microbot.Microbot;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Immutable copy of client state captured in a single hop to the client thread, so a script reading many fields
+ * does not wait on the client thread once per field.
+ * <p>
+ * {@link #current()} holds the players and NPCs of the current game tick and is shared by all scripts; it is
+ * captured on first use after each tick. Varbits, varps, widgets and item containers are captured on request
+ * with {@link #request()}.
+ */
+public class ClientSnapshot {
+    private static final ClientSnapshot EMPTY = new ClientSnapshot(-1, -1, null, Collections.emptyList(), Collections.emptyList(),
+            Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+
+    // The shared snapshot and its generation, swapped as one value. The generation is bumped on each invalidation,
+    // so a capture that raced with a game tick is not shared
+    private static final AtomicReference<Shared> shared = new AtomicReference<>(new Shared(0, null));
+
+    private final int capturedGeneration;
+    @Getter
+    private final int tick;
+    @Getter
+    @Nullable
+    private final ActorSnapshot localPlayer;
+    @Getter
+    private final List<ActorSnapshot> players;
+    @Getter
+    private final List<ActorSnapshot> npcs;
+    private final Map<Actor, ActorSnapshot> actors;
+    private final Map<Integer, Integer> varbits;
+    private final Map<Integer, Integer> varps;
+    private final Map<Integer, WidgetSnapshot> widgets;
+    private final Map<Integer, Item[]> containers;
+
+    /**
+     * Fields of an actor as they were when the snapshot was captured.
+     */
+    @Value
+    public static class ActorSnapshot {
+        Actor actor;
+        /** NPC id, or -1 for players */
+        int id;
+        /** NPC or player index in the world view */
+        int index;
+        String name;
+        int combatLevel;
+        WorldPoint worldLocation;
+        LocalPoint localLocation;
+        int animation;
+        int healthRatio;
+        int healthScale;
+        @Nullable
+        Actor interacting;
+        /** NPC composition after varbit transforms, or null for players */
+        @Nullable
+        NPCComposition transformedComposition;
+    }
+
+    @Value
+    public static class WidgetSnapshot {
+        int componentId;
+        boolean hidden;
+        String text;
+        int itemId;
+        int itemQuantity;
+    }
+
+    private static final class Shared {
+        private final int generation;
+        @Nullable
+        private final ClientSnapshot snapshot;
+
+        private Shared(int generation, @Nullable ClientSnapshot snapshot) {
+            this.generation = generation;
+            this.snapshot = snapshot;
+        }
+    }
+
+    /**
+     * Fields to capture in addition to the players and NPCs.
+     */
+    public static class Request {
+        private final Set<Integer> varbits = new HashSet<>();
+        private final Set<Integer> varps = new HashSet<>();
+        private final Set<Integer> widgets = new HashSet<>();
+        private final Set<Integer> containers = new HashSet<>();
+
+        private Request() {
+        }
+
+        public Request varbits(int... varbitIds) {
+            for (int varbitId : varbitIds) varbits.add(varbitId);
+            return this;
+        }
+
+        public Request varps(int... varpIds) {
+            for (int varpId : varpIds) varps.add(varpId);
+            return this;
+        }
+
+        /** Widgets by packed component id */
+        public Request widgets(int... componentIds) {
+            for (int componentId : componentIds) widgets.add(componentId);
+            return this;
+        }
+
+        public Request containers(int... containerIds) {
+            for (int containerId : containerIds) containers.add(containerId);
+            return this;
+        }
+
+        /**
+         * Captures the requested fields together with the players and NPCs in one hop to the client thread.
+         * The result also becomes the shared snapshot for the rest of the tick.
+         */
+        public ClientSnapshot capture() {
+            ClientSnapshot snapshot = Microbot.getClientThread().runOnClientThreadOptional(() -> ClientSnapshot.capture(this)).orElse(EMPTY);
+            if (snapshot != EMPTY) {
+                Shared previous = shared.get();
+                if (previous.generation == snapshot.capturedGeneration) {
+                    // Fails if the tick was invalidated since, leaving the snapshot unshared
+                    shared.compareAndSet(previous, new Shared(previous.generation, snapshot));
+                }
+            }
+            return snapshot;
+        }
+    }
+
+    private ClientSnapshot(int capturedGeneration, int tick, @Nullable ActorSnapshot localPlayer, List<ActorSnapshot> players, List<ActorSnapshot> npcs,
+                           Map<Integer, Integer> varbits, Map<Integer, Integer> varps, Map<Integer, WidgetSnapshot> widgets, Map<Integer, Item[]> containers) {
+        this.capturedGeneration = capturedGeneration;
+        this.tick = tick;
+        this.localPlayer = localPlayer;
+        this.players = players;
+        this.npcs = npcs;
+        this.varbits = varbits;
+        this.varps = varps;
+        this.widgets = widgets;
+        this.containers = containers;
+        this.actors = new IdentityHashMap<>(players.size() + npcs.size() + 1);
+        for (ActorSnapshot player : players) {
+            actors.put(player.getActor(), player);
+        }
+        for (ActorSnapshot npc : npcs) {
+            actors.put(npc.getActor(), npc);
+        }
+        if (localPlayer != null) {
+            actors.put(localPlayer.getActor(), localPlayer);
+        }
+    }
+
+    /**
+     * Players and NPCs of the current game tick, captured in one hop to the client thread on first use in the tick.
+     */
+    public static ClientSnapshot current() {
+        ClientSnapshot snapshot = shared.get().snapshot;
+        if (snapshot == null) {
+            snapshot = request().capture();
+        }
+        return snapshot;
+    }
+
+    public static Request request() {
+        return new Request();
+    }
+
+    /**
+     * Drops the shared snapshot, so the next read captures the new tick. Called by the MicrobotPlugin on each game tick.
+     */
+    public static void invalidate() {
+        shared.updateAndGet(previous -> new Shared(previous.generation + 1, null));
+    }
+
+    /**
+     * The actor's fields from the shared snapshot of the current tick, or null if the actor is not in it.
+     * Does not capture a snapshot: reading one field is cheaper as a single hop than capturing every player
+     * and NPC, so this returns null until something else, e.g. the NPC index, has captured the tick.
+     * Also returns null on the client thread, where the actor can be read directly, and when logged out.
+     */
+    @Nullable
+    public static ActorSnapshot find(Actor actor) {
+        ClientSnapshot snapshot = shared.get().snapshot;
+        if (snapshot == null) {
+            return null;
+        }
+        Client client = Microbot.getClient();
+        if (client.isClientThread() || client.getGameState() != GameState.LOGGED_IN) {
+            return null;
+        }
+        return snapshot.get(actor);
+    }
+
+    @Nullable
+    public ActorSnapshot get(Actor actor) {
+        return actors.get(actor);
+    }
+
+    /**
+     * Value of a requested varbit, or 0 if it was not requested.
+     */
+    public int getVarbit(int varbitId) {
+        return varbits.getOrDefault(varbitId, 0);
+    }
+
+    /**
+     * Value of a requested varp, or 0 if it was not requested.
+     */
+    public int getVarp(int varpId) {
+        return varps.getOrDefault(varpId, 0);
+    }
+
+    /**
+     * A requested widget, or null if it was not requested or not loaded.
+     */
+    @Nullable
+    public WidgetSnapshot getWidget(int componentId) {
+        return widgets.get(componentId);
+    }
+
+    /**
+     * Items of a requested container, or null if it was not requested or not loaded.
+     */
+    @Nullable
+    public Item[] getContainer(int containerId) {
+        Item[] items = containers.get(containerId);
+        return items == null ? null : items.clone();
+    }
+
+    private static ClientSnapshot capture(Request request) {
+        Client client = Microbot.getClient();
+        int generation = shared.get().generation;
+        WorldView worldView = client.getTopLevelWorldView();
+        if (worldView == null) {
+            return EMPTY;
+        }
+
+        Player local = client.getLocalPlayer();
+        ActorSnapshot localPlayer = local == null ? null : snapshot(local, -1, local.getId());
+
+        List<ActorSnapshot> players = new ArrayList<>();
+        for (Player player : worldView.players()) {
+            if (player != null && player != local) {
+                players.add(snapshot(player, -1, player.getId()));
+            }
+        }
+        List<ActorSnapshot> npcs = new ArrayList<>();
+        for (NPC npc : worldView.npcs()) {
+            if (npc != null) {
+                npcs.add(snapshot(npc, npc.getId(), npc.getIndex()));
+            }
+        }
+
+        Map<Integer, Integer> varbits = new HashMap<>();
+        for (int varbitId : request.varbits) {
+            varbits.put(varbitId, client.getVarbitValue(varbitId));
+        }
+        Map<Integer, Integer> varps = new HashMap<>();
+        for (int varpId : request.varps) {
+            varps.put(varpId, client.getVarpValue(varpId));
+        }
+        Map<Integer, WidgetSnapshot> widgets = new HashMap<>();
+        for (int componentId : request.widgets) {
+            Widget widget = client.getWidget(componentId);
+            if (widget != null) {
+                widgets.put(componentId, new WidgetSnapshot(componentId, widget.isHidden(), widget.getText(), widget.getItemId(), widget.getItemQuantity()));
+            }
+        }
+        Map<Integer, Item[]> containers = new HashMap<>();
+        for (int containerId : request.containers) {
+            ItemContainer container = client.getItemContainer(containerId);
+            if (container != null) {
+                containers.put(containerId, container.getItems().clone());
+            }
+        }
+
+        return new ClientSnapshot(generation, client.getTickCount(), localPlayer, Collections.unmodifiableList(players), Collections.unmodifiableList(npcs),
+                varbits, varps, widgets, containers);
+    }
+
+    private static ActorSnapshot snapshot(Actor actor, int id, int index) {
+        NPCComposition composition = actor instanceof NPC ? ((NPC) actor).getTransformedComposition() : null;
+        return new ActorSnapshot(actor, id, index, actor.getName(), actor.getCombatLevel(), actor.getWorldLocation(), actor.getLocalLocation(),
+                actor.getAnimation(), actor.getHealthRatio(), actor.getHealthScale(), actor.getInteracting(), composition);
+    }
+}
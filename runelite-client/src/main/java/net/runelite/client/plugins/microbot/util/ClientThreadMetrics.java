@@ -0,0 +1,78 @@
+package net.runelite.client.plugins.microbot.util;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the hops from script threads to the client thread and the time spent waiting on them, per script.
+ * <p>
+ * Hops are attributed to the name of the calling thread. {@link net.runelite.client.plugins.microbot.ScriptRuntime}
+ * names its workers after the script while they run its task, so a worker's hops go to the script it runs at the
+ * time. Trailing thread numbers are dropped, so the threads of one pool share an owner, and owners beyond
+ * {@link #MAX_OWNERS} are counted together. The MicrobotPlugin logs them about once a minute at debug level.
+ */
+public class ClientThreadMetrics {
+    static final int MAX_OWNERS = 256;
+    static final String OTHER_OWNER = "other";
+    private static final Pattern THREAD_NUMBER = Pattern.compile("-\\d+$");
+    private static final Map<String, Hops> hops = new ConcurrentHashMap<>();
+
+    public static class Hops {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        @Getter
+        private final String owner;
+
+        private Hops(String owner) {
+            this.owner = owner;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotalWaitMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(waitNanos.sum());
+        }
+
+        public long getAverageWaitMicros() {
+            long hopCount = count.sum();
+            return hopCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(waitNanos.sum() / hopCount);
+        }
+
+        @Override
+        public String toString() {
+            return owner + ": " + getCount() + " hops, " + getTotalWaitMillis() + " ms waiting, " + getAverageWaitMicros() + " us average";
+        }
+    }
+
+    /**
+     * Records a hop to the client thread made by the current thread.
+     */
+    public static void record(long waitNanos) {
+        String owner = THREAD_NUMBER.matcher(Thread.currentThread().getName()).replaceFirst("");
+        Hops ownerHops = hops.get(owner);
+        if (ownerHops == null) {
+            ownerHops = hops.computeIfAbsent(hops.size() < MAX_OWNERS ? owner : OTHER_OWNER, Hops::new);
+        }
+        ownerHops.count.increment();
+        ownerHops.waitNanos.add(waitNanos);
+    }
+
+    /**
+     * Hops by script, or by thread name without its number for threads that do not run a script.
+     */
+    public static Map<String, Hops> getHops() {
+        return Collections.unmodifiableMap(hops);
+    }
+
+    public static void reset() {
+        hops.clear();
+    }
+}
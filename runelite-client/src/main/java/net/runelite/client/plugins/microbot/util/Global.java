@@ -3,14 +3,22 @@ package net.runelite.client.plugins.microbot.util;
 import com.google.common.util.concurrent.Uninterruptibles;
 import lombok.SneakyThrows;
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.ScriptRuntime;
 import net.runelite.client.plugins.microbot.util.math.Rs2Random;
 
 import java.util.concurrent.*;
 import java.util.function.BooleanSupplier;
 
 public class Global {
-    static ScheduledExecutorService scheduledExecutorService = Executors.newScheduledThreadPool(10);
+    static ScheduledExecutorService scheduledExecutorService = ScriptRuntime.executor("Global");
     static ScheduledFuture<?> scheduledFuture;
+    /**
+     * Events that wake the generic sleepUntil loops before their poll interval. Only the game tick, since most
+     * state changes on a tick and other events can fire many times per tick, which would re-check the condition,
+     * and for sleepUntilOnClientThread hop to the client thread, each time. Waits that depend on a specific
+     * event opt into it with {@link #sleepUntil(BooleanSupplier, int, ClientEventWaiter.Event...)}.
+     */
+    private static final ClientEventWaiter.Event[] WAKE_EVENTS = {ClientEventWaiter.Event.GAME_TICK};
 
     public static ScheduledFuture<?> awaitExecutionUntil(Runnable callback, BooleanSupplier awaitedCondition, int time) {
         scheduledFuture = scheduledExecutorService.scheduleWithFixedDelay(() -> {
@@ -49,9 +57,12 @@ public class Global {
         T methodResponse;
         long startTime = System.currentTimeMillis();
         do {
+            long mark = ClientEventWaiter.mark(WAKE_EVENTS);
             methodResponse = method.call();
             done = methodResponse != null;
-            sleep(100);
+            if (!done) {
+                awaitChange(mark, 100);
+            }
         } while (!done && System.currentTimeMillis() - startTime < time);
         return methodResponse;
     }
@@ -66,8 +77,11 @@ public class Global {
         long startTime = System.currentTimeMillis();
         try {
             do {
+                long mark = ClientEventWaiter.mark(WAKE_EVENTS);
                 done = awaitedCondition.getAsBoolean();
-                sleep(100);
+                if (!done) {
+                    awaitChange(mark, 100);
+                }
             } while (!done && System.currentTimeMillis() - startTime < time);
         } catch (Exception e) {
             Microbot.logStackTrace("Global Sleep: ", e);
@@ -75,6 +89,30 @@ public class Global {
         return done;
     }
 
+    /**
+     * Re-checks the condition only when one of the given events fires, rather than polling it.
+     * Use for conditions that can only change on those events, e.g. an inventory check on
+     * {@link ClientEventWaiter.Event#ITEM_CONTAINER_CHANGED}.
+     */
+    public static boolean sleepUntil(BooleanSupplier awaitedCondition, int time, ClientEventWaiter.Event... events) {
+        try {
+            return ClientEventWaiter.awaitUntil(awaitedCondition, time, events);
+        } catch (Exception e) {
+            Microbot.logStackTrace("Global Sleep: ", e);
+        }
+        return false;
+    }
+
+    /**
+     * Sleeps until the next game tick.
+     *
+     * @return true if a game tick passed before the timeout
+     */
+    public static boolean sleepUntilNextTick(int time) {
+        if (Microbot.getClient().isClientThread()) return false;
+        return ClientEventWaiter.awaitTick(time);
+    }
+
     public static boolean sleepUntil(BooleanSupplier awaitedCondition, Runnable action, long timeoutMillis, int sleepMillis) {
         if (Microbot.getClient().isClientThread()) return false;
         long startTime = System.nanoTime();
@@ -98,10 +136,11 @@ public class Global {
         long startTime = System.currentTimeMillis();
         try {
             do {
+                long mark = ClientEventWaiter.mark(WAKE_EVENTS);
                 if (awaitedCondition.getAsBoolean()) {
                     return true;
                 }
-                sleep(100);
+                awaitChange(mark, 100);
             } while (System.currentTimeMillis() - startTime < 5000);
         } catch (Exception e) {
             Microbot.logStackTrace("Global Sleep: ", e);
@@ -114,10 +153,11 @@ public class Global {
         long startTime = System.currentTimeMillis();
         try {
             do {
+                long mark = ClientEventWaiter.mark(WAKE_EVENTS);
                 if (awaitedCondition.getAsBoolean()) {
                     return true;
                 }
-                sleep(time);
+                awaitChange(mark, time);
             } while (System.currentTimeMillis() - startTime < timeout);
         } catch (Exception e) {
             Microbot.logStackTrace("Global Sleep: ", e);
@@ -130,13 +170,14 @@ public class Global {
         long startTime = System.currentTimeMillis();
         try {
             do {
+                long mark = ClientEventWaiter.mark(WAKE_EVENTS);
                 if (resetCondition.getAsBoolean()) {
                     startTime = System.currentTimeMillis();
                 }
                 if (awaitedCondition.getAsBoolean()) {
                     return true;
                 }
-                sleep(time);
+                awaitChange(mark, time);
             } while (System.currentTimeMillis() - startTime < timeout);
         } catch (Exception e) {
             Microbot.logStackTrace("Global Sleep: ", e);
@@ -154,7 +195,11 @@ public class Global {
         long startTime = System.currentTimeMillis();
         try {
             do {
+                long mark = ClientEventWaiter.mark(WAKE_EVENTS);
                 done = Microbot.getClientThread().runOnClientThreadOptional(awaitedCondition::getAsBoolean).orElse(false);
+                if (!done) {
+                    awaitChange(mark, 100);
+                }
             } while (!done && System.currentTimeMillis() - startTime < time);
         } catch (Exception e) {
             Microbot.logStackTrace("Global Sleep: ", e);
@@ -163,6 +208,17 @@ public class Global {
 
     public boolean sleepUntilTick(int ticksToWait) {
         int startTick = Microbot.getClient().getTickCount();
-        return Global.sleepUntil(() -> Microbot.getClient().getTickCount() >= startTick + ticksToWait, ticksToWait * 600 + 2000);
+        return Global.sleepUntil(() -> Microbot.getClient().getTickCount() >= startTick + ticksToWait, ticksToWait * 600 + 2000, ClientEventWaiter.Event.GAME_TICK);
+    }
+
+    /**
+     * Waits up to the poll interval for the awaited state to change, waking early when a game tick has passed
+     * since the mark was taken. Interrupts are ignored, as in {@link #sleep(int)}.
+     */
+    private static void awaitChange(long mark, int pollMillis) {
+        if (Microbot.getClient().isClientThread()) return;
+        if (!ClientEventWaiter.awaitSince(mark, pollMillis, WAKE_EVENTS)) {
+            Thread.interrupted();
+        }
     }
-}
\ No newline at end of file
+}
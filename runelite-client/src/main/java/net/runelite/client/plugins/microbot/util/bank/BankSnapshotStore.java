@@ -0,0 +1,213 @@
+package net.runelite.client.plugins.microbot.util.bank;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Item;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the last bank contents seen on each RuneScape profile on disk, so that the bank is known from login onwards
+ * rather than only once it has been opened in the session.
+ * <p>
+ * Each profile has one file with the time the bank was captured and the id and quantity of each occupied slot.
+ * Updates are written a few seconds after they are made, so a run of bank changes is written once, and pending
+ * updates are written straight away when the profile changes or the player logs out.
+ */
+@Slf4j
+class BankSnapshotStore {
+    private static final int MAGIC = 0x424e4b53;
+    private static final int VERSION = 1;
+    private static final long SAVE_DELAY_SECONDS = 5;
+
+    static final class Saved {
+        final long capturedAt;
+        final Item[] items;
+
+        private Saved(long capturedAt, Item[] items) {
+            this.capturedAt = capturedAt;
+            this.items = items;
+        }
+    }
+
+    private final File directory;
+    private final ScheduledExecutorService executor;
+
+    // Guarded by this
+    private String profile;
+    private Saved latest;
+    private boolean dirty;
+    private ScheduledFuture<?> saveTask;
+
+    BankSnapshotStore(File directory, ScheduledExecutorService executor) {
+        this.directory = directory;
+        this.executor = executor;
+    }
+
+    synchronized String getProfile() {
+        return profile;
+    }
+
+    /**
+     * Switches to another profile, writing the pending update of the previous one.
+     */
+    synchronized void setProfile(String profile) {
+        if (profile.equals(this.profile)) {
+            return;
+        }
+        flush();
+        this.profile = profile;
+        latest = null;
+    }
+
+    /**
+     * Reads the bank of the current profile in the background and passes it to the consumer,
+     * unless nothing has been saved for the profile.
+     */
+    synchronized void load(Consumer<Saved> onLoaded) {
+        String profile = this.profile;
+        Saved latest = this.latest;
+        if (profile == null) {
+            return;
+        }
+
+        executor.execute(() -> {
+            Saved saved = latest != null ? latest : read(file(profile));
+            if (saved == null) {
+                return;
+            }
+            synchronized (this) {
+                if (!profile.equals(this.profile)) {
+                    return;
+                }
+                if (this.latest == null) {
+                    this.latest = saved;
+                }
+            }
+            onLoaded.accept(saved);
+        });
+    }
+
+    /**
+     * Records the bank contents of the current profile, to be written shortly.
+     */
+    synchronized void update(Item[] items, long capturedAt) {
+        if (profile == null) {
+            return;
+        }
+        latest = new Saved(capturedAt, items.clone());
+        dirty = true;
+        if (saveTask == null) {
+            String profile = this.profile;
+            saveTask = executor.schedule(() -> save(profile), SAVE_DELAY_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Writes the pending update of the current profile, if any, in the background.
+     */
+    synchronized void flush() {
+        if (saveTask != null) {
+            saveTask.cancel(false);
+            saveTask = null;
+        }
+        if (dirty && profile != null) {
+            File file = file(profile);
+            Saved saved = latest;
+            dirty = false;
+            executor.execute(() -> write(file, saved));
+        }
+    }
+
+    private void save(String profile) {
+        Saved saved;
+        synchronized (this) {
+            if (!profile.equals(this.profile) || !dirty) {
+                return;
+            }
+            saved = latest;
+            dirty = false;
+            saveTask = null;
+        }
+        write(file(profile), saved);
+    }
+
+    private File file(String profile) {
+        return new File(directory, profile.replaceAll("[^A-Za-z0-9_.-]", "_") + ".bin");
+    }
+
+    private static synchronized void write(File file, Saved saved) {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            log.warn("Unable to create bank snapshot directory {}", parent);
+            return;
+        }
+
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(saved.capturedAt);
+            out.writeInt(saved.items.length);
+
+            int occupied = 0;
+            for (Item item : saved.items) {
+                if (item != null && item.getId() != -1) {
+                    occupied++;
+                }
+            }
+            out.writeInt(occupied);
+            for (int slot = 0; slot < saved.items.length; slot++) {
+                Item item = saved.items[slot];
+                if (item != null && item.getId() != -1) {
+                    out.writeShort(slot);
+                    out.writeInt(item.getId());
+                    out.writeInt(item.getQuantity());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Unable to save bank snapshot to {}", file, e);
+            return;
+        }
+
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Unable to save bank snapshot to {}", file, e);
+        }
+    }
+
+    private static Saved read(File file) {
+        if (!file.exists()) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                log.debug("Ignoring outdated bank snapshot {}", file);
+                return null;
+            }
+
+            long capturedAt = in.readLong();
+            Item[] items = new Item[in.readInt()];
+            int occupied = in.readInt();
+            for (int i = 0; i < occupied; i++) {
+                int slot = in.readUnsignedShort();
+                int id = in.readInt();
+                int quantity = in.readInt();
+                if (slot < items.length) {
+                    items[slot] = new Item(id, quantity);
+                }
+            }
+            return new Saved(capturedAt, items);
+        } catch (IOException e) {
+            log.warn("Unable to load bank snapshot from {}", file, e);
+            return null;
+        }
+    }
+}
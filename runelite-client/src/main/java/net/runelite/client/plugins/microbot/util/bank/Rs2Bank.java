@@ -2,24 +2,25 @@ package net.runelite.client.plugins.microbot.util.bank;
 
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.*;
-import net.runelite.api.coords.WorldArea;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.events.ItemContainerChanged;
 import net.runelite.api.gameval.VarbitID;
 import net.runelite.api.widgets.ComponentID;
 import net.runelite.api.widgets.Widget;
+import net.runelite.client.RuneLite;
+import net.runelite.client.config.RuneScapeProfileType;
 import net.runelite.client.plugins.bank.BankPlugin;
 import net.runelite.client.plugins.loottracker.LootTrackerItem;
 import net.runelite.client.plugins.loottracker.LootTrackerRecord;
 import net.runelite.client.plugins.microbot.Microbot;
-import net.runelite.client.plugins.microbot.shortestpath.ShortestPathPlugin;
-import net.runelite.client.plugins.microbot.shortestpath.pathfinder.Pathfinder;
+import net.runelite.client.plugins.microbot.ScriptRuntime;
 import net.runelite.client.plugins.microbot.util.antiban.Rs2AntibanSettings;
 import net.runelite.client.plugins.microbot.util.bank.enums.BankLocation;
 import net.runelite.client.plugins.microbot.util.coords.Rs2WorldPoint;
 import net.runelite.client.plugins.microbot.util.equipment.Rs2Equipment;
 import net.runelite.client.plugins.microbot.util.gameobject.Rs2GameObject;
 import net.runelite.client.plugins.microbot.util.grandexchange.Rs2GrandExchange;
+import net.runelite.client.plugins.microbot.util.inventory.ItemContainerModel;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2Inventory;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2ItemModel;
 import net.runelite.client.plugins.microbot.util.inventory.RunePouchType;
@@ -39,6 +40,8 @@ import net.runelite.client.plugins.microbot.util.widget.Rs2Widget;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
+import java.io.File;
+import java.time.Instant;
 import java.util.List;
 import java.util.*;
 import java.util.function.Predicate;
@@ -48,7 +51,6 @@ import java.util.stream.Stream;
 import static net.runelite.api.Varbits.*;
 import static net.runelite.api.widgets.ComponentID.BANK_INVENTORY_ITEM_CONTAINER;
 import static net.runelite.api.widgets.ComponentID.BANK_ITEM_CONTAINER;
-import static net.runelite.client.plugins.microbot.Microbot.updateItemContainer;
 import static net.runelite.client.plugins.microbot.util.Global.*;
 import static net.runelite.client.plugins.microbot.util.gameobject.Rs2GameObject.hoverOverObject;
 import static net.runelite.client.plugins.microbot.util.npc.Rs2Npc.hoverOverActor;
@@ -64,7 +66,15 @@ public class Rs2Bank {
     private static final int SELECTED_OPTION_VARBIT = VarbitID.BANK_QUANTITY_TYPE;
 
     private static final int WITHDRAW_AS_NOTE_VARBIT = 3958;
-    public static List<Rs2ItemModel> bankItems = new ArrayList<Rs2ItemModel>();
+    private static final ItemContainerModel bankModel = new ItemContainerModel(true);
+    public static List<Rs2ItemModel> bankItems = bankModel.snapshot().items();
+    private static final BankSnapshotStore bankStore = new BankSnapshotStore(
+            new File(RuneLite.RUNELITE_DIR, "microbot" + File.separator + "bank"),
+            ScriptRuntime.executor("BankSnapshot"));
+    // When the bank items were captured, in epoch millis, or 0 if they are unknown
+    private static volatile long bankCapturedAt;
+    // Whether the bank container has been seen this session, which makes the saved bank outdated
+    private static volatile boolean bankSeen;
     // Used to synchronize calls
     private static final Object lock = new Object();
     /**
@@ -143,6 +153,13 @@ public class Rs2Bank {
         return bankItems;
     }
 
+    /**
+     * The bank as of the last container update, indexed by item id and name.
+     */
+    public static ItemContainerModel.Snapshot bankSnapshot() {
+        return bankModel.snapshot();
+    }
+
     /**
      * Closes the bank interface if it is open.
      *
@@ -1415,12 +1432,7 @@ public class Rs2Bank {
      */
     @SuppressWarnings("UnnecessaryLocalVariable")
     private static Rs2ItemModel findBankItem(int id) {
-        if (bankItems == null) return null;
-        if (bankItems.stream().findAny().isEmpty()) return null;
-
-        Rs2ItemModel bankItem = bankItems.stream().filter(x -> x.getId() == id).findFirst().orElse(null);
-
-        return bankItem;
+        return bankSnapshot().first(id);
     }
 
     /**
@@ -1450,6 +1462,12 @@ public class Rs2Bank {
     if (bankItems == null || bankItems.isEmpty()) {
         return null;
     }
+    if (exact) {
+        return bankSnapshot().allByName(name).stream()
+                .filter(x -> x.getQuantity() >= amount)
+                .findAny()
+                .orElse(null);
+    }
     final String lowerCaseName = name.toLowerCase();
     return bankItems.stream()
             .filter(x -> exact ? x.getName().equalsIgnoreCase(lowerCaseName) : x.getName().toLowerCase().contains(lowerCaseName))
@@ -1553,40 +1571,15 @@ public class Rs2Bank {
             }
         }
 
-        Set<WorldPoint> targets = accessibleBanks.stream()
-                .map(BankLocation::getWorldPoint)
-                .collect(Collectors.toSet());
-
-        if (ShortestPathPlugin.getPathfinderConfig().getTransports().isEmpty()) {
-            ShortestPathPlugin.getPathfinderConfig().refresh();
-        }
-
-        Pathfinder pf = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), worldPoint, targets);
-        pf.run();
-
-        List<WorldPoint> path = pf.getPath();
-        if (path.isEmpty()) {
+        // One search to every accessible bank; the path ends next to the nearest one
+        BankLocation nearest = Rs2Walker.getNearest(worldPoint, accessibleBanks, BankLocation::getWorldPoint, 1);
+        if (nearest == null) {
             Microbot.log("Unable to find path to any bank");
             return null;
         }
 
-		// Create a WorldArea around the final tile to be more generous
-        WorldPoint nearestTile = path.get(path.size() - 1);
-		WorldArea nearestTileArea = new WorldArea(nearestTile, 2, 2);
-        Optional<BankLocation> byPath = accessibleBanks.stream()
-                .filter(b -> {
-					WorldArea accessibleBankArea = new WorldArea(b.getWorldPoint(), 2, 2);
-					return accessibleBankArea.intersectsWith2D(nearestTileArea);
-				})
-                .findFirst();
-
-        if (byPath.isPresent()) {
-            Microbot.log("Found nearest bank (shortest path): " + byPath.get());
-            return byPath.get();
-        }
-
-        Microbot.log("Nearest bank point " + nearestTile + " did not match any BankLocation");
-        return null;
+        Microbot.log("Found nearest bank (shortest path): " + nearest);
+        return nearest;
     }
 
     /**
@@ -1705,9 +1698,72 @@ public class Rs2Bank {
      * @param e The event containing the latest bank items.
      */
     public static void storeBankItemsInMemory(ItemContainerChanged e) {
-        List<Rs2ItemModel> list = updateItemContainer(InventoryID.BANK.getId(), e);
-        if (list != null)
-            bankItems = list;
+        if (e.getContainerId() != InventoryID.BANK.getId()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        boolean firstSeen = !bankSeen;
+        bankSeen = true;
+        bankCapturedAt = now;
+        if (bankModel.update(e.getItemContainer())) {
+            bankItems = bankModel.snapshot().items();
+            bankStore.update(e.getItemContainer().getItems(), now);
+        } else if (firstSeen) {
+            bankStore.update(e.getItemContainer().getItems(), now);
+        }
+    }
+
+    /**
+     * Forgets the bank items, e.g. when logging out. Pending changes to the saved bank are written first.
+     */
+    public static void clearBankItemsInMemory() {
+        bankStore.flush();
+        bankModel.clear();
+        bankItems = bankModel.snapshot().items();
+        bankSeen = false;
+        bankCapturedAt = 0;
+    }
+
+    /**
+     * Loads the bank last saved for the logged in profile, so the bank items are known before the bank is opened.
+     * Does nothing once the bank has been seen this session. Called on the client thread after logging in.
+     */
+    public static void loadBankItemsFromDisk() {
+        Client client = Microbot.getClient();
+        long accountHash = client.getAccountHash();
+        if (accountHash == -1) {
+            return;
+        }
+
+        String profile = (accountHash + "-" + RuneScapeProfileType.getCurrent(client)).toLowerCase(Locale.ROOT);
+        if (!profile.equals(bankStore.getProfile())) {
+            bankStore.setProfile(profile);
+            bankModel.clear();
+            bankItems = bankModel.snapshot().items();
+            bankSeen = false;
+            bankCapturedAt = 0;
+        } else if (bankSeen || !bankModel.snapshot().isEmpty()) {
+            return;
+        }
+
+        bankStore.load(saved -> Microbot.getClientThread().invokeLater(() -> {
+            if (bankSeen || !profile.equals(bankStore.getProfile())) {
+                return;
+            }
+            bankModel.update(saved.items);
+            bankItems = bankModel.snapshot().items();
+            bankCapturedAt = saved.capturedAt;
+        }));
+    }
+
+    /**
+     * When the bank items were captured, which is before this session if they were loaded from disk.
+     *
+     * @return the capture time, or null if the bank items are unknown
+     */
+    public static Instant bankCapturedAt() {
+        long capturedAt = bankCapturedAt;
+        return capturedAt != 0 ? Instant.ofEpochMilli(capturedAt) : null;
     }
 
     /**
@@ -2041,10 +2097,7 @@ public class Rs2Bank {
      * @return the Rs2Item matching the item ID, or null if not found.
      */
     public static Rs2ItemModel getBankItem(int itemId) {
-        return bankItems().stream()
-                .filter(item -> item.getId() == itemId)
-                .findFirst()
-                .orElse(null);
+        return bankSnapshot().first(itemId);
     }
 
     /**
@@ -2055,6 +2108,9 @@ public class Rs2Bank {
      * @return the Rs2Item matching the item name, or null if not found.
      */
     public static Rs2ItemModel getBankItem(String itemName, boolean exact) {
+        if (exact) {
+            return bankSnapshot().firstByName(itemName);
+        }
         return bankItems.stream()
                 .filter(item -> exact
                         ? item.getName().equalsIgnoreCase(itemName)
@@ -7,8 +7,6 @@ import net.runelite.api.TileObject;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.widgets.Widget;
 import net.runelite.client.plugins.microbot.Microbot;
-import net.runelite.client.plugins.microbot.shortestpath.ShortestPathPlugin;
-import net.runelite.client.plugins.microbot.shortestpath.pathfinder.Pathfinder;
 import net.runelite.client.plugins.microbot.util.gameobject.Rs2BankID;
 import net.runelite.client.plugins.microbot.util.gameobject.Rs2GameObject;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2Inventory;
@@ -464,35 +462,14 @@ public class Rs2DepositBox {
             }
         }
 
-        Set<WorldPoint> targets = accessibleDepositBoxes.stream()
-                .map(DepositBoxLocation::getWorldPoint)
-                .collect(Collectors.toSet());
-
-        if (ShortestPathPlugin.getPathfinderConfig().getTransports().isEmpty()) {
-            ShortestPathPlugin.getPathfinderConfig().refresh();
-        }
-
-        Pathfinder pf = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), worldPoint, targets);
-        pf.run();
-
-        List<WorldPoint> path = pf.getPath();
-        if (path.isEmpty()) {
+        DepositBoxLocation nearest = Rs2Walker.getNearest(worldPoint, accessibleDepositBoxes, DepositBoxLocation::getWorldPoint, 0);
+        if (nearest == null) {
             Microbot.log("Unable to find path to any deposit box");
             return null;
         }
 
-        WorldPoint nearestTile = path.get(path.size() - 1);
-        Optional<DepositBoxLocation> byPath = accessibleDepositBoxes.stream()
-                .filter(b -> b.getWorldPoint().equals(nearestTile))
-                .findFirst();
-
-        if (byPath.isPresent()) {
-            Microbot.log("Found nearest deposit box (shortest path): " + byPath.get());
-            return byPath.get();
-        }
-
-        Microbot.log("Nearest deposit box point " + nearestTile + " did not match any DepositBoxLocation");
-        return null;
+        Microbot.log("Found nearest deposit box (shortest path): " + nearest);
+        return nearest;
     }
 
     /**
@@ -23,6 +23,7 @@ import net.runelite.client.plugins.microbot.util.walker.Rs2Walker;
 import javax.annotation.Nullable;
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -46,6 +47,17 @@ public class Rs2GameObject {
             tile.getGroundObject(),
             tile.getWallObject()
     );
+    // Types of scene object each extractor returns, for looking them up in the scene index
+    private static final EnumSet<SceneObjectIndex.Type> GAMEOBJECT_TYPES = EnumSet.of(SceneObjectIndex.Type.GAME);
+    private static final EnumSet<SceneObjectIndex.Type> GROUNDOBJECT_TYPES = EnumSet.of(SceneObjectIndex.Type.GROUND);
+    private static final EnumSet<SceneObjectIndex.Type> DECORATIVEOBJECT_TYPES = EnumSet.of(SceneObjectIndex.Type.DECORATIVE);
+    private static final EnumSet<SceneObjectIndex.Type> WALLOBJECT_TYPES = EnumSet.of(SceneObjectIndex.Type.WALL);
+    private static final EnumSet<SceneObjectIndex.Type> TILEOBJECT_TYPES = EnumSet.of(SceneObjectIndex.Type.DECORATIVE, SceneObjectIndex.Type.GROUND, SceneObjectIndex.Type.WALL);
+
+    // Object ids by the name searched for, since finding them scans every ObjectID constant
+    private static final Map<String, List<Integer>> objectIdsByName = new ConcurrentHashMap<>();
+    // Booths farther than this beyond the nearest booth in a straight line are not compared by walking distance
+    private static final int BANK_SHORTLIST_MARGIN = 8;
 
     public static boolean interact(WorldPoint worldPoint) {
         return interact(worldPoint, "");
@@ -168,7 +180,7 @@ public class Rs2GameObject {
 
 	@Deprecated
     public static TileObject findObjectById(int id) {
-        return getAll(o -> o.getId() == id).stream().findFirst().orElse(null);
+        return getAll(hasId(id)).stream().findFirst().orElse(null);
     }
 
     @Deprecated
@@ -197,17 +209,17 @@ public class Rs2GameObject {
         Player player = Microbot.getClient().getLocalPlayer();
         if (player == null) return null;
         LocalPoint anchor = player.getLocalLocation();
-        return getAll(o -> o.getId() == id).stream().filter(withinTilesPredicate(Rs2LocalPoint.worldToLocalDistance(distance), anchor)).findFirst().orElse(null);
+        return getAll(hasId(id)).stream().filter(withinTilesPredicate(Rs2LocalPoint.worldToLocalDistance(distance), anchor)).findFirst().orElse(null);
     }
 
     @Deprecated
     public static GameObject findObjectById(int id, int x) {
-        return getGameObject(o -> o.getId() == id && o.getWorldLocation().getX() == x);
+        return getGameObject(hasId(Set.of(id), o -> o.getWorldLocation().getX() == x));
     }
 
     @Deprecated
     public static GameObject findObject(int id, WorldPoint worldPoint) {
-        return getGameObject(o -> o.getId() == id && o.getWorldLocation().equals(worldPoint));
+        return getGameObject(hasId(Set.of(id), o -> o.getWorldLocation().equals(worldPoint)));
     }
     
     @Deprecated
@@ -307,7 +319,7 @@ public class Rs2GameObject {
 
     @Deprecated
     public static GameObject findObjectByImposter(int id, String optionName, boolean exact) {
-        return getGameObjects(o -> o.getId() == id)
+        return getGameObjects(hasId(id))
                 .stream()
                 .filter(o -> {
                     ObjectComposition comp = convertToObjectComposition(o);
@@ -349,10 +361,27 @@ public class Rs2GameObject {
             return hasAction(comp, "Bank", false) || hasAction(comp, "Collect", false);
         };
 
-        return getGameObjects(o -> Arrays.stream(Rs2BankID.bankIds).anyMatch(bid -> o.getId() == bid), maxSearchRadius).stream()
+        List<GameObject> banks = getGameObjects(hasId(new HashSet<>(Arrays.asList(Rs2BankID.bankIds))), maxSearchRadius).stream()
                 .filter(bankableFilter)
-                .findFirst()
-                .orElse(null);
+                .collect(Collectors.toList());
+        if (banks.size() <= 1) {
+            return banks.isEmpty() ? null : banks.get(0);
+        }
+
+        WorldPoint playerLocation = Rs2Player.getWorldLocation();
+        banks.sort(Comparator.comparingInt(bank -> bank.getWorldLocation().distanceTo2D(playerLocation)));
+        int shortlistDistance = banks.get(0).getWorldLocation().distanceTo2D(playerLocation) + BANK_SHORTLIST_MARGIN;
+        List<GameObject> shortlist = banks.stream()
+                .filter(bank -> bank.getWorldLocation().distanceTo2D(playerLocation) <= shortlistDistance)
+                .collect(Collectors.toList());
+        if (shortlist.size() == 1) {
+            return shortlist.get(0);
+        }
+
+        // The closest booth in a straight line can be behind a wall, so pick the closest of the shortlist by walking
+        // with one search, bounded so booths that cannot be reached nearby do not run it into the cutoff
+        GameObject nearest = Rs2Walker.getNearest(playerLocation, shortlist, GameObject::getWorldLocation, 1, 2 * maxSearchRadius);
+        return nearest != null ? nearest : banks.get(0);
     }
 
     public static GameObject findBank() {
@@ -374,15 +403,15 @@ public class Rs2GameObject {
             if (comp == null) return false;
             return hasAction(comp, "Deposit", false);
         };
-        return getGameObjects(o -> Arrays.stream(Rs2BankID.bankIds).anyMatch(bid -> o.getId() == bid), maxSearchRadius).stream()
+        return getGameObjects(hasId(new HashSet<>(Arrays.asList(Rs2BankID.bankIds))), maxSearchRadius).stream()
                 .filter(depositableFilter)
                 .findFirst()
                 .orElse(null);
     }
 
     public static WallObject findGrandExchangeBooth(int maxSearchRadius) {
-        Integer[] grandExchangeBoothIds = new Integer[]{10060, 30389};
-        return getWallObjects(o -> Arrays.stream(grandExchangeBoothIds).anyMatch(gid -> o.getId() == gid) && Rs2Tile.isTileReachable(o.getWorldLocation()), maxSearchRadius).stream()
+        Set<Integer> grandExchangeBoothIds = Set.of(10060, 30389);
+        return getWallObjects(hasId(grandExchangeBoothIds, o -> Rs2Tile.isTileReachable(o.getWorldLocation())), maxSearchRadius).stream()
                 .findFirst()
                 .orElse(null);
     }
@@ -477,7 +506,7 @@ public class Rs2GameObject {
     }
 
     public static TileObject getTileObject(int id) {
-        return getTileObject(o -> o.getId() == id);
+        return getTileObject(hasId(id));
     }
 
     public static TileObject getTileObject(int id, int distance) {
@@ -493,17 +522,17 @@ public class Rs2GameObject {
     }
 
     public static TileObject getTileObject(int id, WorldPoint anchor, int distance) {
-        return getTileObject(o -> o.getId() == id, anchor, distance);
+        return getTileObject(hasId(id), anchor, distance);
     }
 
     public static TileObject getTileObject(Integer[] ids) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getTileObject(o -> idSet.contains(o.getId()));
+        return getTileObject(hasId(idSet));
     }
 
     public static TileObject getTileObject(Integer[] ids, int distance) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getTileObject(o -> idSet.contains(o.getId()), distance);
+        return getTileObject(hasId(idSet), distance);
     }
 
     public static TileObject getTileObject(String objectName, boolean exact) {
@@ -607,7 +636,7 @@ public class Rs2GameObject {
     }
 
     public static TileObject getTileObject(Predicate<TileObject> predicate, LocalPoint anchorLocal, int distance) {
-        return getSceneObject(TILEOBJECT_EXTRACTOR, predicate, anchorLocal, distance);
+        return getSceneObject(TILEOBJECT_EXTRACTOR, TILEOBJECT_TYPES, predicate, anchorLocal, distance);
     }
 
     public static List<TileObject> getTileObjects() {
@@ -663,7 +692,7 @@ public class Rs2GameObject {
     }
 
     public static List<TileObject> getTileObjects(Predicate<TileObject> predicate, LocalPoint anchorLocal, int distance) {
-        return getSceneObjects(TILEOBJECT_EXTRACTOR, predicate, anchorLocal, distance);
+        return getSceneObjects(TILEOBJECT_EXTRACTOR, TILEOBJECT_TYPES, predicate, anchorLocal, distance);
     }
 
     public static GameObject getGameObject(int id) {
@@ -683,23 +712,23 @@ public class Rs2GameObject {
     }
 
     public static GameObject getGameObject(int id, WorldPoint anchor, int distance) {
-        return getGameObject(o -> o.getId() == id, anchor, distance);
+        return getGameObject(hasId(id), anchor, distance);
     }
 
     public static GameObject getGameObject(Integer[] ids) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getGameObject(o -> idSet.contains(o.getId()));
+        return getGameObject(hasId(idSet));
     }
 
     @Deprecated
     public static GameObject findObject(Integer[] ids) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getGameObject(o -> idSet.contains(o.getId()));
+        return getGameObject(hasId(idSet));
     }
 
     public static GameObject getGameObject(Integer[] ids, int distance) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getGameObject(o -> idSet.contains(o.getId()), distance);
+        return getGameObject(hasId(idSet), distance);
     }
 
     public static GameObject getGameObject(String objectName, boolean exact, int distance) {
@@ -803,7 +832,7 @@ public class Rs2GameObject {
     }
 
     public static GameObject getGameObject(Predicate<GameObject> predicate, LocalPoint anchorLocal, int distance) {
-        return getSceneObject(GAMEOBJECT_EXTRACTOR, predicate, anchorLocal, distance);
+        return getSceneObject(GAMEOBJECT_EXTRACTOR, GAMEOBJECT_TYPES, predicate, anchorLocal, distance);
     }
 
     public static List<GameObject> getGameObjects() {
@@ -859,7 +888,7 @@ public class Rs2GameObject {
     }
 
     public static List<GameObject> getGameObjects(Predicate<GameObject> predicate, LocalPoint anchorLocal, int distance) {
-        return getSceneObjects(GAMEOBJECT_EXTRACTOR, predicate, anchorLocal, distance);
+        return getSceneObjects(GAMEOBJECT_EXTRACTOR, GAMEOBJECT_TYPES, predicate, anchorLocal, distance);
     }
 
     public static GroundObject getGroundObject(int id) {
@@ -879,17 +908,17 @@ public class Rs2GameObject {
     }
 
     public static GroundObject getGroundObject(int id, WorldPoint anchor, int distance) {
-        return getGroundObject(o -> o.getId() == id, anchor, distance);
+        return getGroundObject(hasId(id), anchor, distance);
     }
 
     public static GroundObject getGroundObject(Integer[] ids) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getGroundObject(o -> idSet.contains(o.getId()));
+        return getGroundObject(hasId(idSet));
     }
 
     public static GroundObject getGroundObject(Integer[] ids, int distance) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getGroundObject(o -> idSet.contains(o.getId()), distance);
+        return getGroundObject(hasId(idSet), distance);
     }
 
     public static GroundObject getGroundObject(String objectName, boolean exact, int distance) {
@@ -993,7 +1022,7 @@ public class Rs2GameObject {
     }
 
     public static GroundObject getGroundObject(Predicate<GroundObject> predicate, LocalPoint anchorLocal, int distance) {
-        return getSceneObject(GROUNDOBJECT_EXTRACTOR, predicate, anchorLocal, distance);
+        return getSceneObject(GROUNDOBJECT_EXTRACTOR, GROUNDOBJECT_TYPES, predicate, anchorLocal, distance);
     }
 
     public static List<GroundObject> getGroundObjects() {
@@ -1049,7 +1078,7 @@ public class Rs2GameObject {
     }
 
     public static List<GroundObject> getGroundObjects(Predicate<GroundObject> predicate, LocalPoint anchorLocal, int distance) {
-        return getSceneObjects(GROUNDOBJECT_EXTRACTOR, predicate, anchorLocal, distance);
+        return getSceneObjects(GROUNDOBJECT_EXTRACTOR, GROUNDOBJECT_TYPES, predicate, anchorLocal, distance);
     }
 
     public static WallObject getWallObject(int id) {
@@ -1069,17 +1098,17 @@ public class Rs2GameObject {
     }
 
     public static WallObject getWallObject(int id, WorldPoint anchor, int distance) {
-        return getWallObject(o -> o.getId() == id, anchor, distance);
+        return getWallObject(hasId(id), anchor, distance);
     }
 
     public static WallObject getWallObject(Integer[] ids) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getWallObject(o -> idSet.contains(o.getId()));
+        return getWallObject(hasId(idSet));
     }
 
     public static WallObject getWallObject(Integer[] ids, int distance) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getWallObject(o -> idSet.contains(o.getId()), distance);
+        return getWallObject(hasId(idSet), distance);
     }
 
     public static WallObject getWallObject(String objectName, boolean exact, int distance) {
@@ -1183,7 +1212,7 @@ public class Rs2GameObject {
     }
 
     public static WallObject getWallObject(Predicate<WallObject> predicate, LocalPoint anchorLocal, int distance) {
-        return getSceneObject(WALLOBJECT_EXTRACTOR, predicate, anchorLocal, distance);
+        return getSceneObject(WALLOBJECT_EXTRACTOR, WALLOBJECT_TYPES, predicate, anchorLocal, distance);
     }
 
     public static List<WallObject> getWallObjects() {
@@ -1239,7 +1268,7 @@ public class Rs2GameObject {
     }
 
     public static List<WallObject> getWallObjects(Predicate<WallObject> predicate, LocalPoint anchorLocal, int distance) {
-        return getSceneObjects(WALLOBJECT_EXTRACTOR, predicate, anchorLocal, distance);
+        return getSceneObjects(WALLOBJECT_EXTRACTOR, WALLOBJECT_TYPES, predicate, anchorLocal, distance);
     }
 
     public static DecorativeObject getDecorativeObject(int id) {
@@ -1259,17 +1288,17 @@ public class Rs2GameObject {
     }
 
     public static DecorativeObject getDecorativeObject(int id, WorldPoint anchor, int distance) {
-        return getDecorativeObject(o -> o.getId() == id, anchor, distance);
+        return getDecorativeObject(hasId(id), anchor, distance);
     }
 
     public static DecorativeObject getDecorativeObject(Integer[] ids) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getDecorativeObject(o -> idSet.contains(o.getId()));
+        return getDecorativeObject(hasId(idSet));
     }
 
     public static DecorativeObject getDecorativeObject(Integer[] ids, int distance) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getDecorativeObject(o -> idSet.contains(o.getId()), distance);
+        return getDecorativeObject(hasId(idSet), distance);
     }
 
     public static DecorativeObject getDecorativeObject(String objectName, boolean exact, int distance) {
@@ -1373,7 +1402,7 @@ public class Rs2GameObject {
     }
 
     public static DecorativeObject getDecorativeObject(Predicate<DecorativeObject> predicate, LocalPoint anchorLocal, int distance) {
-        return getSceneObject(DECORATIVEOBJECT_EXTRACTOR, predicate, anchorLocal, distance);
+        return getSceneObject(DECORATIVEOBJECT_EXTRACTOR, DECORATIVEOBJECT_TYPES, predicate, anchorLocal, distance);
     }
 
     public static List<DecorativeObject> getDecorativeObjects() {
@@ -1429,7 +1458,7 @@ public class Rs2GameObject {
     }
 
     public static List<DecorativeObject> getDecorativeObjects(Predicate<DecorativeObject> predicate, LocalPoint anchorLocal, int distance) {
-        return getSceneObjects(DECORATIVEOBJECT_EXTRACTOR, predicate, anchorLocal, distance);
+        return getSceneObjects(DECORATIVEOBJECT_EXTRACTOR, DECORATIVEOBJECT_TYPES, predicate, anchorLocal, distance);
     }
 
     @Nullable
@@ -1498,20 +1527,32 @@ public class Rs2GameObject {
         return result.stream();
     }
 
-    private static <T extends TileObject> List<T> getSceneObjects(Function<Tile, Collection<? extends T>> extractor, Predicate<T> predicate, LocalPoint anchorLocal, int distance) {
+    private static <T extends TileObject> List<T> getSceneObjects(Function<Tile, Collection<? extends T>> extractor, EnumSet<SceneObjectIndex.Type> types, Predicate<T> predicate, LocalPoint anchorLocal, int distance) {
         if (distance > Rs2LocalPoint.worldToLocalDistance(Constants.SCENE_SIZE)) {
             distance = Rs2LocalPoint.worldToLocalDistance(Constants.SCENE_SIZE);
         }
 
-        return getSceneObjects(extractor)
-                .filter(withinTilesPredicate(distance, anchorLocal))
+        Player player = Microbot.getClient().getLocalPlayer();
+        if (player == null) return Collections.emptyList();
+
+        Stream<T> candidates;
+        if (SceneObjectIndex.isReady(player.getWorldView())) {
+            Set<Integer> ids = predicate instanceof IdFilter ? ((IdFilter<T>) predicate).ids : null;
+            candidates = SceneObjectIndex.<T>find(types, ids, player.getWorldView().getPlane(), anchorLocal, distance).stream();
+        } else {
+            candidates = getSceneObjects(extractor);
+        }
+
+        final int maxDistance = distance;
+        return candidates
+                .filter(withinTilesPredicate(maxDistance, anchorLocal))
                 .filter(predicate)
                 .sorted(Comparator.comparingInt(o -> o.getLocalLocation().distanceTo(anchorLocal)))
                 .collect(Collectors.toList());
     }
 
-    private static <T extends TileObject> T getSceneObject(Function<Tile, Collection<? extends T>> extractor, Predicate<T> predicate, LocalPoint anchorLocal, int distance) {
-        return getSceneObjects(extractor, predicate, anchorLocal, distance)
+    private static <T extends TileObject> T getSceneObject(Function<Tile, Collection<? extends T>> extractor, EnumSet<SceneObjectIndex.Type> types, Predicate<T> predicate, LocalPoint anchorLocal, int distance) {
+        return getSceneObjects(extractor, types, predicate, anchorLocal, distance)
                 .stream()
                 .findFirst()
                 .orElse(null);
@@ -1535,6 +1576,10 @@ public class Rs2GameObject {
     }
 
     private static Optional<String> getCompositionName(TileObject obj) {
+        return SceneObjectIndex.getName(obj.getId(), () -> resolveCompositionName(obj));
+    }
+
+    private static Optional<String> resolveCompositionName(TileObject obj) {
         ObjectComposition comp = convertToObjectComposition(obj);
         if (comp == null) {
             return Optional.empty();
@@ -1551,15 +1596,41 @@ public class Rs2GameObject {
 
         String lower = objectName.toLowerCase();
 
-        return obj -> {
-            if (!ids.isEmpty() && !ids.contains(obj.getId())) {
-                return false;
-            }
+        Predicate<T> nameFilter = obj -> getCompositionName(obj)
+                .map(compName -> exact ? compName.equalsIgnoreCase(objectName) : compName.toLowerCase().contains(lower))
+                .orElse(false);
+        return ids.isEmpty() ? nameFilter : hasId(ids, nameFilter);
+    }
 
-            return getCompositionName(obj)
-                    .map(compName -> exact ? compName.equalsIgnoreCase(objectName) : compName.toLowerCase().contains(lower))
-                    .orElse(false);
-        };
+    private static <T extends TileObject> Predicate<T> hasId(int id) {
+        return hasId(Set.of(id));
+    }
+
+    private static <T extends TileObject> Predicate<T> hasId(Set<Integer> ids) {
+        return new IdFilter<>(ids, null);
+    }
+
+    private static <T extends TileObject> Predicate<T> hasId(Set<Integer> ids, Predicate<T> filter) {
+        return new IdFilter<>(ids, filter);
+    }
+
+    /**
+     * Matches objects with one of the given ids, so the scene index can look the objects up by id.
+     */
+    private static final class IdFilter<T extends TileObject> implements Predicate<T> {
+        private final Set<Integer> ids;
+        @Nullable
+        private final Predicate<T> filter;
+
+        private IdFilter(Set<Integer> ids, @Nullable Predicate<T> filter) {
+            this.ids = ids;
+            this.filter = filter;
+        }
+
+        @Override
+        public boolean test(T object) {
+            return ids.contains(object.getId()) && (filter == null || filter.test(object));
+        }
     }
 
 	@SuppressWarnings("unchecked")
@@ -1748,8 +1819,12 @@ public class Rs2GameObject {
         }
     }
 
-    @SneakyThrows
     public static List<Integer> getObjectIdsByName(String name) {
+        return new ArrayList<>(objectIdsByName.computeIfAbsent(name.toLowerCase(), Rs2GameObject::findObjectIdsByName));
+    }
+
+    @SneakyThrows
+    private static List<Integer> findObjectIdsByName(String name) {
         List<Integer> ids = new ArrayList<>();
         String lowerName = name.toLowerCase();
 
@@ -0,0 +1,251 @@
+package net.runelite.client.plugins.microbot.util.gameobject;
+
+import net.runelite.api.*;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.api.events.*;
+import net.runelite.client.plugins.microbot.Microbot;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Index of the objects in the loaded scene, kept up to date from spawn and despawn events so that
+ * {@link Rs2GameObject} queries do not have to walk every tile of the scene.
+ * <p>
+ * Objects are bucketed by type, plane and 8x8 tile chunk of the scene, and by id. The index is built with a single
+ * scan of the scene on the first game tick after a scene load; until then {@link #isReady(WorldView)} is false and
+ * queries fall back to scanning the scene. Events are forwarded by the MicrobotPlugin on the client thread.
+ */
+public class SceneObjectIndex {
+    public enum Type {
+        GAME,
+        WALL,
+        GROUND,
+        DECORATIVE
+    }
+
+    private static final int TYPES = Type.values().length;
+    private static final int CHUNK_SHIFT = 3;
+    private static final int CHUNKS = (Constants.SCENE_SIZE + (1 << CHUNK_SHIFT) - 1) >> CHUNK_SHIFT;
+    // Objects are bucketed by their south-west tile, but distances are measured to their centre
+    private static final int MAX_OBJECT_SIZE = 1 << CHUNK_SHIFT;
+
+    private static volatile Index index;
+
+    // Object names resolved this tick, by object id; impostors only change between ticks
+    private static final Map<Integer, Optional<String>> names = new ConcurrentHashMap<>();
+
+    private static final class Index {
+        // By type, then by plane and chunk
+        private final Set<TileObject>[][] chunks;
+        // By type, then by object id, to the plane of the object
+        private final Map<Integer, Map<TileObject, Integer>>[] ids;
+
+        @SuppressWarnings("unchecked")
+        private Index() {
+            chunks = new Set[TYPES][Constants.MAX_Z * CHUNKS * CHUNKS];
+            ids = new Map[TYPES];
+            for (int type = 0; type < TYPES; type++) {
+                for (int chunk = 0; chunk < chunks[type].length; chunk++) {
+                    chunks[type][chunk] = ConcurrentHashMap.newKeySet();
+                }
+                ids[type] = new ConcurrentHashMap<>();
+            }
+        }
+
+        private void add(Type type, TileObject object, Tile tile) {
+            if (object == null) {
+                return;
+            }
+            chunks[type.ordinal()][chunk(object, tile)].add(object);
+            ids[type.ordinal()].computeIfAbsent(object.getId(), id -> new ConcurrentHashMap<>()).put(object, tile.getPlane());
+        }
+
+        private void remove(Type type, TileObject object, Tile tile) {
+            if (object == null) {
+                return;
+            }
+            chunks[type.ordinal()][chunk(object, tile)].remove(object);
+            Map<TileObject, Integer> objects = ids[type.ordinal()].get(object.getId());
+            if (objects != null) {
+                objects.remove(object);
+            }
+        }
+
+        private static int chunk(TileObject object, Tile tile) {
+            // A game object covers several tiles and is kept once, at its south-west tile
+            Point location = object instanceof GameObject ? ((GameObject) object).getSceneMinLocation() : tile.getSceneLocation();
+            int chunkX = Math.max(0, Math.min(CHUNKS - 1, location.getX() >> CHUNK_SHIFT));
+            int chunkY = Math.max(0, Math.min(CHUNKS - 1, location.getY() >> CHUNK_SHIFT));
+            return (tile.getPlane() * CHUNKS + chunkY) * CHUNKS + chunkX;
+        }
+    }
+
+    /**
+     * Whether queries on the world view can be answered from the index.
+     * Only the top level world view is indexed.
+     */
+    public static boolean isReady(WorldView worldView) {
+        return index != null && worldView != null && worldView.isTopLevel();
+    }
+
+    /**
+     * Objects of the given types on a plane that may lie within {@code distance} local units of the anchor.
+     * Callers still filter on the exact distance. When ids are given, only objects with those ids are returned
+     * and the objects are looked up by id instead of by area.
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends TileObject> List<T> find(EnumSet<Type> types, Set<Integer> objectIds, int plane, LocalPoint anchor, int distance) {
+        Index current = index;
+        if (current == null) {
+            return Collections.emptyList();
+        }
+
+        List<T> result = new ArrayList<>();
+        if (objectIds != null) {
+            for (Type type : types) {
+                for (Integer id : objectIds) {
+                    Map<TileObject, Integer> objects = current.ids[type.ordinal()].get(id);
+                    if (objects == null) {
+                        continue;
+                    }
+                    for (Map.Entry<TileObject, Integer> entry : objects.entrySet()) {
+                        if (entry.getValue() == plane) {
+                            result.add((T) entry.getKey());
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+
+        int tiles = distance / Perspective.LOCAL_TILE_SIZE + 1 + MAX_OBJECT_SIZE;
+        int minChunkX = Math.max(0, (anchor.getSceneX() - tiles) >> CHUNK_SHIFT);
+        int maxChunkX = Math.min(CHUNKS - 1, (anchor.getSceneX() + tiles) >> CHUNK_SHIFT);
+        int minChunkY = Math.max(0, (anchor.getSceneY() - tiles) >> CHUNK_SHIFT);
+        int maxChunkY = Math.min(CHUNKS - 1, (anchor.getSceneY() + tiles) >> CHUNK_SHIFT);
+        for (Type type : types) {
+            Set<TileObject>[] typeChunks = current.chunks[type.ordinal()];
+            for (int chunkY = minChunkY; chunkY <= maxChunkY; chunkY++) {
+                for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                    for (TileObject object : typeChunks[(plane * CHUNKS + chunkY) * CHUNKS + chunkX]) {
+                        result.add((T) object);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Name of an object id as resolved this tick, computing it when it has not been resolved yet.
+     */
+    static Optional<String> getName(int objectId, Supplier<Optional<String>> resolver) {
+        Optional<String> name = names.get(objectId);
+        if (name == null) {
+            name = resolver.get();
+            names.put(objectId, name);
+        }
+        return name;
+    }
+
+    private static void rebuild() {
+        Scene scene = Microbot.getClient().getTopLevelWorldView().getScene();
+        Tile[][][] tiles = scene.getTiles();
+        if (tiles == null) {
+            return;
+        }
+
+        Index rebuilt = new Index();
+        for (int z = 0; z < Constants.MAX_Z; z++) {
+            for (int x = 0; x < Constants.SCENE_SIZE; x++) {
+                for (int y = 0; y < Constants.SCENE_SIZE; y++) {
+                    Tile tile = tiles[z][x][y];
+                    if (tile == null) {
+                        continue;
+                    }
+                    for (GameObject gameObject : tile.getGameObjects()) {
+                        if (gameObject != null && gameObject.getSceneMinLocation().equals(tile.getSceneLocation())) {
+                            rebuilt.add(Type.GAME, gameObject, tile);
+                        }
+                    }
+                    rebuilt.add(Type.WALL, tile.getWallObject(), tile);
+                    rebuilt.add(Type.GROUND, tile.getGroundObject(), tile);
+                    rebuilt.add(Type.DECORATIVE, tile.getDecorativeObject(), tile);
+                }
+            }
+        }
+        index = rebuilt;
+    }
+
+    private static void add(Type type, TileObject object, Tile tile) {
+        Index current = index;
+        if (current != null && isTopLevel(object)) {
+            current.add(type, object, tile);
+        }
+    }
+
+    private static void remove(Type type, TileObject object, Tile tile) {
+        Index current = index;
+        if (current != null && isTopLevel(object)) {
+            current.remove(type, object, tile);
+        }
+    }
+
+    private static boolean isTopLevel(TileObject object) {
+        return object != null && object.getWorldView() != null && object.getWorldView().isTopLevel();
+    }
+
+    public static void onGameTick(GameTick event) {
+        names.clear();
+        if (index == null && Microbot.getClient().getGameState() == GameState.LOGGED_IN) {
+            rebuild();
+        }
+    }
+
+    public static void onGameStateChanged(GameStateChanged event) {
+        switch (event.getGameState()) {
+            case LOADING:
+            case HOPPING:
+            case LOGIN_SCREEN:
+            case CONNECTION_LOST:
+                // Spawn events for the new scene arrive while loading; the scene is scanned once it has loaded
+                index = null;
+                names.clear();
+                break;
+        }
+    }
+
+    public static void onGameObjectSpawned(GameObjectSpawned event) {
+        add(Type.GAME, event.getGameObject(), event.getTile());
+    }
+
+    public static void onGameObjectDespawned(GameObjectDespawned event) {
+        remove(Type.GAME, event.getGameObject(), event.getTile());
+    }
+
+    public static void onWallObjectSpawned(WallObjectSpawned event) {
+        add(Type.WALL, event.getWallObject(), event.getTile());
+    }
+
+    public static void onWallObjectDespawned(WallObjectDespawned event) {
+        remove(Type.WALL, event.getWallObject(), event.getTile());
+    }
+
+    public static void onGroundObjectSpawned(GroundObjectSpawned event) {
+        add(Type.GROUND, event.getGroundObject(), event.getTile());
+    }
+
+    public static void onGroundObjectDespawned(GroundObjectDespawned event) {
+        remove(Type.GROUND, event.getGroundObject(), event.getTile());
+    }
+
+    public static void onDecorativeObjectSpawned(DecorativeObjectSpawned event) {
+        add(Type.DECORATIVE, event.getDecorativeObject(), event.getTile());
+    }
+
+    public static void onDecorativeObjectDespawned(DecorativeObjectDespawned event) {
+        remove(Type.DECORATIVE, event.getDecorativeObject(), event.getTile());
+    }
+}
@@ -0,0 +1,336 @@
+package net.runelite.client.plugins.microbot.util.grounditem;
+
+import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.ImmutableTable;
+import com.google.common.collect.Table;
+import net.runelite.api.*;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.*;
+import net.runelite.client.plugins.grounditems.GroundItem;
+import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.models.RS2Item;
+import net.runelite.client.util.RSTimeUnit;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Index of the items on the ground in the loaded scene, kept up to date from item spawn, despawn and quantity
+ * events so that {@link Rs2GroundItem} queries need neither a client thread hop per tile nor the ground items plugin.
+ * <p>
+ * Items are bucketed by tile. Each tile keeps its spawned items, with their compositions resolved when they spawn,
+ * and one {@link GroundItem} per item id, merged the way the ground items plugin merges them. Prices are resolved
+ * once per item id. The index is built with a single scan of the scene on the first game tick after a scene load,
+ * or on the first query before that. Events are forwarded by the MicrobotPlugin on the client thread.
+ */
+public class GroundItemIndex {
+    private static volatile Index index;
+
+    private static final class TileItems {
+        private final Tile tile;
+        private final List<RS2Item> items = new CopyOnWriteArrayList<>();
+        private final Map<Integer, GroundItem> groundItems = new ConcurrentHashMap<>();
+
+        private TileItems(Tile tile) {
+            this.tile = tile;
+        }
+    }
+
+    private static final class Index {
+        private final Map<WorldPoint, TileItems> tiles = new ConcurrentHashMap<>();
+        // Grand exchange price of one item, by item id
+        private final Map<Integer, Integer> prices = new ConcurrentHashMap<>();
+
+        private void add(Tile tile, TileItem item) {
+            ItemComposition composition = Microbot.getItemManager().getItemComposition(item.getId());
+            TileItems tileItems = tiles.computeIfAbsent(tile.getWorldLocation(), location -> new TileItems(tile));
+            tileItems.items.add(new RS2Item(composition, tile, item));
+
+            GroundItem existing = tileItems.groundItems.get(item.getId());
+            if (existing != null) {
+                // The spawn time remains set at the oldest spawn
+                existing.setQuantity(existing.getQuantity() + item.getQuantity());
+            } else {
+                tileItems.groundItems.put(item.getId(), buildGroundItem(tile, item, composition));
+            }
+        }
+
+        private void remove(Tile tile, TileItem item) {
+            TileItems tileItems = tiles.get(tile.getWorldLocation());
+            if (tileItems == null) {
+                return;
+            }
+
+            tileItems.items.removeIf(rs2Item -> rs2Item.getTileItem() == item);
+
+            GroundItem groundItem = tileItems.groundItems.get(item.getId());
+            if (groundItem != null) {
+                if (groundItem.getQuantity() <= item.getQuantity()) {
+                    tileItems.groundItems.remove(item.getId());
+                } else {
+                    groundItem.setQuantity(groundItem.getQuantity() - item.getQuantity());
+                    // It is not known which of the stacks was picked up
+                    groundItem.setSpawnTime(null);
+                }
+            }
+
+            if (tileItems.items.isEmpty()) {
+                tiles.remove(tile.getWorldLocation());
+            }
+        }
+
+        private void changeQuantity(Tile tile, TileItem item, int diff) {
+            TileItems tileItems = tiles.get(tile.getWorldLocation());
+            GroundItem groundItem = tileItems != null ? tileItems.groundItems.get(item.getId()) : null;
+            if (groundItem != null) {
+                groundItem.setQuantity(groundItem.getQuantity() + diff);
+            }
+        }
+
+        private GroundItem buildGroundItem(Tile tile, TileItem item, ItemComposition composition) {
+            int itemId = item.getId();
+            int realItemId = composition.getNote() != -1 ? composition.getLinkedNoteId() : itemId;
+            int tickCount = Microbot.getClient().getTickCount();
+            ItemLayer itemLayer = tile.getItemLayer();
+
+            GroundItem groundItem = GroundItem.builder()
+                    .id(itemId)
+                    .location(tile.getWorldLocation())
+                    .itemId(realItemId)
+                    .quantity(item.getQuantity())
+                    .name(composition.getName())
+                    .haPrice(composition.getHaPrice())
+                    .height(itemLayer != null ? itemLayer.getHeight() : 0)
+                    .tradeable(composition.isTradeable())
+                    .ownership(item.getOwnership())
+                    .isPrivate(item.isPrivate())
+                    .spawnTime(Instant.now())
+                    .stackable(composition.isStackable())
+                    .despawnTime(Duration.of(item.getDespawnTime() - tickCount, RSTimeUnit.GAME_TICKS))
+                    .visibleTime(Duration.of(item.getVisibleTime() - tickCount, RSTimeUnit.GAME_TICKS))
+                    .build();
+
+            if (realItemId == ItemID.COINS_995) {
+                groundItem.setHaPrice(1);
+                groundItem.setGePrice(1);
+            } else {
+                groundItem.setGePrice(price(itemId));
+            }
+            return groundItem;
+        }
+
+        private int price(int itemId) {
+            return prices.computeIfAbsent(itemId, id -> Microbot.getItemManager().getItemPrice(id));
+        }
+    }
+
+    /**
+     * Items on a plane within {@code range} tiles of the anchor, in both axes, which match the filter.
+     */
+    public static List<RS2Item> getItems(WorldPoint anchor, int range, Predicate<RS2Item> filter) {
+        List<RS2Item> result = new ArrayList<>();
+        forEachTile(anchor, range, tileItems -> {
+            for (RS2Item item : tileItems.items) {
+                if (filter.test(item)) {
+                    result.add(item);
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Items on a plane within {@code range} tiles of the anchor with one of the ids, the name and a stack worth
+     * at least {@code minValue}. Null ids or name match any item.
+     */
+    public static List<RS2Item> getItems(WorldPoint anchor, int range, @Nullable Collection<Integer> ids, @Nullable String name, long minValue) {
+        return getItems(anchor, range, item ->
+                (ids == null || ids.contains(item.getTileItem().getId()))
+                        && (name == null || name.equalsIgnoreCase(item.getItem().getName()))
+                        && (minValue <= 0 || getValue(item) >= minValue));
+    }
+
+    /**
+     * Items on the tile.
+     */
+    public static List<RS2Item> getItemsAt(WorldPoint location) {
+        Index current = current();
+        TileItems tileItems = current != null ? current.tiles.get(location) : null;
+        return tileItems != null ? new ArrayList<>(tileItems.items) : Collections.emptyList();
+    }
+
+    /**
+     * Ground items on a plane within {@code range} tiles of the anchor, in both axes, which match the filter.
+     * Items with the same id on a tile are merged into one ground item.
+     */
+    public static List<GroundItem> getGroundItems(WorldPoint anchor, int range, Predicate<GroundItem> filter) {
+        List<GroundItem> result = new ArrayList<>();
+        forEachTile(anchor, range, tileItems -> {
+            for (GroundItem groundItem : tileItems.groundItems.values()) {
+                if (filter.test(groundItem)) {
+                    result.add(groundItem);
+                }
+            }
+        });
+        return result;
+    }
+
+    @Nullable
+    public static GroundItem getGroundItem(WorldPoint location, int itemId) {
+        Index current = current();
+        TileItems tileItems = current != null ? current.tiles.get(location) : null;
+        return tileItems != null ? tileItems.groundItems.get(itemId) : null;
+    }
+
+    /**
+     * A copy of all ground items in the scene, by location and item id.
+     */
+    public static Table<WorldPoint, Integer, GroundItem> getGroundItems() {
+        Index current = current();
+        if (current == null) {
+            return ImmutableTable.of();
+        }
+        Table<WorldPoint, Integer, GroundItem> table = HashBasedTable.create();
+        for (Map.Entry<WorldPoint, TileItems> entry : current.tiles.entrySet()) {
+            for (Map.Entry<Integer, GroundItem> item : entry.getValue().groundItems.entrySet()) {
+                table.put(entry.getKey(), item.getKey(), item.getValue());
+            }
+        }
+        return ImmutableTable.copyOf(table);
+    }
+
+    /**
+     * The grand exchange value of the item stack, from the price resolved when the item spawned.
+     */
+    public static long getValue(RS2Item item) {
+        Index current = index;
+        if (current == null) {
+            return 0;
+        }
+        int itemId = item.getTileItem().getId();
+        if (itemId == ItemID.COINS_995) {
+            return item.getTileItem().getQuantity();
+        }
+        Integer price = current.prices.get(itemId);
+        return price != null ? (long) price * item.getTileItem().getQuantity() : 0;
+    }
+
+    private static void forEachTile(WorldPoint anchor, int range, Consumer<TileItems> action) {
+        Index current = current();
+        if (current == null || anchor == null) {
+            return;
+        }
+
+        long area = (2L * range + 1) * (2L * range + 1);
+        if (current.tiles.size() < area) {
+            // Fewer tiles have items than are in range, so check each of them
+            for (TileItems tileItems : current.tiles.values()) {
+                WorldPoint location = tileItems.tile.getWorldLocation();
+                if (location.getPlane() == anchor.getPlane()
+                        && Math.abs(location.getX() - anchor.getX()) <= range
+                        && Math.abs(location.getY() - anchor.getY()) <= range) {
+                    action.accept(tileItems);
+                }
+            }
+            return;
+        }
+
+        for (int x = anchor.getX() - range; x <= anchor.getX() + range; x++) {
+            for (int y = anchor.getY() - range; y <= anchor.getY() + range; y++) {
+                TileItems tileItems = current.tiles.get(new WorldPoint(x, y, anchor.getPlane()));
+                if (tileItems != null) {
+                    action.accept(tileItems);
+                }
+            }
+        }
+    }
+
+    /**
+     * The index, building it with one hop to the client thread when the scene has not been scanned yet.
+     */
+    private static Index current() {
+        Index current = index;
+        if (current == null && Microbot.getClient().getGameState() == GameState.LOGGED_IN) {
+            current = Microbot.getClientThread().runOnClientThreadOptional(GroundItemIndex::rebuild).orElse(null);
+        }
+        return current;
+    }
+
+    private static Index rebuild() {
+        if (index != null) {
+            return index;
+        }
+
+        Scene scene = Microbot.getClient().getTopLevelWorldView().getScene();
+        Tile[][][] tiles = scene.getTiles();
+        if (tiles == null) {
+            return null;
+        }
+
+        Index rebuilt = new Index();
+        for (int z = 0; z < Constants.MAX_Z; z++) {
+            for (int x = 0; x < Constants.SCENE_SIZE; x++) {
+                for (int y = 0; y < Constants.SCENE_SIZE; y++) {
+                    Tile tile = tiles[z][x][y];
+                    if (tile == null) {
+                        continue;
+                    }
+                    List<TileItem> items = tile.getGroundItems();
+                    if (items == null) {
+                        continue;
+                    }
+                    for (TileItem item : items) {
+                        rebuilt.add(tile, item);
+                    }
+                }
+            }
+        }
+        index = rebuilt;
+        return rebuilt;
+    }
+
+    public static void onGameTick(GameTick event) {
+        if (index == null && Microbot.getClient().getGameState() == GameState.LOGGED_IN) {
+            rebuild();
+        }
+    }
+
+    public static void onGameStateChanged(GameStateChanged event) {
+        switch (event.getGameState()) {
+            case LOADING:
+            case HOPPING:
+            case LOGIN_SCREEN:
+            case CONNECTION_LOST:
+                // Spawn events for the new scene arrive while loading; the scene is scanned once it has loaded
+                index = null;
+                break;
+        }
+    }
+
+    public static void onItemSpawned(ItemSpawned event) {
+        Index current = index;
+        if (current != null) {
+            current.add(event.getTile(), event.getItem());
+        }
+    }
+
+    public static void onItemDespawned(ItemDespawned event) {
+        Index current = index;
+        if (current != null) {
+            current.remove(event.getTile(), event.getItem());
+        }
+    }
+
+    public static void onItemQuantityChanged(ItemQuantityChanged event) {
+        Index current = index;
+        if (current != null) {
+            current.changeQuantity(event.getTile(), event.getItem(), event.getNewQuantity() - event.getOldQuantity());
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package net.runelite.client.plugins.microbot.util.grounditem;
 
-import com.google.common.collect.ImmutableTable;
 import com.google.common.collect.Table;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.*;
@@ -8,7 +7,6 @@ import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.coords.WorldArea;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.client.plugins.grounditems.GroundItem;
-import net.runelite.client.plugins.grounditems.GroundItemsPlugin;
 import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2Inventory;
 import net.runelite.client.plugins.microbot.util.math.Rs2Random;
@@ -16,20 +14,18 @@ import net.runelite.client.plugins.microbot.util.menu.NewMenuEntry;
 import net.runelite.client.plugins.microbot.util.models.RS2Item;
 import net.runelite.client.plugins.microbot.util.player.Rs2Player;
 import net.runelite.client.plugins.microbot.util.reflection.Rs2Reflection;
-import net.runelite.client.plugins.microbot.util.tile.Rs2Tile;
 
 import java.awt.*;
 import java.time.Instant;
 import java.util.List;
 import java.util.*;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import static net.runelite.api.TileItem.OWNERSHIP_SELF;
 import static net.runelite.client.plugins.microbot.util.Global.sleepUntil;
 
 /**
- * Todo: rework this class to not be dependant on the grounditem plugin
+ * Queries and loots the items on the ground. Items are looked up in the {@link GroundItemIndex}.
  */
 @Slf4j
 public class Rs2GroundItem {
@@ -144,54 +140,19 @@ public class Rs2GroundItem {
      * @return An array of the ground items on the specified tile.
      */
     public static RS2Item[] getAllAt(int x, int y) {
-        return Microbot.getClientThread().runOnClientThreadOptional(() -> {
-            if (!Microbot.isLoggedIn()) {
-                return null;
-            }
-            List<RS2Item> list = new ArrayList<>();
-
-            Tile tile = Rs2Tile.getTile(x, y);
-            if (tile == null) {
-                return null;
-            }
-
-            List<TileItem> groundItems = tile.getGroundItems();
-
-            if (groundItems != null && !groundItems.isEmpty()) {
-                for (TileItem groundItem : groundItems) {
-                    RS2Item rs2Item = new RS2Item(Microbot.getItemManager().getItemComposition(groundItem.getId()), tile, groundItem);
-                    list.add(rs2Item);
-                }
-            }
-            return list.toArray(new RS2Item[list.size()]);
-        }).orElse(new RS2Item[] {});
+        if (!Microbot.isLoggedIn()) {
+            return new RS2Item[] {};
+        }
+        int plane = Microbot.getClient().getLocalPlayer().getWorldLocation().getPlane();
+        return GroundItemIndex.getItemsAt(new WorldPoint(x, y, plane)).toArray(new RS2Item[0]);
     }
 
     public static RS2Item[] getAll(int range) {
-        List<RS2Item> temp = new ArrayList<>();
-        int pX = Microbot.getClient().getLocalPlayer().getWorldLocation().getX();
-        int pY = Microbot.getClient().getLocalPlayer().getWorldLocation().getY();
-        int minX = pX - range, minY = pY - range;
-        int maxX = pX + range, maxY = pY + range;
-        for (int x = minX; x < maxX; x++) {
-            for (int y = minY; y < maxY; y++) {
-                RS2Item[] items = getAllAt(x, y);
-                if (items != null)
-                    for (RS2Item item : items) {
-                        if (item == null) {
-                            continue;
-                        }
-                        temp.add(item);
-                    }
-            }
-        }
+        Player player = Microbot.getClient().getLocalPlayer();
+        List<RS2Item> temp = GroundItemIndex.getItems(player.getWorldLocation(), range, item -> true);
         //sort on closest item first
-        temp = temp.stream().sorted(Comparator
-                        .comparingInt(value -> value.getTile().getLocalLocation()
-                                .distanceTo(Microbot.getClient().getLocalPlayer().getLocalLocation())))
-                .collect(Collectors.toList());
-        //filter out items based on value
-
+        LocalPoint playerLocation = player.getLocalLocation();
+        temp.sort(Comparator.comparingInt(value -> value.getTile().getLocalLocation().distanceTo(playerLocation)));
 
         return temp.toArray(new RS2Item[temp.size()]);
     }
@@ -205,32 +166,11 @@ public class Rs2GroundItem {
      *         to the center point (closest first). Returns an empty array if no items are found.
      */
     public static RS2Item[] getAllFromWorldPoint(int range, WorldPoint worldPoint) {
-        List<RS2Item> temp = new ArrayList<>();
-        int safespotX = worldPoint.getX();
-        int safespotY = worldPoint.getY();
-
-        int minX = safespotX - range, minY = safespotY - range;
-        int maxX = safespotX + range, maxY = safespotY + range;
-
-        for (int x = minX; x < maxX; x++) {
-            for (int y = minY; y < maxY; y++) {
-                RS2Item[] items = getAllAt(x, y);
-                if (items != null) {
-                    for (RS2Item item : items) {
-                        if (item == null) {
-                            continue;
-                        }
-                        temp.add(item);
-                    }
-                }
-            }
-        }
+        List<RS2Item> temp = GroundItemIndex.getItems(worldPoint, range, item -> true);
 
         // Sort items based on distance from the safespot
-        temp = temp.stream()
-                .sorted(Comparator.comparingInt(value ->
-                        value.getTile().getLocalLocation().distanceTo(new LocalPoint(safespotX, safespotY))))
-                .collect(Collectors.toList());
+        LocalPoint safespot = new LocalPoint(worldPoint.getX(), worldPoint.getY());
+        temp.sort(Comparator.comparingInt(value -> value.getTile().getLocalLocation().distanceTo(safespot)));
 
         return temp.toArray(new RS2Item[temp.size()]);
     }
@@ -250,9 +190,7 @@ public class Rs2GroundItem {
 
     public static boolean loot(String lootItem, int minQuantity, int range) {
         if (Rs2Inventory.isFull(lootItem)) return false;
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThreadOptional(() ->
-                Rs2GroundItem.getAll(range)
-        ).orElse(new RS2Item[] {});
+        RS2Item[] groundItems = Rs2GroundItem.getAll(range);
         for (RS2Item rs2Item : groundItems) {
             if (rs2Item.getItem().getName().equalsIgnoreCase(lootItem) && rs2Item.getTileItem().getQuantity() >= minQuantity) {
                 interact(rs2Item);
@@ -263,14 +201,11 @@ public class Rs2GroundItem {
     }
 
     public static boolean lootItemBasedOnValue(int value, int range) {
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThreadOptional(() ->
-                Rs2GroundItem.getAll(range)
-        ).orElse(new RS2Item[] {});
+        RS2Item[] groundItems = Rs2GroundItem.getAll(range);
         final int invSize = Rs2Inventory.size();
         for (RS2Item rs2Item : groundItems) {
             if (!hasLineOfSight(rs2Item.getTile())) continue;
-            long totalPrice = (long) Microbot.getClientThread().runOnClientThreadOptional(() ->
-                    Microbot.getItemManager().getItemPrice(rs2Item.getItem().getId()) * rs2Item.getTileItem().getQuantity()).orElse(0);
+            long totalPrice = GroundItemIndex.getValue(rs2Item);
             if (totalPrice >= value) {
                 if (Rs2Inventory.isFull()) {
                     if (Rs2Player.eatAt(100)) {
@@ -306,10 +241,10 @@ public class Rs2GroundItem {
     public static boolean waitForGroundItemDespawn(Runnable actionWhileWaiting,GroundItem groundItem){
         sleepUntil(() ->  {
             actionWhileWaiting.run();
-            sleepUntil(() -> groundItem != getGroundItems().get(groundItem.getLocation(), groundItem.getId()), Rs2Random.between(600, 2100));
-            return groundItem != getGroundItems().get(groundItem.getLocation(), groundItem.getId());
+            sleepUntil(() -> groundItem != GroundItemIndex.getGroundItem(groundItem.getLocation(), groundItem.getId()), Rs2Random.between(600, 2100));
+            return groundItem != GroundItemIndex.getGroundItem(groundItem.getLocation(), groundItem.getId());
         });
-        return groundItem != getGroundItems().get(groundItem.getLocation(), groundItem.getId());
+        return groundItem != GroundItemIndex.getGroundItem(groundItem.getLocation(), groundItem.getId());
     }
 
     private static boolean coreLoot(GroundItem groundItem) {
@@ -343,8 +278,8 @@ public class Rs2GroundItem {
         return true;
     }
 
-    private static boolean validateLoot(Predicate<GroundItem> filter) {
-        boolean hasLootableItems = hasLootableItems(filter);
+    private static boolean validateLoot(WorldPoint anchor, int range, Predicate<GroundItem> filter) {
+        boolean hasLootableItems = hasLootableItems(anchor, range, filter);
         //If there are no more lootable items we succesfully looted everything in the filter
         // true to let the script know that we succesfully looted
         if (!hasLootableItems) {
@@ -364,9 +299,8 @@ public class Rs2GroundItem {
                 groundItem.getLocation().distanceTo(Microbot.getClient().getLocalPlayer().getWorldLocation()) < params.getRange() &&
                 (!params.isAntiLureProtection() || (params.isAntiLureProtection() && groundItem.getOwnership() == OWNERSHIP_SELF));
 
-        List<GroundItem> groundItems = getGroundItems().values().stream()
-                .filter(filter)
-                .collect(Collectors.toList());
+        WorldPoint playerLocation = Microbot.getClient().getLocalPlayer().getWorldLocation();
+        List<GroundItem> groundItems = GroundItemIndex.getGroundItems(playerLocation, params.getRange(), filter);
 
         if (groundItems.size() < params.getMinItems()) return false;
         if (params.isDelayedLooting()) {
@@ -383,7 +317,7 @@ public class Rs2GroundItem {
             coreLoot(groundItem);
         }
 
-        return validateLoot(filter);
+        return validateLoot(playerLocation, params.getRange(), filter);
     }
 
     public static boolean lootItemsBasedOnNames(LootingParameters params) {
@@ -391,9 +325,8 @@ public class Rs2GroundItem {
                 groundItem.getLocation().distanceTo(Microbot.getClient().getLocalPlayer().getWorldLocation()) < params.getRange() &&
                         (!params.isAntiLureProtection() || (params.isAntiLureProtection() && groundItem.getOwnership() == OWNERSHIP_SELF)) &&
                         Arrays.stream(params.getNames()).anyMatch(name -> groundItem.getName().trim().toLowerCase().contains(name.trim().toLowerCase()));
-        List<GroundItem> groundItems = getGroundItems().values().stream()
-                .filter(filter)
-                .collect(Collectors.toList());
+        WorldPoint playerLocation = Microbot.getClient().getLocalPlayer().getWorldLocation();
+        List<GroundItem> groundItems = GroundItemIndex.getGroundItems(playerLocation, params.getRange(), filter);
         if (groundItems.size() < params.getMinItems()) return false;
         if (params.isDelayedLooting()) {
             // Get the ground item with the lowest despawn time
@@ -407,7 +340,7 @@ public class Rs2GroundItem {
             if (Rs2Inventory.getEmptySlots() <= params.getMinInvSlots()) return true;
             coreLoot(groundItem);
         }
-        return validateLoot(filter);
+        return validateLoot(playerLocation, params.getRange(), filter);
     }
 
     /**
@@ -420,14 +353,12 @@ public class Rs2GroundItem {
         final Predicate<GroundItem> filter = groundItem ->
                 groundItem.getLocation().equals(location) && groundItem.getItemId() == itemId;
 
-        List<GroundItem> groundItems = getGroundItems().values().stream()
-                .filter(filter)
-                .collect(Collectors.toList());
+        List<GroundItem> groundItems = GroundItemIndex.getGroundItems(location, 0, filter);
 
         for (GroundItem groundItem : groundItems) {
             coreLoot(groundItem);
         }
-        return validateLoot(filter);
+        return validateLoot(location, 0, filter);
     }
 
     // Loot untradables
@@ -437,9 +368,8 @@ public class Rs2GroundItem {
                         (!params.isAntiLureProtection() || (params.isAntiLureProtection() && groundItem.getOwnership() == OWNERSHIP_SELF)) &&
                         !groundItem.isTradeable() &&
                         groundItem.getId() != ItemID.COINS_995;
-        List<GroundItem> groundItems = getGroundItems().values().stream()
-                .filter(filter)
-                .collect(Collectors.toList());
+        WorldPoint playerLocation = Microbot.getClient().getLocalPlayer().getWorldLocation();
+        List<GroundItem> groundItems = GroundItemIndex.getGroundItems(playerLocation, params.getRange(), filter);
         if (groundItems.size() < params.getMinItems()) return false;
         if (params.isDelayedLooting()) {
             // Get the ground item with the lowest despawn time
@@ -453,7 +383,7 @@ public class Rs2GroundItem {
             if (Rs2Inventory.getEmptySlots() <= params.getMinInvSlots()) return true;
             coreLoot(groundItem);
         }
-        return validateLoot(filter);
+        return validateLoot(playerLocation, params.getRange(), filter);
     }
 
     // Loot coins
@@ -462,9 +392,8 @@ public class Rs2GroundItem {
                 groundItem.getLocation().distanceTo(Microbot.getClient().getLocalPlayer().getWorldLocation()) < params.getRange() &&
                         (!params.isAntiLureProtection() || (params.isAntiLureProtection() && groundItem.getOwnership() == OWNERSHIP_SELF)) &&
                         groundItem.getId() == ItemID.COINS_995;
-        List<GroundItem> groundItems = getGroundItems().values().stream()
-                .filter(filter)
-                .collect(Collectors.toList());
+        WorldPoint playerLocation = Microbot.getClient().getLocalPlayer().getWorldLocation();
+        List<GroundItem> groundItems = GroundItemIndex.getGroundItems(playerLocation, params.getRange(), filter);
         if (groundItems.size() < params.getMinItems()) return false;
         if (params.isDelayedLooting()) {
             // Get the ground item with the lowest despawn time
@@ -478,25 +407,18 @@ public class Rs2GroundItem {
             if (Rs2Inventory.getEmptySlots() <= params.getMinInvSlots()) return true;
             coreLoot(groundItem);
         }
-        return validateLoot(filter);
+        return validateLoot(playerLocation, params.getRange(), filter);
     }
 
 
-    private static boolean hasLootableItems(Predicate<GroundItem> filter) {
-        List<GroundItem> groundItems = getGroundItems().values().stream()
-                .filter(filter)
-                .collect(Collectors.toList());
-
-        return !groundItems.isEmpty();
+    private static boolean hasLootableItems(WorldPoint anchor, int range, Predicate<GroundItem> filter) {
+        return !GroundItemIndex.getGroundItems(anchor, range, filter).isEmpty();
     }
 
     public static boolean isItemBasedOnValueOnGround(int value, int range) {
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThreadOptional(() ->
-                Rs2GroundItem.getAll(range)
-        ).orElse(new RS2Item[] {});
+        RS2Item[] groundItems = Rs2GroundItem.getAll(range);
         for (RS2Item rs2Item : groundItems) {
-            long totalPrice = (long) Microbot.getClientThread().runOnClientThreadOptional(() ->
-                    Microbot.getItemManager().getItemPrice(rs2Item.getItem().getId()) * rs2Item.getTileItem().getQuantity()).orElse(0);
+            long totalPrice = GroundItemIndex.getValue(rs2Item);
             if (totalPrice >= value) {
                 return true;
             }
@@ -506,14 +428,11 @@ public class Rs2GroundItem {
 
     @Deprecated(since = "1.4.6, use lootItemsBasedOnNames(LootingParameters params)", forRemoval = true)
     public static boolean lootAllItemBasedOnValue(int value, int range) {
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThreadOptional(() ->
-                Rs2GroundItem.getAll(range)
-        ).orElse(new RS2Item[] {});
+        RS2Item[] groundItems = Rs2GroundItem.getAll(range);
         Rs2Inventory.dropEmptyVials();
         for (RS2Item rs2Item : groundItems) {
             if (Rs2Inventory.isFull(rs2Item.getItem().getName())) continue;
-            long totalPrice = (long) Microbot.getClientThread().runOnClientThreadOptional(() ->
-                    Microbot.getItemManager().getItemPrice(rs2Item.getItem().getId()) * rs2Item.getTileItem().getQuantity()).orElse(0);
+            long totalPrice = GroundItemIndex.getValue(rs2Item);
             if (totalPrice >= value) {
                 return interact(rs2Item);
             }
@@ -531,9 +450,7 @@ public class Rs2GroundItem {
     }
     public static boolean loot(int itemId, int range) {
         if (Rs2Inventory.isFull(itemId)) return false;
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThreadOptional(() ->
-                Rs2GroundItem.getAll(range)
-        ).orElse(new RS2Item[] {});
+        RS2Item[] groundItems = Rs2GroundItem.getAll(range);
         for (RS2Item rs2Item : groundItems) {
             if (rs2Item.getItem().getId() == itemId) {
                 interact(rs2Item);
@@ -564,8 +481,7 @@ public class Rs2GroundItem {
     }
 
     public static boolean interact(String itemName, String action, int range) {
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThreadOptional(() -> Rs2GroundItem.getAll(range))
-                .orElse(new RS2Item[] {});
+        RS2Item[] groundItems = Rs2GroundItem.getAll(range);
         for (RS2Item rs2Item : groundItems) {
             if (rs2Item.getItem().getName().equalsIgnoreCase(itemName)) {
                 interact(rs2Item, action);
@@ -576,8 +492,7 @@ public class Rs2GroundItem {
     }
 
     public static boolean interact(int itemId, String action, int range) {
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThreadOptional(() -> Rs2GroundItem.getAll(range))
-                .orElse(new RS2Item[] {});;
+        RS2Item[] groundItems = Rs2GroundItem.getAll(range);
         for (RS2Item rs2Item : groundItems) {
             if (rs2Item.getItem().getId() == itemId) {
                 interact(rs2Item, action);
@@ -588,8 +503,7 @@ public class Rs2GroundItem {
     }
 
     public static boolean exists(int id, int range) {
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThreadOptional(() -> Rs2GroundItem.getAll(range))
-                .orElse(new RS2Item[] {});
+        RS2Item[] groundItems = Rs2GroundItem.getAll(range);
         for (RS2Item rs2Item : groundItems) {
             if (rs2Item.getItem().getId() == id) {
                 return true;
@@ -599,7 +513,7 @@ public class Rs2GroundItem {
     }
 
     public static boolean exists(String itemName, int range) {
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThreadOptional(() -> Rs2GroundItem.getAll(range)).orElse(new RS2Item[] {});
+        RS2Item[] groundItems = Rs2GroundItem.getAll(range);
         for (RS2Item rs2Item : groundItems) {
             if (rs2Item.getItem().getName().equalsIgnoreCase(itemName)) {
                 return true;
@@ -637,6 +551,6 @@ public class Rs2GroundItem {
      * @return
      */
     public static Table<WorldPoint, Integer, GroundItem> getGroundItems() {
-        return ImmutableTable.copyOf(GroundItemsPlugin.getCollectedGroundItems());
+        return GroundItemIndex.getGroundItems();
     }
 }
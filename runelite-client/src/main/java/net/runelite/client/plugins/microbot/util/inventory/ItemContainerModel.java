@@ -0,0 +1,300 @@
+package net.runelite.client.plugins.microbot.util.inventory;
+
+import net.runelite.api.Item;
+import net.runelite.api.ItemComposition;
+import net.runelite.api.ItemContainer;
+import net.runelite.client.plugins.microbot.Microbot;
+
+import java.util.*;
+
+/**
+ * The items of an item container, such as the bank or the inventory, kept up to date from
+ * {@code ItemContainerChanged} events.
+ * <p>
+ * An update compares each slot against the previous contents and only builds new {@link Rs2ItemModel}s for the slots
+ * whose item or quantity changed, so moving one item in a full bank does not resolve every item composition again.
+ * Each update publishes an immutable {@link Snapshot} which indexes the slots by item id and by lower case name.
+ * Script threads read the latest snapshot without locking or copying. Updates are made on the client thread.
+ */
+public class ItemContainerModel {
+    private final boolean skipPlaceholders;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * @param skipPlaceholders whether bank placeholders are left out of the items
+     */
+    public ItemContainerModel(boolean skipPlaceholders) {
+        this.skipPlaceholders = skipPlaceholders;
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    public void clear() {
+        snapshot = Snapshot.EMPTY;
+    }
+
+    /**
+     * Applies the current contents of the container.
+     *
+     * @return true if any slot changed and a new snapshot was published
+     */
+    public boolean update(ItemContainer container) {
+        return update(container.getItems());
+    }
+
+    /**
+     * Applies contents by slot, where a null item or an item with id -1 is an empty slot.
+     *
+     * @return true if any slot changed and a new snapshot was published
+     */
+    public boolean update(Item[] items) {
+        Snapshot previous = snapshot;
+        int[] ids = new int[items.length];
+        int[] quantities = new int[items.length];
+        Rs2ItemModel[] slots = new Rs2ItemModel[items.length];
+        boolean changed = items.length != previous.ids.length;
+
+        for (int slot = 0; slot < items.length; slot++) {
+            Item item = items[slot];
+            int id = item != null ? item.getId() : -1;
+            int quantity = item != null ? item.getQuantity() : 0;
+            ids[slot] = id;
+            quantities[slot] = quantity;
+
+            boolean existed = slot < previous.ids.length;
+            if (existed && previous.ids[slot] == id && previous.quantities[slot] == quantity) {
+                slots[slot] = previous.slots[slot];
+                continue;
+            }
+
+            changed = true;
+            if (id == -1) {
+                continue;
+            }
+
+            Rs2ItemModel old = existed ? previous.slots[slot] : null;
+            ItemComposition composition = old != null && old.getId() == id
+                    ? old.getItemComposition()
+                    : Microbot.getItemManager().getItemComposition(id);
+            if (composition == null || (skipPlaceholders && composition.getPlaceholderTemplateId() > 0)) {
+                continue;
+            }
+            slots[slot] = new Rs2ItemModel(item, composition, slot);
+        }
+
+        if (!changed) {
+            return false;
+        }
+        snapshot = new Snapshot(ids, quantities, slots);
+        return true;
+    }
+
+    /**
+     * The contents of the container at one point in time. Lookups by item id or by exact name do not scan the items.
+     */
+    public static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(new int[0], new int[0], new Rs2ItemModel[0]);
+
+        private static final int NO_KEY = Integer.MIN_VALUE;
+        private static final int[] NO_SLOTS = new int[0];
+
+        // Raw contents by slot, including placeholders, to compare the next update against
+        private final int[] ids;
+        private final int[] quantities;
+        private final Rs2ItemModel[] slots;
+        private final List<Rs2ItemModel> items;
+
+        // Open addressing table from item id to its slots, in slot order
+        private final int[] idKeys;
+        private final int[][] idSlots;
+        // Lower case name to its slots, in slot order
+        private final Map<String, int[]> nameSlots;
+
+        private Snapshot(int[] ids, int[] quantities, Rs2ItemModel[] slots) {
+            this.ids = ids;
+            this.quantities = quantities;
+            this.slots = slots;
+
+            List<Rs2ItemModel> items = new ArrayList<>();
+            for (Rs2ItemModel item : slots) {
+                if (item != null) {
+                    items.add(item);
+                }
+            }
+            this.items = Collections.unmodifiableList(items);
+
+            // Group the slots by id by sorting (id, slot) pairs, which keeps the slots of an id in order
+            long[] pairs = new long[items.size()];
+            for (int i = 0; i < pairs.length; i++) {
+                Rs2ItemModel item = items.get(i);
+                pairs[i] = ((long) item.getId() << 32) | item.getSlot();
+            }
+            Arrays.sort(pairs);
+
+            int capacity = Integer.highestOneBit(Math.max(1, pairs.length) * 2 - 1) << 1;
+            idKeys = new int[capacity];
+            idSlots = new int[capacity][];
+            Arrays.fill(idKeys, NO_KEY);
+            for (int start = 0, end; start < pairs.length; start = end) {
+                int id = (int) (pairs[start] >> 32);
+                end = start + 1;
+                while (end < pairs.length && (int) (pairs[end] >> 32) == id) {
+                    end++;
+                }
+                int[] idSlotList = new int[end - start];
+                for (int i = start; i < end; i++) {
+                    idSlotList[i - start] = (int) pairs[i];
+                }
+                int index = indexOf(idKeys, id);
+                idKeys[index] = id;
+                idSlots[index] = idSlotList;
+            }
+
+            Map<String, List<Integer>> names = new HashMap<>();
+            for (Rs2ItemModel item : items) {
+                if (item.getName() != null) {
+                    names.computeIfAbsent(normalize(item.getName()), name -> new ArrayList<>(1)).add(item.getSlot());
+                }
+            }
+            nameSlots = new HashMap<>(names.size() * 4 / 3 + 1);
+            for (Map.Entry<String, List<Integer>> entry : names.entrySet()) {
+                nameSlots.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+            }
+        }
+
+        /**
+         * The items in slot order, leaving out empty slots.
+         */
+        public List<Rs2ItemModel> items() {
+            return items;
+        }
+
+        public int size() {
+            return items.size();
+        }
+
+        public boolean isEmpty() {
+            return items.isEmpty();
+        }
+
+        /**
+         * The item in a slot, or null if the slot is empty.
+         */
+        public Rs2ItemModel getSlot(int slot) {
+            return slot >= 0 && slot < slots.length ? slots[slot] : null;
+        }
+
+        public boolean contains(int id) {
+            return slotsOf(id).length > 0;
+        }
+
+        /**
+         * The item with the id in the lowest slot, or null.
+         */
+        public Rs2ItemModel first(int id) {
+            int[] idSlotList = slotsOf(id);
+            return idSlotList.length > 0 ? slots[idSlotList[0]] : null;
+        }
+
+        /**
+         * The item with one of the ids in the lowest slot, or null.
+         */
+        public Rs2ItemModel first(int... ids) {
+            int lowest = Integer.MAX_VALUE;
+            for (int id : ids) {
+                int[] idSlotList = slotsOf(id);
+                if (idSlotList.length > 0) {
+                    lowest = Math.min(lowest, idSlotList[0]);
+                }
+            }
+            return lowest != Integer.MAX_VALUE ? slots[lowest] : null;
+        }
+
+        public List<Rs2ItemModel> all(int id) {
+            return toItems(slotsOf(id));
+        }
+
+        /**
+         * The number of slots holding the id.
+         */
+        public int count(int id) {
+            return slotsOf(id).length;
+        }
+
+        /**
+         * The total quantity of the id over all slots.
+         */
+        public int quantity(int id) {
+            int quantity = 0;
+            for (int slot : slotsOf(id)) {
+                quantity += slots[slot].getQuantity();
+            }
+            return quantity;
+        }
+
+        /**
+         * Whether an item has the name, ignoring case.
+         */
+        public boolean containsName(String name) {
+            return name != null && nameSlots.containsKey(normalize(name));
+        }
+
+        /**
+         * The item with the name, ignoring case, in the lowest slot, or null.
+         */
+        public Rs2ItemModel firstByName(String name) {
+            int[] nameSlotList = name != null ? nameSlots.getOrDefault(normalize(name), NO_SLOTS) : NO_SLOTS;
+            return nameSlotList.length > 0 ? slots[nameSlotList[0]] : null;
+        }
+
+        /**
+         * The item with one of the names, ignoring case, in the lowest slot, or null.
+         */
+        public Rs2ItemModel firstByName(Collection<String> names) {
+            int lowest = Integer.MAX_VALUE;
+            for (String name : names) {
+                Rs2ItemModel item = firstByName(name);
+                if (item != null) {
+                    lowest = Math.min(lowest, item.getSlot());
+                }
+            }
+            return lowest != Integer.MAX_VALUE ? slots[lowest] : null;
+        }
+
+        public List<Rs2ItemModel> allByName(String name) {
+            return toItems(name != null ? nameSlots.getOrDefault(normalize(name), NO_SLOTS) : NO_SLOTS);
+        }
+
+        private List<Rs2ItemModel> toItems(int[] slotList) {
+            if (slotList.length == 0) {
+                return Collections.emptyList();
+            }
+            List<Rs2ItemModel> result = new ArrayList<>(slotList.length);
+            for (int slot : slotList) {
+                result.add(slots[slot]);
+            }
+            return result;
+        }
+
+        private int[] slotsOf(int id) {
+            int[] idSlotList = idSlots[indexOf(idKeys, id)];
+            return idSlotList != null ? idSlotList : NO_SLOTS;
+        }
+
+        private static int indexOf(int[] keys, int id) {
+            int mask = keys.length - 1;
+            int hash = id * 0x9E3779B9;
+            for (int index = (hash ^ (hash >>> 16)) & mask; ; index = (index + 1) & mask) {
+                if (keys[index] == id || keys[index] == NO_KEY) {
+                    return index;
+                }
+            }
+        }
+
+        private static String normalize(String name) {
+            return name.toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -44,7 +44,8 @@ public class Rs2Inventory {
     private static final int CAPACITY = 28;
     private static final int COLUMNS = 4;
     private static final int ROWS = 7;
-    public static List<Rs2ItemModel> inventoryItems = new ArrayList<>();
+    private static final ItemContainerModel inventoryModel = new ItemContainerModel(false);
+    public static List<Rs2ItemModel> inventoryItems = inventoryModel.snapshot().items();
     private static boolean isTrackingInventory = false;
     private static boolean isInventoryChanged = false;
 
@@ -57,17 +58,9 @@ public class Rs2Inventory {
             if (isTrackingInventory) {
                 isInventoryChanged = true;
             }
-            List<Rs2ItemModel> _inventoryItems = new ArrayList<>();
-            for (int i = 0; i < e.getItemContainer().getItems().length; i++) {
-                Item item = inventory().getItems()[i];
-                if (item.getId() == -1) continue;
-                ItemComposition itemComposition = Microbot.getClientThread().runOnClientThreadOptional(() ->
-                        Microbot.getClient().getItemDefinition(item.getId())).orElse(null);
-                if (itemComposition != null) {
-                    _inventoryItems.add(new Rs2ItemModel(item, itemComposition, i));
-                }
+            if (inventoryModel.update(e.getItemContainer())) {
+                inventoryItems = inventoryModel.snapshot().items();
             }
-            inventoryItems = _inventoryItems;
         }
     }
 
@@ -75,6 +68,13 @@ public class Rs2Inventory {
         return inventoryItems;
     }
 
+    /**
+     * The inventory as of the last container update, indexed by item id and name.
+     */
+    public static ItemContainerModel.Snapshot snapshot() {
+        return inventoryModel.snapshot();
+    }
+
     public static Stream<Rs2ItemModel> items(Predicate<Rs2ItemModel> predicate) {
         return inventoryItems.stream().filter(predicate);
     }
@@ -277,7 +277,7 @@ public class Rs2Inventory {
      * @return True if the inventory contains an item with the given ID, false otherwise.
      */
     public static boolean contains(int id) {
-        return items().stream().anyMatch(x -> x.getId() == id);
+        return snapshot().contains(id);
     }
 
     /**
@@ -288,7 +288,7 @@ public class Rs2Inventory {
      * @return True if the inventory contains all the specified IDs, false otherwise.
      */
     public static boolean contains(int[] ids) {
-        return items().stream().anyMatch(x -> Arrays.stream(ids).anyMatch(id -> id == x.getId()));
+        return snapshot().first(ids) != null;
     }
 
     /**
@@ -299,7 +299,8 @@ public class Rs2Inventory {
      * @return True if the inventory contains all the specified IDs, false otherwise.
      */
     public static boolean contains(Integer... ids) {
-        return items().stream().anyMatch(x -> Arrays.stream(ids).anyMatch(i -> i == x.getId()));
+        ItemContainerModel.Snapshot snapshot = snapshot();
+        return Arrays.stream(ids).anyMatch(snapshot::contains);
     }
 
     /**
@@ -310,7 +311,7 @@ public class Rs2Inventory {
      * @return True if the inventory contains an item with the specified name, false otherwise.
      */
     public static boolean contains(String name) {
-        return items().stream().anyMatch(x -> name.equalsIgnoreCase(x.getName()));
+        return snapshot().containsName(name);
     }
 
     /**
@@ -321,7 +322,8 @@ public class Rs2Inventory {
      * @return True if the inventory contains all the specified names, false otherwise.
      */
     public static boolean contains(String... names) {
-        return items().stream().anyMatch(x -> Arrays.stream(names).anyMatch(name -> name.equalsIgnoreCase(x.getName())));
+        ItemContainerModel.Snapshot snapshot = snapshot();
+        return Arrays.stream(names).anyMatch(snapshot::containsName);
     }
 
     /**
@@ -343,7 +345,8 @@ public class Rs2Inventory {
      * @return True if the inventory contains all the specified IDs, false otherwise.
      */
     public static boolean containsAll(int... ids) {
-        return Arrays.stream(ids).allMatch(x -> items().stream().anyMatch(y -> y.getId() == x));
+        ItemContainerModel.Snapshot snapshot = snapshot();
+        return Arrays.stream(ids).allMatch(snapshot::contains);
     }
 
     /**
@@ -365,7 +368,7 @@ public class Rs2Inventory {
      * @return The count of items that match the ID.
      */
     public static int count(int id) {
-        return (int) items().stream().filter(x -> x.getId() == id).count();
+        return snapshot().count(id);
     }
 
     /**
@@ -761,7 +764,7 @@ public class Rs2Inventory {
      */
     public static Rs2ItemModel get(Integer id) {
         if (id == null) return null;
-        return items().stream().filter(x -> x.getId() == id).findFirst().orElse(null);
+        return snapshot().first(id);
     }
 
     /**
@@ -772,7 +775,7 @@ public class Rs2Inventory {
      * @return The first item that matches one of the IDs, or null if not found.
      */
     public static Rs2ItemModel get(Integer... ids) {
-        return items().stream().filter(x -> Arrays.stream(ids).anyMatch(i -> i == x.getId())).findFirst().orElse(null);
+        return snapshot().first(Arrays.stream(ids).mapToInt(Integer::intValue).toArray());
     }
 
     /**
@@ -797,7 +800,7 @@ public class Rs2Inventory {
      */
     public static Rs2ItemModel get(String name, boolean exact) {
         if (exact)
-            return items().stream().filter(x -> x.getName().equalsIgnoreCase(name)).findFirst().orElse(null);
+            return snapshot().firstByName(name);
         else
             return items().stream().filter(x -> x.getName().toLowerCase().contains(name.toLowerCase())).findFirst().orElse(null);
     }
@@ -813,7 +816,7 @@ public class Rs2Inventory {
     public static Rs2ItemModel get(String name, boolean stackable, boolean exact) {
         if (!stackable) {
             if (exact)
-                return items().stream().filter(x -> x.getName().equalsIgnoreCase(name)).findFirst().orElse(null);
+                return snapshot().firstByName(name);
             else
                 return items().stream().filter(x -> x.getName().toLowerCase().contains(name.toLowerCase())).findFirst().orElse(null);
         }
@@ -832,7 +835,7 @@ public class Rs2Inventory {
      * @return The item with one of the specified names, or null if not found.
      */
     public static Rs2ItemModel get(String... names) {
-        return items().stream().filter(x -> Arrays.stream(names).anyMatch(n -> n.equalsIgnoreCase(x.getName()))).findFirst().orElse(null);
+        return snapshot().firstByName(Arrays.asList(names));
     }
 
     /**
@@ -845,7 +848,7 @@ public class Rs2Inventory {
      */
     public static Rs2ItemModel get(List<String> names, boolean exact) {
         if (exact) {
-            return items().stream().filter(x -> names.stream().anyMatch(n -> n.equalsIgnoreCase(x.getName()))).findFirst().orElse(null);
+            return snapshot().firstByName(names);
         } else {
             return items().stream().filter(x -> names.stream().anyMatch(n -> n.toLowerCase().contains(x.getName().split("\\(")[0].toLowerCase()))).findFirst().orElse(null);
         }
@@ -951,9 +954,9 @@ public class Rs2Inventory {
         if (rs2Item.isStackable()) {
             return rs2Item.getQuantity() >= amount;
         } else if (exact){
-            return items().stream().filter(x -> x.getId() == id).count() == amount;
+            return snapshot().count(id) == amount;
         } else {
-            return items().stream().filter(x -> x.getId() == id).count() >= amount;
+            return snapshot().count(id) >= amount;
 
         }
     }
@@ -999,7 +1002,7 @@ public class Rs2Inventory {
     public static boolean hasItemAmount(String name, int amount, boolean stackable, boolean exact) {
         if (!stackable) {
             if (exact) {
-                return items().stream().filter(x -> x.getName().equalsIgnoreCase(name)).count() >= amount;
+                return snapshot().allByName(name).size() >= amount;
             } else {
                 return items().stream().filter(x -> x.getName().toLowerCase().contains(name.toLowerCase())).count() >= amount;
             }
@@ -0,0 +1,260 @@
+package net.runelite.client.plugins.microbot.util.npc;
+
+import net.runelite.api.Actor;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.NPC;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.ClientSnapshot;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * The NPCs of one game tick, built from the {@link ClientSnapshot} of the tick so that a script loop running many
+ * NPC queries reads the client once.
+ * <p>
+ * Each NPC gets one {@link Rs2NpcModel} for the tick, and the NPCs are indexed by id, by lower case name and by
+ * whether they are interacting with the local player. Distances to the local player are computed once, and the NPCs
+ * are only sorted by distance the first time a query needs them in that order.
+ */
+public class NpcIndex {
+    private static final int[] NONE = new int[0];
+    // Index of no NPCs, answered while logged out, hopping or loading, when no ticks drop the last tick's NPCs
+    private static final NpcIndex EMPTY = new NpcIndex(null, -1, null, Collections.emptyList());
+
+    private static volatile NpcIndex current;
+
+    // Null for an index that was not built from a snapshot
+    @Nullable
+    private final ClientSnapshot snapshot;
+    private final int tick;
+    private final Rs2NpcModel[] npcs;
+    // Local distance of each NPC to the local player, Integer.MAX_VALUE when unknown
+    private final int[] distances;
+    private final Map<Integer, int[]> byId;
+    private final Map<String, int[]> byName;
+    private final int[] interactingWithPlayer;
+    // NPC positions in order of distance, sorted on first use
+    private volatile int[] byDistance;
+
+    private NpcIndex(ClientSnapshot snapshot) {
+        this(snapshot, snapshot.getTick(), snapshot.getLocalPlayer(), snapshot.getNpcs());
+    }
+
+    /**
+     * Builds an index of the NPCs as seen by the local player, without a snapshot of the rest of the client.
+     */
+    NpcIndex(@Nullable ClientSnapshot.ActorSnapshot localPlayer, List<ClientSnapshot.ActorSnapshot> npcSnapshots) {
+        this(null, -1, localPlayer, npcSnapshots);
+    }
+
+    private NpcIndex(@Nullable ClientSnapshot snapshot, int tick, @Nullable ClientSnapshot.ActorSnapshot localPlayer,
+                     List<ClientSnapshot.ActorSnapshot> npcSnapshots) {
+        this.snapshot = snapshot;
+        this.tick = tick;
+
+        List<ClientSnapshot.ActorSnapshot> actors = new ArrayList<>();
+        for (ClientSnapshot.ActorSnapshot actor : npcSnapshots) {
+            // Same as the client's NPC list, where an NPC without a name has not loaded yet
+            if (actor.getName() != null) {
+                actors.add(actor);
+            }
+        }
+
+        LocalPoint playerLocation = localPlayer != null ? localPlayer.getLocalLocation() : null;
+        Actor player = localPlayer != null ? localPlayer.getActor() : null;
+
+        npcs = new Rs2NpcModel[actors.size()];
+        distances = new int[actors.size()];
+        Map<Integer, List<Integer>> ids = new HashMap<>();
+        Map<String, List<Integer>> names = new HashMap<>();
+        List<Integer> interacting = new ArrayList<>();
+        for (int i = 0; i < npcs.length; i++) {
+            ClientSnapshot.ActorSnapshot actor = actors.get(i);
+            npcs[i] = new Rs2NpcModel((NPC) actor.getActor());
+            LocalPoint location = actor.getLocalLocation();
+            distances[i] = location != null && playerLocation != null ? location.distanceTo(playerLocation) : Integer.MAX_VALUE;
+
+            ids.computeIfAbsent(actor.getId(), id -> new ArrayList<>(1)).add(i);
+            names.computeIfAbsent(normalize(actor.getName()), name -> new ArrayList<>(1)).add(i);
+            if (player != null && actor.getInteracting() == player) {
+                interacting.add(i);
+            }
+        }
+        byId = toArrays(ids);
+        byName = toArrays(names);
+        interactingWithPlayer = interacting.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * The NPCs of the current tick, built on first use in the tick. On the client thread, where NPCs can change
+     * between ticks, the NPCs are read afresh on each call. Empty unless logged in, since no ticks fire to replace
+     * the NPCs of the last scene while logged out, hopping or loading.
+     */
+    public static NpcIndex current() {
+        Client client = Microbot.getClient();
+        if (client.getGameState() != GameState.LOGGED_IN) {
+            return EMPTY;
+        }
+        if (client.isClientThread()) {
+            return new NpcIndex(ClientSnapshot.request().capture());
+        }
+        ClientSnapshot snapshot = ClientSnapshot.current();
+        NpcIndex index = current;
+        if (index == null || index.snapshot != snapshot) {
+            index = new NpcIndex(snapshot);
+            current = index;
+        }
+        return index;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    public int size() {
+        return npcs.length;
+    }
+
+    /**
+     * All NPCs, nearest to the local player first.
+     */
+    public List<Rs2NpcModel> all() {
+        return toModels(sortedByDistance());
+    }
+
+    /**
+     * The NPCs which match the filter, nearest to the local player first.
+     */
+    public List<Rs2NpcModel> all(Predicate<Rs2NpcModel> filter) {
+        return nearest(Integer.MAX_VALUE, filter);
+    }
+
+    /**
+     * The NPCs which match the filter, nearest to the local player first. The stream is lazy, so with a
+     * short-circuiting operation such as {@link Stream#findFirst()} the filter is only tested until a match is found.
+     */
+    public Stream<Rs2NpcModel> stream(Predicate<Rs2NpcModel> filter) {
+        return Arrays.stream(sortedByDistance()).mapToObj(position -> npcs[position]).filter(filter);
+    }
+
+    /**
+     * Up to {@code limit} NPCs which match the filter, nearest to the local player first. The filter is only
+     * tested until enough NPCs are found.
+     */
+    public List<Rs2NpcModel> nearest(int limit, Predicate<Rs2NpcModel> filter) {
+        List<Rs2NpcModel> result = new ArrayList<>(Math.min(limit, npcs.length));
+        for (int position : sortedByDistance()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (filter.test(npcs[position])) {
+                result.add(npcs[position]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The nearest NPC which matches the filter, or null.
+     */
+    @Nullable
+    public Rs2NpcModel nearest(Predicate<Rs2NpcModel> filter) {
+        List<Rs2NpcModel> nearest = nearest(1, filter);
+        return nearest.isEmpty() ? null : nearest.get(0);
+    }
+
+    /**
+     * The NPCs with the id, nearest first.
+     */
+    public List<Rs2NpcModel> byId(int id) {
+        return sorted(byId.getOrDefault(id, NONE));
+    }
+
+    /**
+     * The NPCs with the name, ignoring case, nearest first.
+     */
+    public List<Rs2NpcModel> byName(String name) {
+        return name != null ? sorted(byName.getOrDefault(normalize(name), NONE)) : Collections.emptyList();
+    }
+
+    /**
+     * The NPCs interacting with the local player, nearest first.
+     */
+    public List<Rs2NpcModel> interactingWithPlayer() {
+        return sorted(interactingWithPlayer);
+    }
+
+    /**
+     * The local distance of the NPC to the local player as of the tick, or Integer.MAX_VALUE if the NPC is not in
+     * the index or its location is unknown.
+     */
+    public int distanceTo(Rs2NpcModel npc) {
+        for (int position : byId.getOrDefault(npc.getId(), NONE)) {
+            if (npcs[position].getRuneliteNpc() == npc.getRuneliteNpc()) {
+                return distances[position];
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private int[] sortedByDistance() {
+        int[] sorted = byDistance;
+        if (sorted == null) {
+            // Sort (distance, position) pairs, keeping the client's order between NPCs at the same distance
+            long[] pairs = new long[npcs.length];
+            for (int i = 0; i < pairs.length; i++) {
+                pairs[i] = (long) distances[i] << 32 | i;
+            }
+            Arrays.sort(pairs);
+            sorted = new int[pairs.length];
+            for (int i = 0; i < pairs.length; i++) {
+                sorted[i] = (int) pairs[i];
+            }
+            byDistance = sorted;
+        }
+        return sorted;
+    }
+
+    private List<Rs2NpcModel> sorted(int[] positions) {
+        if (positions.length == 0) {
+            return Collections.emptyList();
+        }
+        int[] copy = positions.clone();
+        if (copy.length > 1) {
+            long[] pairs = new long[copy.length];
+            for (int i = 0; i < copy.length; i++) {
+                pairs[i] = (long) distances[copy[i]] << 32 | copy[i];
+            }
+            Arrays.sort(pairs);
+            for (int i = 0; i < copy.length; i++) {
+                copy[i] = (int) pairs[i];
+            }
+        }
+        return toModels(copy);
+    }
+
+    private List<Rs2NpcModel> toModels(int[] positions) {
+        List<Rs2NpcModel> models = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            models.add(npcs[position]);
+        }
+        return models;
+    }
+
+    private static <K> Map<K, int[]> toArrays(Map<K, List<Integer>> lists) {
+        Map<K, int[]> arrays = new HashMap<>(lists.size() * 4 / 3 + 1);
+        for (Map.Entry<K, List<Integer>> entry : lists.entrySet()) {
+            arrays.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+        return arrays;
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
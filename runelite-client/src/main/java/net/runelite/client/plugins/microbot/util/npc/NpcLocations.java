@@ -0,0 +1,355 @@
+package net.runelite.client.plugins.microbot.util.npc;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.coords.WorldPoint;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * The spawn locations of npcs by name, read from the binary file which the npc-locations goal of the runelite maven
+ * plugin writes at build time, or from the json it is converted from when the binary file is not on the class path.
+ * <p>
+ * Only the table of npc names is read up front. The locations of an npc are decoded the first time they are asked
+ * for, together with a grid of its spawns for nearest spawn queries. The binary file is memory mapped when it is a
+ * plain file, as when running from the build output, and read into memory when it is inside a jar.
+ */
+@Slf4j
+final class NpcLocations {
+    private static final String BINARY_RESOURCE = "/npc/npcs_locations.bin";
+    private static final String JSON_RESOURCE = "/npc/npcs_locations.json";
+    private static final int MAGIC = 0x4e4c4f43;
+    private static final int VERSION = 1;
+
+    // Spawns are bucketed into cells of 32 by 32 tiles
+    private static final int CELL_SHIFT = 5;
+    private static final int CELL_SIZE = 1 << CELL_SHIFT;
+
+    private static final NpcLocations EMPTY = new NpcLocations(null, Collections.emptyMap());
+
+    // The locations of all npcs, positioned after the name table, or null when loaded from json
+    private final ByteBuffer data;
+    private final Map<String, Integer> offsets;
+    private final Map<String, Npc> npcs = new ConcurrentHashMap<>();
+
+    private NpcLocations(ByteBuffer data, Map<String, Integer> offsets) {
+        this.data = data;
+        this.offsets = offsets;
+    }
+
+    /**
+     * The locations of one npc, with its spawns in primitive arrays grouped by grid cell.
+     */
+    static final class Npc {
+        private static final Npc NONE = new Npc(Collections.emptyList());
+
+        final List<MonsterLocation> locations;
+        // Spawns packed as plane << 28 | x << 14 | y, and the index of the location of each, in cell order
+        private final int[] spawns;
+        private final int[] spawnLocations;
+        // Sorted cell keys, and the first spawn of each cell with a trailing end index
+        private final int[] cells;
+        private final int[] cellStarts;
+        private final int minCellX, maxCellX, minCellY, maxCellY;
+
+        Npc(List<MonsterLocation> locations) {
+            this.locations = Collections.unmodifiableList(locations);
+
+            int count = 0;
+            for (MonsterLocation location : locations) {
+                count += location.getCoords().size();
+            }
+
+            // Sort (cell, spawn) pairs to group the spawns by cell
+            int[] packed = new int[count];
+            int[] owners = new int[count];
+            long[] pairs = new long[count];
+            int spawn = 0;
+            for (int i = 0; i < locations.size(); i++) {
+                for (WorldPoint point : locations.get(i).getCoords()) {
+                    packed[spawn] = point.getPlane() << 28 | point.getX() << 14 | point.getY();
+                    owners[spawn] = i;
+                    pairs[spawn] = (long) cellKey(point.getX() >> CELL_SHIFT, point.getY() >> CELL_SHIFT) << 32 | spawn;
+                    spawn++;
+                }
+            }
+            Arrays.sort(pairs);
+
+            spawns = new int[count];
+            spawnLocations = new int[count];
+            int[] cellKeys = new int[count];
+            int[] starts = new int[count + 1];
+            int cellCount = 0;
+            int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, minY = Integer.MAX_VALUE, maxY = Integer.MIN_VALUE;
+            for (int i = 0; i < count; i++) {
+                int key = (int) (pairs[i] >>> 32);
+                int original = (int) pairs[i];
+                spawns[i] = packed[original];
+                spawnLocations[i] = owners[original];
+                if (cellCount == 0 || cellKeys[cellCount - 1] != key) {
+                    cellKeys[cellCount] = key;
+                    starts[cellCount] = i;
+                    cellCount++;
+                }
+                minX = Math.min(minX, key >>> 16);
+                maxX = Math.max(maxX, key >>> 16);
+                minY = Math.min(minY, key & 0xffff);
+                maxY = Math.max(maxY, key & 0xffff);
+            }
+            starts[cellCount] = count;
+            cells = Arrays.copyOf(cellKeys, cellCount);
+            cellStarts = Arrays.copyOf(starts, cellCount + 1);
+            minCellX = minX;
+            maxCellX = maxX;
+            minCellY = minY;
+            maxCellY = maxY;
+        }
+
+        /**
+         * The spawn nearest to the point, by the larger of the x and y distances and ignoring the plane,
+         * among the spawns of the locations which match the filter.
+         *
+         * @return the spawn, or null if no location matches
+         */
+        WorldPoint nearest(WorldPoint from, Predicate<MonsterLocation> filter) {
+            if (cells.length == 0) {
+                return null;
+            }
+
+            boolean[] allowed = new boolean[locations.size()];
+            boolean anyAllowed = false;
+            for (int i = 0; i < allowed.length; i++) {
+                allowed[i] = filter.test(locations.get(i));
+                anyAllowed |= allowed[i];
+            }
+            if (!anyAllowed) {
+                return null;
+            }
+
+            int x = from.getX();
+            int y = from.getY();
+            int cellX = x >> CELL_SHIFT;
+            int cellY = y >> CELL_SHIFT;
+            int rings = Math.max(Math.max(Math.abs(cellX - minCellX), Math.abs(cellX - maxCellX)),
+                    Math.max(Math.abs(cellY - minCellY), Math.abs(cellY - maxCellY)));
+
+            int best = -1;
+            int bestDistance = Integer.MAX_VALUE;
+            for (int ring = 0; ring <= rings; ring++) {
+                // Every spawn in this ring of cells is more than (ring - 1) cells away
+                if (best != -1 && bestDistance <= (ring - 1) * CELL_SIZE) {
+                    break;
+                }
+                for (int dx = -ring; dx <= ring; dx++) {
+                    boolean edge = dx == -ring || dx == ring;
+                    for (int dy = -ring; dy <= ring; dy += edge || ring == 0 ? 1 : 2 * ring) {
+                        int cell = indexOfCell(cellX + dx, cellY + dy);
+                        if (cell < 0) {
+                            continue;
+                        }
+                        for (int i = cellStarts[cell]; i < cellStarts[cell + 1]; i++) {
+                            if (!allowed[spawnLocations[i]]) {
+                                continue;
+                            }
+                            int distance = Math.max(Math.abs(spawnX(spawns[i]) - x), Math.abs(spawnY(spawns[i]) - y));
+                            if (distance < bestDistance) {
+                                best = i;
+                                bestDistance = distance;
+                            }
+                        }
+                    }
+                }
+            }
+            return best != -1 ? new WorldPoint(spawnX(spawns[best]), spawnY(spawns[best]), spawns[best] >>> 28) : null;
+        }
+
+        /**
+         * The location of the spawn nearest to the point among the locations which match the filter, or null.
+         */
+        MonsterLocation nearestLocation(WorldPoint from, Predicate<MonsterLocation> filter) {
+            WorldPoint spawn = nearest(from, filter);
+            if (spawn == null) {
+                return null;
+            }
+            for (MonsterLocation location : locations) {
+                if (filter.test(location) && location.getCoords().contains(spawn)) {
+                    return location;
+                }
+            }
+            return null;
+        }
+
+        private int indexOfCell(int cellX, int cellY) {
+            if (cellX < 0 || cellY < 0 || cellX > 0xffff || cellY > 0xffff) {
+                return -1;
+            }
+            int index = Arrays.binarySearch(cells, cellKey(cellX, cellY));
+            return index >= 0 ? index : -1;
+        }
+
+        private static int cellKey(int cellX, int cellY) {
+            return cellX << 16 | cellY;
+        }
+
+        private static int spawnX(int spawn) {
+            return (spawn >>> 14) & 0x3fff;
+        }
+
+        private static int spawnY(int spawn) {
+            return spawn & 0x3fff;
+        }
+    }
+
+    Set<String> names() {
+        return data != null ? offsets.keySet() : npcs.keySet();
+    }
+
+    /**
+     * The locations of the npc with the name, matching case, decoding them on first use.
+     */
+    Npc get(String name) {
+        if (name == null) {
+            return Npc.NONE;
+        }
+        Npc npc = npcs.get(name);
+        if (npc != null || data == null) {
+            return npc != null ? npc : Npc.NONE;
+        }
+        Integer offset = offsets.get(name);
+        if (offset == null) {
+            return Npc.NONE;
+        }
+        return npcs.computeIfAbsent(name, key -> new Npc(decode(offset)));
+    }
+
+    private List<MonsterLocation> decode(int offset) {
+        ByteBuffer buffer = data.duplicate();
+        buffer.position(data.position() + offset);
+
+        int count = buffer.getShort() & 0xffff;
+        List<MonsterLocation> locations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            MonsterLocation location = new MonsterLocation();
+            location.setLocationName(readString(buffer));
+            int mapId = buffer.getInt();
+            location.setMapID(mapId != -1 ? mapId : null);
+
+            int spawns = buffer.getInt();
+            List<WorldPoint> coords = new ArrayList<>(spawns);
+            for (int j = 0; j < spawns; j++) {
+                int spawn = buffer.getInt();
+                coords.add(new WorldPoint(Npc.spawnX(spawn), Npc.spawnY(spawn), spawn >>> 28));
+            }
+            location.setCoords(coords);
+            locations.add(location);
+        }
+        return locations;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xffff];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static NpcLocations load() {
+        URL url = NpcLocations.class.getResource(BINARY_RESOURCE);
+        if (url != null) {
+            try {
+                NpcLocations locations = fromBinary(map(url));
+                log.debug("Loaded the locations of {} npcs from {}", locations.offsets.size(), BINARY_RESOURCE);
+                return locations;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Unable to load {}, falling back to {}", BINARY_RESOURCE, JSON_RESOURCE, e);
+            }
+        }
+        return fromJson();
+    }
+
+    private static ByteBuffer map(URL url) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            try (FileChannel channel = FileChannel.open(Paths.get(url.toURI()), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (URISyntaxException e) {
+                throw new IOException(e);
+            }
+        }
+        try (InputStream in = url.openStream()) {
+            return ByteBuffer.wrap(in.readAllBytes());
+        }
+    }
+
+    private static NpcLocations fromBinary(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("unsupported npc locations file");
+        }
+        int count = buffer.getInt();
+        Map<String, Integer> offsets = new HashMap<>(count * 4 / 3 + 1);
+        for (int i = 0; i < count; i++) {
+            String name = readString(buffer);
+            offsets.put(name, buffer.getInt());
+        }
+        return new NpcLocations(buffer.slice(), offsets);
+    }
+
+    private static NpcLocations fromJson() {
+        Type type = new TypeToken<Map<String, List<MonsterLocationDTO>>>() {}.getType();
+        Map<String, List<MonsterLocationDTO>> rawMap;
+        try (InputStream inputStream = NpcLocations.class.getResourceAsStream(JSON_RESOURCE)) {
+            if (inputStream == null) {
+                log.warn("No location data found in {}", JSON_RESOURCE);
+                return EMPTY;
+            }
+            rawMap = new Gson().fromJson(new InputStreamReader(inputStream, StandardCharsets.UTF_8), type);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        if (rawMap == null) {
+            return EMPTY;
+        }
+
+        NpcLocations locations = new NpcLocations(null, Collections.emptyMap());
+        for (Map.Entry<String, List<MonsterLocationDTO>> entry : rawMap.entrySet()) {
+            List<MonsterLocation> converted = new ArrayList<>(entry.getValue().size());
+            for (MonsterLocationDTO dto : entry.getValue()) {
+                converted.add(dtoToMonsterLocation(dto));
+            }
+            locations.npcs.put(entry.getKey(), new Npc(converted));
+        }
+        log.info("Loaded {} NPC names with location data from {}", locations.npcs.size(), JSON_RESOURCE);
+        return locations;
+    }
+
+    /**
+     * Converts a MonsterLocationDTO to our MonsterLocation model,
+     * turning coords into WorldPoints.
+     */
+    private static MonsterLocation dtoToMonsterLocation(MonsterLocationDTO dto) {
+        MonsterLocation loc = new MonsterLocation();
+        loc.setLocationName(dto.getLocation_name());
+        loc.setMapID(dto.getMapID());
+
+        if (dto.getCoords() != null) {
+            for (List<Integer> coord : dto.getCoords()) {
+                if (coord.size() == 3) {
+                    loc.getCoords().add(new WorldPoint(coord.get(0), coord.get(1), coord.get(2)));
+                }
+            }
+        }
+        return loc;
+    }
+}
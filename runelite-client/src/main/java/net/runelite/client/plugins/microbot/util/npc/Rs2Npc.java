@@ -117,14 +117,8 @@ public class Rs2Npc {
      * @return A sorted list of {@link Rs2NpcModel} objects matching the given criteria.
      */
     public static Stream<Rs2NpcModel> getNpcsForPlayer(Predicate<Rs2NpcModel> predicate) {
-        List<Rs2NpcModel> npcs = getNpcs(x -> Objects.equals(x.getInteracting(), Microbot.getClient().getLocalPlayer()))
-                .filter(predicate)
-                .sorted(Comparator.comparingInt(value ->
-                        value.getLocalLocation().distanceTo(
-                                Microbot.getClient().getLocalPlayer().getLocalLocation())))
-                .collect(Collectors.toList());
-
-        return npcs.stream();
+        return NpcIndex.current().interactingWithPlayer().stream()
+                .filter(predicate);
     }
 
     /**
@@ -149,8 +143,7 @@ public class Rs2Npc {
             String npcName = x.getName();
             if (npcName == null || npcName.isEmpty()) return false;
             return (exact ? npcName.equalsIgnoreCase(name) : npcName.toLowerCase().contains(name.toLowerCase()));
-        }).sorted(Comparator.comparingInt(value -> value.getLocalLocation().distanceTo(Microbot.getClient().getLocalPlayer().getLocalLocation())))
-          .collect(Collectors.toList());
+        }).collect(Collectors.toList());
     }
 
     /**
@@ -192,20 +185,14 @@ public class Rs2Npc {
      * <p>This method filters NPCs based on the specified predicate, allowing for flexible
      * selection of NPCs based on various attributes such as name, interaction status, health, etc.</p>
      *
+     * <p>The NPCs come from the {@link NpcIndex} of the current game tick, so repeated calls within a tick read
+     * the client once. The stream is lazy, so {@code findFirst()} stops testing the predicate at the nearest match.</p>
+     *
      * @param predicate A {@link Predicate} that defines the filtering condition for NPCs.
      * @return A sorted {@link Stream} of {@link Rs2NpcModel} objects that match the given predicate.
      */
     public static Stream<Rs2NpcModel> getNpcs(Predicate<Rs2NpcModel> predicate) {
-        List<Rs2NpcModel> npcList = Optional.of(Microbot.getClient().getTopLevelWorldView().npcs().stream()
-                .filter(Objects::nonNull)
-                .map(Rs2NpcModel::new)
-                .filter(x -> x.getName() != null)
-                .filter(predicate)
-                .sorted(Comparator.comparingInt(value -> value.getLocalLocation().distanceTo(Microbot.getClient().getLocalPlayer().getLocalLocation())))
-                .collect(Collectors.toList()))
-                .orElse(new ArrayList<>());
-
-        return npcList.stream();
+        return NpcIndex.current().stream(predicate);
     }
 
     /**
@@ -238,10 +225,11 @@ public class Rs2Npc {
      */
     public static Stream<Rs2NpcModel> getNpcs(String name, boolean exact) {
         if (name == null || name.isEmpty()) return Stream.empty();
+        if (exact) return NpcIndex.current().byName(name).stream();
         return getNpcs(npc -> {
             String npcName = npc.getName();
             if (npcName == null || npcName.isEmpty()) return false;
-            return exact ? npcName.equalsIgnoreCase(name) : npcName.toLowerCase().contains(name.toLowerCase());
+            return npcName.toLowerCase().contains(name.toLowerCase());
         });
     }
 
@@ -264,7 +252,7 @@ public class Rs2Npc {
      * @return A {@link Stream} of {@link Rs2NpcModel} objects that match the given NPC ID.
      */
     public static Stream<Rs2NpcModel> getNpcs(int id) {
-        return getNpcs().filter(x -> x.getId() == id);
+        return NpcIndex.current().byId(id).stream();
     }
 
     /**
@@ -283,10 +271,7 @@ public class Rs2Npc {
      */
     public static Stream<Rs2NpcModel> getAttackableNpcs() {
         return getNpcs(npc -> npc.getCombatLevel() > 0 && !npc.isDead())
-                .filter(npc -> Rs2Player.isInMulti() || !npc.isInteracting())
-                .sorted(Comparator.comparingInt(value ->
-                        value.getLocalLocation().distanceTo(
-                                Microbot.getClient().getLocalPlayer().getLocalLocation())));
+                .filter(npc -> Rs2Player.isInMulti() || !npc.isInteracting());
     }
 
     /**
@@ -312,10 +297,7 @@ public class Rs2Npc {
         return getNpcs(npc -> npc.getCombatLevel() > 0
                 && !npc.isDead()
                 && (!reachable || playerLocation.distanceToPath(npc.getWorldLocation()) < Integer.MAX_VALUE)
-                && (!npc.isInteracting() || Objects.equals(npc.getInteracting(), Microbot.getClient().getLocalPlayer())))
-                .sorted(Comparator.comparingInt(value ->
-                        value.getLocalLocation().distanceTo(
-                                Microbot.getClient().getLocalPlayer().getLocalLocation())));
+                && (!npc.isInteracting() || Objects.equals(npc.getInteracting(), Microbot.getClient().getLocalPlayer())));
     }
 
     /**
@@ -362,7 +344,6 @@ public class Rs2Npc {
     public static Rs2NpcModel[] getPestControlPortals() {
         return getNpcs("portal", false)
                 .filter(npc -> !npc.isDead() && npc.getHealthRatio() > 0)
-                .sorted(Comparator.comparingInt(value -> value.getLocalLocation().distanceTo(Microbot.getClient().getLocalPlayer().getLocalLocation())))
                 .toArray(Rs2NpcModel[]::new);
     }
 
@@ -406,7 +387,7 @@ public class Rs2Npc {
      * @return The first {@link Rs2NpcModel} that matches the given ID, or {@code null} if no match is found.
      */
     public static Rs2NpcModel getNpc(int id) {
-        return getNpcs(x -> x.getId() == id)
+        return getNpcs(id)
                 .findFirst()
                 .orElse(null);
     }
@@ -427,8 +408,9 @@ public class Rs2Npc {
      * @return An {@link Optional} containing the closest matching {@link Rs2NpcModel}, or empty if no match is found.
      */
     public static Optional<Rs2NpcModel> getNpc(int id, List<Integer> excludedIndexes) {
-        return getNpcs(x -> x.getId() == id && !excludedIndexes.contains(x.getIndex()))
-                .min(Comparator.comparingInt(value -> value.getLocalLocation().distanceTo(Microbot.getClient().getLocalPlayer().getLocalLocation())));
+        return getNpcs(id)
+                .filter(x -> !excludedIndexes.contains(x.getIndex()))
+                .findFirst();
     }
 
     /**
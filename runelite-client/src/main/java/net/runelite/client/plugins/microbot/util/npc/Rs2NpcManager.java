@@ -7,6 +7,7 @@ import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.shortestpath.ShortestPathPlugin;
+import net.runelite.client.plugins.microbot.util.player.Rs2Player;
 import net.runelite.client.plugins.microbot.util.walker.Rs2Walker;
 
 import javax.annotation.Nullable;
@@ -29,8 +30,8 @@ public class Rs2NpcManager {
     public static Map<Integer, String> attackAnimationMap;
     private static Map<Integer, Rs2NpcStats> statsMap;
 
-    // NEW: A map keyed by NPC name, with a list of location objects
-    private static Map<String, List<MonsterLocation>> locationMap;
+    // Spawn locations by NPC name, loaded on first use
+    private static volatile NpcLocations locations;
 
     /**
      * Loads NPC data from JSON files.
@@ -49,8 +50,19 @@ public class Rs2NpcManager {
 
         Type attackAnimationTypeToken = new TypeToken<Map<Integer, String>>() {}.getType();
         attackAnimationMap = loadJsonFile("/npc/npcs_attack_animation.json", attackAnimationTypeToken);
+    }
 
-        loadNpcLocationsByName();
+    private static NpcLocations locations() {
+        NpcLocations loaded = locations;
+        if (loaded == null) {
+            synchronized (Rs2NpcManager.class) {
+                loaded = locations;
+                if (loaded == null) {
+                    locations = loaded = NpcLocations.load();
+                }
+            }
+        }
+        return loaded;
     }
 
     /**
@@ -72,24 +84,6 @@ public class Rs2NpcManager {
             throw new RuntimeException(e);
         }
     }
-    private static <T> T loadLocJsonFile(String filename, Type typeToken)
-    {
-        Gson gson = new Gson();
-        try (InputStream inputStream = Rs2NpcStats.class.getResourceAsStream(filename))
-        {
-            if (inputStream == null)
-            {
-                log.warn("Failed to load {}", filename);
-                return null;
-            }
-            return gson.fromJson(new InputStreamReader(inputStream, StandardCharsets.UTF_8), typeToken);
-        }
-        catch (IOException e)
-        {
-            throw new RuntimeException(e);
-        }
-    }
-
     private static Map<Integer, Rs2NpcStats> loadNpcStatsFromJsonFile(String filename) {
         Gson gson = new GsonBuilder()
                 .registerTypeAdapter(Rs2NpcStats.class, Rs2NpcStats.NPC_STATS_TYPE_ADAPTER)
@@ -113,83 +107,6 @@ public class Rs2NpcManager {
         }
     }
 
-    /**
-     * Helper method to load location data from a JSON file
-     * where the keys are NPC names, not IDs.
-     */
-    private static void loadNpcLocationsByName()
-    {
-        String filename = "/npc/npcs_locations.json"; // Adjust if needed
-
-        // The JSON structure is:
-        // {
-        //   "Goblin": [
-        //     {
-        //       "location_name": "Goblin Village",
-        //       "mapID": 99,
-        //       "coords": [[3200,3420,0], [3201,3421,0]]
-        //     }
-        //   ],
-        //   "Cow": [ ... ],
-        //   ...
-        // }
-        //
-        // So we parse into Map<String, List<MonsterLocationDTO>>
-        Type type = new TypeToken<Map<String, List<MonsterLocationDTO>>>() {}.getType();
-        Map<String, List<MonsterLocationDTO>> rawMap = loadLocJsonFile(filename, type);
-
-        if (rawMap == null)
-        {
-            log.warn("No location data found in {}", filename);
-            locationMap = Collections.emptyMap();
-            return;
-        }
-
-        // Convert from DTO to final MonsterLocation model
-        locationMap = new HashMap<>();
-
-        for (Map.Entry<String, List<MonsterLocationDTO>> entry : rawMap.entrySet())
-        {
-            String npcName = entry.getKey();
-            List<MonsterLocationDTO> dtoList = entry.getValue();
-
-            List<MonsterLocation> converted = dtoList.stream()
-                    .map(Rs2NpcManager::dtoToMonsterLocation)
-                    .collect(Collectors.toList());
-
-            locationMap.put(npcName, converted);
-        }
-
-        log.info("Loaded {} NPC names with location data from {}", locationMap.size(), filename);
-    }
-
-    /**
-     * Converts a MonsterLocationDTO to our MonsterLocation model,
-     * turning coords into WorldPoints.
-     */
-    private static MonsterLocation dtoToMonsterLocation(MonsterLocationDTO dto)
-    {
-        MonsterLocation loc = new MonsterLocation();
-        loc.setLocationName(dto.getLocation_name());
-        loc.setMapID(dto.getMapID());
-
-        if (dto.getCoords() != null)
-        {
-            for (List<Integer> coord : dto.getCoords())
-            {
-                if (coord.size() == 3)
-                {
-                    int x = coord.get(0);
-                    int y = coord.get(1);
-                    int plane = coord.get(2);
-                    loc.getCoords().add(new WorldPoint(x, y, plane));
-                }
-            }
-        }
-        return loc;
-    }
-
-
     /**
      * Retrieves the stats of an NPC.
      * @param npcId The ID of the NPC.
@@ -276,11 +193,45 @@ public class Rs2NpcManager {
      */
     public static List<MonsterLocation> getNpcLocations(String npcName)
     {
-        if (locationMap == null)
-        {
-            return Collections.emptyList();
-        }
-        return locationMap.getOrDefault(npcName, Collections.emptyList());
+        return locations().get(npcName).locations;
+    }
+
+    /**
+     * Gets the spawn of an NPC, by its name, nearest to a point. The distance is the larger of
+     * the x and y distances, ignoring the plane, and is found without scanning every spawn.
+     *
+     * @return the nearest spawn, or null if no location is known for the NPC
+     */
+    @Nullable
+    public static WorldPoint getNearestSpawn(String npcName, WorldPoint from)
+    {
+        return locations().get(npcName).nearest(from, loc -> true);
+    }
+
+    /**
+     * Gets the location holding the spawn of an NPC, by its name, nearest to a point, in a straight line.
+     *
+     * @param npcName The name of the NPC.
+     * @param from The point to measure from.
+     * @param minClustering The minimum number of NPCs required to consider a location.
+     * @param avoidWilderness Whether to avoid locations in the Wilderness.
+     */
+    @Nullable
+    public static MonsterLocation getNearestLocation(String npcName, WorldPoint from, int minClustering, boolean avoidWilderness)
+    {
+        return locations().get(npcName).nearestLocation(from, loc -> loc.getCoords().size() > minClustering
+                && (!avoidWilderness || loc.getLocationName() == null || !loc.getLocationName().contains("Wilderness")));
+    }
+
+    /**
+     * Gets the location holding the spawn nearest to a point of the NPC with the id, looked up by its name.
+     * Requires {@link #loadJson()} to have been called.
+     */
+    @Nullable
+    public static MonsterLocation getNearestLocation(int npcId, WorldPoint from)
+    {
+        Rs2NpcStats stats = statsMap != null ? statsMap.get(npcId) : null;
+        return stats != null ? getNearestLocation(stats.getName(), from, 0, false) : null;
     }
 
     /**
@@ -302,11 +253,20 @@ public class Rs2NpcManager {
             return null;
         }
         log.info("All locations for " + npcName + ": " + getNpcLocations(npcName).stream().map(MonsterLocation::getLocationName).collect(Collectors.toList()));
-        MonsterLocation closest = getNpcLocations(npcName).stream()
+        List<MonsterLocation> candidates = getNpcLocations(npcName).stream()
                 .filter(loc -> loc.getCoords().size() > minClustering && (!avoidWilderness || !loc.getLocationName().contains("Wilderness")))
-                .parallel()
-                .min(Comparator.comparingDouble(loc -> Rs2Walker.getTotalTiles(loc.getClosestToCenter())))
-                .orElse(null);
+                .collect(Collectors.toList());
+        // One search to every candidate instead of one per candidate
+        MonsterLocation closest = Rs2Walker.getNearest(Rs2Player.getWorldLocation(), candidates, MonsterLocation::getClosestToCenter, 1);
+        if (closest == null && !candidates.isEmpty())
+        {
+            // No path was found, so take the nearest in a straight line
+            closest = getNearestLocation(npcName, Rs2Player.getWorldLocation(), minClustering, avoidWilderness);
+            if (closest == null)
+            {
+                closest = candidates.get(0);
+            }
+        }
 
         ShortestPathPlugin.getPathfinderConfig().setUseBankItems(false);
 
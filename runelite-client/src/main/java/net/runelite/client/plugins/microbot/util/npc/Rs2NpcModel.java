@@ -5,6 +5,7 @@ import net.runelite.api.NPC;
 import net.runelite.api.NPCComposition;
 import net.runelite.api.NpcOverrides;
 import net.runelite.client.plugins.microbot.util.ActorModel;
+import net.runelite.client.plugins.microbot.util.ClientSnapshot;
 import org.jetbrains.annotations.Nullable;
 
 @Getter
@@ -40,6 +41,11 @@ public class Rs2NpcModel extends ActorModel implements NPC
 	@Override
 	public @Nullable NPCComposition getTransformedComposition()
 	{
+		ClientSnapshot.ActorSnapshot snapshot = ClientSnapshot.find(runeliteNpc);
+		if (snapshot != null)
+		{
+			return snapshot.getTransformedComposition();
+		}
 		return runeliteNpc.getTransformedComposition();
 	}
 
@@ -20,7 +20,10 @@ import net.runelite.client.plugins.microbot.shortestpath.ShortestPathConfig;
 import net.runelite.client.plugins.microbot.shortestpath.ShortestPathPlugin;
 import net.runelite.client.plugins.microbot.shortestpath.Transport;
 import net.runelite.client.plugins.microbot.shortestpath.TransportType;
+import net.runelite.client.plugins.microbot.shortestpath.pathfinder.PathSearch;
 import net.runelite.client.plugins.microbot.shortestpath.pathfinder.Pathfinder;
+import net.runelite.client.plugins.microbot.shortestpath.pathfinder.PathfinderConfig;
+import net.runelite.client.plugins.microbot.shortestpath.pathfinder.VariantPathfinder;
 import net.runelite.client.plugins.microbot.util.camera.Rs2Camera;
 import net.runelite.client.plugins.microbot.util.coords.Rs2LocalPoint;
 import net.runelite.client.plugins.microbot.util.coords.Rs2WorldArea;
@@ -51,6 +54,7 @@ import java.util.List;
 import java.util.*;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -70,6 +74,8 @@ public class Rs2Walker {
     static int nextWalkingDistance = 10;
 
     static final int OFFSET = 10; // max offset of the exact area we teleport to
+    // shared time budget for the concurrent with/without teleports searches
+    static final long VARIANT_SEARCH_DEADLINE_MILLIS = 5000;
 
     // Set this to true, if you want to calculate the path but do not want to walk to it
     static boolean debug = false;
@@ -562,10 +568,7 @@ public class Rs2Walker {
         if (ShortestPathPlugin.getPathfinderConfig().getTransports().isEmpty()) {
             ShortestPathPlugin.getPathfinderConfig().refresh();
         }
-        Pathfinder pathfinder = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), start, destination);
-
-        pathfinder.run();
-        List<WorldPoint> path = pathfinder.getPath();
+        List<WorldPoint> path = findPath(start, Set.of(destination));
 
         if (path.isEmpty() || path.get(path.size() - 1).getPlane() != destination.getPlane()) return Integer.MAX_VALUE;
         WorldArea pathArea = new WorldArea(path.get(path.size() - 1), 2, 2);
@@ -627,11 +630,111 @@ public static List<WorldPoint> getWalkPath(WorldPoint target) {
         ShortestPathPlugin.getPathfinderConfig().refresh();
     }
     ShortestPathPlugin.getPathfinderConfig().refresh();
-    Pathfinder pathfinder = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), Rs2Player.getWorldLocation(), target);
-    pathfinder.run();
-    return pathfinder.getPath();
+    return findPath(Rs2Player.getWorldLocation(), Set.of(target));
 }
 
+    /**
+     * Finds a path with the current pathfinder config, reusing a cached path when the start, targets
+     * and usable transports are unchanged. Only paths that reach a target are cached.
+     *
+     * @param start   the start of the path
+     * @param targets the possible ends of the path
+     * @return the path, or the closest partial path if no target could be reached
+     */
+    public static List<WorldPoint> findPath(WorldPoint start, Set<WorldPoint> targets) {
+        PathfinderConfig pathfinderConfig = ShortestPathPlugin.getPathfinderConfig();
+        long fingerprint = pathfinderConfig.getPathCacheFingerprint();
+        List<WorldPoint> path = ShortestPathPlugin.getPathCache().get(start, targets, fingerprint);
+        if (path != null) {
+            return path;
+        }
+
+        Pathfinder pathfinder = new Pathfinder(pathfinderConfig, start, targets);
+        pathfinder.run();
+        path = pathfinder.getPath();
+        if (!path.isEmpty() && targets.contains(path.get(path.size() - 1))) {
+            ShortestPathPlugin.getPathCache().put(start, targets, fingerprint, path);
+        }
+        return path;
+    }
+
+    /**
+     * Finds the walking distance from a start to each of the destinations with a single search,
+     * instead of one search per destination. Distances include the travel time of transports and teleports.
+     *
+     * @param start        the start of the search
+     * @param destinations the destinations to measure
+     * @return the distance to each destination that could be reached; unreachable destinations are left out
+     */
+    public static Map<WorldPoint, Integer> getDistances(WorldPoint start, Set<WorldPoint> destinations) {
+        return getDistances(start, destinations, 0, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Finds the walking distance from a start to the nearest {@code limit} destinations with a single search.
+     * Distances include the travel time of transports and teleports.
+     *
+     * @param start         the start of the search
+     * @param destinations  the destinations to measure
+     * @param reachDistance how close the search must come to a destination to reach it, e.g. 1 for a bank booth
+     *                      that is used from the tiles next to it
+     * @param limit         the number of reached destinations after which the search stops
+     * @param maxDistance   the distance beyond which destinations count as unreachable
+     * @return the distance to each destination that was reached; other destinations are left out
+     */
+    public static Map<WorldPoint, Integer> getDistances(WorldPoint start, Set<WorldPoint> destinations, int reachDistance, int limit, int maxDistance) {
+        if (destinations.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        PathfinderConfig pathfinderConfig = ShortestPathPlugin.getPathfinderConfig();
+        if (pathfinderConfig.getTransports().isEmpty()) {
+            pathfinderConfig.refresh();
+        }
+        Pathfinder pathfinder = Pathfinder.forDistances(pathfinderConfig, start, destinations, reachDistance, limit);
+        pathfinder.setMaxCost(maxDistance);
+        pathfinder.run();
+        return pathfinder.getDistances();
+    }
+
+    /**
+     * Finds the candidate nearest to the start by walking distance with a single search to all candidate locations,
+     * which stops at the first candidate it reaches.
+     *
+     * @param start         the start of the search
+     * @param candidates    the candidates to choose from
+     * @param location      the location of a candidate
+     * @param reachDistance how close the search must come to a candidate's location to reach it
+     * @return the nearest reachable candidate, or null if none can be reached
+     */
+    public static <T> T getNearest(WorldPoint start, Collection<T> candidates, Function<T, WorldPoint> location, int reachDistance) {
+        return getNearest(start, candidates, location, reachDistance, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Finds the candidate nearest to the start by walking distance, see {@link #getDistances(WorldPoint, Set, int, int, int)}.
+     *
+     * @param maxDistance the distance beyond which candidates count as unreachable
+     * @return the nearest candidate within the distance, or null if none can be reached
+     */
+    public static <T> T getNearest(WorldPoint start, Collection<T> candidates, Function<T, WorldPoint> location, int reachDistance, int maxDistance) {
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        Set<WorldPoint> locations = candidates.stream().map(location).collect(Collectors.toSet());
+        Map<WorldPoint, Integer> distances = getDistances(start, locations, reachDistance, 1, maxDistance);
+
+        T nearest = null;
+        int nearestDistance = Integer.MAX_VALUE;
+        for (T candidate : candidates) {
+            Integer distance = distances.get(location.apply(candidate));
+            if (distance != null && distance < nearestDistance) {
+                nearest = candidate;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
     /**
      * Retrieves all TELEPORTATION_ITEM type transports found along the given path.
      *
@@ -1016,13 +1119,52 @@ public static List<WorldPoint> getWalkPath(WorldPoint target) {
 
     /**
      * Force the walker to recalculate path
+     * <p>
+     * When the previous path was complete, it is repaired around the player instead of searched again in full.
      */
     public static void recalculatePath() {
+        if (config.repairPath() && repairPath()) {
+            return;
+        }
         Rs2Walker.setTarget(null);
         WorldPoint _currentTarget = currentTarget;
         Rs2Walker.setTarget(_currentTarget);
     }
 
+    /**
+     * Re-plans the way back onto the current path from the player's location and keeps the rest of the path.
+     * The config is refreshed first, so the kept part is checked against the current tile rules and transports.
+     * The repair falls back to a full search by itself if the path cannot be rejoined nearby or is blocked.
+     *
+     * @return false if there is no finished path to the current target to repair
+     */
+    private static boolean repairPath() {
+        PathSearch previous = ShortestPathPlugin.getPathfinder();
+        if (currentTarget == null || previous == null || !previous.isDone()
+                || ShortestPathPlugin.isStartPointSet() || Microbot.getClient().isClientThread()) {
+            return false;
+        }
+
+        List<WorldPoint> previousPath = previous.getPath();
+        if (previousPath.isEmpty() || !previous.getTargets().contains(previousPath.get(previousPath.size() - 1))) {
+            return false;
+        }
+
+        WorldPoint start = Rs2Player.getWorldLocation();
+        ShortestPathPlugin.setLastLocation(start);
+        ShortestPathPlugin.getPathfinderConfig().refresh();
+        synchronized (ShortestPathPlugin.getPathfinderMutex()) {
+            if (ShortestPathPlugin.getPathfindingExecutor() == null) {
+                ThreadFactory shortestPathNaming = new ThreadFactoryBuilder().setNameFormat("shortest-path-%d").build();
+                ShortestPathPlugin.setPathfindingExecutor(Executors.newSingleThreadExecutor(shortestPathNaming));
+            }
+            Pathfinder pathfinder = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), start, previous.getTargets(), previousPath);
+            ShortestPathPlugin.setPathfinder(pathfinder);
+            ShortestPathPlugin.setPathfinderFuture(ShortestPathPlugin.getPathfindingExecutor().submit(pathfinder));
+        }
+        return true;
+    }
+
     /**
      * @param target
      */
@@ -1092,17 +1234,7 @@ public static List<WorldPoint> getWalkPath(WorldPoint target) {
 
         ShortestPathPlugin.getPathfinderConfig().refresh();
         if (Rs2Player.isInCave()) {
-            Pathfinder pathfinder = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), start, ends);
-            pathfinder.run();
-            ShortestPathPlugin.getPathfinderConfig().setIgnoreTeleportAndItems(true);
-            Pathfinder pathfinderWithoutTeleports = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), start, ends);
-            pathfinderWithoutTeleports.run();
-            if (pathfinder.getPath().size() >= pathfinderWithoutTeleports.getPath().size()) {
-                ShortestPathPlugin.setPathfinder(pathfinderWithoutTeleports);
-            } else {
-                ShortestPathPlugin.setPathfinder(pathfinder);
-            }
-            ShortestPathPlugin.getPathfinderConfig().setIgnoreTeleportAndItems(false);
+            return restartPathfindingVariants(start, ends);
         } else {
             ShortestPathPlugin.setPathfinder(new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), start, ends));
             ShortestPathPlugin.setPathfinderFuture(ShortestPathPlugin.getPathfindingExecutor().submit(ShortestPathPlugin.getPathfinder()));
@@ -1110,6 +1242,23 @@ public static List<WorldPoint> getWalkPath(WorldPoint target) {
         return true;
     }
 
+    /**
+     * Searches the path with and without teleports at the same time and keeps the cheaper one.
+     * Like a single search, this returns right away and the walker waits for the pathfinder to be done.
+     */
+    private static boolean restartPathfindingVariants(WorldPoint start, Set<WorldPoint> ends) {
+        if (ShortestPathPlugin.getVariantPathfindingExecutor() == null) {
+            ThreadFactory variantNaming = new ThreadFactoryBuilder().setNameFormat("shortest-path-variant-%d").setDaemon(true).build();
+            ShortestPathPlugin.setVariantPathfindingExecutor(Executors.newSingleThreadExecutor(variantNaming));
+        }
+
+        PathSearch pathfinder = new VariantPathfinder(ShortestPathPlugin.getPathfinderConfig(), start, ends,
+                ShortestPathPlugin.getVariantPathfindingExecutor(), System.currentTimeMillis() + VARIANT_SEARCH_DEADLINE_MILLIS);
+        ShortestPathPlugin.setPathfinder(pathfinder);
+        ShortestPathPlugin.setPathfinderFuture(ShortestPathPlugin.getPathfindingExecutor().submit(pathfinder));
+        return true;
+    }
+
     /**
      * @param point
      * @return
@@ -1741,9 +1890,7 @@ public static List<WorldPoint> getWalkPath(WorldPoint target) {
      * @return distance
      */
     public static int getDistanceBetween(WorldPoint startpoint, WorldPoint endpoint) {
-        Pathfinder pathfinder = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), startpoint, endpoint);
-        pathfinder.run();
-        return pathfinder.getPath().size();
+        return findPath(startpoint, Set.of(endpoint)).size();
     }
 
     public static boolean handleSpiritTree(Transport transport) {
@@ -0,0 +1,85 @@
+package net.runelite.client.plugins;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import net.runelite.client.plugins.xptracker.XpTrackerPlugin;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PluginIndexTest
+{
+	private static final String INDEX_RESOURCE = "net/runelite/client/plugins/plugins.idx";
+	private static final List<String> PACKAGES = Collections.singletonList("net.runelite.client.plugins.xptracker");
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testLoadIndexedClasses() throws IOException
+	{
+		File index = writeIndex(XpTrackerPlugin.class.getName() + "\tXP Tracker\t");
+
+		List<Class<?>> classes = PluginIndex.loadPluginClasses(new IndexClassLoader(index), PACKAGES, true);
+		assertEquals(Collections.singletonList(XpTrackerPlugin.class), classes);
+	}
+
+	@Test
+	public void testMissingClassScansClassPath() throws IOException
+	{
+		File index = writeIndex("net.runelite.client.plugins.xptracker.RemovedPlugin\tRemoved\t");
+
+		List<Class<?>> classes = PluginIndex.loadPluginClasses(new IndexClassLoader(index), PACKAGES, true);
+		assertTrue(classes.contains(XpTrackerPlugin.class));
+	}
+
+	@Test
+	public void testIndexOlderThanClassesIgnored() throws IOException
+	{
+		File index = writeIndex(XpTrackerPlugin.class.getName() + "\tXP Tracker\t");
+		File compiled = folder.newFile("XpTrackerPlugin.class");
+		assertTrue(index.setLastModified(compiled.lastModified() - 10_000));
+
+		assertNull(PluginIndex.read(new IndexClassLoader(index)));
+
+		assertTrue(compiled.delete());
+		assertNotNull(PluginIndex.read(new IndexClassLoader(index)));
+	}
+
+	private File writeIndex(String line) throws IOException
+	{
+		File index = folder.newFile("plugins.idx");
+		Files.write(index.toPath(), (line + "\n").getBytes(StandardCharsets.UTF_8));
+		return index;
+	}
+
+	/**
+	 * Serves the given index in place of the one built with the client.
+	 */
+	private static final class IndexClassLoader extends ClassLoader
+	{
+		private final URL index;
+
+		private IndexClassLoader(File index) throws MalformedURLException
+		{
+			super(PluginIndexTest.class.getClassLoader());
+			this.index = index.toURI().toURL();
+		}
+
+		@Override
+		public URL getResource(String name)
+		{
+			return INDEX_RESOURCE.equals(name) ? index : super.getResource(name);
+		}
+	}
+}
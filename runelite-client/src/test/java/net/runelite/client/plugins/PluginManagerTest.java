@@ -24,6 +24,8 @@
  */
 package net.runelite.client.plugins;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.graph.GraphBuilder;
 import com.google.common.graph.MutableGraph;
 import com.google.common.reflect.ClassPath;
@@ -238,4 +240,30 @@ public class PluginManagerTest
 		assertTrue(sorted.indexOf(1) < sorted.indexOf(2));
 		assertTrue(sorted.indexOf(1) < sorted.indexOf(3));
 	}
+
+	@Test
+	public void testTopologicalLevels()
+	{
+		MutableGraph<Integer> graph = GraphBuilder
+			.directed()
+			.build();
+
+		graph.addNode(1);
+		graph.addNode(2);
+		graph.addNode(3);
+		graph.addNode(4);
+		graph.addNode(5);
+
+		graph.putEdge(1, 3);
+		graph.putEdge(2, 3);
+		graph.putEdge(3, 4);
+		graph.putEdge(1, 4);
+
+		List<List<Integer>> levels = PluginManager.topologicalLevels(graph);
+
+		assertEquals(3, levels.size());
+		assertEquals(ImmutableSet.of(1, 2, 5), ImmutableSet.copyOf(levels.get(0)));
+		assertEquals(ImmutableList.of(3), levels.get(1));
+		assertEquals(ImmutableList.of(4), levels.get(2));
+	}
 }
@@ -0,0 +1,179 @@
+package net.runelite.client.plugins.microbot.pluginscheduler.condition;
+
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.AndCondition;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.OrCondition;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ConditionManagerTest {
+
+    private ConditionManager manager;
+    private TickCondition tickCondition;
+    private VarbitCondition varbitCondition;
+
+    @Before
+    public void before() {
+        manager = new ConditionManager(new EventBus());
+        tickCondition = new TickCondition();
+        varbitCondition = new VarbitCondition();
+
+        AndCondition user = new AndCondition();
+        user.addCondition(tickCondition);
+        manager.setUserLogicalCondition(user);
+
+        OrCondition plugin = new OrCondition();
+        plugin.addCondition(varbitCondition);
+        manager.setPluginCondition(plugin);
+
+        manager.registerEvents();
+    }
+
+    @After
+    public void after() {
+        manager.close();
+    }
+
+    @Test
+    public void testEventsReachDependentConditionsOnly() {
+        manager.onGameTick(new GameTick());
+        assertEquals(1, tickCondition.events);
+        assertEquals(0, varbitCondition.events);
+
+        manager.onVarbitChanged(new VarbitChanged());
+        assertEquals(1, tickCondition.events);
+        assertEquals(1, varbitCondition.events);
+    }
+
+    @Test
+    public void testEvaluationCachedUntilDependencyChanges() {
+        assertFalse(manager.areUserConditionsMet());
+        assertFalse(manager.areUserConditionsMet());
+        assertEquals(1, tickCondition.evaluations);
+
+        manager.onGameTick(new GameTick());
+        assertFalse(manager.areUserConditionsMet());
+        assertEquals(2, tickCondition.evaluations);
+    }
+
+    @Test
+    public void testEventOfOtherTreeKeepsEvaluation() {
+        manager.areUserConditionsMet();
+        manager.arePluginConditionsMet();
+
+        manager.onVarbitChanged(new VarbitChanged());
+        manager.areUserConditionsMet();
+        manager.arePluginConditionsMet();
+        assertEquals(1, tickCondition.evaluations);
+        assertEquals(2, varbitCondition.evaluations);
+
+        manager.onGameTick(new GameTick());
+        manager.areUserConditionsMet();
+        manager.arePluginConditionsMet();
+        assertEquals(2, tickCondition.evaluations);
+        assertEquals(2, varbitCondition.evaluations);
+    }
+
+    @Test
+    public void testStructureChangeRebuildsIndex() {
+        manager.areUserConditionsMet();
+
+        VarbitCondition added = new VarbitCondition();
+        added.satisfied = true;
+        manager.getUserLogicalCondition().addCondition(added);
+        assertFalse(manager.areUserConditionsMet());
+        assertEquals(2, tickCondition.evaluations);
+
+        manager.onVarbitChanged(new VarbitChanged());
+        assertEquals(1, added.events);
+        assertEquals(1, varbitCondition.events);
+    }
+
+    @Test
+    public void testResetInvalidatesItsTreeOnly() {
+        manager.areUserConditionsMet();
+        manager.arePluginConditionsMet();
+
+        manager.resetUserConditions();
+        manager.areUserConditionsMet();
+        manager.arePluginConditionsMet();
+        assertEquals(2, tickCondition.evaluations);
+        assertEquals(1, varbitCondition.evaluations);
+
+        manager.resetPluginConditions();
+        manager.areUserConditionsMet();
+        manager.arePluginConditionsMet();
+        assertEquals(2, tickCondition.evaluations);
+        assertEquals(2, varbitCondition.evaluations);
+    }
+
+    @Test
+    public void testInvalidateEvaluations() {
+        manager.areUserConditionsMet();
+        tickCondition.satisfied = true;
+        assertFalse(manager.areUserConditionsMet());
+
+        manager.invalidateEvaluations();
+        assertTrue(manager.areUserConditionsMet());
+    }
+
+    @Test
+    public void testNotCachedWithoutEvents() {
+        manager.unregisterEvents();
+        manager.areUserConditionsMet();
+        manager.areUserConditionsMet();
+        assertEquals(2, tickCondition.evaluations);
+    }
+
+    private abstract static class CountingCondition implements Condition {
+        boolean satisfied;
+        int evaluations;
+        int events;
+
+        @Override
+        public boolean isSatisfied() {
+            evaluations++;
+            return satisfied;
+        }
+
+        @Override
+        public String getDescription() {
+            return getClass().getSimpleName();
+        }
+
+        @Override
+        public String getDetailedDescription() {
+            return getDescription();
+        }
+
+        @Override
+        public ConditionType getType() {
+            return ConditionType.VARBIT;
+        }
+
+        @Override
+        public void reset(boolean randomize) {
+        }
+    }
+
+    private static final class TickCondition extends CountingCondition {
+        @Override
+        public void onGameTick(GameTick gameTick) {
+            events++;
+        }
+    }
+
+    private static final class VarbitCondition extends CountingCondition {
+        @Override
+        public void onVarbitChanged(VarbitChanged event) {
+            events++;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import net.runelite.client.plugins.microbot.shortestpath.ShortestPathPlugin;
+import net.runelite.client.plugins.microbot.shortestpath.Util;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static net.runelite.api.Constants.REGION_SIZE;
+
+/**
+ * Compares collision lookups on the flat {@link SplitFlagMap} store with the previous
+ * {@link FlagMap} per region store, both for single flags and for a full neighbor expansion.
+ * Run with {@code main} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CollisionMapBenchmark {
+    private static final int TILE_COUNT = 1 << 16;
+
+    private SplitFlagMap splitFlagMap;
+    private CollisionMap collisionMap;
+    private FlagMapStore flagMapStore;
+    private int[] xs;
+    private int[] ys;
+    private int[] zs;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        splitFlagMap = SplitFlagMap.fromResources();
+        collisionMap = new CollisionMap(splitFlagMap);
+        flagMapStore = new FlagMapStore();
+
+        // Sample tiles from regions with collision data, like a search would visit
+        Random random = new Random(0);
+        xs = new int[TILE_COUNT];
+        ys = new int[TILE_COUNT];
+        zs = new int[TILE_COUNT];
+        for (int i = 0; i < TILE_COUNT; i++) {
+            int sample = random.nextInt(flagMapStore.regions.size());
+            FlagMap region = flagMapStore.regions.get(sample);
+            int regionIndex = flagMapStore.regionIndices.get(sample);
+            xs[i] = flagMapStore.regionX(regionIndex) * REGION_SIZE + random.nextInt(REGION_SIZE);
+            ys[i] = flagMapStore.regionY(regionIndex) * REGION_SIZE + random.nextInt(REGION_SIZE);
+            zs[i] = random.nextInt(region.getPlaneCount());
+
+            for (int flag = 0; flag < 2; flag++) {
+                if (flagMapStore.get(xs[i], ys[i], zs[i], flag) != splitFlagMap.get(xs[i], ys[i], zs[i], flag)) {
+                    throw new IllegalStateException("Collision stores disagree at " + xs[i] + ", " + ys[i] + ", " + zs[i]);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void flagMapGet(Blackhole blackhole) {
+        for (int i = 0; i < TILE_COUNT; i++) {
+            blackhole.consume(flagMapStore.get(xs[i], ys[i], zs[i], 0));
+            blackhole.consume(flagMapStore.get(xs[i], ys[i], zs[i], 1));
+        }
+    }
+
+    @Benchmark
+    public void splitFlagMapGet(Blackhole blackhole) {
+        for (int i = 0; i < TILE_COUNT; i++) {
+            blackhole.consume(splitFlagMap.get(xs[i], ys[i], zs[i], 0));
+            blackhole.consume(splitFlagMap.get(xs[i], ys[i], zs[i], 1));
+        }
+    }
+
+    @Benchmark
+    public void splitFlagMapTileFlags(Blackhole blackhole) {
+        for (int i = 0; i < TILE_COUNT; i++) {
+            blackhole.consume(splitFlagMap.getTileFlags(xs[i], ys[i], zs[i]));
+        }
+    }
+
+    @Benchmark
+    public void flagMapTraversableDirections(Blackhole blackhole) {
+        for (int i = 0; i < TILE_COUNT; i++) {
+            blackhole.consume(flagMapStore.traversableDirections(xs[i], ys[i], zs[i]));
+        }
+    }
+
+    @Benchmark
+    public void collisionMapTraversableDirections(Blackhole blackhole) {
+        for (int i = 0; i < TILE_COUNT; i++) {
+            blackhole.consume(collisionMap.getTraversableDirections(xs[i], ys[i], zs[i]));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CollisionMapBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    /**
+     * The previous collision store: one {@link FlagMap} per region, each flag read separately.
+     */
+    private static class FlagMapStore {
+        private final SplitFlagMap.RegionExtent regionExtents = SplitFlagMap.getRegionExtents();
+        private final int widthInclusive = regionExtents.getWidth() + 1;
+        private final FlagMap[] regionMaps = new FlagMap[widthInclusive * (regionExtents.getHeight() + 1)];
+        private final List<FlagMap> regions = new ArrayList<>();
+        private final List<Integer> regionIndices = new ArrayList<>();
+
+        FlagMapStore() throws IOException {
+            try (ZipInputStream in = new ZipInputStream(ShortestPathPlugin.class.getResourceAsStream("collision-map.zip"))) {
+                ZipEntry entry;
+                while ((entry = in.getNextEntry()) != null) {
+                    String[] n = entry.getName().split("_");
+                    final int x = Integer.parseInt(n[0]);
+                    final int y = Integer.parseInt(n[1]);
+                    final int index = getIndex(x, y);
+                    FlagMap flagMap = new FlagMap(x * REGION_SIZE, y * REGION_SIZE, Util.readAllBytes(in));
+                    regionMaps[index] = flagMap;
+                    regions.add(flagMap);
+                    regionIndices.add(index);
+                }
+            }
+        }
+
+        boolean get(int x, int y, int z, int flag) {
+            final int index = getIndex(x / REGION_SIZE, y / REGION_SIZE);
+            if (index < 0 || index >= regionMaps.length || regionMaps[index] == null) {
+                return false;
+            }
+            return regionMaps[index].get(x, y, z, flag);
+        }
+
+        int regionX(int index) {
+            return regionExtents.getMinX() + index % widthInclusive;
+        }
+
+        int regionY(int index) {
+            return regionExtents.getMinY() + index / widthInclusive;
+        }
+
+        private int getIndex(int regionX, int regionY) {
+            return (regionX - regionExtents.getMinX()) + (regionY - regionExtents.getMinY()) * widthInclusive;
+        }
+
+        private boolean n(int x, int y, int z) {
+            return get(x, y, z, 0);
+        }
+
+        private boolean s(int x, int y, int z) {
+            return n(x, y - 1, z);
+        }
+
+        private boolean e(int x, int y, int z) {
+            return get(x, y, z, 1);
+        }
+
+        private boolean w(int x, int y, int z) {
+            return e(x - 1, y, z);
+        }
+
+        private boolean isBlocked(int x, int y, int z) {
+            return !n(x, y, z) && !s(x, y, z) && !e(x, y, z) && !w(x, y, z);
+        }
+
+        // Mirrors the previous CollisionMap.getNeighbors, which read every flag separately
+        int traversableDirections(int x, int y, int z) {
+            boolean[] traversable = new boolean[8];
+            if (isBlocked(x, y, z)) {
+                boolean westBlocked = isBlocked(x - 1, y, z);
+                boolean eastBlocked = isBlocked(x + 1, y, z);
+                boolean southBlocked = isBlocked(x, y - 1, z);
+                boolean northBlocked = isBlocked(x, y + 1, z);
+                traversable[0] = !westBlocked;
+                traversable[1] = !eastBlocked;
+                traversable[2] = !southBlocked;
+                traversable[3] = !northBlocked;
+                traversable[4] = !isBlocked(x - 1, y - 1, z) && !westBlocked && !southBlocked;
+                traversable[5] = !isBlocked(x + 1, y - 1, z) && !eastBlocked && !southBlocked;
+                traversable[6] = !isBlocked(x - 1, y + 1, z) && !westBlocked && !northBlocked;
+                traversable[7] = !isBlocked(x + 1, y + 1, z) && !eastBlocked && !northBlocked;
+            } else {
+                traversable[0] = w(x, y, z);
+                traversable[1] = e(x, y, z);
+                traversable[2] = s(x, y, z);
+                traversable[3] = n(x, y, z);
+                traversable[4] = s(x, y, z) && w(x, y - 1, z) && w(x, y, z) && s(x - 1, y, z);
+                traversable[5] = s(x, y, z) && e(x, y - 1, z) && e(x, y, z) && s(x + 1, y, z);
+                traversable[6] = n(x, y, z) && w(x, y + 1, z) && w(x, y, z) && n(x - 1, y, z);
+                traversable[7] = n(x, y, z) && e(x, y + 1, z) && e(x, y, z) && n(x + 1, y, z);
+            }
+
+            int mask = 0;
+            for (int i = 0; i < traversable.length; i++) {
+                mask |= traversable[i] ? 1 << i : 0;
+            }
+            return mask;
+        }
+    }
+}
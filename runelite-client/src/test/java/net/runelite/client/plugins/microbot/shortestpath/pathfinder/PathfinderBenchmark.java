@@ -0,0 +1,99 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.shortestpath.PathfinderAlgorithm;
+import net.runelite.client.plugins.microbot.shortestpath.ShortestPathConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Searches a fixed set of walking routes to compare search time and allocation between pathfinder changes.
+ * Run with {@code main} from the test classpath, which adds the GC profiler to report bytes allocated per search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathfinderBenchmark {
+    private static final WorldPoint[][] ROUTES = {
+            {new WorldPoint(3222, 3218, 0), new WorldPoint(3213, 3424, 0)}, // Lumbridge castle to Varrock square
+            {new WorldPoint(3092, 3245, 0), new WorldPoint(3094, 3491, 0)}, // Draynor bank to Edgeville bank
+            {new WorldPoint(2964, 3380, 0), new WorldPoint(2662, 3305, 0)}, // Falador to East Ardougne market
+            {new WorldPoint(2809, 3440, 0), new WorldPoint(2727, 3485, 0)}, // Catherby bank to Camelot
+            {new WorldPoint(3253, 3420, 0), new WorldPoint(3300, 3140, 0)}, // Varrock east bank to Al Kharid
+    };
+
+    @Param({"BREADTH_FIRST", "A_STAR", "HIERARCHICAL"})
+    public PathfinderAlgorithm algorithm;
+
+    private PathfinderConfig config;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Logged out, so only the collision data is used and no transports are loaded
+        Client client = mock(Client.class);
+        when(client.getGameState()).thenReturn(GameState.LOGIN_SCREEN);
+        Microbot.setClient(client);
+        ShortestPathConfig shortestPathConfig = mock(ShortestPathConfig.class);
+        when(shortestPathConfig.calculationCutoff()).thenReturn(500);
+        when(shortestPathConfig.pathfinderAlgorithm()).thenReturn(algorithm);
+
+        config = new PathfinderConfig(SplitFlagMap.fromResources(), new HashMap<>(), new ArrayList<>(), client, shortestPathConfig);
+        config.refresh();
+
+        for (WorldPoint[] route : ROUTES) {
+            List<WorldPoint> path = search(route);
+            if (path.isEmpty() || !path.get(path.size() - 1).equals(route[1])) {
+                throw new IllegalStateException("No path from " + route[0] + " to " + route[1]);
+            }
+        }
+    }
+
+    @Benchmark
+    public void routes(Blackhole blackhole) {
+        for (WorldPoint[] route : ROUTES) {
+            blackhole.consume(search(route));
+        }
+    }
+
+    private List<WorldPoint> search(WorldPoint[] route) {
+        Pathfinder pathfinder = new Pathfinder(config, route[0], route[1]);
+        pathfinder.run();
+        return pathfinder.getPath();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PathfinderBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,164 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.shortestpath.PathfinderAlgorithm;
+import net.runelite.client.plugins.microbot.shortestpath.ShortestPathConfig;
+import net.runelite.client.plugins.microbot.shortestpath.Transport;
+import net.runelite.client.plugins.microbot.shortestpath.TransportType;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PathfinderTest {
+    private static final WorldPoint START = new WorldPoint(3222, 3218, 0); // Lumbridge castle
+    private static final WorldPoint VARROCK_SQUARE = new WorldPoint(3213, 3424, 0);
+    private static final WorldPoint DRAYNOR_BANK = new WorldPoint(3092, 3245, 0);
+    private static final int DISTANCE_BEFORE_TELEPORT = 10;
+
+    private static SplitFlagMap mapData;
+
+    private PathfinderConfig config;
+    // Tiles on the walking path to Varrock, nearest first, so each is reachable
+    private WorldPoint near, middle, far;
+
+    @BeforeClass
+    public static void loadMap() {
+        mapData = SplitFlagMap.fromResources();
+    }
+
+    @Before
+    public void before() {
+        // Logged out, so only the collision data is used and no transports are loaded
+        Client client = mock(Client.class);
+        when(client.getGameState()).thenReturn(GameState.LOGIN_SCREEN);
+        Microbot.setClient(client);
+        ShortestPathConfig shortestPathConfig = mock(ShortestPathConfig.class);
+        when(shortestPathConfig.calculationCutoff()).thenReturn(10);
+        when(shortestPathConfig.pathfinderAlgorithm()).thenReturn(PathfinderAlgorithm.BREADTH_FIRST);
+        when(shortestPathConfig.distanceBeforeUsingTeleport()).thenReturn(DISTANCE_BEFORE_TELEPORT);
+
+        config = new PathfinderConfig(mapData, new HashMap<>(), new ArrayList<>(), client, shortestPathConfig);
+        config.refresh();
+
+        Pathfinder pathfinder = new Pathfinder(config, START, VARROCK_SQUARE);
+        pathfinder.run();
+        List<WorldPoint> path = pathfinder.getPath();
+        assertEquals(VARROCK_SQUARE, path.get(path.size() - 1));
+        near = path.get(10);
+        middle = path.get(40);
+        far = path.get(80);
+    }
+
+    @Test
+    public void testDistancesMatchSingleSearches() {
+        Map<WorldPoint, Integer> distances = distances(Set.of(near, middle, far), 0, Integer.MAX_VALUE);
+
+        assertEquals(3, distances.size());
+        assertEquals(cost(Set.of(near)), (int) distances.get(near));
+        assertEquals(cost(Set.of(middle)), (int) distances.get(middle));
+        assertEquals(cost(Set.of(far)), (int) distances.get(far));
+    }
+
+    @Test
+    public void testLimitStopsAtNearest() {
+        Map<WorldPoint, Integer> distances = distances(Set.of(near, middle, far), 0, 1);
+
+        assertEquals(Map.of(near, cost(Set.of(near))), distances);
+    }
+
+    @Test
+    public void testMaxCostLeavesOutFartherTargets() {
+        Pathfinder pathfinder = Pathfinder.forDistances(config, START, Set.of(near, middle, far), 0, Integer.MAX_VALUE);
+        pathfinder.setMaxCost(cost(Set.of(middle)));
+        pathfinder.run();
+
+        assertEquals(Set.of(near, middle), pathfinder.getDistances().keySet());
+    }
+
+    @Test
+    public void testTargetReachedFromTilesAround() {
+        Set<WorldPoint> around = new HashSet<>();
+        for (int dx = -2; dx <= 2; dx++) {
+            for (int dy = -2; dy <= 2; dy++) {
+                around.add(middle.dx(dx).dy(dy));
+            }
+        }
+
+        int distance = distances(Set.of(middle), 2, Integer.MAX_VALUE).get(middle);
+        assertEquals(cost(around), distance);
+        assertTrue(distance < cost(Set.of(middle)));
+    }
+
+    @Test
+    public void testTransportAndTeleportCosts() {
+        WorldPoint origin = near;
+        addTransport(transport(origin, VARROCK_SQUARE, TransportType.TRANSPORT, 7));
+        config.setUsableTeleports(new HashSet<>(Set.of(transport(null, DRAYNOR_BANK, TransportType.TELEPORTATION_SPELL, 4))));
+
+        Map<WorldPoint, Integer> distances = distances(Set.of(VARROCK_SQUARE, DRAYNOR_BANK), 0, Integer.MAX_VALUE);
+
+        assertEquals(cost(Set.of(origin)) + 7, (int) distances.get(VARROCK_SQUARE));
+        assertEquals(DISTANCE_BEFORE_TELEPORT + 4, (int) distances.get(DRAYNOR_BANK));
+    }
+
+    @Test
+    public void testTransportAfterWalkingTakenWhenCheaper() {
+        int walk = cost(Set.of(VARROCK_SQUARE));
+        int toOrigin = cost(Set.of(middle));
+        // Cheaper than walking when the cost before the transport counts once, dearer when it counts twice
+        int duration = walk - toOrigin - toOrigin / 2;
+        addTransport(transport(middle, VARROCK_SQUARE, TransportType.TRANSPORT, duration));
+
+        Pathfinder pathfinder = new Pathfinder(config, START, VARROCK_SQUARE);
+        pathfinder.run();
+
+        List<WorldPoint> path = pathfinder.getPath();
+        assertEquals(VARROCK_SQUARE, path.get(path.size() - 1));
+        assertTrue(path.contains(middle));
+        assertEquals(toOrigin + duration, pathfinder.getPathCost());
+        assertTrue(pathfinder.getPathCost() < walk);
+    }
+
+    private Map<WorldPoint, Integer> distances(Set<WorldPoint> targets, int reachDistance, int limit) {
+        Pathfinder pathfinder = Pathfinder.forDistances(config, START, targets, reachDistance, limit);
+        pathfinder.run();
+        return pathfinder.getDistances();
+    }
+
+    private int cost(Set<WorldPoint> targets) {
+        Pathfinder pathfinder = new Pathfinder(config, START, targets);
+        pathfinder.run();
+        return pathfinder.getPathCost();
+    }
+
+    private void addTransport(Transport transport) {
+        Set<Transport> transports = new HashSet<>(Set.of(transport));
+        config.getTransports().put(transport.getOrigin(), transports);
+        config.getTransportsPacked().put(WorldPointUtil.packWorldPoint(transport.getOrigin()), transports);
+    }
+
+    private static Transport transport(WorldPoint origin, WorldPoint destination, TransportType type, int duration) {
+        Transport transport = mock(Transport.class);
+        when(transport.getOrigin()).thenReturn(origin);
+        when(transport.getDestination()).thenReturn(destination);
+        when(transport.getType()).thenReturn(type);
+        when(transport.getDuration()).thenReturn(duration);
+        return transport;
+    }
+}
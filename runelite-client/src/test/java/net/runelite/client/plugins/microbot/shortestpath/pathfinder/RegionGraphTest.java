@@ -0,0 +1,47 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class RegionGraphTest {
+    private static SplitFlagMap mapData;
+    private static RegionGraph built;
+    private static byte[] written;
+
+    @BeforeClass
+    public static void buildGraph() throws IOException {
+        mapData = SplitFlagMap.fromResources();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        built = RegionGraph.build(mapData);
+        built.write(out);
+        written = out.toByteArray();
+    }
+
+    @Test
+    public void testReadForSameMap() throws IOException {
+        RegionGraph graph = RegionGraph.read(new ByteArrayInputStream(written), mapData);
+
+        assertNotNull(graph);
+        assertEquals(built.getNodeCount(), graph.getNodeCount());
+        assertEquals(built.getLandmarkCount(), graph.getLandmarkCount());
+    }
+
+    @Test
+    public void testOutdatedForChangedCollisionData() throws IOException {
+        // Same region extents, but one region's flags differ
+        SplitFlagMap changed = new SplitFlagMap(Map.of(SplitFlagMap.packPosition(50, 50), new byte[]{1}));
+        assertNotEquals(mapData.hash(), changed.hash());
+
+        assertNull(RegionGraph.read(new ByteArrayInputStream(written), changed));
+    }
+}
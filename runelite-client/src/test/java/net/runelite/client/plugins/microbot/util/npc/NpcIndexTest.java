@@ -0,0 +1,119 @@
+package net.runelite.client.plugins.microbot.util.npc;
+
+import net.runelite.api.NPC;
+import net.runelite.api.Player;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.client.plugins.microbot.util.ClientSnapshot;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class NpcIndexTest {
+    private static final int GUARD = 3010;
+    private static final int MAN = 3106;
+
+    private Player player;
+    private List<ClientSnapshot.ActorSnapshot> npcs;
+
+    @Before
+    public void before() {
+        player = mock(Player.class);
+        npcs = new ArrayList<>();
+        // Added out of distance order, indices match the order of distance
+        npcs.add(npc(2, GUARD, "Guard", 3, null));
+        npcs.add(npc(0, MAN, "Man", 1, player));
+        npcs.add(npc(3, MAN, "Man", 4, null));
+        npcs.add(npc(1, GUARD, "Guard", 2, player));
+        // Not loaded yet, left out like in the client's NPC list
+        npcs.add(npc(4, GUARD, null, 0, null));
+    }
+
+    @Test
+    public void testOrderedByDistance() {
+        NpcIndex index = index();
+
+        assertEquals(4, index.size());
+        assertEquals(Arrays.asList(0, 1, 2, 3), indices(index.all()));
+    }
+
+    @Test
+    public void testIdAndNameLookups() {
+        NpcIndex index = index();
+
+        assertEquals(Arrays.asList(1, 2), indices(index.byId(GUARD)));
+        assertEquals(Arrays.asList(0, 3), indices(index.byId(MAN)));
+        assertTrue(index.byId(1).isEmpty());
+        assertEquals(Arrays.asList(0, 3), indices(index.byName("mAN")));
+        assertTrue(index.byName("Goblin").isEmpty());
+        assertTrue(index.byName(null).isEmpty());
+        assertEquals(Arrays.asList(0, 1), indices(index.interactingWithPlayer()));
+    }
+
+    @Test
+    public void testNearestCutoff() {
+        NpcIndex index = index();
+        List<Integer> tested = new ArrayList<>();
+
+        List<Rs2NpcModel> nearest = index.nearest(2, npc -> {
+            tested.add(npc.getIndex());
+            return npc.getId() == GUARD || npc.getIndex() == 0;
+        });
+        assertEquals(Arrays.asList(0, 1), indices(nearest));
+        assertEquals(Arrays.asList(0, 1), tested);
+
+        assertEquals(1, index.nearest(npc -> npc.getId() == GUARD).getIndex());
+        assertNull(index.nearest(npc -> false));
+        assertEquals(Arrays.asList(0, 3), indices(index.all(npc -> npc.getId() == MAN)));
+    }
+
+    @Test
+    public void testStreamStopsAtFirstMatch() {
+        NpcIndex index = index();
+        List<Integer> tested = new ArrayList<>();
+
+        Rs2NpcModel first = index.stream(npc -> {
+            tested.add(npc.getIndex());
+            return npc.getId() == GUARD;
+        }).findFirst().orElse(null);
+        assertEquals(1, first.getIndex());
+        assertEquals(Arrays.asList(0, 1), tested);
+    }
+
+    @Test
+    public void testDistanceTo() {
+        NpcIndex index = index();
+
+        Rs2NpcModel man = index.byId(MAN).get(0);
+        assertEquals(128, index.distanceTo(man));
+        assertEquals(Integer.MAX_VALUE, index.distanceTo(new Rs2NpcModel(mock(NPC.class))));
+    }
+
+    private NpcIndex index() {
+        ClientSnapshot.ActorSnapshot local = new ClientSnapshot.ActorSnapshot(player, -1, 0, "Player", 3, null,
+                new LocalPoint(0, 0, 0), -1, -1, -1, null, null);
+        return new NpcIndex(local, npcs);
+    }
+
+    private static List<Integer> indices(List<Rs2NpcModel> npcs) {
+        return npcs.stream().map(Rs2NpcModel::getIndex).collect(Collectors.toList());
+    }
+
+    // An NPC the given number of tiles east of the local player, whose index is its rank by distance
+    private static ClientSnapshot.ActorSnapshot npc(int index, int id, String name, int tiles, Player interacting) {
+        NPC npc = mock(NPC.class);
+        when(npc.getIndex()).thenReturn(index);
+        when(npc.getId()).thenReturn(id);
+        return new ClientSnapshot.ActorSnapshot(npc, id, index, name, 2, null, new LocalPoint(tiles * 128, 0, 0),
+                -1, -1, -1, interacting, null);
+    }
+}
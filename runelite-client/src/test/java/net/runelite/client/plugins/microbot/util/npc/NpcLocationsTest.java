@@ -0,0 +1,73 @@
+package net.runelite.client.plugins.microbot.util.npc;
+
+import net.runelite.api.coords.WorldPoint;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class NpcLocationsTest {
+
+    @Test
+    public void testNearestMatchesLinearScan() {
+        Random random = new Random(42);
+        List<MonsterLocation> locations = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            MonsterLocation location = new MonsterLocation();
+            location.setLocationName("Location " + i);
+            location.setMapID(i);
+            // Clustered spawns, with some far apart, so the search crosses both near and distant cells
+            int centerX = 1000 + random.nextInt(4000);
+            int centerY = 2000 + random.nextInt(8000);
+            List<WorldPoint> coords = new ArrayList<>();
+            for (int j = 0; j < 50; j++) {
+                coords.add(new WorldPoint(centerX + random.nextInt(200) - 100, centerY + random.nextInt(200) - 100, random.nextInt(4)));
+            }
+            location.setCoords(coords);
+            locations.add(location);
+        }
+        NpcLocations.Npc npc = new NpcLocations.Npc(locations);
+
+        Predicate<MonsterLocation> all = location -> true;
+        Predicate<MonsterLocation> even = location -> location.getMapID() % 2 == 0;
+        for (int i = 0; i < 500; i++) {
+            WorldPoint from = new WorldPoint(random.nextInt(6000), random.nextInt(12000), 0);
+            for (Predicate<MonsterLocation> filter : List.of(all, even)) {
+                WorldPoint nearest = npc.nearest(from, filter);
+                assertEquals(from.toString(), nearestDistance(locations, from, filter), distance(from, nearest));
+            }
+        }
+    }
+
+    @Test
+    public void testNearestWithoutMatches() {
+        MonsterLocation location = new MonsterLocation();
+        location.setCoords(Collections.singletonList(new WorldPoint(3200, 3200, 0)));
+        NpcLocations.Npc npc = new NpcLocations.Npc(Collections.singletonList(location));
+
+        assertNull(npc.nearest(new WorldPoint(3200, 3200, 0), l -> false));
+        assertNull(new NpcLocations.Npc(Collections.emptyList()).nearest(new WorldPoint(3200, 3200, 0), l -> true));
+    }
+
+    private static int nearestDistance(List<MonsterLocation> locations, WorldPoint from, Predicate<MonsterLocation> filter) {
+        int best = Integer.MAX_VALUE;
+        for (MonsterLocation location : locations) {
+            if (filter.test(location)) {
+                for (WorldPoint spawn : location.getCoords()) {
+                    best = Math.min(best, distance(from, spawn));
+                }
+            }
+        }
+        return best;
+    }
+
+    private static int distance(WorldPoint from, WorldPoint to) {
+        return Math.max(Math.abs(from.getX() - to.getX()), Math.abs(from.getY() - to.getY()));
+    }
+}
@@ -0,0 +1,161 @@
+package net.runelite.mvn;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * Converts the npc location json, which maps npc names to their named spawn locations, to a compact binary file
+ * which the client reads without parsing json and decodes one npc at a time.
+ * <p>
+ * The file starts with a magic number, a version and a table of the npc names with the offset of each npc's
+ * locations from the end of the table. The locations of an npc are a count followed by, for each location, its
+ * name, map id (-1 if it has none), spawn count and the spawns packed as {@code plane << 28 | x << 14 | y}.
+ * Strings are written as their UTF-8 length followed by their UTF-8 bytes.
+ */
+@Mojo(
+	name = "npc-locations",
+	defaultPhase = LifecyclePhase.GENERATE_RESOURCES
+)
+public class NpcLocationsMojo extends AbstractMojo
+{
+	private static final int MAGIC = 0x4e4c4f43;
+	private static final int VERSION = 1;
+	// Coordinates and planes must fit the 14 and 2 bits they are packed into
+	private static final int MAX_COORD = (1 << 14) - 1;
+	private static final int MAX_PLANE = 3;
+
+	@Parameter(required = true)
+	private File locationsFile;
+
+	@Parameter(required = true)
+	private File outputFile;
+
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException
+	{
+		JsonObject root;
+		try (Reader reader = Files.newBufferedReader(locationsFile.toPath(), StandardCharsets.UTF_8))
+		{
+			root = new JsonParser().parse(reader).getAsJsonObject();
+		}
+		catch (IOException | RuntimeException ex)
+		{
+			throw new MojoExecutionException("error reading npc locations " + locationsFile, ex);
+		}
+
+		// Sorted, so the output is the same for the same locations
+		TreeMap<String, byte[]> npcs = new TreeMap<>();
+		for (Map.Entry<String, JsonElement> entry : root.entrySet())
+		{
+			try
+			{
+				npcs.put(entry.getKey(), encodeLocations(entry.getKey(), entry.getValue().getAsJsonArray()));
+			}
+			catch (IOException | RuntimeException ex)
+			{
+				throw new MojoExecutionException("error converting the locations of " + entry.getKey(), ex);
+			}
+		}
+
+		outputFile.getParentFile().mkdirs();
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(outputFile))))
+		{
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(npcs.size());
+			int offset = 0;
+			for (Map.Entry<String, byte[]> npc : npcs.entrySet())
+			{
+				writeString(out, npc.getKey());
+				out.writeInt(offset);
+				offset += npc.getValue().length;
+			}
+			for (byte[] locations : npcs.values())
+			{
+				out.write(locations);
+			}
+		}
+		catch (IOException ex)
+		{
+			throw new MojoExecutionException("error writing npc locations " + outputFile, ex);
+		}
+
+		getLog().info("Wrote the locations of " + npcs.size() + " npcs to " + outputFile);
+	}
+
+	private static byte[] encodeLocations(String npc, JsonArray locations) throws IOException, MojoExecutionException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeShort(locations.size());
+		for (JsonElement element : locations)
+		{
+			JsonObject location = element.getAsJsonObject();
+			JsonElement name = location.get("location_name");
+			JsonElement mapId = location.get("mapID");
+			JsonElement coords = location.get("coords");
+			JsonArray spawns = coords != null && coords.isJsonArray() ? coords.getAsJsonArray() : new JsonArray();
+
+			writeString(out, name != null && !name.isJsonNull() ? name.getAsString() : "");
+			out.writeInt(mapId != null && !mapId.isJsonNull() ? mapId.getAsInt() : -1);
+
+			int count = 0;
+			for (JsonElement spawn : spawns)
+			{
+				if (spawn.getAsJsonArray().size() == 3)
+				{
+					count++;
+				}
+			}
+			out.writeInt(count);
+			for (JsonElement spawn : spawns)
+			{
+				JsonArray coord = spawn.getAsJsonArray();
+				if (coord.size() == 3)
+				{
+					out.writeInt(packSpawn(npc, coord));
+				}
+			}
+		}
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	private static int packSpawn(String npc, JsonArray coord) throws MojoExecutionException
+	{
+		int x = coord.get(0).getAsInt();
+		int y = coord.get(1).getAsInt();
+		int plane = coord.get(2).getAsInt();
+		if (x < 0 || x > MAX_COORD || y < 0 || y > MAX_COORD || plane < 0 || plane > MAX_PLANE)
+		{
+			throw new MojoExecutionException("spawn " + coord + " of " + npc + " is out of range");
+		}
+		return plane << 28 | x << 14 | y;
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException
+	{
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeShort(bytes.length);
+		out.write(bytes);
+	}
+}
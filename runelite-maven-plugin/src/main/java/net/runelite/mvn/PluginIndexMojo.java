@@ -0,0 +1,194 @@
+package net.runelite.mvn;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Writes an index of the plugin classes in the compiled classes, so the client can load its plugins
+ * without scanning the class path and loading every class in the plugin packages.
+ * <p>
+ * Each line of the index has the plugin class name, the descriptor name and the comma separated
+ * plugin dependencies, separated by tabs.
+ */
+@Mojo(
+	name = "plugin-index",
+	defaultPhase = LifecyclePhase.PROCESS_CLASSES,
+	requiresDependencyResolution = ResolutionScope.COMPILE
+)
+public class PluginIndexMojo extends AbstractMojo
+{
+	private static final String PLUGIN = "net.runelite.client.plugins.Plugin";
+	private static final String PLUGIN_DESCRIPTOR = "net.runelite.client.plugins.PluginDescriptor";
+	private static final String PLUGIN_DEPENDENCY = "net.runelite.client.plugins.PluginDependency";
+	private static final String PLUGIN_DEPENDENCIES = "net.runelite.client.plugins.PluginDependencies";
+
+	@Parameter(defaultValue = "${project}")
+	private MavenProject project;
+
+	@Parameter(defaultValue = "${project.build.outputDirectory}")
+	private File classesDirectory;
+
+	@Parameter(defaultValue = "net.runelite.client.plugins")
+	private String pluginPackage;
+
+	@Parameter(required = true)
+	private File indexFile;
+
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException
+	{
+		Path packageDirectory = classesDirectory.toPath().resolve(pluginPackage.replace('.', File.separatorChar));
+		if (!Files.isDirectory(packageDirectory))
+		{
+			throw new MojoExecutionException("plugin package " + pluginPackage + " not found in " + classesDirectory);
+		}
+
+		// Sorted, so the index is the same for the same classes
+		TreeMap<String, String> entries = new TreeMap<>();
+		try (URLClassLoader classLoader = new URLClassLoader(classpath(), ClassLoader.getPlatformClassLoader());
+			Stream<Path> files = Files.walk(packageDirectory))
+		{
+			for (Path file : files.collect(Collectors.toList()))
+			{
+				String fileName = file.getFileName().toString();
+				// Plugins are top level classes
+				if (!fileName.endsWith(".class") || fileName.indexOf('$') != -1)
+				{
+					continue;
+				}
+
+				String relative = classesDirectory.toPath().relativize(file).toString();
+				String className = relative.substring(0, relative.length() - ".class".length())
+					.replace(File.separatorChar, '.');
+				Class<?> clazz;
+				try
+				{
+					// Not initialized, so no static initializer runs at build time
+					clazz = Class.forName(className, false, classLoader);
+				}
+				catch (ClassNotFoundException | LinkageError ex)
+				{
+					getLog().warn("unable to load " + className + ": " + ex);
+					continue;
+				}
+
+				String entry = entry(clazz);
+				if (entry != null)
+				{
+					entries.put(className, entry);
+				}
+			}
+		}
+		catch (IOException ex)
+		{
+			throw new MojoExecutionException("unable to scan " + packageDirectory, ex);
+		}
+
+		indexFile.getParentFile().mkdirs();
+		try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(indexFile.toPath(), StandardCharsets.UTF_8)))
+		{
+			for (String entry : entries.values())
+			{
+				out.print(entry);
+				out.print('\n');
+			}
+		}
+		catch (IOException ex)
+		{
+			throw new MojoExecutionException("unable to write plugin index " + indexFile, ex);
+		}
+
+		getLog().info("Indexed " + entries.size() + " plugins");
+	}
+
+	private URL[] classpath() throws MojoExecutionException
+	{
+		try
+		{
+			List<String> elements = project.getCompileClasspathElements();
+			URL[] urls = new URL[elements.size()];
+			for (int i = 0; i < urls.length; ++i)
+			{
+				urls[i] = new File(elements.get(i)).toURI().toURL();
+			}
+			return urls;
+		}
+		catch (DependencyResolutionRequiredException | MalformedURLException ex)
+		{
+			throw new MojoExecutionException("unable to resolve the compile classpath", ex);
+		}
+	}
+
+	/**
+	 * The index line of a plugin class, or null if the class is not a plugin. The annotations are matched by
+	 * name, because they are defined by the project being built.
+	 */
+	private String entry(Class<?> clazz) throws MojoExecutionException
+	{
+		Annotation descriptor = null;
+		List<String> dependencies = new ArrayList<>();
+		for (Annotation annotation : clazz.getAnnotations())
+		{
+			String type = annotation.annotationType().getName();
+			if (type.equals(PLUGIN_DESCRIPTOR))
+			{
+				descriptor = annotation;
+			}
+			else if (type.equals(PLUGIN_DEPENDENCY))
+			{
+				dependencies.add(((Class<?>) value(annotation, "value")).getName());
+			}
+			else if (type.equals(PLUGIN_DEPENDENCIES))
+			{
+				for (Annotation dependency : (Annotation[]) value(annotation, "value"))
+				{
+					dependencies.add(((Class<?>) value(dependency, "value")).getName());
+				}
+			}
+		}
+
+		if (descriptor == null || clazz.getSuperclass() == null || !clazz.getSuperclass().getName().equals(PLUGIN))
+		{
+			return null;
+		}
+
+		String name = ((String) value(descriptor, "name")).replace('\t', ' ').replace('\n', ' ');
+		return clazz.getName() + '\t' + name + '\t' + String.join(",", dependencies);
+	}
+
+	private static Object value(Annotation annotation, String element) throws MojoExecutionException
+	{
+		try
+		{
+			Method method = annotation.annotationType().getMethod(element);
+			return method.invoke(annotation);
+		}
+		catch (ReflectiveOperationException ex)
+		{
+			throw new MojoExecutionException("unable to read " + element + " of " + annotation, ex);
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package net.runelite.mvn;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Builds the shortest path region graph from the collision map in the compiled resources, so the client does
+ * not have to build it on startup. The graph classes are defined by the project being built, so they are loaded
+ * from its compile class path and called by reflection.
+ */
+@Mojo(
+	name = "region-graph",
+	defaultPhase = LifecyclePhase.PROCESS_CLASSES,
+	requiresDependencyResolution = ResolutionScope.COMPILE
+)
+public class RegionGraphMojo extends AbstractMojo
+{
+	private static final String SPLIT_FLAG_MAP = "net.runelite.client.plugins.microbot.shortestpath.pathfinder.SplitFlagMap";
+	private static final String REGION_GRAPH = "net.runelite.client.plugins.microbot.shortestpath.pathfinder.RegionGraph";
+
+	@Parameter(defaultValue = "${project}")
+	private MavenProject project;
+
+	@Parameter(required = true)
+	private File outputFile;
+
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException
+	{
+		outputFile.getParentFile().mkdirs();
+		try (URLClassLoader classLoader = new URLClassLoader(classpath(), ClassLoader.getPlatformClassLoader());
+			OutputStream out = new BufferedOutputStream(new FileOutputStream(outputFile)))
+		{
+			Class<?> mapClass = Class.forName(SPLIT_FLAG_MAP, true, classLoader);
+			Class<?> graphClass = Class.forName(REGION_GRAPH, true, classLoader);
+
+			Object map = mapClass.getMethod("fromResources").invoke(null);
+			Object graph = graphClass.getMethod("build", mapClass).invoke(null, map);
+			graphClass.getMethod("write", OutputStream.class).invoke(graph, out);
+
+			getLog().info("Wrote " + graphClass.getMethod("getNodeCount").invoke(graph) + " nodes and "
+				+ graphClass.getMethod("getLandmarkCount").invoke(graph) + " landmarks to " + outputFile);
+		}
+		catch (InvocationTargetException ex)
+		{
+			throw new MojoExecutionException("unable to build the region graph", ex.getCause());
+		}
+		catch (ReflectiveOperationException | LinkageError ex)
+		{
+			throw new MojoExecutionException("unable to load the region graph classes", ex);
+		}
+		catch (IOException ex)
+		{
+			throw new MojoExecutionException("unable to write region graph " + outputFile, ex);
+		}
+	}
+
+	private URL[] classpath() throws MojoExecutionException
+	{
+		try
+		{
+			List<String> elements = project.getCompileClasspathElements();
+			URL[] urls = new URL[elements.size()];
+			for (int i = 0; i < urls.length; ++i)
+			{
+				urls[i] = new File(elements.get(i)).toURI().toURL();
+			}
+			return urls;
+		}
+		catch (DependencyResolutionRequiredException | MalformedURLException ex)
+		{
+			throw new MojoExecutionException("unable to resolve the compile classpath", ex);
+		}
+	}
+}